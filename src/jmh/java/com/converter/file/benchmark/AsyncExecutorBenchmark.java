@@ -0,0 +1,83 @@
+package com.converter.file.benchmark;
+
+import com.converter.file.config.ApplicationProperties;
+import com.converter.file.config.AsyncConfiguration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.task.TaskExecutionProperties;
+
+/**
+ * A burst of 10 000 slow uploads, simulated by tasks blocking on I/O for 20 ms, run by the executor of
+ * {@link AsyncConfiguration} with platform threads and with virtual threads. Virtual threads require Java 21, the
+ * configuration falling back to platform threads otherwise.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class AsyncExecutorBenchmark {
+
+    private static final int UPLOADS = 10_000;
+
+    private static final int UPLOAD_MILLIS = 20;
+
+    @Param({ "PLATFORM", "VIRTUAL" })
+    private ApplicationProperties.Async.Mode mode;
+
+    private Executor executor;
+
+    @Setup
+    public void setup() throws Exception {
+        // Same pool as application.yml
+        TaskExecutionProperties taskExecutionProperties = new TaskExecutionProperties();
+        taskExecutionProperties.getPool().setCoreSize(2);
+        taskExecutionProperties.getPool().setMaxSize(50);
+        taskExecutionProperties.getPool().setQueueCapacity(10_000);
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getAsync().setMode(mode);
+        executor = new AsyncConfiguration(taskExecutionProperties, applicationProperties).getAsyncExecutor();
+        if (executor instanceof InitializingBean initializingBean) {
+            initializingBean.afterPropertiesSet();
+        }
+    }
+
+    @TearDown
+    public void stop() throws Exception {
+        if (executor instanceof DisposableBean disposableBean) {
+            disposableBean.destroy();
+        }
+    }
+
+    @Benchmark
+    public void uploads() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(UPLOADS);
+        for (int i = 0; i < UPLOADS; i++) {
+            executor.execute(() -> {
+                try {
+                    Thread.sleep(UPLOAD_MILLIS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                done.countDown();
+            });
+        }
+        done.await();
+    }
+}
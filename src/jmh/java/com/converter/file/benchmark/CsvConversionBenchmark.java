@@ -0,0 +1,140 @@
+package com.converter.file.benchmark;
+
+import com.converter.file.service.converter.CsvFileConverter;
+import com.converter.file.service.converter.CsvToColumnarFileConverter;
+import com.converter.file.service.converter.CsvToJsonLinesFileConverter;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Conversion of a 64 MB CSV file to JSON Lines and to columns by the {@link CsvFileConverter}s, on the common pool,
+ * against a line by line {@link BufferedReader} that splits each line and builds its JSON object in a
+ * {@link StringBuilder}. The file has no quoted line breaks, for the baseline to convert it correctly.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class CsvConversionBenchmark {
+
+    private static final int SIZE = 64 * 1024 * 1024;
+
+    private static final String[] COLUMNS = { "id", "fileName", "fileType", "lastModified", "category", "comment" };
+
+    private Path source;
+
+    private CsvFileConverter jsonLines;
+
+    private CsvFileConverter columnar;
+
+    @Setup
+    public void setup() throws IOException {
+        source = Files.createTempFile("benchmark", ".csv");
+        Random random = new Random(42);
+        try (BufferedWriter writer = Files.newBufferedWriter(source)) {
+            writer.write(String.join(";", COLUMNS));
+            writer.write('\n');
+            for (long id = 0; Files.size(source) < SIZE; ) {
+                for (int row = 0; row < 10_000; row++, id++) {
+                    writer.write(
+                        id + ";report-" + id + ".csv;text/csv;2026-10-" + (1 + random.nextInt(28)) + ";reports;" +
+                        (random.nextBoolean() ? "\"quoted; with \"\"quotes\"\"\"" : "plain comment " + random.nextInt())
+                    );
+                    writer.write('\n');
+                }
+                writer.flush();
+            }
+        }
+        jsonLines = new CsvToJsonLinesFileConverter();
+        columnar = new CsvToColumnarFileConverter();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.delete(source);
+    }
+
+    @Benchmark
+    public void bufferedReader() throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(source); Writer writer = Writer.nullWriter()) {
+            String[] columns = reader.readLine().split(";");
+            StringBuilder json = new StringBuilder();
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                String[] fields = line.split(";(?=(?:[^\"]*\"[^\"]*\")*[^\"]*$)", -1);
+                json.setLength(0);
+                json.append('{');
+                for (int i = 0; i < columns.length; i++) {
+                    String field = i < fields.length ? fields[i] : null;
+                    if (field != null && field.startsWith("\"")) {
+                        field = field.substring(1, field.length() - 1).replace("\"\"", "\"");
+                    }
+                    json.append(i == 0 ? "\"" : ",\"").append(columns[i]).append("\":");
+                    if (field == null) {
+                        json.append("null");
+                    } else {
+                        json.append('"').append(field.replace("\\", "\\\\").replace("\"", "\\\"")).append('"');
+                    }
+                }
+                writer.append(json.append("}\n"));
+            }
+        }
+    }
+
+    @Benchmark
+    public void jsonLines() throws IOException {
+        convert(jsonLines);
+    }
+
+    @Benchmark
+    public void columnar() throws IOException {
+        convert(columnar);
+    }
+
+    private void convert(CsvFileConverter converter) throws IOException {
+        try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            converter.convert(channel, NullChannel.INSTANCE);
+        }
+    }
+
+    private enum NullChannel implements WritableByteChannel {
+        INSTANCE;
+
+        @Override
+        public int write(ByteBuffer source) {
+            int length = source.remaining();
+            source.position(source.limit());
+            return length;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {}
+    }
+}
@@ -0,0 +1,71 @@
+package com.converter.file.benchmark;
+
+import com.converter.file.config.JacksonConfiguration;
+import com.converter.file.domain.File;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Serialization of lists of {@link File}s, as {@code GET /api/files} returns them, with the modules of
+ * {@link JacksonConfiguration} and the features Spring Boot sets by default.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class FileSerializationBenchmark {
+
+    @Param({ "1", "20", "1000" })
+    private int size;
+
+    private ObjectWriter writer;
+
+    private List<File> files;
+
+    @Setup
+    public void setup() {
+        JacksonConfiguration configuration = new JacksonConfiguration();
+        writer = Jackson2ObjectMapperBuilder.json()
+            .modules(configuration.javaTimeModule(), configuration.jdk8TimeModule(), configuration.hibernate6Module())
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS)
+            .build()
+            .writerFor(new TypeReference<List<File>>() {});
+        files = LongStream.range(0, size)
+            .mapToObj(id ->
+                new File()
+                    .id(id)
+                    .fileName("report-" + id + ".csv")
+                    .fileType("text/csv")
+                    .lastModified(LocalDate.ofEpochDay(20_000 + id))
+                    .converted(id % 2 == 0)
+                    .category("reports")
+                    .contentHash("2cf24dba5fb0a30e26e83b2ac5b9e29e1b161e5c1fa7425e73043362938b9824")
+            )
+            .toList();
+    }
+
+    @Benchmark
+    public byte[] serializeFiles() throws JsonProcessingException {
+        return writer.writeValueAsBytes(files);
+    }
+}
@@ -0,0 +1,125 @@
+package com.converter.file.benchmark;
+
+import static com.converter.file.security.SecurityUtils.AUTHORITIES_KEY;
+import static com.converter.file.security.SecurityUtils.JWT_ALGORITHM;
+
+import com.converter.file.config.ApplicationProperties;
+import com.converter.file.config.SecurityJwtConfiguration;
+import com.converter.file.management.SecurityMetersService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Decoding of bearer tokens by the {@link SecurityJwtConfiguration#jwtDecoder}, which every authenticated request goes
+ * through: a valid token, and the bad tokens of an attack, whose signature does not match, which expired or which are not
+ * even tokens. With the decoded token cache, and without.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class JwtDecoderBenchmark {
+
+    @Param({ "0", "10000" })
+    private int tokenCacheMaxEntries;
+
+    private JwtDecoder jwtDecoder;
+
+    private String validToken;
+
+    private String invalidSignatureToken;
+
+    private String expiredToken;
+
+    private String malformedToken;
+
+    @Setup
+    public void setup() {
+        SecurityJwtConfiguration configuration = configuration();
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getSecurity().getTokenCache().setMaxEntries(tokenCacheMaxEntries);
+        jwtDecoder = configuration.jwtDecoder(new SecurityMetersService(new SimpleMeterRegistry()), applicationProperties);
+        validToken = createToken(configuration.jwtEncoder(), Instant.now());
+        invalidSignatureToken = createToken(configuration().jwtEncoder(), Instant.now());
+        expiredToken = createToken(configuration.jwtEncoder(), Instant.now().minus(Duration.ofDays(2)));
+        malformedToken = validToken.substring(0, validToken.lastIndexOf('.'));
+    }
+
+    @Benchmark
+    public Jwt decodeValidToken() {
+        return jwtDecoder.decode(validToken);
+    }
+
+    @Benchmark
+    public JwtException decodeInvalidSignature() {
+        return reject(invalidSignatureToken);
+    }
+
+    @Benchmark
+    public JwtException decodeExpiredToken() {
+        return reject(expiredToken);
+    }
+
+    @Benchmark
+    public JwtException decodeMalformedToken() {
+        return reject(malformedToken);
+    }
+
+    private JwtException reject(String token) {
+        try {
+            jwtDecoder.decode(token);
+            throw new IllegalStateException("The token was not rejected");
+        } catch (JwtException e) {
+            return e;
+        }
+    }
+
+    /**
+     * @return a configuration with a new random key, as the secret of application.yml.
+     */
+    private SecurityJwtConfiguration configuration() {
+        byte[] key = new byte[64];
+        new SecureRandom().nextBytes(key);
+        SecurityJwtConfiguration configuration = new SecurityJwtConfiguration();
+        ReflectionTestUtils.setField(configuration, "jwtKey", Base64.getEncoder().encodeToString(key));
+        return configuration;
+    }
+
+    /**
+     * @return a token as {@code AuthenticateController} issues them at the given time, valid for a day.
+     */
+    private static String createToken(JwtEncoder jwtEncoder, Instant now) {
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+            .issuedAt(now)
+            .expiresAt(now.plus(Duration.ofDays(1)))
+            .subject("user")
+            .claim(AUTHORITIES_KEY, "ROLE_USER")
+            .build();
+        return jwtEncoder.encode(JwtEncoderParameters.from(JwsHeader.with(JWT_ALGORITHM).build(), claims)).getTokenValue();
+    }
+}
@@ -0,0 +1,131 @@
+package com.converter.file.benchmark;
+
+import com.converter.file.aop.logging.LoggingAspect;
+import com.converter.file.config.ApplicationProperties;
+import com.converter.file.domain.File;
+import com.converter.file.repository.FileRepository;
+import com.converter.file.web.rest.FileResource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * The per-call overhead of the {@link LoggingAspect} on {@link FileResource#getFile}, with debug logging off: without
+ * the aspect, with the advice looking the logger up on every call as it used to, and with the logger cached and 1% or
+ * all of the calls timed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class LoggingAspectBenchmark {
+
+    private FileResource direct;
+
+    private FileResource perCallLogger;
+
+    private FileResource sampled;
+
+    private FileResource timed;
+
+    private long id;
+
+    @Setup
+    public void setup() {
+        File file = new File().id(1L).fileName("report.csv");
+        FileRepository fileRepository = (FileRepository) Proxy.newProxyInstance(
+            FileRepository.class.getClassLoader(),
+            new Class<?>[] { FileRepository.class },
+            (proxy, method, args) -> Optional.of(file)
+        );
+        direct = new FileResource(fileRepository, null, null, null, null, null, null);
+        perCallLogger = proxy(direct, new PerCallLoggerAspect());
+        sampled = proxy(direct, loggingAspect(0.01));
+        timed = proxy(direct, loggingAspect(1));
+    }
+
+    private static LoggingAspect loggingAspect(double samplingRate) {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getMethodTimings().setDefaultSamplingRate(samplingRate);
+        return new LoggingAspect(new StandardEnvironment(), new SimpleMeterRegistry(), applicationProperties);
+    }
+
+    private static FileResource proxy(FileResource target, Object aspect) {
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(target);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(aspect);
+        return proxyFactory.getProxy();
+    }
+
+    @Benchmark
+    public ResponseEntity<File> direct() {
+        return direct.getFile(++id);
+    }
+
+    @Benchmark
+    public ResponseEntity<File> perCallLogger() {
+        return perCallLogger.getFile(++id);
+    }
+
+    @Benchmark
+    public ResponseEntity<File> sampled() {
+        return sampled.getFile(++id);
+    }
+
+    @Benchmark
+    public ResponseEntity<File> timed() {
+        return timed.getFile(++id);
+    }
+
+    /**
+     * The advice of the {@link LoggingAspect} as it was, looking the logger up on every call.
+     */
+    @Aspect
+    public static class PerCallLoggerAspect {
+
+        private Logger logger(JoinPoint joinPoint) {
+            return LoggerFactory.getLogger(joinPoint.getSignature().getDeclaringTypeName());
+        }
+
+        @Around("within(com.converter.file.web.rest..*) && within(@org.springframework.web.bind.annotation.RestController *)")
+        public Object logAround(ProceedingJoinPoint joinPoint) throws Throwable {
+            Logger log = logger(joinPoint);
+            if (log.isDebugEnabled()) {
+                log.debug("Enter: {}() with argument[s] = {}", joinPoint.getSignature().getName(), Arrays.toString(joinPoint.getArgs()));
+            }
+            try {
+                Object result = joinPoint.proceed();
+                if (log.isDebugEnabled()) {
+                    log.debug("Exit: {}() with result = {}", joinPoint.getSignature().getName(), result);
+                }
+                return result;
+            } catch (IllegalArgumentException e) {
+                log.error("Illegal argument: {} in {}()", Arrays.toString(joinPoint.getArgs()), joinPoint.getSignature().getName());
+                throw e;
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.converter.file.benchmark;
+
+import com.converter.file.domain.User;
+import com.converter.file.service.MailTemplateRenderer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.autoconfigure.thymeleaf.ThymeleafProperties;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Rendering a mail for each user of a bulk send, with the template engine, as {@code MailService} did, and with the
+ * {@link MailTemplateRenderer}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class MailTemplateBenchmark {
+
+    private static final Locale LOCALE = Locale.ENGLISH;
+
+    @Param({ "mail/activationEmail", "mail/passwordResetEmail" })
+    private String templateName;
+
+    private SpringTemplateEngine templateEngine;
+
+    private MailTemplateRenderer mailTemplateRenderer;
+
+    private JHipsterProperties jHipsterProperties;
+
+    private User[] users;
+
+    private int next;
+
+    @Setup
+    public void setup() {
+        ClassLoaderTemplateResolver templateResolver = new ClassLoaderTemplateResolver();
+        templateResolver.setPrefix("templates/");
+        templateResolver.setSuffix(".html");
+        templateResolver.setTemplateMode(TemplateMode.HTML);
+        templateResolver.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasename("i18n/messages");
+        messageSource.setDefaultEncoding(StandardCharsets.UTF_8.name());
+        templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(templateResolver);
+        templateEngine.setTemplateEngineMessageSource(messageSource);
+
+        jHipsterProperties = new JHipsterProperties();
+        jHipsterProperties.getMail().setBaseUrl("https://files.example.com");
+        mailTemplateRenderer = new MailTemplateRenderer(templateEngine, jHipsterProperties, new ThymeleafProperties());
+
+        users = IntStream.range(0, 1024)
+            .mapToObj(id -> {
+                User user = new User();
+                user.setLogin("user-" + id);
+                user.setEmail("user-" + id + "@example.com");
+                user.setLangKey("en");
+                user.setActivationKey("activation" + id);
+                user.setResetKey("reset" + id);
+                return user;
+            })
+            .toArray(User[]::new);
+    }
+
+    @Benchmark
+    public String templateEngine() {
+        Context context = new Context(LOCALE);
+        context.setVariable("user", nextUser());
+        context.setVariable("baseUrl", jHipsterProperties.getMail().getBaseUrl());
+        return templateEngine.process(templateName, context);
+    }
+
+    @Benchmark
+    public String mailTemplateRenderer() {
+        return mailTemplateRenderer.render(templateName, LOCALE, nextUser());
+    }
+
+    private User nextUser() {
+        next = (next + 1) & (users.length - 1);
+        return users[next];
+    }
+}
@@ -0,0 +1,79 @@
+package com.converter.file.benchmark;
+
+import com.converter.file.FileConverterApp;
+import com.converter.file.config.AsyncSyncConfiguration;
+import com.converter.file.repository.UserRepository;
+import com.converter.file.security.DomainUserDetailsService;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+/**
+ * {@link DomainUserDetailsService#loadUserByUsername}, which every login goes through, with the users found in Ehcache
+ * and with the caches emptied before each call.
+ * <p>
+ * Runs the application with the {@code test} and {@code testdev} profiles, so the database is the embedded H2 of the
+ * tests: a cold cache here does not pay the network round trips of a real database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class UserDetailsServiceBenchmark {
+
+    private static final String LOGIN = "user";
+
+    private ConfigurableApplicationContext context;
+
+    private UserDetailsService userDetailsService;
+
+    private Cache usersByLoginCache;
+
+    private jakarta.persistence.Cache secondLevelCache;
+
+    @Setup
+    public void start() {
+        context = new SpringApplicationBuilder(FileConverterApp.class, AsyncSyncConfiguration.class)
+            .profiles("test", "testdev")
+            .properties("server.port=0")
+            .run();
+        userDetailsService = context.getBean(UserDetailsService.class);
+        usersByLoginCache = context.getBean(CacheManager.class).getCache(UserRepository.USERS_BY_LOGIN_CACHE);
+        secondLevelCache = context.getBean(EntityManagerFactory.class).getCache();
+    }
+
+    @TearDown
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public UserDetails warmCache() {
+        return userDetailsService.loadUserByUsername(LOGIN);
+    }
+
+    @Benchmark
+    public UserDetails coldCache() {
+        usersByLoginCache.clear();
+        secondLevelCache.evictAll();
+        return userDetailsService.loadUserByUsername(LOGIN);
+    }
+}
@@ -0,0 +1,64 @@
+package com.converter.file.benchmark;
+
+import com.converter.file.domain.Authority;
+import com.converter.file.domain.User;
+import com.converter.file.service.dto.UserDTO;
+import com.converter.file.service.mapper.UserMapper;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link UserMapper#usersToUserDTOs} over pages of users, as {@code GET /api/users} maps them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class UserMapperBenchmark {
+
+    @Param({ "20", "1000" })
+    private int size;
+
+    private final UserMapper userMapper = new UserMapper();
+
+    private List<User> users;
+
+    @Setup
+    public void setup() {
+        Set<Authority> authorities = Set.of(new Authority().name("ROLE_USER"), new Authority().name("ROLE_ADMIN"));
+        users = LongStream.range(0, size)
+            .mapToObj(id -> {
+                User user = new User();
+                user.setId(id);
+                user.setLogin("user-" + id);
+                user.setFirstName("First " + id);
+                user.setLastName("Last " + id);
+                user.setEmail("user-" + id + "@localhost");
+                user.setActivated(true);
+                user.setLangKey("en");
+                user.setAuthorities(authorities);
+                return user;
+            })
+            .toList();
+    }
+
+    @Benchmark
+    public List<UserDTO> usersToUserDTOs() {
+        return userMapper.usersToUserDTOs(users);
+    }
+}
@@ -0,0 +1,129 @@
+package com.converter.file.benchmark;
+
+import com.converter.file.config.ApplicationProperties;
+import com.converter.file.service.converter.XmlToJsonFileConverter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Conversion of a 1 GB XML feed to JSON by the {@link XmlToJsonFileConverter}, generated while it is read and in a
+ * 64 MB heap, which the conversion must not outgrow.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx64m")
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class XmlConversionBenchmark {
+
+    private static final long SIZE = 1024L * 1024 * 1024;
+
+    private XmlToJsonFileConverter converter;
+
+    @Setup
+    public void setup() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getConversion().getXml().setRecordPath("/feed/entry");
+        converter = new XmlToJsonFileConverter(applicationProperties);
+    }
+
+    @Benchmark
+    public void convertFeed() throws IOException {
+        converter.convert(new FeedChannel(), NullChannel.INSTANCE);
+    }
+
+    /**
+     * Generates a feed of entries up to {@link #SIZE}.
+     */
+    private static final class FeedChannel implements ReadableByteChannel {
+
+        private static final String HEAD = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<feed><title>Files</title>\n";
+
+        private final ByteBuffer pending = ByteBuffer.allocate(4096).flip();
+
+        private long written;
+
+        private long id;
+
+        private boolean ended;
+
+        @Override
+        public int read(ByteBuffer target) {
+            if (!pending.hasRemaining()) {
+                if (ended) {
+                    return -1;
+                }
+                pending.clear();
+                if (id == 0) {
+                    pending.put(HEAD.getBytes(StandardCharsets.UTF_8));
+                }
+                if (written < SIZE) {
+                    pending.put(entry(id++).getBytes(StandardCharsets.UTF_8));
+                } else {
+                    pending.put("</feed>\n".getBytes(StandardCharsets.UTF_8));
+                    ended = true;
+                }
+                pending.flip();
+                written += pending.remaining();
+            }
+            int length = Math.min(pending.remaining(), target.remaining());
+            target.put(target.position(), pending, pending.position(), length);
+            target.position(target.position() + length);
+            pending.position(pending.position() + length);
+            return length;
+        }
+
+        private static String entry(long id) {
+            return (
+                "<entry id=\"" + id + "\" category=\"reports\">" +
+                "<fileName>report-" + id + ".csv</fileName><fileType>text/csv</fileType>" +
+                "<tag>monthly</tag><tag>finance</tag>" +
+                "<comment><![CDATA[Uploaded by <admin> & converted]]></comment>" +
+                "<size unit=\"kB\">" + (id % 10_000) + "</size>" +
+                "</entry>\n"
+            );
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {}
+    }
+
+    private enum NullChannel implements WritableByteChannel {
+        INSTANCE;
+
+        @Override
+        public int write(ByteBuffer source) {
+            int length = source.remaining();
+            source.position(source.limit());
+            return length;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {}
+    }
+}
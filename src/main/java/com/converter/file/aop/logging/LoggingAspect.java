@@ -1,12 +1,21 @@
 package com.converter.file.aop.logging;
 
+import com.converter.file.config.ApplicationProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.lang.reflect.Method;
 import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.AfterThrowing;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.env.Environment;
@@ -16,15 +25,29 @@ import tech.jhipster.config.JHipsterConstants;
 /**
  * Aspect for logging execution of service and repository Spring components.
  *
- * By default, it only runs with the "dev" profile.
+ * By default, it only runs with the "dev" profile. Outside development, it can run with
+ * {@code application.method-timings.enabled} to record the timings of a sample of the calls, by package, as the
+ * {@value #TIMINGS_METER_NAME} meter, logging only at debug level.
  */
 @Aspect
 public class LoggingAspect {
 
-    private final Environment env;
+    public static final String TIMINGS_METER_NAME = "method.timings";
 
-    public LoggingAspect(Environment env) {
-        this.env = env;
+    private static final String NO_EXCEPTION = "none";
+
+    private final boolean development;
+
+    private final MeterRegistry meterRegistry;
+
+    private final ApplicationProperties.MethodTimings timingsProperties;
+
+    private final Map<Method, MethodLog> methodLogs = new ConcurrentHashMap<>();
+
+    public LoggingAspect(Environment env, MeterRegistry meterRegistry, ApplicationProperties applicationProperties) {
+        this.development = env.acceptsProfiles(Profiles.of(JHipsterConstants.SPRING_PROFILE_DEVELOPMENT));
+        this.meterRegistry = meterRegistry;
+        this.timingsProperties = applicationProperties.getMethodTimings();
     }
 
     /**
@@ -52,13 +75,39 @@ public class LoggingAspect {
     }
 
     /**
-     * Retrieves the {@link Logger} associated to the given {@link JoinPoint}.
+     * Retrieves the {@link MethodLog} associated to the method of the given {@link JoinPoint}, created on its first call.
      *
      * @param joinPoint join point we want the logger for.
-     * @return {@link Logger} associated to the given {@link JoinPoint}.
+     * @return {@link MethodLog} associated to the given {@link JoinPoint}.
+     */
+    private MethodLog methodLog(JoinPoint joinPoint) {
+        return methodLogs.computeIfAbsent(((MethodSignature) joinPoint.getSignature()).getMethod(), this::createMethodLog);
+    }
+
+    private MethodLog createMethodLog(Method method) {
+        String typeName = method.getDeclaringClass().getName();
+        return new MethodLog(
+            LoggerFactory.getLogger(typeName),
+            method.getDeclaringClass().getSimpleName(),
+            method.getName(),
+            samplingRate(typeName)
+        );
+    }
+
+    /**
+     * @return the sampling rate of the most specific package of the type with a rate, or the default rate.
      */
-    private Logger logger(JoinPoint joinPoint) {
-        return LoggerFactory.getLogger(joinPoint.getSignature().getDeclaringTypeName());
+    private double samplingRate(String typeName) {
+        String matched = "";
+        double rate = timingsProperties.getDefaultSamplingRate();
+        for (Map.Entry<String, Double> entry : timingsProperties.getSamplingRates().entrySet()) {
+            String packageName = entry.getKey();
+            if (typeName.startsWith(packageName + ".") && packageName.length() > matched.length()) {
+                matched = packageName;
+                rate = entry.getValue();
+            }
+        }
+        return rate;
     }
 
     /**
@@ -69,25 +118,23 @@ public class LoggingAspect {
      */
     @AfterThrowing(pointcut = "applicationPackagePointcut() && springBeanPointcut()", throwing = "e")
     public void logAfterThrowing(JoinPoint joinPoint, Throwable e) {
-        if (env.acceptsProfiles(Profiles.of(JHipsterConstants.SPRING_PROFILE_DEVELOPMENT))) {
-            logger(joinPoint).error(
+        MethodLog method = methodLog(joinPoint);
+        if (development) {
+            method.logger.error(
                 "Exception in {}() with cause = '{}' and exception = '{}'",
-                joinPoint.getSignature().getName(),
+                method.name,
                 e.getCause() != null ? e.getCause() : "NULL",
                 e.getMessage(),
                 e
             );
         } else {
-            logger(joinPoint).error(
-                "Exception in {}() with cause = {}",
-                joinPoint.getSignature().getName(),
-                e.getCause() != null ? String.valueOf(e.getCause()) : "NULL"
-            );
+            // The cause is only formatted if logged
+            method.logger.debug("Exception in {}() with cause = {}", method.name, e.getCause() != null ? e.getCause() : "NULL");
         }
     }
 
     /**
-     * Advice that logs when a method is entered and exited.
+     * Advice that logs when a method is entered and exited, and times a sample of the calls.
      *
      * @param joinPoint join point for advice.
      * @return result.
@@ -95,19 +142,78 @@ public class LoggingAspect {
      */
     @Around("applicationPackagePointcut() && springBeanPointcut()")
     public Object logAround(ProceedingJoinPoint joinPoint) throws Throwable {
-        Logger log = logger(joinPoint);
+        MethodLog method = methodLog(joinPoint);
+        Logger log = method.logger;
         if (log.isDebugEnabled()) {
-            log.debug("Enter: {}() with argument[s] = {}", joinPoint.getSignature().getName(), Arrays.toString(joinPoint.getArgs()));
+            log.debug("Enter: {}() with argument[s] = {}", method.name, Arrays.toString(joinPoint.getArgs()));
         }
+        boolean sampled = method.sample();
+        long start = sampled ? System.nanoTime() : 0L;
+        String exception = NO_EXCEPTION;
         try {
             Object result = joinPoint.proceed();
             if (log.isDebugEnabled()) {
-                log.debug("Exit: {}() with result = {}", joinPoint.getSignature().getName(), result);
+                log.debug("Exit: {}() with result = {}", method.name, result);
             }
             return result;
         } catch (IllegalArgumentException e) {
-            log.error("Illegal argument: {} in {}()", Arrays.toString(joinPoint.getArgs()), joinPoint.getSignature().getName());
+            exception = e.getClass().getSimpleName();
+            log.error("Illegal argument: {} in {}()", Arrays.toString(joinPoint.getArgs()), method.name);
             throw e;
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            if (sampled) {
+                method.timer(exception).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    /**
+     * The logger and timers of a method, with the share of its calls to time.
+     */
+    private final class MethodLog {
+
+        private final Logger logger;
+
+        private final String type;
+
+        private final String name;
+
+        private final double samplingRate;
+
+        private volatile Timer timer;
+
+        private MethodLog(Logger logger, String type, String name, double samplingRate) {
+            this.logger = logger;
+            this.type = type;
+            this.name = name;
+            this.samplingRate = samplingRate;
+        }
+
+        private boolean sample() {
+            return samplingRate >= 1 || (samplingRate > 0 && ThreadLocalRandom.current().nextDouble() < samplingRate);
+        }
+
+        private Timer timer(String exception) {
+            if (!NO_EXCEPTION.equals(exception)) {
+                return timerBuilder(exception).register(meterRegistry);
+            }
+            Timer noException = timer;
+            if (noException == null) {
+                noException = timerBuilder(NO_EXCEPTION).register(meterRegistry);
+                timer = noException;
+            }
+            return noException;
+        }
+
+        private Timer.Builder timerBuilder(String exception) {
+            return Timer.builder(TIMINGS_METER_NAME)
+                .description("Time taken by a sample of the calls to the repository, service and REST methods.")
+                .tag("class", type)
+                .tag("method", name)
+                .tag("exception", exception);
         }
     }
 }
@@ -0,0 +1,37 @@
+package com.converter.file.cluster;
+
+/**
+ * An entry of the Hibernate second-level cache that a node changed, and the other nodes must evict.
+ *
+ * @param kind what the entry is.
+ * @param name the entity name, or the collection role.
+ * @param key the id of the entity or of the collection owner, as a string; {@code null} for natural ids.
+ */
+public record CacheInvalidation(Kind kind, String name, String key) {
+    public static CacheInvalidation entity(String entityName, Object id) {
+        return new CacheInvalidation(Kind.ENTITY, entityName, id.toString());
+    }
+
+    public static CacheInvalidation collection(String role, Object ownerId) {
+        return new CacheInvalidation(Kind.COLLECTION, role, ownerId.toString());
+    }
+
+    public static CacheInvalidation naturalIds(String entityName) {
+        return new CacheInvalidation(Kind.NATURAL_IDS, entityName, null);
+    }
+
+    public enum Kind {
+        /**
+         * An entity, by id.
+         */
+        ENTITY,
+        /**
+         * A collection, by owner id.
+         */
+        COLLECTION,
+        /**
+         * All the natural id resolutions of an entity, whose keys are not known to the other nodes.
+         */
+        NATURAL_IDS,
+    }
+}
@@ -0,0 +1,266 @@
+package com.converter.file.cluster;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.AbstractCollectionEvent;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCollectionRecreateEvent;
+import org.hibernate.event.spi.PostCollectionRecreateEventListener;
+import org.hibernate.event.spi.PostCollectionRemoveEvent;
+import org.hibernate.event.spi.PostCollectionRemoveEventListener;
+import org.hibernate.event.spi.PostCollectionUpdateEvent;
+import org.hibernate.event.spi.PostCollectionUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.metamodel.MappingMetamodel;
+import org.hibernate.persister.collection.CollectionPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Evicts the entries of the Hibernate second-level cache that this node changes from the caches of the other nodes,
+ * through an {@link InvalidationTransport}, so that entries can live long without going stale.
+ * <p>
+ * The updates and deletions of cached entities and collections are sent once their transaction committed, in batches,
+ * from a thread of its own. Inserts are not sent, as no other node can have cached what did not exist. Natural id
+ * resolutions are keyed by values the other nodes do not know: they are all evicted when a natural id changes.
+ * <p>
+ * A node reading an entity while another node changes it can still cache the old state, if its read started before the
+ * commit and completes after the invalidation arrived: such entries stay stale until they expire.
+ */
+public class CacheInvalidationBus
+    implements
+        PostUpdateEventListener,
+        PostDeleteEventListener,
+        PostCollectionRecreateEventListener,
+        PostCollectionUpdateEventListener,
+        PostCollectionRemoveEventListener,
+        AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CacheInvalidationBus.class);
+
+    private static final int MAX_BATCH_SIZE = 1000;
+
+    private final SessionFactoryImplementor sessionFactory;
+
+    private final javax.cache.CacheManager cacheManager;
+
+    private final InvalidationTransport transport;
+
+    private final Map<String, List<String>> dependentCaches;
+
+    private final BlockingQueue<CacheInvalidation> outbox = new LinkedBlockingQueue<>();
+
+    private final Thread sender = new Thread(this::sendLoop, "cache-invalidation-sender");
+
+    /**
+     * @param sessionFactory the session factory whose cache to keep consistent.
+     * @param cacheManager the cache manager of the dependent caches.
+     * @param transport the transport to the other nodes.
+     * @param dependentCaches the caches to clear when an entity is evicted, by entity name: those caching the entity by
+     * other keys than its id, such as users by login.
+     */
+    public CacheInvalidationBus(
+        SessionFactoryImplementor sessionFactory,
+        javax.cache.CacheManager cacheManager,
+        InvalidationTransport transport,
+        Map<String, List<String>> dependentCaches
+    ) {
+        this.sessionFactory = sessionFactory;
+        this.cacheManager = cacheManager;
+        this.transport = transport;
+        this.dependentCaches = dependentCaches;
+        this.sender.setDaemon(true);
+    }
+
+    /**
+     * Starts receiving the invalidations of the other nodes, and sending those of this node.
+     *
+     * @throws IOException if the transport could not start.
+     */
+    public void start() throws IOException {
+        transport.start(this::evict);
+        EventListenerRegistry listeners = sessionFactory.getServiceRegistry().requireService(EventListenerRegistry.class);
+        listeners.appendListeners(EventType.POST_UPDATE, this);
+        listeners.appendListeners(EventType.POST_DELETE, this);
+        listeners.appendListeners(EventType.POST_COLLECTION_RECREATE, this);
+        listeners.appendListeners(EventType.POST_COLLECTION_UPDATE, this);
+        listeners.appendListeners(EventType.POST_COLLECTION_REMOVE, this);
+        sender.start();
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        EntityPersister persister = event.getPersister();
+        List<CacheInvalidation> invalidations = new ArrayList<>(2);
+        if (persister.canWriteToCache()) {
+            invalidations.add(CacheInvalidation.entity(persister.getEntityName(), event.getId()));
+        }
+        if (persister.hasNaturalIdCache() && naturalIdChanged(persister, event)) {
+            invalidations.add(CacheInvalidation.naturalIds(persister.getEntityName()));
+        }
+        sendAfterCommit(event.getSession(), invalidations);
+    }
+
+    private static boolean naturalIdChanged(EntityPersister persister, PostUpdateEvent event) {
+        return (
+            event.getOldState() == null ||
+            !Objects.deepEquals(
+                persister.getNaturalIdMapping().extractNaturalIdFromEntityState(event.getOldState()),
+                persister.getNaturalIdMapping().extractNaturalIdFromEntityState(event.getState())
+            )
+        );
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        EntityPersister persister = event.getPersister();
+        List<CacheInvalidation> invalidations = new ArrayList<>(2);
+        if (persister.canWriteToCache()) {
+            invalidations.add(CacheInvalidation.entity(persister.getEntityName(), event.getId()));
+        }
+        if (persister.hasNaturalIdCache()) {
+            invalidations.add(CacheInvalidation.naturalIds(persister.getEntityName()));
+        }
+        sendAfterCommit(event.getSession(), invalidations);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    @Override
+    public void onPostRecreateCollection(PostCollectionRecreateEvent event) {
+        onCollectionChanged(event);
+    }
+
+    @Override
+    public void onPostUpdateCollection(PostCollectionUpdateEvent event) {
+        onCollectionChanged(event);
+    }
+
+    @Override
+    public void onPostRemoveCollection(PostCollectionRemoveEvent event) {
+        onCollectionChanged(event);
+    }
+
+    private void onCollectionChanged(AbstractCollectionEvent event) {
+        String role = event.getCollection().getRole();
+        Object ownerId = event.getAffectedOwnerIdOrNull();
+        if (role != null && ownerId != null && sessionFactory.getMappingMetamodel().getCollectionDescriptor(role).hasCache()) {
+            sendAfterCommit(event.getSession(), List.of(CacheInvalidation.collection(role, ownerId)));
+        }
+    }
+
+    private void sendAfterCommit(EventSource session, List<CacheInvalidation> invalidations) {
+        if (!invalidations.isEmpty()) {
+            session
+                .getActionQueue()
+                .registerProcess((success, s) -> {
+                    if (success) {
+                        outbox.addAll(invalidations);
+                    }
+                });
+        }
+    }
+
+    private void sendLoop() {
+        List<CacheInvalidation> batch = new ArrayList<>();
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(outbox.take());
+                outbox.drainTo(batch, MAX_BATCH_SIZE - 1);
+                send(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void send(List<CacheInvalidation> batch) {
+        try {
+            transport.send(batch.stream().distinct().toList());
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("Could not send {} cache invalidations, the other nodes may serve stale entries until they expire", batch.size(), e);
+        }
+    }
+
+    /**
+     * Evicts the entries invalidated by another node. Invalidations this node does not know, such as those of an entity
+     * added by a newer version during a rolling upgrade, are skipped.
+     *
+     * @param invalidations the invalidations received.
+     */
+    void evict(List<CacheInvalidation> invalidations) {
+        LOG.debug("Evicting {} cache entries changed by another node", invalidations.size());
+        MappingMetamodel metamodel = sessionFactory.getMappingMetamodel();
+        org.hibernate.Cache cache = sessionFactory.getCache();
+        Set<String> cachesToClear = new HashSet<>();
+        for (CacheInvalidation invalidation : new LinkedHashSet<>(invalidations)) {
+            try {
+                switch (invalidation.kind()) {
+                    case ENTITY -> {
+                        EntityPersister persister = metamodel.getEntityDescriptor(invalidation.name());
+                        cache.evictEntityData(persister.getEntityName(), id(persister, invalidation.key()));
+                        cachesToClear.addAll(dependentCaches.getOrDefault(persister.getEntityName(), List.of()));
+                    }
+                    case COLLECTION -> {
+                        CollectionPersister persister = metamodel.getCollectionDescriptor(invalidation.name());
+                        EntityPersister owner = persister.getOwnerEntityPersister();
+                        cache.evictCollectionData(persister.getRole(), id(owner, invalidation.key()));
+                        cachesToClear.addAll(dependentCaches.getOrDefault(owner.getEntityName(), List.of()));
+                    }
+                    case NATURAL_IDS -> cache.evictNaturalIdData(invalidation.name());
+                }
+            } catch (RuntimeException e) {
+                LOG.debug("Skipping the cache invalidation {}", invalidation, e);
+            }
+        }
+        for (String cacheName : cachesToClear) {
+            javax.cache.Cache<Object, Object> dependentCache = cacheManager.getCache(cacheName);
+            if (dependentCache != null) {
+                dependentCache.clear();
+            }
+        }
+    }
+
+    private static Object id(EntityPersister persister, String key) {
+        return persister.getIdentifierMapping().getJavaType().fromString(key);
+    }
+
+    /**
+     * Stops receiving invalidations, after sending those still waiting.
+     */
+    @Override
+    public void close() {
+        sender.interrupt();
+        try {
+            sender.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<CacheInvalidation> remaining = new ArrayList<>();
+        outbox.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            send(remaining);
+        }
+        transport.close();
+    }
+}
@@ -0,0 +1,33 @@
+package com.converter.file.cluster;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Carries {@link CacheInvalidation}s between the nodes of a deployment, at most once: an invalidation lost on the way
+ * leaves an entry stale until it expires.
+ */
+public interface InvalidationTransport extends AutoCloseable {
+    /**
+     * Starts receiving the invalidations sent by the other nodes. Those sent by this node are not received.
+     *
+     * @param receiver called with each batch of invalidations received, from a thread of the transport.
+     * @throws IOException if the transport could not start.
+     */
+    void start(Consumer<List<CacheInvalidation>> receiver) throws IOException;
+
+    /**
+     * Sends invalidations to the other nodes.
+     *
+     * @param invalidations the invalidations to send.
+     * @throws IOException if they could not be sent.
+     */
+    void send(List<CacheInvalidation> invalidations) throws IOException;
+
+    /**
+     * Stops receiving invalidations.
+     */
+    @Override
+    void close();
+}
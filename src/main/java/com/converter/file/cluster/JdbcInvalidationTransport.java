@@ -0,0 +1,193 @@
+package com.converter.file.cluster;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Sends {@link CacheInvalidation}s as rows of the {@code cache_invalidation} table, which every node polls: for
+ * networks without multicast, at the cost of the poll interval.
+ * <p>
+ * Rows are read in id order. Ids are allocated at insert but become visible at commit, so a row can show up after a
+ * higher one: the ids skipped are polled again for a while. Rows older than the retention are deleted.
+ */
+public class JdbcInvalidationTransport implements InvalidationTransport {
+
+    private static final Logger LOG = LoggerFactory.getLogger(JdbcInvalidationTransport.class);
+
+    /**
+     * How long a skipped id is polled again before it is given up, as rolled back inserts leave gaps too.
+     */
+    private static final Duration GAP_TIMEOUT = Duration.ofSeconds(30);
+
+    /**
+     * The most ids skipped at once that are polled again, as ids can also jump after a restart of the database.
+     */
+    private static final int MAX_GAP = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Duration pollInterval;
+
+    private final Duration retention;
+
+    private final String origin = UUID.randomUUID().toString();
+
+    private ScheduledExecutorService poller;
+
+    private Consumer<List<CacheInvalidation>> receiver;
+
+    // Guarded by the poller thread
+    private long lastId;
+
+    /**
+     * The ids skipped by the previous polls, and when they were first skipped. Guarded by the poller thread.
+     */
+    private final NavigableMap<Long, Instant> gaps = new TreeMap<>();
+
+    private Instant nextCleanup = Instant.now();
+
+    public JdbcInvalidationTransport(
+        JdbcTemplate jdbcTemplate,
+        PlatformTransactionManager transactionManager,
+        Duration pollInterval,
+        Duration retention
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.pollInterval = pollInterval;
+        this.retention = retention;
+    }
+
+    @Override
+    public void start(Consumer<List<CacheInvalidation>> receiver) {
+        this.receiver = receiver;
+        Long maxId = jdbcTemplate.queryForObject("select max(id) from cache_invalidation", Long.class);
+        lastId = maxId != null ? maxId : 0;
+        poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cache-invalidation-poller");
+            thread.setDaemon(true);
+            return thread;
+        });
+        poller.scheduleWithFixedDelay(this::pollQuietly, pollInterval.toMillis(), pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+        LOG.debug("Polling cache invalidations every {}", pollInterval);
+    }
+
+    @Override
+    public void send(List<CacheInvalidation> invalidations) {
+        Timestamp now = Timestamp.from(Instant.now());
+        transactionTemplate.executeWithoutResult(status ->
+            jdbcTemplate.batchUpdate(
+                "insert into cache_invalidation (origin, kind, name, cache_key, created_date) values (?, ?, ?, ?, ?)",
+                invalidations,
+                invalidations.size(),
+                (statement, invalidation) -> {
+                    statement.setString(1, origin);
+                    statement.setString(2, invalidation.kind().name());
+                    statement.setString(3, invalidation.name());
+                    statement.setString(4, invalidation.key());
+                    statement.setTimestamp(5, now);
+                }
+            )
+        );
+    }
+
+    private void pollQuietly() {
+        try {
+            Instant now = Instant.now();
+            List<Row> rows = transactionTemplate.execute(status -> poll(now));
+            // Only once committed: the rows of a rolled back poll are read again by the next one
+            List<CacheInvalidation> invalidations = advance(rows, now);
+            if (!invalidations.isEmpty()) {
+                receiver.accept(invalidations);
+            }
+        } catch (RuntimeException e) {
+            LOG.warn("Could not poll cache invalidations", e);
+        }
+    }
+
+    /**
+     * Reads the rows not seen by the previous polls, then deletes the expired ones if due. Called by the poller thread
+     * every poll interval once started, in a transaction.
+     */
+    private List<Row> poll(Instant now) {
+        long from = gaps.isEmpty() ? lastId : Math.min(gaps.firstKey() - 1, lastId);
+        List<Row> rows = new ArrayList<>();
+        jdbcTemplate.query(
+            "select id, origin, kind, name, cache_key from cache_invalidation where id > ? order by id",
+            resultSet -> {
+                long id = resultSet.getLong("id");
+                if (id > lastId || gaps.containsKey(id)) {
+                    rows.add(
+                        new Row(
+                            id,
+                            resultSet.getString("origin"),
+                            new CacheInvalidation(
+                                CacheInvalidation.Kind.valueOf(resultSet.getString("kind")),
+                                resultSet.getString("name"),
+                                resultSet.getString("cache_key")
+                            )
+                        )
+                    );
+                }
+            },
+            from
+        );
+        if (now.isAfter(nextCleanup)) {
+            nextCleanup = now.plus(retention.dividedBy(10));
+            Timestamp expired = Timestamp.from(now.minus(retention));
+            int deleted = jdbcTemplate.update("delete from cache_invalidation where created_date < ?", expired);
+            LOG.debug("Deleted {} expired cache invalidations", deleted);
+        }
+        return rows;
+    }
+
+    /**
+     * Moves past the rows of a committed poll, in id order, recording the ids they skipped.
+     *
+     * @return the invalidations of the rows sent by the other nodes.
+     */
+    private List<CacheInvalidation> advance(List<Row> rows, Instant now) {
+        List<CacheInvalidation> invalidations = new ArrayList<>();
+        for (Row row : rows) {
+            if (row.id() > lastId) {
+                for (long gap = Math.max(lastId + 1, row.id() - MAX_GAP); gap < row.id(); gap++) {
+                    gaps.put(gap, now);
+                }
+                lastId = row.id();
+            } else {
+                gaps.remove(row.id());
+            }
+            if (!origin.equals(row.origin())) {
+                invalidations.add(row.invalidation());
+            }
+        }
+        gaps.values().removeIf(skipped -> skipped.plus(GAP_TIMEOUT).isBefore(now));
+        return invalidations;
+    }
+
+    @Override
+    public void close() {
+        if (poller != null) {
+            poller.shutdownNow();
+        }
+    }
+
+    private record Row(long id, String origin, CacheInvalidation invalidation) {}
+}
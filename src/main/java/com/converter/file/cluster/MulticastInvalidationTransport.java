@@ -0,0 +1,166 @@
+package com.converter.file.cluster;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.InetSocketAddress;
+import java.net.MulticastSocket;
+import java.net.NetworkInterface;
+import java.net.SocketException;
+import java.net.StandardSocketOptions;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sends {@link CacheInvalidation}s as UDP multicast datagrams to a group that every node joins.
+ * <p>
+ * A datagram holds the id of the sending node, so that a node skips its own, then as many invalidations as fit in
+ * {@value #MAX_DATAGRAM_SIZE} bytes, to stay within the usual MTU. Datagrams are looped back, for nodes sharing a host.
+ * They are neither acknowledged nor authenticated: a node of the group only ever evicts entries on their behalf.
+ */
+public class MulticastInvalidationTransport implements InvalidationTransport {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MulticastInvalidationTransport.class);
+
+    static final int MAX_DATAGRAM_SIZE = 1400;
+
+    private static final byte VERSION = 1;
+
+    /**
+     * The version, the id of the sending node and the number of invalidations.
+     */
+    private static final int HEADER_SIZE = 1 + 16 + 2;
+
+    private static final CacheInvalidation.Kind[] KINDS = CacheInvalidation.Kind.values();
+
+    private final InetSocketAddress group;
+
+    private final NetworkInterface networkInterface;
+
+    private final int timeToLive;
+
+    private final UUID origin = UUID.randomUUID();
+
+    private MulticastSocket socket;
+
+    /**
+     * @param group the multicast address and port of the group.
+     * @param networkInterface the interface to send and receive datagrams on, or {@code null} for the default one.
+     * @param timeToLive the number of routers the datagrams may cross.
+     */
+    public MulticastInvalidationTransport(InetSocketAddress group, NetworkInterface networkInterface, int timeToLive) {
+        this.group = group;
+        this.networkInterface = networkInterface;
+        this.timeToLive = timeToLive;
+    }
+
+    @Override
+    public void start(Consumer<List<CacheInvalidation>> receiver) throws IOException {
+        socket = new MulticastSocket(group.getPort());
+        socket.setTimeToLive(timeToLive);
+        socket.setOption(StandardSocketOptions.IP_MULTICAST_LOOP, true);
+        if (networkInterface != null) {
+            socket.setNetworkInterface(networkInterface);
+        }
+        socket.joinGroup(group, networkInterface);
+        Thread thread = new Thread(() -> receive(receiver), "cache-invalidation-receiver");
+        thread.setDaemon(true);
+        thread.start();
+        LOG.debug("Exchanging cache invalidations with the multicast group {}", group);
+    }
+
+    @Override
+    public void send(List<CacheInvalidation> invalidations) throws IOException {
+        ByteArrayOutputStream entries = new ByteArrayOutputStream();
+        int count = 0;
+        for (CacheInvalidation invalidation : invalidations) {
+            byte[] entry = encode(invalidation);
+            if (count > 0 && HEADER_SIZE + entries.size() + entry.length > MAX_DATAGRAM_SIZE) {
+                sendDatagram(count, entries);
+                entries.reset();
+                count = 0;
+            }
+            entries.write(entry);
+            count++;
+        }
+        if (count > 0) {
+            sendDatagram(count, entries);
+        }
+    }
+
+    private void sendDatagram(int count, ByteArrayOutputStream entries) throws IOException {
+        ByteArrayOutputStream datagram = new ByteArrayOutputStream(HEADER_SIZE + entries.size());
+        DataOutputStream out = new DataOutputStream(datagram);
+        out.writeByte(VERSION);
+        out.writeLong(origin.getMostSignificantBits());
+        out.writeLong(origin.getLeastSignificantBits());
+        out.writeShort(count);
+        entries.writeTo(out);
+        socket.send(new DatagramPacket(datagram.toByteArray(), datagram.size(), group));
+    }
+
+    private static byte[] encode(CacheInvalidation invalidation) throws IOException {
+        ByteArrayOutputStream entry = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(entry);
+        out.writeByte(invalidation.kind().ordinal());
+        out.writeUTF(invalidation.name());
+        out.writeBoolean(invalidation.key() != null);
+        if (invalidation.key() != null) {
+            out.writeUTF(invalidation.key());
+        }
+        return entry.toByteArray();
+    }
+
+    private void receive(Consumer<List<CacheInvalidation>> receiver) {
+        byte[] buffer = new byte[65536];
+        while (!socket.isClosed()) {
+            DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+            try {
+                socket.receive(packet);
+                List<CacheInvalidation> invalidations = decode(packet);
+                if (!invalidations.isEmpty()) {
+                    receiver.accept(invalidations);
+                }
+            } catch (SocketException e) {
+                if (!socket.isClosed()) {
+                    LOG.warn("Could not receive cache invalidations", e);
+                }
+            } catch (IOException | RuntimeException e) {
+                LOG.warn("Ignoring a cache invalidation datagram from {}", packet.getSocketAddress(), e);
+            }
+        }
+    }
+
+    /**
+     * @return the invalidations of the datagram, or none if it was sent by this node or by an incompatible version.
+     */
+    private List<CacheInvalidation> decode(DatagramPacket packet) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(packet.getData(), packet.getOffset(), packet.getLength()));
+        if (in.readByte() != VERSION || new UUID(in.readLong(), in.readLong()).equals(origin)) {
+            return List.of();
+        }
+        int count = in.readUnsignedShort();
+        List<CacheInvalidation> invalidations = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            CacheInvalidation.Kind kind = KINDS[in.readUnsignedByte()];
+            String name = in.readUTF();
+            String key = in.readBoolean() ? in.readUTF() : null;
+            invalidations.add(new CacheInvalidation(kind, name, key));
+        }
+        return invalidations;
+    }
+
+    @Override
+    public void close() {
+        if (socket != null) {
+            socket.close();
+        }
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Coordination between the nodes of a deployment.
+ */
+package com.converter.file.cluster;
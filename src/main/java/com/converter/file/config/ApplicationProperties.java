@@ -1,5 +1,8 @@
 package com.converter.file.config;
 
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
@@ -13,12 +16,78 @@ public class ApplicationProperties {
 
     private final Liquibase liquibase = new Liquibase();
 
+    private final Conversion conversion = new Conversion();
+
+    private final Bulk bulk = new Bulk();
+
+    private final Async async = new Async();
+
+    private final Storage storage = new Storage();
+
+    private final Upload upload = new Upload();
+
+    private final Security security = new Security();
+
+    private final Cache cache = new Cache();
+
+    private final Mail mail = new Mail();
+
+    private final Users users = new Users();
+
+    private final Scheduling scheduling = new Scheduling();
+
+    private final MethodTimings methodTimings = new MethodTimings();
+
     // jhipster-needle-application-properties-property
 
     public Liquibase getLiquibase() {
         return liquibase;
     }
 
+    public Conversion getConversion() {
+        return conversion;
+    }
+
+    public Bulk getBulk() {
+        return bulk;
+    }
+
+    public Async getAsync() {
+        return async;
+    }
+
+    public Storage getStorage() {
+        return storage;
+    }
+
+    public Upload getUpload() {
+        return upload;
+    }
+
+    public Security getSecurity() {
+        return security;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public Mail getMail() {
+        return mail;
+    }
+
+    public Users getUsers() {
+        return users;
+    }
+
+    public Scheduling getScheduling() {
+        return scheduling;
+    }
+
+    public MethodTimings getMethodTimings() {
+        return methodTimings;
+    }
+
     // jhipster-needle-application-properties-property-getter
 
     public static class Liquibase {
@@ -33,5 +102,909 @@ public class ApplicationProperties {
             this.asyncStart = asyncStart;
         }
     }
+
+    public static class Conversion {
+
+        /**
+         * Root directory that conversion sources are read from and outputs are written to.
+         */
+        private String directory = System.getProperty("java.io.tmpdir") + "/file-converter";
+
+        private final Queue queue = new Queue();
+
+        private final Xml xml = new Xml();
+
+        private final Image image = new Image();
+
+        private final OutputCache cache = new OutputCache();
+
+        public String getDirectory() {
+            return directory;
+        }
+
+        public void setDirectory(String directory) {
+            this.directory = directory;
+        }
+
+        public Queue getQueue() {
+            return queue;
+        }
+
+        public Xml getXml() {
+            return xml;
+        }
+
+        public Image getImage() {
+            return image;
+        }
+
+        public OutputCache getCache() {
+            return cache;
+        }
+
+        public static class Queue {
+
+            /**
+             * Whether this node claims and runs queued conversion jobs.
+             */
+            private boolean enabled = true;
+
+            /**
+             * Maximum number of jobs this node runs at the same time.
+             */
+            private int concurrency = 4;
+
+            /**
+             * Maximum number of jobs claimed by a single poll.
+             */
+            private int batchSize = 10;
+
+            /**
+             * Delay between two polls of the job table.
+             */
+            private Duration pollInterval = Duration.ofSeconds(1);
+
+            /**
+             * How long a claimed job stays owned by this node without being renewed.
+             */
+            private Duration leaseDuration = Duration.ofMinutes(5);
+
+            /**
+             * Number of attempts after which a failing job is dead-lettered.
+             */
+            private int maxAttempts = 5;
+
+            /**
+             * Delay before the first retry, doubled on each following attempt.
+             */
+            private Duration initialBackoff = Duration.ofSeconds(10);
+
+            /**
+             * Upper bound of the delay between two attempts.
+             */
+            private Duration maxBackoff = Duration.ofHours(1);
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public int getConcurrency() {
+                return concurrency;
+            }
+
+            public void setConcurrency(int concurrency) {
+                this.concurrency = concurrency;
+            }
+
+            public int getBatchSize() {
+                return batchSize;
+            }
+
+            public void setBatchSize(int batchSize) {
+                this.batchSize = batchSize;
+            }
+
+            public Duration getPollInterval() {
+                return pollInterval;
+            }
+
+            public void setPollInterval(Duration pollInterval) {
+                this.pollInterval = pollInterval;
+            }
+
+            public Duration getLeaseDuration() {
+                return leaseDuration;
+            }
+
+            public void setLeaseDuration(Duration leaseDuration) {
+                this.leaseDuration = leaseDuration;
+            }
+
+            public int getMaxAttempts() {
+                return maxAttempts;
+            }
+
+            public void setMaxAttempts(int maxAttempts) {
+                this.maxAttempts = maxAttempts;
+            }
+
+            public Duration getInitialBackoff() {
+                return initialBackoff;
+            }
+
+            public void setInitialBackoff(Duration initialBackoff) {
+                this.initialBackoff = initialBackoff;
+            }
+
+            public Duration getMaxBackoff() {
+                return maxBackoff;
+            }
+
+            public void setMaxBackoff(Duration maxBackoff) {
+                this.maxBackoff = maxBackoff;
+            }
+        }
+
+        public static class Xml {
+
+            /**
+             * Path of the elements converted to JSON records, such as /feed/entry, where * matches any element name.
+             * By default, the children of the root element.
+             */
+            private String recordPath;
+
+            public String getRecordPath() {
+                return recordPath;
+            }
+
+            public void setRecordPath(String recordPath) {
+                this.recordPath = recordPath;
+            }
+        }
+
+        public static class Image {
+
+            /**
+             * Variants resized from PNG and JPEG files, by name: the maximum width and height of each, in pixels.
+             */
+            private Map<String, Integer> variants = new HashMap<>(Map.of("thumbnail", 160, "preview", 640, "web", 1600));
+
+            /**
+             * Memory the images being resized can take at most on this node, in MB: larger images are decoded at a
+             * lower resolution, and images wait for memory held by others.
+             */
+            private int decodeBudgetMb = 256;
+
+            public Map<String, Integer> getVariants() {
+                return variants;
+            }
+
+            public void setVariants(Map<String, Integer> variants) {
+                this.variants = variants;
+            }
+
+            public int getDecodeBudgetMb() {
+                return decodeBudgetMb;
+            }
+
+            public void setDecodeBudgetMb(int decodeBudgetMb) {
+                this.decodeBudgetMb = decodeBudgetMb;
+            }
+        }
+
+        public static class OutputCache {
+
+            /**
+             * Whether the outputs of conversions are kept, to serve the same conversion of the same content again.
+             */
+            private boolean enabled = true;
+
+            /**
+             * Directory of the cached outputs, by default {@code cache} in the conversion directory: on the same file
+             * system, outputs are linked in and out of it rather than copied.
+             */
+            private String directory;
+
+            /**
+             * Size of the cached outputs, in MB, over which the least recently used are evicted.
+             */
+            private long maxSizeMb = 10 * 1024;
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public String getDirectory() {
+                return directory;
+            }
+
+            public void setDirectory(String directory) {
+                this.directory = directory;
+            }
+
+            public long getMaxSizeMb() {
+                return maxSizeMb;
+            }
+
+            public void setMaxSizeMb(long maxSizeMb) {
+                this.maxSizeMb = maxSizeMb;
+            }
+        }
+    }
+
+    public static class Bulk {
+
+        /**
+         * Number of items inserted per transaction by bulk ingestion.
+         */
+        private int chunkSize = 1000;
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+    }
+
+    public static class Async {
+
+        /**
+         * Threads running the async tasks and, when virtual, the HTTP requests.
+         */
+        private Mode mode = Mode.PLATFORM;
+
+        /**
+         * Maximum number of tasks of a category running at the same time, by category; unlimited when absent.
+         */
+        private Map<String, Integer> limits = new HashMap<>();
+
+        public Mode getMode() {
+            return mode;
+        }
+
+        public void setMode(Mode mode) {
+            this.mode = mode;
+        }
+
+        public Map<String, Integer> getLimits() {
+            return limits;
+        }
+
+        public void setLimits(Map<String, Integer> limits) {
+            this.limits = limits;
+        }
+
+        public enum Mode {
+            /**
+             * A pool of platform threads, sized by {@code spring.task.execution.pool}.
+             */
+            PLATFORM,
+            /**
+             * A new virtual thread per task; requires Java 21, falls back to {@link #PLATFORM} otherwise.
+             */
+            VIRTUAL,
+        }
+    }
+
+    public static class Storage {
+
+        /**
+         * Where file contents are stored.
+         */
+        private Type type = Type.LOCAL;
+
+        /**
+         * Root directory of the local store, and temporary directory of the S3 store.
+         */
+        private String directory = System.getProperty("java.io.tmpdir") + "/file-converter-blobs";
+
+        private final S3 s3 = new S3();
+
+        public Type getType() {
+            return type;
+        }
+
+        public void setType(Type type) {
+            this.type = type;
+        }
+
+        public String getDirectory() {
+            return directory;
+        }
+
+        public void setDirectory(String directory) {
+            this.directory = directory;
+        }
+
+        public S3 getS3() {
+            return s3;
+        }
+
+        public enum Type {
+            LOCAL,
+            S3,
+        }
+
+        public static class S3 {
+
+            /**
+             * URL of the S3-compatible service, such as {@code https://s3.eu-west-1.amazonaws.com}.
+             */
+            private String endpoint;
+
+            private String bucket;
+
+            private String region = "us-east-1";
+
+            private String accessKey;
+
+            private String secretKey;
+
+            public String getEndpoint() {
+                return endpoint;
+            }
+
+            public void setEndpoint(String endpoint) {
+                this.endpoint = endpoint;
+            }
+
+            public String getBucket() {
+                return bucket;
+            }
+
+            public void setBucket(String bucket) {
+                this.bucket = bucket;
+            }
+
+            public String getRegion() {
+                return region;
+            }
+
+            public void setRegion(String region) {
+                this.region = region;
+            }
+
+            public String getAccessKey() {
+                return accessKey;
+            }
+
+            public void setAccessKey(String accessKey) {
+                this.accessKey = accessKey;
+            }
+
+            public String getSecretKey() {
+                return secretKey;
+            }
+
+            public void setSecretKey(String secretKey) {
+                this.secretKey = secretKey;
+            }
+        }
+    }
+
+    public static class Upload {
+
+        /**
+         * Size of the chunks of resumable uploads, in bytes; every chunk but the last has this size.
+         */
+        private int chunkSize = 8 * 1024 * 1024;
+
+        /**
+         * Maximum length of a resumable upload, in bytes.
+         */
+        private long maxLength = 10L * 1024 * 1024 * 1024;
+
+        /**
+         * Time after which an unfinished resumable upload is removed.
+         */
+        private Duration expiration = Duration.ofDays(1);
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+
+        public long getMaxLength() {
+            return maxLength;
+        }
+
+        public void setMaxLength(long maxLength) {
+            this.maxLength = maxLength;
+        }
+
+        public Duration getExpiration() {
+            return expiration;
+        }
+
+        public void setExpiration(Duration expiration) {
+            this.expiration = expiration;
+        }
+    }
+
+    public static class Security {
+
+        private final TokenCache tokenCache = new TokenCache();
+
+        public TokenCache getTokenCache() {
+            return tokenCache;
+        }
+
+        public static class TokenCache {
+
+            /**
+             * Maximum number of decoded JWTs kept in memory, 0 to decode every token.
+             */
+            private int maxEntries = 10_000;
+
+            public int getMaxEntries() {
+                return maxEntries;
+            }
+
+            public void setMaxEntries(int maxEntries) {
+                this.maxEntries = maxEntries;
+            }
+        }
+    }
+
+    public static class Cache {
+
+        /**
+         * Directory of the disk tiers, only used if a cache has one.
+         */
+        private String diskDirectory = System.getProperty("java.io.tmpdir") + "/file-converter-cache";
+
+        /**
+         * Tiers and expiration of caches, by cache name; {@code jhipster.cache.ehcache} applies to the others.
+         */
+        private Map<String, Tiers> caches = new HashMap<>();
+
+        private final Invalidation invalidation = new Invalidation();
+
+        public String getDiskDirectory() {
+            return diskDirectory;
+        }
+
+        public void setDiskDirectory(String diskDirectory) {
+            this.diskDirectory = diskDirectory;
+        }
+
+        public Map<String, Tiers> getCaches() {
+            return caches;
+        }
+
+        public void setCaches(Map<String, Tiers> caches) {
+            this.caches = caches;
+        }
+
+        public Invalidation getInvalidation() {
+            return invalidation;
+        }
+
+        public static class Tiers {
+
+            /**
+             * Number of entries on the Java heap; {@code jhipster.cache.ehcache.max-entries} when absent.
+             */
+            private Long heapEntries;
+
+            /**
+             * Size of the off-heap tier, in MB, 0 for none. Bounded by {@code -XX:MaxDirectMemorySize}.
+             */
+            private long offHeapMb;
+
+            /**
+             * Size of the disk tier, in MB, 0 for none; larger than the off-heap tier. Emptied on restart.
+             */
+            private long diskMb;
+
+            /**
+             * Time after which an entry expires; {@code jhipster.cache.ehcache.time-to-live-seconds} when absent.
+             */
+            private Duration timeToLive;
+
+            /**
+             * When set, each read of an entry gives it this time to live from then on.
+             */
+            private Duration timeToIdle;
+
+            public Long getHeapEntries() {
+                return heapEntries;
+            }
+
+            public void setHeapEntries(Long heapEntries) {
+                this.heapEntries = heapEntries;
+            }
+
+            public long getOffHeapMb() {
+                return offHeapMb;
+            }
+
+            public void setOffHeapMb(long offHeapMb) {
+                this.offHeapMb = offHeapMb;
+            }
+
+            public long getDiskMb() {
+                return diskMb;
+            }
+
+            public void setDiskMb(long diskMb) {
+                this.diskMb = diskMb;
+            }
+
+            public Duration getTimeToLive() {
+                return timeToLive;
+            }
+
+            public void setTimeToLive(Duration timeToLive) {
+                this.timeToLive = timeToLive;
+            }
+
+            public Duration getTimeToIdle() {
+                return timeToIdle;
+            }
+
+            public void setTimeToIdle(Duration timeToIdle) {
+                this.timeToIdle = timeToIdle;
+            }
+        }
+
+        public static class Invalidation {
+
+            /**
+             * How the Hibernate second-level cache evictions reach the other nodes; none when absent.
+             */
+            private Transport transport;
+
+            private final Multicast multicast = new Multicast();
+
+            private final Jdbc jdbc = new Jdbc();
+
+            public Transport getTransport() {
+                return transport;
+            }
+
+            public void setTransport(Transport transport) {
+                this.transport = transport;
+            }
+
+            public Multicast getMulticast() {
+                return multicast;
+            }
+
+            public Jdbc getJdbc() {
+                return jdbc;
+            }
+
+            public enum Transport {
+                /**
+                 * UDP multicast datagrams, received within milliseconds by the nodes of the group.
+                 */
+                MULTICAST,
+                /**
+                 * Rows of the {@code cache_invalidation} table, polled by the other nodes: for networks without multicast.
+                 */
+                JDBC,
+            }
+
+            public static class Multicast {
+
+                private String group = "239.255.27.1";
+
+                private int port = 45700;
+
+                /**
+                 * Name of the network interface to use, such as {@code lo} for nodes on one host; the default one when absent.
+                 */
+                private String networkInterface;
+
+                /**
+                 * Number of routers the datagrams may cross, 1 to stay in the local network.
+                 */
+                private int timeToLive = 1;
+
+                public String getGroup() {
+                    return group;
+                }
+
+                public void setGroup(String group) {
+                    this.group = group;
+                }
+
+                public int getPort() {
+                    return port;
+                }
+
+                public void setPort(int port) {
+                    this.port = port;
+                }
+
+                public String getNetworkInterface() {
+                    return networkInterface;
+                }
+
+                public void setNetworkInterface(String networkInterface) {
+                    this.networkInterface = networkInterface;
+                }
+
+                public int getTimeToLive() {
+                    return timeToLive;
+                }
+
+                public void setTimeToLive(int timeToLive) {
+                    this.timeToLive = timeToLive;
+                }
+            }
+
+            public static class Jdbc {
+
+                /**
+                 * How often the table is polled, and so how long other nodes may serve stale entries.
+                 */
+                private Duration pollInterval = Duration.ofSeconds(1);
+
+                /**
+                 * Time after which the rows are deleted.
+                 */
+                private Duration retention = Duration.ofHours(1);
+
+                public Duration getPollInterval() {
+                    return pollInterval;
+                }
+
+                public void setPollInterval(Duration pollInterval) {
+                    this.pollInterval = pollInterval;
+                }
+
+                public Duration getRetention() {
+                    return retention;
+                }
+
+                public void setRetention(Duration retention) {
+                    this.retention = retention;
+                }
+            }
+        }
+    }
+
+    public static class Mail {
+
+        private final Queue queue = new Queue();
+
+        public Queue getQueue() {
+            return queue;
+        }
+
+        public static class Queue {
+
+            /**
+             * Whether this node sends the queued mails.
+             */
+            private boolean enabled = true;
+
+            /**
+             * Maximum number of mails claimed by a single poll.
+             */
+            private int batchSize = 100;
+
+            /**
+             * Delay between two polls of the mail table.
+             */
+            private Duration pollInterval = Duration.ofSeconds(5);
+
+            /**
+             * How long claimed mails stay owned by this node, before another node may send them again.
+             */
+            private Duration leaseDuration = Duration.ofMinutes(5);
+
+            /**
+             * Number of attempts after which a failing mail is dead-lettered.
+             */
+            private int maxAttempts = 5;
+
+            /**
+             * Delay before the first retry, doubled on each following attempt.
+             */
+            private Duration initialBackoff = Duration.ofSeconds(30);
+
+            /**
+             * Upper bound of the delay between two attempts.
+             */
+            private Duration maxBackoff = Duration.ofHours(1);
+
+            /**
+             * Maximum number of mails sent per minute to the recipients of a domain, by this node.
+             */
+            private int domainRate = 60;
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public int getBatchSize() {
+                return batchSize;
+            }
+
+            public void setBatchSize(int batchSize) {
+                this.batchSize = batchSize;
+            }
+
+            public Duration getPollInterval() {
+                return pollInterval;
+            }
+
+            public void setPollInterval(Duration pollInterval) {
+                this.pollInterval = pollInterval;
+            }
+
+            public Duration getLeaseDuration() {
+                return leaseDuration;
+            }
+
+            public void setLeaseDuration(Duration leaseDuration) {
+                this.leaseDuration = leaseDuration;
+            }
+
+            public int getMaxAttempts() {
+                return maxAttempts;
+            }
+
+            public void setMaxAttempts(int maxAttempts) {
+                this.maxAttempts = maxAttempts;
+            }
+
+            public Duration getInitialBackoff() {
+                return initialBackoff;
+            }
+
+            public void setInitialBackoff(Duration initialBackoff) {
+                this.initialBackoff = initialBackoff;
+            }
+
+            public Duration getMaxBackoff() {
+                return maxBackoff;
+            }
+
+            public void setMaxBackoff(Duration maxBackoff) {
+                this.maxBackoff = maxBackoff;
+            }
+
+            public int getDomainRate() {
+                return domainRate;
+            }
+
+            public void setDomainRate(int domainRate) {
+                this.domainRate = domainRate;
+            }
+        }
+    }
+
+    public static class Users {
+
+        private final Purge purge = new Purge();
+
+        public Purge getPurge() {
+            return purge;
+        }
+
+        public static class Purge {
+
+            /**
+             * Number of not activated users deleted per transaction by the nightly purge.
+             */
+            private int chunkSize = 500;
+
+            /**
+             * Number of partitions of the users, by id, that the nodes purge in parallel.
+             */
+            private int partitions = 1;
+
+            public int getChunkSize() {
+                return chunkSize;
+            }
+
+            public void setChunkSize(int chunkSize) {
+                this.chunkSize = chunkSize;
+            }
+
+            public int getPartitions() {
+                return partitions;
+            }
+
+            public void setPartitions(int partitions) {
+                this.partitions = partitions;
+            }
+        }
+    }
+
+    public static class Scheduling {
+
+        /**
+         * How long a node holds the lock of a scheduled task, unless it renews it.
+         */
+        private Duration leaseDuration = Duration.ofMinutes(10);
+
+        /**
+         * How long a node holds the lock of a scheduled task at least, even when done sooner, so that the other nodes
+         * skip the same run although their schedules drift apart.
+         */
+        private Duration minLeaseDuration = Duration.ofSeconds(30);
+
+        public Duration getLeaseDuration() {
+            return leaseDuration;
+        }
+
+        public void setLeaseDuration(Duration leaseDuration) {
+            this.leaseDuration = leaseDuration;
+        }
+
+        public Duration getMinLeaseDuration() {
+            return minLeaseDuration;
+        }
+
+        public void setMinLeaseDuration(Duration minLeaseDuration) {
+            this.minLeaseDuration = minLeaseDuration;
+        }
+    }
+
+    public static class MethodTimings {
+
+        /**
+         * Whether the logging aspect records the timings of the repository, service and REST methods outside development,
+         * where it is always on.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Share of the calls timed, in the packages without a rate of their own.
+         */
+        private double defaultSamplingRate = 0.01;
+
+        /**
+         * Share of the calls timed by package, the most specific package applying.
+         */
+        private Map<String, Double> samplingRates = new HashMap<>();
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public double getDefaultSamplingRate() {
+            return defaultSamplingRate;
+        }
+
+        public void setDefaultSamplingRate(double defaultSamplingRate) {
+            this.defaultSamplingRate = defaultSamplingRate;
+        }
+
+        public Map<String, Double> getSamplingRates() {
+            return samplingRates;
+        }
+
+        public void setSamplingRates(Map<String, Double> samplingRates) {
+            this.samplingRates = samplingRates;
+        }
+    }
+
     // jhipster-needle-application-properties-property-class
 }
@@ -6,9 +6,13 @@ import org.slf4j.LoggerFactory;
 import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
 import org.springframework.aop.interceptor.SimpleAsyncUncaughtExceptionHandler;
 import org.springframework.boot.autoconfigure.task.TaskExecutionProperties;
+import org.springframework.boot.web.embedded.undertow.UndertowServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.annotation.EnableScheduling;
@@ -23,15 +27,27 @@ public class AsyncConfiguration implements AsyncConfigurer {
 
     private static final Logger LOG = LoggerFactory.getLogger(AsyncConfiguration.class);
 
+    private static final int VIRTUAL_THREADS_JAVA_VERSION = 21;
+
     private final TaskExecutionProperties taskExecutionProperties;
 
-    public AsyncConfiguration(TaskExecutionProperties taskExecutionProperties) {
+    private final ApplicationProperties.Async asyncProperties;
+
+    private final boolean virtualThreads;
+
+    public AsyncConfiguration(TaskExecutionProperties taskExecutionProperties, ApplicationProperties applicationProperties) {
         this.taskExecutionProperties = taskExecutionProperties;
+        this.asyncProperties = applicationProperties.getAsync();
+        this.virtualThreads = useVirtualThreads(asyncProperties.getMode());
     }
 
     @Override
     @Bean(name = "taskExecutor")
     public Executor getAsyncExecutor() {
+        if (virtualThreads) {
+            LOG.debug("Creating Async Task Executor with virtual threads");
+            return new ExceptionHandlingAsyncTaskExecutor(virtualThreadExecutor(taskExecutionProperties.getThreadNamePrefix()));
+        }
         LOG.debug("Creating Async Task Executor");
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(taskExecutionProperties.getPool().getCoreSize());
@@ -41,8 +57,60 @@ public class AsyncConfiguration implements AsyncConfigurer {
         return new ExceptionHandlingAsyncTaskExecutor(executor);
     }
 
+    /**
+     * Executor of the mails sent asynchronously, limited by {@code application.async.limits.mail}.
+     */
+    @Bean(name = "mailTaskExecutor")
+    public Executor mailTaskExecutor() {
+        return categoryTaskExecutor("mail");
+    }
+
+    /**
+     * Dispatches the HTTP requests to a new virtual thread each, rather than to the Undertow worker pool,
+     * when {@code application.async.mode} is {@code virtual}.
+     */
+    @Bean
+    public WebServerFactoryCustomizer<UndertowServletWebServerFactory> virtualThreadRequestDispatchCustomizer() {
+        return factory -> {
+            if (virtualThreads) {
+                LOG.debug("Dispatching HTTP requests to virtual threads");
+                factory.addDeploymentInfoCustomizers(deploymentInfo -> deploymentInfo.setExecutor(virtualThreadExecutor("undertow-")));
+            }
+        };
+    }
+
     @Override
     public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
         return new SimpleAsyncUncaughtExceptionHandler();
     }
+
+    /**
+     * The task executor, limited to {@code application.async.limits.<category>} concurrent tasks when that limit is set.
+     */
+    private Executor categoryTaskExecutor(String category) {
+        Executor executor = getAsyncExecutor();
+        Integer limit = asyncProperties.getLimits().get(category);
+        if (limit == null || limit <= 0) {
+            return executor;
+        }
+        LOG.debug("Limiting '{}' tasks to {} at a time", category, limit);
+        return new ConcurrencyLimitedTaskExecutor(category, (AsyncTaskExecutor) executor, limit);
+    }
+
+    private static boolean useVirtualThreads(ApplicationProperties.Async.Mode mode) {
+        if (mode != ApplicationProperties.Async.Mode.VIRTUAL) {
+            return false;
+        }
+        if (Runtime.version().feature() < VIRTUAL_THREADS_JAVA_VERSION) {
+            LOG.warn("Virtual threads require Java {}, falling back to platform threads", VIRTUAL_THREADS_JAVA_VERSION);
+            return false;
+        }
+        return true;
+    }
+
+    private static AsyncTaskExecutor virtualThreadExecutor(String threadNamePrefix) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+        executor.setVirtualThreads(true);
+        return executor;
+    }
 }
@@ -1,17 +1,44 @@
 package com.converter.file.config;
 
+import com.converter.file.cluster.CacheInvalidationBus;
+import com.converter.file.cluster.InvalidationTransport;
+import com.converter.file.cluster.JdbcInvalidationTransport;
+import com.converter.file.cluster.MulticastInvalidationTransport;
+import com.converter.file.management.EhcacheMetrics;
+import jakarta.persistence.EntityManagerFactory;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.NetworkInterface;
 import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import javax.cache.Caching;
 import org.ehcache.config.builders.*;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.core.config.DefaultConfiguration;
+import org.ehcache.expiry.ExpiryPolicy;
+import org.ehcache.impl.config.persistence.CacheManagerPersistenceConfiguration;
 import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
 import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
 import org.springframework.boot.autoconfigure.cache.JCacheManagerCustomizer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
 import org.springframework.boot.info.BuildProperties;
 import org.springframework.boot.info.GitProperties;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.cache.jcache.JCacheCache;
 import org.springframework.context.annotation.*;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.Assert;
 import tech.jhipster.config.JHipsterProperties;
 import tech.jhipster.config.cache.PrefixedKeyGenerator;
 
@@ -21,20 +48,39 @@ public class CacheConfiguration {
 
     private GitProperties gitProperties;
     private BuildProperties buildProperties;
-    private final javax.cache.configuration.Configuration<Object, Object> jcacheConfiguration;
+    private final JHipsterProperties.Cache.Ehcache ehcache;
+    private final ApplicationProperties.Cache cacheProperties;
 
-    public CacheConfiguration(JHipsterProperties jHipsterProperties) {
-        JHipsterProperties.Cache.Ehcache ehcache = jHipsterProperties.getCache().getEhcache();
+    public CacheConfiguration(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties) {
+        this.ehcache = jHipsterProperties.getCache().getEhcache();
+        this.cacheProperties = applicationProperties.getCache();
+    }
 
-        jcacheConfiguration = Eh107Configuration.fromEhcacheCacheConfiguration(
-            CacheConfigurationBuilder.newCacheConfigurationBuilder(
-                Object.class,
-                Object.class,
-                ResourcePoolsBuilder.heap(ehcache.getMaxEntries())
+    /**
+     * Replaces the cache manager of Spring Boot, which has no directory for disk tiers, and customizes it the same way.
+     */
+    @Bean
+    public javax.cache.CacheManager jCacheCacheManager(ObjectProvider<JCacheManagerCustomizer> cacheManagerCustomizers) {
+        EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        // The directory is locked by the cache manager, so only when needed
+        DefaultConfiguration configuration = cacheProperties.getCaches().values().stream().anyMatch(tiers -> tiers.getDiskMb() > 0)
+            ? new DefaultConfiguration(
+                provider.getDefaultClassLoader(),
+                new CacheManagerPersistenceConfiguration(new java.io.File(cacheProperties.getDiskDirectory()))
             )
-                .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(ehcache.getTimeToLiveSeconds())))
-                .build()
-        );
+            : new DefaultConfiguration(provider.getDefaultClassLoader());
+        javax.cache.CacheManager cacheManager = provider.getCacheManager(provider.getDefaultURI(), configuration);
+        cacheManagerCustomizers.orderedStream().forEach(customizer -> customizer.customize(cacheManager));
+        return cacheManager;
+    }
+
+    /**
+     * Preferred to the JCache metrics of Spring Boot, which need JCache statistics and have no size.
+     */
+    @Bean
+    @Order(0)
+    public CacheMeterBinderProvider<JCacheCache> ehcacheMeterBinderProvider() {
+        return (cache, tags) -> new EhcacheMetrics(cache.getNativeCache(), tags);
     }
 
     @Bean
@@ -42,6 +88,57 @@ public class CacheConfiguration {
         return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
     }
 
+    /**
+     * Evicts the entries changed by this node from the caches of the other nodes, when they are told how to reach them.
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "application.cache.invalidation", name = "transport")
+    public CacheInvalidationBus cacheInvalidationBus(
+        EntityManagerFactory entityManagerFactory,
+        javax.cache.CacheManager cacheManager,
+        JdbcTemplate jdbcTemplate,
+        PlatformTransactionManager transactionManager
+    ) throws IOException {
+        ApplicationProperties.Cache.Invalidation invalidation = cacheProperties.getInvalidation();
+        InvalidationTransport transport = switch (invalidation.getTransport()) {
+            case MULTICAST -> multicastTransport(invalidation.getMulticast());
+            case JDBC -> new JdbcInvalidationTransport(
+                jdbcTemplate,
+                transactionManager,
+                invalidation.getJdbc().getPollInterval(),
+                invalidation.getJdbc().getRetention()
+            );
+        };
+        CacheInvalidationBus bus = new CacheInvalidationBus(
+            entityManagerFactory.unwrap(SessionFactoryImplementor.class),
+            cacheManager,
+            transport,
+            Map.of(
+                com.converter.file.domain.User.class.getName(),
+                List.of(
+                    com.converter.file.repository.UserRepository.USERS_BY_LOGIN_CACHE,
+                    com.converter.file.repository.UserRepository.USERS_BY_EMAIL_CACHE
+                )
+            )
+        );
+        bus.start();
+        return bus;
+    }
+
+    private static MulticastInvalidationTransport multicastTransport(ApplicationProperties.Cache.Invalidation.Multicast multicast)
+        throws IOException {
+        NetworkInterface networkInterface = null;
+        if (multicast.getNetworkInterface() != null) {
+            networkInterface = NetworkInterface.getByName(multicast.getNetworkInterface());
+            Assert.notNull(networkInterface, "Unknown network interface " + multicast.getNetworkInterface());
+        }
+        return new MulticastInvalidationTransport(
+            new InetSocketAddress(InetAddress.getByName(multicast.getGroup()), multicast.getPort()),
+            networkInterface,
+            multicast.getTimeToLive()
+        );
+    }
+
     @Bean
     public JCacheManagerCustomizer cacheManagerCustomizer() {
         return cm -> {
@@ -51,6 +148,7 @@ public class CacheConfiguration {
             createCache(cm, com.converter.file.domain.Authority.class.getName());
             createCache(cm, com.converter.file.domain.User.class.getName() + ".authorities");
             createCache(cm, com.converter.file.domain.File.class.getName());
+            createCache(cm, com.converter.file.domain.File.class.getName() + "##NaturalId");
             // jhipster-needle-ehcache-add-entry
         };
     }
@@ -60,8 +158,33 @@ public class CacheConfiguration {
         if (cache != null) {
             cache.clear();
         } else {
-            cm.createCache(cacheName, jcacheConfiguration);
+            cm.createCache(cacheName, jcacheConfiguration(cacheName));
+        }
+    }
+
+    private javax.cache.configuration.Configuration<Object, Object> jcacheConfiguration(String cacheName) {
+        ApplicationProperties.Cache.Tiers tiers = cacheProperties
+            .getCaches()
+            .getOrDefault(cacheName, new ApplicationProperties.Cache.Tiers());
+
+        ResourcePoolsBuilder resourcePools = ResourcePoolsBuilder.heap(
+            tiers.getHeapEntries() != null ? tiers.getHeapEntries() : ehcache.getMaxEntries()
+        );
+        if (tiers.getOffHeapMb() > 0) {
+            resourcePools = resourcePools.offheap(tiers.getOffHeapMb(), MemoryUnit.MB);
+        }
+        if (tiers.getDiskMb() > 0) {
+            resourcePools = resourcePools.disk(tiers.getDiskMb(), MemoryUnit.MB, false);
         }
+
+        Duration timeToLive = tiers.getTimeToLive() != null ? tiers.getTimeToLive() : Duration.ofSeconds(ehcache.getTimeToLiveSeconds());
+        ExpiryPolicy<Object, Object> expiry = tiers.getTimeToIdle() != null
+            ? ExpiryPolicyBuilder.expiry().create(timeToLive).access(tiers.getTimeToIdle()).update(timeToLive).build()
+            : ExpiryPolicyBuilder.timeToLiveExpiration(timeToLive);
+
+        return Eh107Configuration.fromEhcacheCacheConfiguration(
+            CacheConfigurationBuilder.newCacheConfigurationBuilder(Object.class, Object.class, resourcePools).withExpiry(expiry).build()
+        );
     }
 
     @Autowired(required = false)
@@ -0,0 +1,90 @@
+package com.converter.file.config;
+
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+
+/**
+ * Limits the number of tasks of a category running at the same time on a shared executor.
+ * <p>
+ * Tasks over the limit wait in a queue of their own, and are only handed to the shared executor once a running task
+ * of the category completed: callers are never blocked, and waiting tasks hold no thread of the shared executor, which
+ * matters with a pool of platform threads.
+ * <p>
+ * A task rejected by the shared executor goes back to the head of the queue, to be handed again once a task completes
+ * or is submitted. Only the caller whose own task is rejected is told so, and that task is dropped.
+ */
+class ConcurrencyLimitedTaskExecutor implements AsyncTaskExecutor {
+
+    private final String category;
+
+    private final AsyncTaskExecutor delegate;
+
+    private final Semaphore permits;
+
+    private final Deque<Runnable> waiting = new ConcurrentLinkedDeque<>();
+
+    ConcurrencyLimitedTaskExecutor(String category, AsyncTaskExecutor delegate, int limit) {
+        this.category = category;
+        this.delegate = delegate;
+        this.permits = new Semaphore(limit);
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        waiting.addLast(task);
+        TaskRejectedException rejected = dispatch();
+        // Unless handed meanwhile, the task of the caller is still waiting on the executor that rejects tasks
+        if (rejected != null && waiting.removeLastOccurrence(task)) {
+            throw new TaskRejectedException("Could not run a '" + category + "' task", rejected);
+        }
+    }
+
+    /**
+     * Hands waiting tasks to the shared executor while permits are available. Both the callers and the completed tasks
+     * dispatch, after adding a task and after releasing a permit respectively, so that no task is left waiting.
+     *
+     * @return the rejection of the shared executor if it rejected a task, which then waits again; null otherwise.
+     */
+    private TaskRejectedException dispatch() {
+        while (!waiting.isEmpty() && permits.tryAcquire()) {
+            Runnable task = waiting.poll();
+            if (task == null) {
+                // Dispatched meanwhile by another thread
+                permits.release();
+                continue;
+            }
+            try {
+                delegate.execute(() -> {
+                    try {
+                        task.run();
+                    } finally {
+                        permits.release();
+                        // A rejected task waits for the next completion or submission
+                        dispatch();
+                    }
+                });
+            } catch (TaskRejectedException e) {
+                waiting.addFirst(task);
+                permits.release();
+                return e;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return (
+            "ConcurrencyLimitedTaskExecutor{category='" +
+            category +
+            "', available=" +
+            permits.availablePermits() +
+            ", waiting=" +
+            waiting.size() +
+            "}"
+        );
+    }
+}
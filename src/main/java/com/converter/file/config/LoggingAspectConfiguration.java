@@ -1,6 +1,8 @@
 package com.converter.file.config;
 
 import com.converter.file.aop.logging.LoggingAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.*;
 import org.springframework.core.env.Environment;
 import tech.jhipster.config.JHipsterConstants;
@@ -11,7 +13,17 @@ public class LoggingAspectConfiguration {
 
     @Bean
     @Profile(JHipsterConstants.SPRING_PROFILE_DEVELOPMENT)
-    public LoggingAspect loggingAspect(Environment env) {
-        return new LoggingAspect(env);
+    public LoggingAspect loggingAspect(Environment env, MeterRegistry meterRegistry, ApplicationProperties applicationProperties) {
+        return new LoggingAspect(env, meterRegistry, applicationProperties);
+    }
+
+    /**
+     * Outside development, the aspect only times a sample of the calls, when enabled: otherwise no bean is proxied for it.
+     */
+    @Bean
+    @Profile("!" + JHipsterConstants.SPRING_PROFILE_DEVELOPMENT)
+    @ConditionalOnProperty(prefix = "application.method-timings", name = "enabled", havingValue = "true")
+    public LoggingAspect methodTimingsAspect(Environment env, MeterRegistry meterRegistry, ApplicationProperties applicationProperties) {
+        return new LoggingAspect(env, meterRegistry, applicationProperties);
     }
 }
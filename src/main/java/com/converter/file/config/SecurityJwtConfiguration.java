@@ -3,8 +3,11 @@ package com.converter.file.config;
 import static com.converter.file.security.SecurityUtils.JWT_ALGORITHM;
 
 import com.converter.file.management.SecurityMetersService;
+import com.converter.file.security.CachingJwtDecoder;
+import com.converter.file.security.JwtPreValidator;
 import com.nimbusds.jose.jwk.source.ImmutableSecret;
 import com.nimbusds.jose.util.Base64;
+import java.time.Clock;
 import javax.crypto.SecretKey;
 import javax.crypto.spec.SecretKeySpec;
 import org.slf4j.Logger;
@@ -12,8 +15,10 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.oauth2.jwt.BadJwtException;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtException;
 import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
 
@@ -26,9 +31,15 @@ public class SecurityJwtConfiguration {
     private String jwtKey;
 
     @Bean
-    public JwtDecoder jwtDecoder(SecurityMetersService metersService) {
+    public JwtDecoder jwtDecoder(SecurityMetersService metersService, ApplicationProperties applicationProperties) {
         NimbusJwtDecoder jwtDecoder = NimbusJwtDecoder.withSecretKey(getSecretKey()).macAlgorithm(JWT_ALGORITHM).build();
-        return token -> {
+        JwtPreValidator preValidator = new JwtPreValidator(getSecretKey(), JWT_ALGORITHM.getName(), Clock.systemUTC());
+        JwtDecoder meteredJwtDecoder = token -> {
+            // Most bad tokens are rejected here, without the exceptions of the decoder
+            JwtPreValidator.Result result = preValidator.validate(token);
+            if (result != JwtPreValidator.Result.UNDECIDED) {
+                throw reject(result, metersService);
+            }
             try {
                 return jwtDecoder.decode(token);
             } catch (Exception e) {
@@ -48,6 +59,12 @@ public class SecurityJwtConfiguration {
                 throw e;
             }
         };
+        int tokenCacheMaxEntries = applicationProperties.getSecurity().getTokenCache().getMaxEntries();
+        if (tokenCacheMaxEntries <= 0) {
+            return meteredJwtDecoder;
+        }
+        // Clients send the same token with every request until it expires
+        return new CachingJwtDecoder(meteredJwtDecoder, tokenCacheMaxEntries, metersService);
     }
 
     @Bean
@@ -55,8 +72,53 @@ public class SecurityJwtConfiguration {
         return new NimbusJwtEncoder(new ImmutableSecret<>(getSecretKey()));
     }
 
+    /**
+     * Counts a token rejected by the pre-validation, and creates the exception rejecting it.
+     */
+    private static JwtException reject(JwtPreValidator.Result result, SecurityMetersService metersService) {
+        String message =
+            switch (result) {
+                case MALFORMED -> {
+                    metersService.trackTokenMalformed();
+                    yield "Malformed token";
+                }
+                case UNSUPPORTED -> {
+                    metersService.trackTokenUnsupported();
+                    yield "Unsupported algorithm";
+                }
+                case INVALID_SIGNATURE -> {
+                    metersService.trackTokenInvalidSignature();
+                    yield "Invalid signature";
+                }
+                case EXPIRED -> {
+                    metersService.trackTokenExpired();
+                    yield "Jwt expired";
+                }
+                case UNDECIDED -> throw new IllegalArgumentException("The token was not rejected");
+            };
+        return new RejectedJwtException(message);
+    }
+
     private SecretKey getSecretKey() {
         byte[] keyBytes = Base64.from(jwtKey).decode();
         return new SecretKeySpec(keyBytes, 0, keyBytes.length, JWT_ALGORITHM.getName());
     }
+
+    /**
+     * A token rejected before decoding, which does not fill in its stack trace: it would always be the same, and only
+     * cost time under a flood of bad tokens.
+     */
+    private static final class RejectedJwtException extends BadJwtException {
+
+        private static final long serialVersionUID = 1L;
+
+        private RejectedJwtException(String message) {
+            super(message);
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
 }
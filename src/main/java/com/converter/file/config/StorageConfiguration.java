@@ -0,0 +1,40 @@
+package com.converter.file.config;
+
+import com.converter.file.storage.BlobStore;
+import com.converter.file.storage.LocalBlobStore;
+import com.converter.file.storage.S3BlobStore;
+import java.net.URI;
+import java.nio.file.Path;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.Assert;
+
+@Configuration
+public class StorageConfiguration {
+
+    private static final Logger LOG = LoggerFactory.getLogger(StorageConfiguration.class);
+
+    @Bean
+    public BlobStore blobStore(ApplicationProperties applicationProperties) {
+        ApplicationProperties.Storage storage = applicationProperties.getStorage();
+        Path directory = Path.of(storage.getDirectory());
+        if (storage.getType() == ApplicationProperties.Storage.Type.S3) {
+            ApplicationProperties.Storage.S3 s3 = storage.getS3();
+            Assert.hasText(s3.getEndpoint(), "application.storage.s3.endpoint is required");
+            Assert.hasText(s3.getBucket(), "application.storage.s3.bucket is required");
+            LOG.debug("Storing file contents in the bucket {} of {}", s3.getBucket(), s3.getEndpoint());
+            return new S3BlobStore(
+                URI.create(s3.getEndpoint()),
+                s3.getBucket(),
+                s3.getRegion(),
+                s3.getAccessKey(),
+                s3.getSecretKey(),
+                directory
+            );
+        }
+        LOG.debug("Storing file contents in {}", directory.toAbsolutePath());
+        return new LocalBlobStore(directory);
+    }
+}
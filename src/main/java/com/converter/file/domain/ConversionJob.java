@@ -0,0 +1,273 @@
+package com.converter.file.domain;
+
+import com.converter.file.domain.enumeration.ConversionJobStatus;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * A conversion of a {@link File} waiting in, or processed from, the conversion queue.
+ * <p>
+ * Jobs are claimed by a node for the duration of a lease; a job whose lease expired is claimable again,
+ * so that the jobs of a node that died are picked up by the others.
+ */
+@Entity
+@Table(name = "conversion_job")
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class ConversionJob implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "conversionJobIdGenerator")
+    @TableGenerator(
+        name = "conversionJobIdGenerator",
+        table = "id_generator",
+        pkColumnName = "sequence_name",
+        valueColumnName = "next_val",
+        pkColumnValue = "conversion_job",
+        allocationSize = 50
+    )
+    @Column(name = "id")
+    private Long id;
+
+    @NotNull
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    private File file;
+
+    @NotNull
+    @Size(max = 255)
+    @Column(name = "target_type", nullable = false)
+    private String targetType;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 20, nullable = false)
+    private ConversionJobStatus status = ConversionJobStatus.PENDING;
+
+    @NotNull
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts = 0;
+
+    @NotNull
+    @Column(name = "next_attempt_at", nullable = false)
+    private Instant nextAttemptAt = Instant.now();
+
+    @Size(max = 255)
+    @Column(name = "lease_owner")
+    private String leaseOwner;
+
+    /**
+     * Fencing token of the current claim: only the holder of the latest token can complete or fail the job.
+     */
+    @JsonIgnore
+    @Size(max = 36)
+    @Column(name = "lease_token", length = 36)
+    private String leaseToken;
+
+    @Column(name = "lease_expires_at")
+    private Instant leaseExpiresAt;
+
+    @Size(max = 1000)
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @NotNull
+    @Column(name = "created_date", nullable = false, updatable = false)
+    private Instant createdDate = Instant.now();
+
+    @Column(name = "completed_date")
+    private Instant completedDate;
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public ConversionJob id(Long id) {
+        this.setId(id);
+        return this;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public File getFile() {
+        return this.file;
+    }
+
+    public ConversionJob file(File file) {
+        this.setFile(file);
+        return this;
+    }
+
+    public void setFile(File file) {
+        this.file = file;
+    }
+
+    public String getTargetType() {
+        return this.targetType;
+    }
+
+    public ConversionJob targetType(String targetType) {
+        this.setTargetType(targetType);
+        return this;
+    }
+
+    public void setTargetType(String targetType) {
+        this.targetType = targetType;
+    }
+
+    public ConversionJobStatus getStatus() {
+        return this.status;
+    }
+
+    public ConversionJob status(ConversionJobStatus status) {
+        this.setStatus(status);
+        return this;
+    }
+
+    public void setStatus(ConversionJobStatus status) {
+        this.status = status;
+    }
+
+    public Integer getAttempts() {
+        return this.attempts;
+    }
+
+    public ConversionJob attempts(Integer attempts) {
+        this.setAttempts(attempts);
+        return this;
+    }
+
+    public void setAttempts(Integer attempts) {
+        this.attempts = attempts;
+    }
+
+    public Instant getNextAttemptAt() {
+        return this.nextAttemptAt;
+    }
+
+    public ConversionJob nextAttemptAt(Instant nextAttemptAt) {
+        this.setNextAttemptAt(nextAttemptAt);
+        return this;
+    }
+
+    public void setNextAttemptAt(Instant nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public String getLeaseOwner() {
+        return this.leaseOwner;
+    }
+
+    public ConversionJob leaseOwner(String leaseOwner) {
+        this.setLeaseOwner(leaseOwner);
+        return this;
+    }
+
+    public void setLeaseOwner(String leaseOwner) {
+        this.leaseOwner = leaseOwner;
+    }
+
+    public String getLeaseToken() {
+        return this.leaseToken;
+    }
+
+    public ConversionJob leaseToken(String leaseToken) {
+        this.setLeaseToken(leaseToken);
+        return this;
+    }
+
+    public void setLeaseToken(String leaseToken) {
+        this.leaseToken = leaseToken;
+    }
+
+    public Instant getLeaseExpiresAt() {
+        return this.leaseExpiresAt;
+    }
+
+    public ConversionJob leaseExpiresAt(Instant leaseExpiresAt) {
+        this.setLeaseExpiresAt(leaseExpiresAt);
+        return this;
+    }
+
+    public void setLeaseExpiresAt(Instant leaseExpiresAt) {
+        this.leaseExpiresAt = leaseExpiresAt;
+    }
+
+    public String getLastError() {
+        return this.lastError;
+    }
+
+    public ConversionJob lastError(String lastError) {
+        this.setLastError(lastError);
+        return this;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    public Instant getCreatedDate() {
+        return this.createdDate;
+    }
+
+    public ConversionJob createdDate(Instant createdDate) {
+        this.setCreatedDate(createdDate);
+        return this;
+    }
+
+    public void setCreatedDate(Instant createdDate) {
+        this.createdDate = createdDate;
+    }
+
+    public Instant getCompletedDate() {
+        return this.completedDate;
+    }
+
+    public ConversionJob completedDate(Instant completedDate) {
+        this.setCompletedDate(completedDate);
+        return this;
+    }
+
+    public void setCompletedDate(Instant completedDate) {
+        this.completedDate = completedDate;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ConversionJob)) {
+            return false;
+        }
+        return getId() != null && getId().equals(((ConversionJob) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ConversionJob{" +
+            "id=" + getId() +
+            ", targetType='" + getTargetType() + "'" +
+            ", status='" + getStatus() + "'" +
+            ", attempts=" + getAttempts() +
+            ", nextAttemptAt='" + getNextAttemptAt() + "'" +
+            ", leaseOwner='" + getLeaseOwner() + "'" +
+            ", leaseExpiresAt='" + getLeaseExpiresAt() + "'" +
+            ", lastError='" + getLastError() + "'" +
+            ", createdDate='" + getCreatedDate() + "'" +
+            ", completedDate='" + getCompletedDate() + "'" +
+            "}";
+    }
+}
@@ -6,24 +6,49 @@ import java.io.Serializable;
 import java.time.LocalDate;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 /**
  * A File.
+ * <p>
+ * Identified as well by its name in its category, which can change: lookups by both resolve through their own cache
+ * region to the id, then to the cached entity.
  */
 @Entity
 @Table(name = "file")
 @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@NaturalIdCache
+@EntityListeners(FileEntityListener.class)
 @SuppressWarnings("common-java:DuplicatedBlocks")
 public class File implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
+    /**
+     * Ids allocated at once, as {@code fileIdAllocationSize} in the changelog seeding the {@code id_generator} table.
+     */
+    static final int ID_ALLOCATION_SIZE = 50;
+
+    /**
+     * Ids are allocated from the {@code id_generator} table in blocks, rather than by the identity column,
+     * so that Hibernate can batch the inserts of new files.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "fileIdGenerator")
+    @TableGenerator(
+        name = "fileIdGenerator",
+        table = "id_generator",
+        pkColumnName = "sequence_name",
+        valueColumnName = "next_val",
+        pkColumnValue = "file",
+        allocationSize = File.ID_ALLOCATION_SIZE
+    )
     @Column(name = "id")
     private Long id;
 
     @NotNull
+    @NaturalId(mutable = true)
     @Column(name = "file_name", nullable = false)
     private String fileName;
 
@@ -42,9 +67,17 @@ public class File implements Serializable {
     private String s3Url;
 
     @NotNull
+    @NaturalId(mutable = true)
     @Column(name = "category", nullable = false)
     private String category;
 
+    /**
+     * SHA-256 digest of the content of the file, its key in the blob store.
+     */
+    @Pattern(regexp = "[0-9a-f]{64}")
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here
 
     public Long getId() {
@@ -138,6 +171,19 @@ public class File implements Serializable {
         this.category = category;
     }
 
+    public String getContentHash() {
+        return this.contentHash;
+    }
+
+    public File contentHash(String contentHash) {
+        this.setContentHash(contentHash);
+        return this;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
     @Override
@@ -168,6 +214,7 @@ public class File implements Serializable {
             ", converted='" + getConverted() + "'" +
             ", s3Url='" + gets3Url() + "'" +
             ", category='" + getCategory() + "'" +
+            ", contentHash='" + getContentHash() + "'" +
             "}";
     }
 }
@@ -0,0 +1,22 @@
+package com.converter.file.domain;
+
+/**
+ * Published when a {@link File} is created, updated or deleted, by the {@link FileEntityListener}.
+ *
+ * @param id the id of the file.
+ * @param fileName the name of the file, or {@code null} if it was deleted.
+ * @param category the category of the file, or {@code null} if it was deleted.
+ */
+public record FileChangedEvent(Long id, String fileName, String category) {
+    public static FileChangedEvent saved(File file) {
+        return new FileChangedEvent(file.getId(), file.getFileName(), file.getCategory());
+    }
+
+    public static FileChangedEvent deleted(File file) {
+        return new FileChangedEvent(file.getId(), null, null);
+    }
+
+    public boolean isDeleted() {
+        return fileName == null;
+    }
+}
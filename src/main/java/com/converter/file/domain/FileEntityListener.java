@@ -0,0 +1,34 @@
+package com.converter.file.domain;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * Publishes a {@link FileChangedEvent} for every {@link File} written through JPA.
+ * <p>
+ * The events are published when the change is flushed, inside its transaction: listeners interested in committed
+ * changes only listen after the commit. Bulk JPQL and native statements do not go through this listener.
+ * <p>
+ * Instantiated by Hibernate through the Spring bean container, which injects the publisher.
+ */
+public class FileEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public FileEntityListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void afterSave(File file) {
+        eventPublisher.publishEvent(FileChangedEvent.saved(file));
+    }
+
+    @PostRemove
+    public void afterRemove(File file) {
+        eventPublisher.publishEvent(FileChangedEvent.deleted(file));
+    }
+}
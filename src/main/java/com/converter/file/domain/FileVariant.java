@@ -0,0 +1,180 @@
+package com.converter.file.domain;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import java.io.Serializable;
+
+/**
+ * A resized derivative of an image {@link File}, such as its thumbnail, whose content is in the blob store.
+ */
+@Entity
+@Table(name = "file_variant")
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class FileVariant implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "fileVariantIdGenerator")
+    @TableGenerator(
+        name = "fileVariantIdGenerator",
+        table = "id_generator",
+        pkColumnName = "sequence_name",
+        valueColumnName = "next_val",
+        pkColumnValue = "file_variant",
+        allocationSize = 50
+    )
+    @Column(name = "id")
+    private Long id;
+
+    @NotNull
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    private File file;
+
+    @NotNull
+    @Size(max = 50)
+    @Column(name = "name", length = 50, nullable = false)
+    private String name;
+
+    @NotNull
+    @Size(max = 255)
+    @Column(name = "file_type", nullable = false)
+    private String fileType;
+
+    @NotNull
+    @Column(name = "width", nullable = false)
+    private Integer width;
+
+    @NotNull
+    @Column(name = "height", nullable = false)
+    private Integer height;
+
+    /**
+     * SHA-256 digest of the content, hex encoded: its key in the blob store.
+     */
+    @NotNull
+    @Size(min = 64, max = 64)
+    @Column(name = "content_hash", length = 64, nullable = false)
+    private String contentHash;
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public FileVariant id(Long id) {
+        this.setId(id);
+        return this;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public File getFile() {
+        return this.file;
+    }
+
+    public FileVariant file(File file) {
+        this.setFile(file);
+        return this;
+    }
+
+    public void setFile(File file) {
+        this.file = file;
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public FileVariant name(String name) {
+        this.setName(name);
+        return this;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getFileType() {
+        return this.fileType;
+    }
+
+    public FileVariant fileType(String fileType) {
+        this.setFileType(fileType);
+        return this;
+    }
+
+    public void setFileType(String fileType) {
+        this.fileType = fileType;
+    }
+
+    public Integer getWidth() {
+        return this.width;
+    }
+
+    public FileVariant width(Integer width) {
+        this.setWidth(width);
+        return this;
+    }
+
+    public void setWidth(Integer width) {
+        this.width = width;
+    }
+
+    public Integer getHeight() {
+        return this.height;
+    }
+
+    public FileVariant height(Integer height) {
+        this.setHeight(height);
+        return this;
+    }
+
+    public void setHeight(Integer height) {
+        this.height = height;
+    }
+
+    public String getContentHash() {
+        return this.contentHash;
+    }
+
+    public FileVariant contentHash(String contentHash) {
+        this.setContentHash(contentHash);
+        return this;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof FileVariant)) {
+            return false;
+        }
+        return getId() != null && getId().equals(((FileVariant) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "FileVariant{" +
+            "id=" + getId() +
+            ", name='" + getName() + "'" +
+            ", fileType='" + getFileType() + "'" +
+            ", width=" + getWidth() +
+            ", height=" + getHeight() +
+            ", contentHash='" + getContentHash() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,164 @@
+package com.converter.file.domain;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import java.io.Serializable;
+import java.time.Instant;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * The lock of a scheduled task, held by one node at a time for the duration of a lease.
+ * <p>
+ * Every acquisition increments the fencing token, so that a node whose lease expired and was taken over can tell, and
+ * cannot renew it nor write under it anymore. A new lock is always inserted, never merged over the lock another node
+ * created meanwhile.
+ */
+@Entity
+@Table(name = "scheduled_task_lock")
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class ScheduledTaskLock implements Serializable, Persistable<String> {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @NotNull
+    @Size(max = 100)
+    @Column(name = "name", length = 100, nullable = false)
+    private String name;
+
+    @Size(max = 100)
+    @Column(name = "locked_by", length = 100)
+    private String lockedBy;
+
+    @NotNull
+    @Column(name = "fencing_token", nullable = false)
+    private Long fencingToken = 0L;
+
+    @NotNull
+    @Column(name = "lease_expires_at", nullable = false)
+    private Instant leaseExpiresAt = Instant.EPOCH;
+
+    @Column(name = "locked_at")
+    private Instant lockedAt;
+
+    @org.springframework.data.annotation.Transient
+    @Transient
+    private boolean isPersisted;
+
+    public String getName() {
+        return this.name;
+    }
+
+    public ScheduledTaskLock name(String name) {
+        this.setName(name);
+        return this;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getLockedBy() {
+        return this.lockedBy;
+    }
+
+    public ScheduledTaskLock lockedBy(String lockedBy) {
+        this.setLockedBy(lockedBy);
+        return this;
+    }
+
+    public void setLockedBy(String lockedBy) {
+        this.lockedBy = lockedBy;
+    }
+
+    public Long getFencingToken() {
+        return this.fencingToken;
+    }
+
+    public ScheduledTaskLock fencingToken(Long fencingToken) {
+        this.setFencingToken(fencingToken);
+        return this;
+    }
+
+    public void setFencingToken(Long fencingToken) {
+        this.fencingToken = fencingToken;
+    }
+
+    public Instant getLeaseExpiresAt() {
+        return this.leaseExpiresAt;
+    }
+
+    public ScheduledTaskLock leaseExpiresAt(Instant leaseExpiresAt) {
+        this.setLeaseExpiresAt(leaseExpiresAt);
+        return this;
+    }
+
+    public void setLeaseExpiresAt(Instant leaseExpiresAt) {
+        this.leaseExpiresAt = leaseExpiresAt;
+    }
+
+    public Instant getLockedAt() {
+        return this.lockedAt;
+    }
+
+    public ScheduledTaskLock lockedAt(Instant lockedAt) {
+        this.setLockedAt(lockedAt);
+        return this;
+    }
+
+    public void setLockedAt(Instant lockedAt) {
+        this.lockedAt = lockedAt;
+    }
+
+    @PostLoad
+    @PostPersist
+    public void updateEntityState() {
+        this.setIsPersisted();
+    }
+
+    @Override
+    public String getId() {
+        return this.name;
+    }
+
+    @org.springframework.data.annotation.Transient
+    @Transient
+    @Override
+    public boolean isNew() {
+        return !this.isPersisted;
+    }
+
+    public ScheduledTaskLock setIsPersisted() {
+        this.isPersisted = true;
+        return this;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ScheduledTaskLock)) {
+            return false;
+        }
+        return getName() != null && getName().equals(((ScheduledTaskLock) o).getName());
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ScheduledTaskLock{" +
+            "name='" + getName() + "'" +
+            ", lockedBy='" + getLockedBy() + "'" +
+            ", fencingToken=" + getFencingToken() +
+            ", leaseExpiresAt='" + getLeaseExpiresAt() + "'" +
+            ", lockedAt='" + getLockedAt() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,234 @@
+package com.converter.file.domain;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import java.io.Serializable;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
+import org.hibernate.annotations.UuidGenerator;
+
+/**
+ * A resumable upload of the content of a new {@link File}, received in chunks of {@link #chunkSize} bytes that can
+ * be sent in any order and in parallel. The file is created once all the chunks are received.
+ */
+@Entity
+@Table(name = "upload_session")
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class UploadSession implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Random, so that the URL of an upload cannot be guessed.
+     */
+    @Id
+    @UuidGenerator
+    @Column(name = "id", length = 36)
+    private String id;
+
+    @NotNull
+    @Size(max = 255)
+    @Column(name = "file_name", nullable = false)
+    private String fileName;
+
+    @NotNull
+    @Size(max = 255)
+    @Column(name = "file_type", nullable = false)
+    private String fileType;
+
+    @NotNull
+    @Column(name = "last_modified", nullable = false)
+    private LocalDate lastModified;
+
+    @NotNull
+    @Size(max = 255)
+    @Column(name = "category", nullable = false)
+    private String category;
+
+    /**
+     * Length of the whole content, in bytes.
+     */
+    @NotNull
+    @Min(0)
+    @Column(name = "length", nullable = false)
+    private Long length;
+
+    @Column(name = "chunk_size", nullable = false, updatable = false)
+    private Integer chunkSize;
+
+    @Column(name = "created_date", nullable = false, updatable = false)
+    private Instant createdDate = Instant.now();
+
+    /**
+     * Indexes of the chunks written to disk. Recorded one row at a time by
+     * {@link com.converter.file.repository.UploadSessionRepository#recordChunk}, so that parallel chunks do not overwrite
+     * each other's progress: this collection is only read.
+     */
+    @JsonIgnore
+    @ElementCollection
+    @CollectionTable(name = "upload_chunk", joinColumns = @JoinColumn(name = "session_id"))
+    @Column(name = "chunk_index")
+    private Set<Integer> receivedChunks = new HashSet<>();
+
+    public String getId() {
+        return this.id;
+    }
+
+    public UploadSession id(String id) {
+        this.setId(id);
+        return this;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getFileName() {
+        return this.fileName;
+    }
+
+    public UploadSession fileName(String fileName) {
+        this.setFileName(fileName);
+        return this;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public String getFileType() {
+        return this.fileType;
+    }
+
+    public UploadSession fileType(String fileType) {
+        this.setFileType(fileType);
+        return this;
+    }
+
+    public void setFileType(String fileType) {
+        this.fileType = fileType;
+    }
+
+    public LocalDate getLastModified() {
+        return this.lastModified;
+    }
+
+    public UploadSession lastModified(LocalDate lastModified) {
+        this.setLastModified(lastModified);
+        return this;
+    }
+
+    public void setLastModified(LocalDate lastModified) {
+        this.lastModified = lastModified;
+    }
+
+    public String getCategory() {
+        return this.category;
+    }
+
+    public UploadSession category(String category) {
+        this.setCategory(category);
+        return this;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public Long getLength() {
+        return this.length;
+    }
+
+    public UploadSession length(Long length) {
+        this.setLength(length);
+        return this;
+    }
+
+    public void setLength(Long length) {
+        this.length = length;
+    }
+
+    public Integer getChunkSize() {
+        return this.chunkSize;
+    }
+
+    public UploadSession chunkSize(Integer chunkSize) {
+        this.setChunkSize(chunkSize);
+        return this;
+    }
+
+    public void setChunkSize(Integer chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public Instant getCreatedDate() {
+        return this.createdDate;
+    }
+
+    public UploadSession createdDate(Instant createdDate) {
+        this.setCreatedDate(createdDate);
+        return this;
+    }
+
+    public void setCreatedDate(Instant createdDate) {
+        this.createdDate = createdDate;
+    }
+
+    public Set<Integer> getReceivedChunks() {
+        return this.receivedChunks;
+    }
+
+    public void setReceivedChunks(Set<Integer> receivedChunks) {
+        this.receivedChunks = receivedChunks;
+    }
+
+    /**
+     * @return the number of chunks of the content, none when it is empty.
+     */
+    public int chunkCount() {
+        return (int) ((length + chunkSize - 1) / chunkSize);
+    }
+
+    /**
+     * @param index the index of a chunk.
+     * @return the length of the chunk, in bytes.
+     */
+    public long chunkLength(int index) {
+        return Math.min(chunkSize, length - (long) index * chunkSize);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof UploadSession)) {
+            return false;
+        }
+        return getId() != null && getId().equals(((UploadSession) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "UploadSession{" +
+            "id=" + getId() +
+            ", fileName='" + getFileName() + "'" +
+            ", fileType='" + getFileType() + "'" +
+            ", lastModified='" + getLastModified() + "'" +
+            ", category='" + getCategory() + "'" +
+            ", length=" + getLength() +
+            ", chunkSize=" + getChunkSize() +
+            ", createdDate='" + getCreatedDate() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,20 @@
+package com.converter.file.domain.enumeration;
+
+/**
+ * The ConversionJobStatus enumeration.
+ */
+public enum ConversionJobStatus {
+    /**
+     * Waiting to be claimed once its next attempt is due.
+     */
+    PENDING,
+    /**
+     * Claimed by a node, which owns it until its lease expires.
+     */
+    RUNNING,
+    SUCCEEDED,
+    /**
+     * Failed permanently, or too many times; no longer retried.
+     */
+    DEAD,
+}
@@ -0,0 +1,19 @@
+package com.converter.file.domain.enumeration;
+
+/**
+ * The MailMessageStatus enumeration.
+ */
+public enum MailMessageStatus {
+    /**
+     * Waiting to be claimed once its next attempt is due.
+     */
+    PENDING,
+    /**
+     * Claimed by a node, which owns it until its lease expires.
+     */
+    SENDING,
+    /**
+     * Rejected permanently, or failed too many times; no longer retried.
+     */
+    DEAD,
+}
@@ -0,0 +1,4 @@
+/**
+ * JPA domain objects enumerations.
+ */
+package com.converter.file.domain.enumeration;
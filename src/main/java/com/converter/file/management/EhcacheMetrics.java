@@ -0,0 +1,94 @@
+package com.converter.file.management;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+import java.util.List;
+import org.ehcache.core.InternalCache;
+import org.ehcache.core.internal.statistics.DefaultCacheStatistics;
+import org.ehcache.core.statistics.CacheStatistics;
+import org.ehcache.core.statistics.TierStatistics;
+
+/**
+ * Metrics of an Ehcache cache, read from the statistics Ehcache keeps whether or not JCache statistics are enabled.
+ * <p>
+ * Besides the {@code cache.*} meters of every cache, has the entries and bytes of each tier: {@code OnHeap},
+ * {@code OffHeap} and {@code Disk}. The size of the cache is the number of entries in its lowest tier, which holds them
+ * all.
+ */
+public class EhcacheMetrics extends CacheMeterBinder<javax.cache.Cache<?, ?>> {
+
+    /**
+     * The tiers, from the highest to the lowest.
+     */
+    private static final List<String> TIERS = List.of("OnHeap", "OffHeap", "Disk");
+
+    private final CacheStatistics statistics;
+
+    private final TierStatistics lowestTier;
+
+    public EhcacheMetrics(javax.cache.Cache<?, ?> cache, Iterable<Tag> tags) {
+        super(cache, cache.getName(), tags);
+        this.statistics = new DefaultCacheStatistics(cache.unwrap(InternalCache.class));
+        TierStatistics tier = null;
+        for (String name : TIERS) {
+            tier = statistics.getTierStatistics().getOrDefault(name, tier);
+        }
+        this.lowestTier = tier;
+    }
+
+    @Override
+    protected Long size() {
+        return lowestTier != null ? lowestTier.getMappings() : null;
+    }
+
+    @Override
+    protected long hitCount() {
+        return statistics.getCacheHits();
+    }
+
+    @Override
+    protected Long missCount() {
+        return statistics.getCacheMisses();
+    }
+
+    @Override
+    protected Long evictionCount() {
+        return statistics.getCacheEvictions();
+    }
+
+    @Override
+    protected long putCount() {
+        return statistics.getCachePuts();
+    }
+
+    @Override
+    protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+        FunctionCounter.builder("cache.expirations", statistics, CacheStatistics::getCacheExpirations)
+            .tags(getTagsWithCacheName())
+            .description("The number of entries expired from the cache")
+            .register(registry);
+
+        statistics
+            .getTierStatistics()
+            .forEach((name, tier) -> {
+                Tags tags = Tags.of(getTagsWithCacheName()).and("tier", name);
+                Gauge.builder("cache.tier.size", tier, TierStatistics::getMappings)
+                    .tags(tags)
+                    .description("The number of entries in the tier")
+                    .register(registry);
+                // Not known for the heap tier sized in entries
+                if (tier.getAllocatedByteSize() >= 0) {
+                    Gauge.builder("cache.tier.occupied", tier, TierStatistics::getOccupiedByteSize)
+                        .tags(tags)
+                        .description("The bytes used by the entries of the tier")
+                        .baseUnit(BaseUnits.BYTES)
+                        .register(registry);
+                }
+            });
+    }
+}
@@ -0,0 +1,79 @@
+package com.converter.file.repository;
+
+import com.converter.file.domain.ConversionJob;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the ConversionJob entity.
+ */
+@SuppressWarnings("unused")
+@Repository
+public interface ConversionJobRepository extends JpaRepository<ConversionJob, Long> {
+    /**
+     * Value of {@code jakarta.persistence.lock.timeout} asking Hibernate to skip the rows locked by other transactions
+     * ({@code org.hibernate.LockOptions.SKIP_LOCKED}).
+     */
+    String SKIP_LOCKED = "-2";
+
+    String CLAIMABLE =
+        "((j.status = com.converter.file.domain.enumeration.ConversionJobStatus.PENDING and j.nextAttemptAt <= :now)" +
+        " or (j.status = com.converter.file.domain.enumeration.ConversionJobStatus.RUNNING and j.leaseExpiresAt < :now))";
+
+    /**
+     * Locks the jobs that are due, or whose lease expired, oldest first.
+     * <p>
+     * On MySQL this is a {@code SELECT ... FOR UPDATE SKIP LOCKED}, so that concurrent claimers never wait for each other
+     * and each get distinct jobs. Databases without {@code SKIP LOCKED}, such as H2, fall back to a plain
+     * {@code FOR UPDATE}: claimers are then serialized, and {@link #claim} re-checks that each job is still claimable.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = SKIP_LOCKED))
+    @Query("select j.id from ConversionJob j where " + CLAIMABLE + " order by j.nextAttemptAt, j.id")
+    List<Long> findClaimableIds(@Param("now") Instant now, Pageable pageable);
+
+    /**
+     * Claims the given jobs that are still claimable, under a new lease token.
+     *
+     * @return the number of jobs claimed.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(
+        "update ConversionJob j set j.status = com.converter.file.domain.enumeration.ConversionJobStatus.RUNNING," +
+        " j.leaseOwner = :owner, j.leaseToken = :token, j.leaseExpiresAt = :leaseExpiresAt, j.attempts = j.attempts + 1" +
+        " where j.id in :ids and " +
+        CLAIMABLE
+    )
+    int claim(
+        @Param("ids") Collection<Long> ids,
+        @Param("owner") String owner,
+        @Param("token") String token,
+        @Param("now") Instant now,
+        @Param("leaseExpiresAt") Instant leaseExpiresAt
+    );
+
+    @EntityGraph(attributePaths = "file")
+    List<ConversionJob> findAllByLeaseToken(String leaseToken);
+
+    Optional<ConversionJob> findOneByIdAndLeaseToken(Long id, String leaseToken);
+
+    /**
+     * Extends the leases of the running jobs still owned through the given tokens.
+     *
+     * @return the number of leases renewed.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(
+        "update ConversionJob j set j.leaseExpiresAt = :leaseExpiresAt" +
+        " where j.leaseToken in :tokens and j.status = com.converter.file.domain.enumeration.ConversionJobStatus.RUNNING"
+    )
+    int renewLeases(@Param("tokens") Collection<String> tokens, @Param("leaseExpiresAt") Instant leaseExpiresAt);
+}
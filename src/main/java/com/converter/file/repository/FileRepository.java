@@ -1,6 +1,12 @@
 package com.converter.file.repository;
 
 import com.converter.file.domain.File;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.stereotype.Repository;
 
@@ -9,4 +15,50 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface FileRepository extends JpaRepository<File, Long> {}
+public interface FileRepository extends FileRepositoryWithNaturalId, JpaRepository<File, Long>, JpaSpecificationExecutor<File> {
+    /**
+     * Number of rows the JDBC driver fetches per round trip when streaming files.
+     */
+    String STREAM_FETCH_SIZE = "500";
+
+    /**
+     * Streams all files without loading them all at once. Must be consumed inside a transaction.
+     * <p>
+     * The files are loaded read-only and bypass the second-level cache, so that a full table scan
+     * neither snapshots every entity nor evicts the hot entries of the cache.
+     */
+    @QueryHints(
+        {
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE"),
+        }
+    )
+    Stream<File> streamAllBy(Sort sort);
+
+    /**
+     * Streams the names and categories of all files, in id order. Must be consumed inside a transaction.
+     * <p>
+     * A projection rather than entities, so that nothing accumulates in the persistence context.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query("select f.id as id, f.fileName as fileName, f.category as category from File f order by f.id")
+    Stream<FileName> streamNamesBy();
+
+    /**
+     * Finds the names of the files of any of the given categories with any of the given names, to check many names in
+     * one query. The pairs of category and name must still be matched by the caller.
+     */
+    List<FileName> findByCategoryInAndFileNameIn(Collection<String> categories, Collection<String> fileNames);
+
+    /**
+     * The name and category of a file.
+     */
+    interface FileName {
+        Long getId();
+
+        String getFileName();
+
+        String getCategory();
+    }
+}
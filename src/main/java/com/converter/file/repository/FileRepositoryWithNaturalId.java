@@ -0,0 +1,15 @@
+package com.converter.file.repository;
+
+import com.converter.file.domain.File;
+import java.util.Optional;
+
+/**
+ * Lookups of {@link File}s by their natural id, which Spring Data queries cannot do.
+ */
+public interface FileRepositoryWithNaturalId {
+    /**
+     * Finds a file by its name in its category, through the natural id cache: a file found before is neither resolved
+     * nor loaded from the database again while it stays cached.
+     */
+    Optional<File> findByCategoryAndFileName(String category, String fileName);
+}
@@ -0,0 +1,29 @@
+package com.converter.file.repository;
+
+import com.converter.file.domain.File;
+import com.converter.file.domain.File_;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.util.Optional;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Utility repository to look {@link File}s up by their natural id.
+ */
+@Transactional(readOnly = true)
+public class FileRepositoryWithNaturalIdImpl implements FileRepositoryWithNaturalId {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<File> findByCategoryAndFileName(String category, String fileName) {
+        return entityManager
+            .unwrap(Session.class)
+            .byNaturalId(File.class)
+            .using(File_.CATEGORY, category)
+            .using(File_.FILE_NAME, fileName)
+            .loadOptional();
+    }
+}
@@ -0,0 +1,20 @@
+package com.converter.file.repository;
+
+import com.converter.file.domain.FileVariant;
+import java.util.List;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the FileVariant entity.
+ */
+@SuppressWarnings("unused")
+@Repository
+public interface FileVariantRepository extends JpaRepository<FileVariant, Long> {
+    List<FileVariant> findAllByFileIdOrderByWidthAsc(Long fileId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from FileVariant v where v.file.id = :fileId")
+    int deleteAllByFileId(@Param("fileId") Long fileId);
+}
@@ -0,0 +1,73 @@
+package com.converter.file.repository;
+
+import com.converter.file.domain.MailMessage;
+import com.converter.file.domain.enumeration.MailMessageStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the MailMessage entity.
+ */
+@SuppressWarnings("unused")
+@Repository
+public interface MailMessageRepository extends JpaRepository<MailMessage, Long> {
+    String CLAIMABLE =
+        "((m.status = com.converter.file.domain.enumeration.MailMessageStatus.PENDING and m.nextAttemptAt <= :now)" +
+        " or (m.status = com.converter.file.domain.enumeration.MailMessageStatus.SENDING and m.leaseExpiresAt < :now))";
+
+    /**
+     * Locks the mails that are due, or whose lease expired, oldest first; see
+     * {@link ConversionJobRepository#findClaimableIds}.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = ConversionJobRepository.SKIP_LOCKED))
+    @Query("select m.id from MailMessage m where " + CLAIMABLE + " order by m.nextAttemptAt, m.id")
+    List<Long> findClaimableIds(@Param("now") Instant now, Pageable pageable);
+
+    /**
+     * Claims the given mails that are still claimable, under a new lease token.
+     *
+     * @return the number of mails claimed.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(
+        "update MailMessage m set m.status = com.converter.file.domain.enumeration.MailMessageStatus.SENDING," +
+        " m.leaseToken = :token, m.leaseExpiresAt = :leaseExpiresAt, m.attempts = m.attempts + 1" +
+        " where m.id in :ids and " +
+        CLAIMABLE
+    )
+    int claim(
+        @Param("ids") Collection<Long> ids,
+        @Param("token") String token,
+        @Param("now") Instant now,
+        @Param("leaseExpiresAt") Instant leaseExpiresAt
+    );
+
+    List<MailMessage> findAllByLeaseTokenOrderById(String leaseToken);
+
+    Optional<MailMessage> findOneByIdAndLeaseToken(Long id, String leaseToken);
+
+    List<MailMessage> findAllByIdInAndLeaseToken(Collection<Long> ids, String leaseToken);
+
+    /**
+     * Deletes the given mails still claimed under the given token.
+     *
+     * @return the number of mails deleted.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(
+        "delete from MailMessage m where m.id in :ids and m.leaseToken = :token" +
+        " and m.status = com.converter.file.domain.enumeration.MailMessageStatus.SENDING"
+    )
+    int deleteSent(@Param("ids") Collection<Long> ids, @Param("token") String token);
+
+    long countByStatusNot(MailMessageStatus status);
+}
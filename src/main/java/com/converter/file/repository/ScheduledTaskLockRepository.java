@@ -0,0 +1,62 @@
+package com.converter.file.repository;
+
+import com.converter.file.domain.ScheduledTaskLock;
+import jakarta.persistence.LockModeType;
+import java.time.Instant;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the ScheduledTaskLock entity.
+ */
+@SuppressWarnings("unused")
+@Repository
+public interface ScheduledTaskLockRepository extends JpaRepository<ScheduledTaskLock, String> {
+    /**
+     * Locks the row of a lock until the end of the transaction, the other nodes waiting for it.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select l from ScheduledTaskLock l where l.name = :name")
+    Optional<ScheduledTaskLock> findOneForUpdateByName(@Param("name") String name);
+
+    /**
+     * Takes the lock under the next fencing token, if its token is still the one read.
+     *
+     * @return the number of locks taken: 0 if another node took the lock since its token was read.
+     */
+    @Modifying
+    @Query(
+        "update ScheduledTaskLock l set l.lockedBy = :lockedBy, l.fencingToken = l.fencingToken + 1, l.lockedAt = :now," +
+        " l.leaseExpiresAt = :leaseExpiresAt where l.name = :name and l.fencingToken = :token"
+    )
+    int acquire(
+        @Param("name") String name,
+        @Param("token") long token,
+        @Param("lockedBy") String lockedBy,
+        @Param("now") Instant now,
+        @Param("leaseExpiresAt") Instant leaseExpiresAt
+    );
+
+    /**
+     * Extends the lease of the lock, unless another node took it since.
+     *
+     * @return the number of leases renewed.
+     */
+    @Modifying
+    @Query("update ScheduledTaskLock l set l.leaseExpiresAt = :leaseExpiresAt where l.name = :name and l.fencingToken = :token")
+    int renew(@Param("name") String name, @Param("token") long token, @Param("leaseExpiresAt") Instant leaseExpiresAt);
+
+    /**
+     * Shortens the lease of the lock to the given date, unless another node took it since.
+     *
+     * @return the number of leases shortened.
+     */
+    @Modifying
+    @Query(
+        "update ScheduledTaskLock l set l.leaseExpiresAt = :releasedAt" +
+        " where l.name = :name and l.fencingToken = :token and l.leaseExpiresAt > :releasedAt"
+    )
+    int release(@Param("name") String name, @Param("token") long token, @Param("releasedAt") Instant releasedAt);
+}
@@ -0,0 +1,51 @@
+package com.converter.file.repository;
+
+import com.converter.file.domain.UploadSession;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Spring Data JPA repository for the UploadSession entity.
+ */
+@SuppressWarnings("unused")
+@Repository
+public interface UploadSessionRepository extends JpaRepository<UploadSession, String> {
+    @EntityGraph(attributePaths = "receivedChunks")
+    Optional<UploadSession> findWithReceivedChunksById(String id);
+
+    /**
+     * Records that a chunk of a session was written, unless it already was or the session no longer exists.
+     * <p>
+     * A single insert rather than an update of the session, so that parallel chunks never overwrite each other. Two requests
+     * recording the same chunk at the same time can still both pass the {@code not exists}: the loser fails on the primary key.
+     *
+     * @return 1 if the chunk was recorded, 0 otherwise.
+     */
+    @Modifying
+    @Transactional
+    @Query(
+        value = "insert into upload_chunk (session_id, chunk_index)" +
+        " select s.id, :chunkIndex from upload_session s where s.id = :sessionId" +
+        " and not exists (select 1 from upload_chunk c where c.session_id = :sessionId and c.chunk_index = :chunkIndex)",
+        nativeQuery = true
+    )
+    int recordChunk(@Param("sessionId") String sessionId, @Param("chunkIndex") int chunkIndex);
+
+    /**
+     * Deletes a session, its chunks going with it through the cascading foreign key.
+     *
+     * @return 1 if the session was deleted, 0 if it no longer existed.
+     */
+    @Modifying
+    @Transactional
+    @Query("delete from UploadSession s where s.id = :id")
+    int deleteSession(@Param("id") String id);
+
+    @Query("select s.id from UploadSession s where s.createdDate < :createdDate")
+    List<String> findIdsByCreatedDateBefore(@Param("createdDate") Instant createdDate);
+}
@@ -1,13 +1,22 @@
 package com.converter.file.repository;
 
 import com.converter.file.domain.User;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.*;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -33,4 +42,47 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findOneWithAuthoritiesByEmailIgnoreCase(String email);
 
     Page<User> findAllByIdNotNullAndActivatedIsTrue(Pageable pageable);
+
+    /**
+     * Locks the next not activated users created before the given date, by id, skipping those locked by another node.
+     * The users are split into partitions by the remainder of their id.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = ConversionJobRepository.SKIP_LOCKED))
+    @Query(
+        "select u.id as id, u.login as login, u.email as email from User u" +
+        " where u.activated = false and u.activationKey is not null and u.createdDate < :createdBefore" +
+        " and mod(u.id, :partitions) = :partition and u.id > :afterId order by u.id"
+    )
+    List<UserKeys> findNotActivatedUserKeysCreatedBefore(
+        @Param("createdBefore") Instant createdBefore,
+        @Param("partition") int partition,
+        @Param("partitions") int partitions,
+        @Param("afterId") long afterId,
+        Pageable pageable
+    );
+
+    /**
+     * Only the user authorities collection is evicted from the second-level cache, as Hibernate evicts everything
+     * after native statements that do not name the tables they change.
+     */
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "jhi_user_authority"))
+    @Query(value = "delete from jhi_user_authority where user_id in (:ids)", nativeQuery = true)
+    int deleteAuthoritiesByUserIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from User u where u.id in :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * The keys under which a user is cached.
+     */
+    interface UserKeys {
+        Long getId();
+
+        String getLogin();
+
+        String getEmail();
+    }
 }
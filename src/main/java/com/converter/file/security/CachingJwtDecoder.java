@@ -0,0 +1,126 @@
+package com.converter.file.security;
+
+import com.converter.file.management.SecurityMetersService;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+/**
+ * A {@link JwtDecoder} remembering the tokens it decoded, so that a token presented again is neither parsed nor has its
+ * signature verified until it expires.
+ * <p>
+ * Tokens are keyed by their SHA-256 digest, so the cache holds no usable credential. Only decoded tokens with an
+ * expiration are cached: a rejected token goes through the delegate every time.
+ * <p>
+ * The cache is split in segments, each with its own lock and evicting its least recently used token when full. The locks
+ * are not {@code synchronized} blocks, which would pin virtual threads.
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+
+    private static final int SEGMENTS = 16;
+
+    private final JwtDecoder delegate;
+
+    private final SecurityMetersService metersService;
+
+    private final Clock clock;
+
+    private final Segment[] segments = new Segment[SEGMENTS];
+
+    /**
+     * @param delegate the decoder of the tokens not in the cache.
+     * @param maxEntries the maximum number of tokens in the cache.
+     * @param metersService the service counting cache hits and misses.
+     */
+    public CachingJwtDecoder(JwtDecoder delegate, int maxEntries, SecurityMetersService metersService) {
+        this(delegate, maxEntries, metersService, Clock.systemUTC());
+    }
+
+    CachingJwtDecoder(JwtDecoder delegate, int maxEntries, SecurityMetersService metersService, Clock clock) {
+        this.delegate = delegate;
+        this.metersService = metersService;
+        this.clock = clock;
+        int maxSegmentEntries = Math.max(1, (maxEntries + SEGMENTS - 1) / SEGMENTS);
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(maxSegmentEntries);
+        }
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        ByteBuffer key = ByteBuffer.wrap(sha256(token));
+        // The digest is uniformly distributed already
+        Segment segment = segments[key.getInt(0) & (SEGMENTS - 1)];
+        Jwt jwt = segment.get(key, clock.instant());
+        if (jwt != null) {
+            metersService.trackTokenCacheHit();
+            return jwt;
+        }
+        metersService.trackTokenCacheMiss();
+        jwt = delegate.decode(token);
+        if (jwt.getExpiresAt() != null) {
+            segment.put(key, jwt);
+        }
+        return jwt;
+    }
+
+    private static byte[] sha256(String token) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+    }
+
+    private static final class Segment {
+
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private final Map<ByteBuffer, Jwt> jwts;
+
+        Segment(int maxEntries) {
+            // In access order: the eldest entry is the least recently used
+            this.jwts = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<ByteBuffer, Jwt> eldest) {
+                    return size() > maxEntries;
+                }
+            };
+        }
+
+        /**
+         * @return the token, or null if it is not in the segment or has expired.
+         */
+        Jwt get(ByteBuffer key, Instant now) {
+            lock.lock();
+            try {
+                Jwt jwt = jwts.get(key);
+                if (jwt != null && !now.isBefore(jwt.getExpiresAt())) {
+                    jwts.remove(key);
+                    return null;
+                }
+                return jwt;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void put(ByteBuffer key, Jwt jwt) {
+            lock.lock();
+            try {
+                jwts.put(key, jwt);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
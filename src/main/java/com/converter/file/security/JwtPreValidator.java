@@ -0,0 +1,222 @@
+package com.converter.file.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+
+/**
+ * Classifies bearer tokens that would certainly be rejected, without throwing and with few allocations, so that a flood
+ * of bad tokens costs neither stack traces nor full JOSE parsing.
+ * <p>
+ * Checks, in the order the decoder does: the compact serialization, the {@code alg} of the header, the HMAC signature
+ * and the {@code exp} claim. Claims are only read once the signature is verified. A token passing these checks is not
+ * accepted yet: it still has to go through the decoder, which validates the rest.
+ */
+public class JwtPreValidator {
+
+    /**
+     * The outcome of the checks.
+     */
+    public enum Result {
+        /**
+         * Not rejected by the checks: the decoder decides.
+         */
+        UNDECIDED,
+        MALFORMED,
+        UNSUPPORTED,
+        INVALID_SIGNATURE,
+        EXPIRED,
+    }
+
+    /**
+     * Same as the default of the decoder's timestamp validator.
+     */
+    private static final Duration CLOCK_SKEW = Duration.ofSeconds(60);
+
+    private static final Base64.Decoder BASE64_URL = Base64.getUrlDecoder();
+
+    private final SecretKey key;
+
+    private final String algorithm;
+
+    private final String macAlgorithm;
+
+    private final Clock clock;
+
+    /**
+     * {@link Mac}s are not thread-safe, and costly to create: each is used by one thread at a time, then returned here.
+     */
+    private final Queue<Mac> macs = new ConcurrentLinkedQueue<>();
+
+    /**
+     * @param key the key signing the tokens.
+     * @param algorithm the JWS name of the only accepted algorithm, an HMAC such as {@code HS512}.
+     * @param clock the clock telling whether tokens expired.
+     */
+    public JwtPreValidator(SecretKey key, String algorithm, Clock clock) {
+        if (!algorithm.startsWith("HS")) {
+            throw new IllegalArgumentException("Only HMAC algorithms are supported, not " + algorithm);
+        }
+        this.key = key;
+        this.algorithm = algorithm;
+        this.macAlgorithm = "HmacSHA" + algorithm.substring(2);
+        this.clock = clock;
+        // Fail on start rather than on the first request
+        macs.add(newMac());
+    }
+
+    public Result validate(String token) {
+        int firstDot = token.indexOf('.');
+        int secondDot = firstDot < 0 ? -1 : token.indexOf('.', firstDot + 1);
+        if (
+            secondDot < 0 ||
+            token.indexOf('.', secondDot + 1) >= 0 ||
+            !isBase64Url(token, 0, firstDot) ||
+            !isBase64Url(token, firstDot + 1, secondDot) ||
+            !isBase64Url(token, secondDot + 1, token.length())
+        ) {
+            return Result.MALFORMED;
+        }
+
+        String alg = readString(BASE64_URL.decode(token.substring(0, firstDot)), "alg");
+        if (alg == null) {
+            return Result.MALFORMED;
+        }
+        if (!alg.equals(algorithm)) {
+            return Result.UNSUPPORTED;
+        }
+
+        byte[] signature = BASE64_URL.decode(token.substring(secondDot + 1));
+        byte[] expected = sign(token.substring(0, secondDot).getBytes(StandardCharsets.US_ASCII));
+        if (!MessageDigest.isEqual(signature, expected)) {
+            return Result.INVALID_SIGNATURE;
+        }
+
+        long exp = readLong(BASE64_URL.decode(token.substring(firstDot + 1, secondDot)), "exp");
+        if (exp >= 0 && clock.instant().minus(CLOCK_SKEW).getEpochSecond() > exp) {
+            return Result.EXPIRED;
+        }
+        return Result.UNDECIDED;
+    }
+
+    private byte[] sign(byte[] signingInput) {
+        Mac mac = macs.poll();
+        if (mac == null) {
+            mac = newMac();
+        }
+        try {
+            return mac.doFinal(signingInput);
+        } finally {
+            macs.offer(mac);
+        }
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(macAlgorithm);
+            mac.init(key);
+            return mac;
+        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new IllegalStateException("Cannot sign tokens with " + macAlgorithm, e);
+        }
+    }
+
+    /**
+     * @return true if the part is non-empty unpadded base64url, which then decodes without error.
+     */
+    private static boolean isBase64Url(String token, int start, int end) {
+        if (end <= start || (end - start) % 4 == 1) {
+            return false;
+        }
+        for (int i = start; i < end; i++) {
+            char c = token.charAt(i);
+            if (!((c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '-' || c == '_')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reads the string value of a member of a JSON object, if it has no escape sequence.
+     *
+     * @return the value, or null if the member is missing or not a plain string.
+     */
+    private static String readString(byte[] json, String name) {
+        int at = valueStart(json, name);
+        if (at < 0 || json[at] != '"') {
+            return null;
+        }
+        for (int end = at + 1; end < json.length; end++) {
+            if (json[end] == '"') {
+                return new String(json, at + 1, end - at - 1, StandardCharsets.UTF_8);
+            }
+            if (json[end] == '\\') {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Reads the value of a member of a JSON object, if it is a non-negative integer.
+     *
+     * @return the value, or -1 if the member is missing or not such an integer.
+     */
+    private static long readLong(byte[] json, String name) {
+        int at = valueStart(json, name);
+        if (at < 0) {
+            return -1;
+        }
+        long value = 0;
+        int digits = 0;
+        for (; at < json.length && json[at] >= '0' && json[at] <= '9' && digits < 18; at++, digits++) {
+            value = value * 10 + (json[at] - '0');
+        }
+        boolean integer = digits > 0 && (at == json.length || json[at] == ',' || json[at] == '}' || isWhitespace(json[at]));
+        return integer ? value : -1;
+    }
+
+    /**
+     * Finds a member by its quoted name followed by a colon. Only reliable on JSON whose strings cannot contain the quoted
+     * name, such as signed claims and the header.
+     *
+     * @return the position of the first byte of the value, or -1 if the member is missing.
+     */
+    private static int valueStart(byte[] json, String name) {
+        byte[] quoted = ('"' + name + '"').getBytes(StandardCharsets.US_ASCII);
+        outer:
+        for (int at = 0; at + quoted.length <= json.length; at++) {
+            for (int i = 0; i < quoted.length; i++) {
+                if (json[at + i] != quoted[i]) {
+                    continue outer;
+                }
+            }
+            int value = skipWhitespace(json, at + quoted.length);
+            if (value < json.length && json[value] == ':') {
+                value = skipWhitespace(json, value + 1);
+                return value < json.length ? value : -1;
+            }
+        }
+        return -1;
+    }
+
+    private static int skipWhitespace(byte[] json, int at) {
+        while (at < json.length && isWhitespace(json[at])) {
+            at++;
+        }
+        return at;
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\t' || b == '\n' || b == '\r';
+    }
+}
@@ -0,0 +1,334 @@
+package com.converter.file.service;
+
+import com.converter.file.config.ApplicationProperties;
+import com.converter.file.service.converter.FileConverter;
+import com.converter.file.storage.Blob;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Cache of conversion outputs on local disk, keyed by the SHA-256 digest of the source content, the target type and the
+ * converter with its version, so that converting the same content again is only a link to the previous output.
+ * <p>
+ * Outputs are hard links to the cached files where the file system allows, copies otherwise: evicting a cached file
+ * never removes an output. The index of the cached files is kept in memory, least recently used first, and rebuilt
+ * from the directory on startup; their modification time records their last use across restarts. Once the cached
+ * files take more than {@code application.conversion.cache.max-size-mb}, the least recently used are deleted.
+ */
+@Service
+public class ConversionCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ConversionCache.class);
+
+    public static final String REQUESTS_METER_NAME = "conversion.cache.requests";
+    public static final String REQUESTS_METER_RESULT_DIMENSION = "result";
+    public static final String BYTES_SAVED_METER_NAME = "conversion.cache.bytes-saved";
+    public static final String HIT_RATIO_METER_NAME = "conversion.cache.hit-ratio";
+    public static final String SIZE_METER_NAME = "conversion.cache.size";
+    public static final String ENTRIES_METER_NAME = "conversion.cache.entries";
+
+    private static final String PART_SUFFIX = ".part";
+
+    private final boolean enabled;
+
+    private final Path directory;
+
+    private final long maxSize;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Sizes of the cached files by name, in access order.
+     */
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long size;
+
+    private final Counter hitCounter;
+
+    private final Counter missCounter;
+
+    private final Counter bytesSavedCounter;
+
+    public ConversionCache(ApplicationProperties applicationProperties, MeterRegistry registry) throws IOException {
+        ApplicationProperties.Conversion.OutputCache cacheProperties = applicationProperties.getConversion().getCache();
+        this.enabled = cacheProperties.isEnabled();
+        this.directory = (cacheProperties.getDirectory() != null
+                ? Path.of(cacheProperties.getDirectory())
+                : Path.of(applicationProperties.getConversion().getDirectory(), "cache")).toAbsolutePath().normalize();
+        this.maxSize = cacheProperties.getMaxSizeMb() * 1024 * 1024;
+        this.hitCounter = requestsCounterForResultBuilder("hit").register(registry);
+        this.missCounter = requestsCounterForResultBuilder("miss").register(registry);
+        this.bytesSavedCounter = Counter.builder(BYTES_SAVED_METER_NAME)
+            .baseUnit("bytes")
+            .description("Size of the outputs served from the conversion cache instead of being converted again.")
+            .register(registry);
+        Gauge.builder(HIT_RATIO_METER_NAME, this, ConversionCache::hitRatio)
+            .description("Share of the conversions served from the conversion cache.")
+            .register(registry);
+        Gauge.builder(SIZE_METER_NAME, this, ConversionCache::size)
+            .baseUnit("bytes")
+            .description("Size of the outputs in the conversion cache.")
+            .register(registry);
+        Gauge.builder(ENTRIES_METER_NAME, this, ConversionCache::entryCount)
+            .description("Number of outputs in the conversion cache.")
+            .register(registry);
+        if (enabled) {
+            load();
+        }
+    }
+
+    private Counter.Builder requestsCounterForResultBuilder(String result) {
+        return Counter.builder(REQUESTS_METER_NAME)
+            .baseUnit("requests")
+            .description("Indicates how many conversions were found in the conversion cache, or not.")
+            .tag(REQUESTS_METER_RESULT_DIMENSION, result);
+    }
+
+    /**
+     * Indexes the files of the cache directory, least recently used first, and removes those left partial.
+     */
+    private void load() throws IOException {
+        Files.createDirectories(directory);
+        List<Path> files;
+        try (Stream<Path> listed = Files.list(directory)) {
+            files = listed.toList();
+        }
+        List<Map.Entry<Path, FileTime>> cached = new ArrayList<>();
+        for (Path file : files) {
+            if (file.getFileName().toString().endsWith(PART_SUFFIX)) {
+                Files.deleteIfExists(file);
+            } else if (Blob.isDigest(file.getFileName().toString()) && Files.isRegularFile(file)) {
+                cached.add(Map.entry(file, Files.getLastModifiedTime(file)));
+            }
+        }
+        cached.sort(Map.Entry.comparingByValue(Comparator.naturalOrder()));
+        List<Path> evicted;
+        lock.lock();
+        try {
+            for (Map.Entry<Path, FileTime> file : cached) {
+                long fileSize = Files.size(file.getKey());
+                entries.put(file.getKey().getFileName().toString(), fileSize);
+                size += fileSize;
+            }
+            evicted = evict();
+        } finally {
+            lock.unlock();
+        }
+        deleteAll(evicted);
+        LOG.debug("Loaded {} cached conversion outputs of {} bytes from '{}'", entries.size(), size, directory);
+    }
+
+    /**
+     * @param contentHash the SHA-256 digest of the source content.
+     * @param targetType the file type converted to.
+     * @param converter the converter of the conversion.
+     * @return the key of the output of the conversion.
+     */
+    public static String key(String contentHash, String targetType, FileConverter converter) {
+        String conversion = String.join(
+            "\n",
+            contentHash,
+            targetType.trim().toLowerCase(Locale.ROOT),
+            converter.getClass().getName(),
+            converter.getVersion()
+        );
+        try {
+            MessageDigest digest = MessageDigest.getInstance(Blob.DIGEST_ALGORITHM);
+            return HexFormat.of().formatHex(digest.digest(conversion.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Writes the cached output of a conversion, replacing the file at the given path.
+     *
+     * @param key the key of the conversion.
+     * @param output the path to write the output to.
+     * @return whether the output was cached.
+     * @throws IOException if the cached output could not be written.
+     */
+    public boolean get(String key, Path output) throws IOException {
+        if (!enabled) {
+            return false;
+        }
+        Long cachedSize;
+        lock.lock();
+        try {
+            cachedSize = entries.get(key);
+        } finally {
+            lock.unlock();
+        }
+        if (cachedSize == null) {
+            missCounter.increment();
+            return false;
+        }
+        Path cached = directory.resolve(key);
+        Files.createDirectories(output.getParent());
+        Path partial = output.resolveSibling(output.getFileName() + "." + UUID.randomUUID() + PART_SUFFIX);
+        try {
+            linkOrCopy(cached, partial);
+            // Readers only ever see a complete output
+            Files.move(partial, output, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (NoSuchFileException e) {
+            // Evicted meanwhile
+            remove(key, cachedSize);
+            missCounter.increment();
+            return false;
+        } finally {
+            Files.deleteIfExists(partial);
+        }
+        try {
+            Files.setLastModifiedTime(cached, FileTime.from(Instant.now()));
+        } catch (NoSuchFileException e) {
+            // Evicted since, the output is complete
+        }
+        hitCounter.increment();
+        bytesSavedCounter.increment(cachedSize);
+        return true;
+    }
+
+    /**
+     * Caches the output of a conversion, evicting the least recently used outputs if the cache is full.
+     *
+     * @param key the key of the conversion.
+     * @param output the complete output of the conversion, which is left in place.
+     */
+    public void put(String key, Path output) {
+        if (!enabled) {
+            return;
+        }
+        List<Path> evicted;
+        try {
+            Path cached = directory.resolve(key);
+            Path partial = directory.resolve(key + "." + UUID.randomUUID() + PART_SUFFIX);
+            linkOrCopy(output, partial);
+            try {
+                Files.move(partial, cached, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException e) {
+                // Cached by a concurrent conversion
+                Files.deleteIfExists(partial);
+                return;
+            }
+            long cachedSize = Files.size(cached);
+            lock.lock();
+            try {
+                Long previous = entries.put(key, cachedSize);
+                size += cachedSize - (previous != null ? previous : 0);
+                evicted = evict();
+            } finally {
+                lock.unlock();
+            }
+        } catch (IOException | UncheckedIOException e) {
+            LOG.warn("Could not cache the conversion output '{}'", output, e);
+            return;
+        }
+        deleteAll(evicted);
+    }
+
+    private void remove(String key, long cachedSize) {
+        lock.lock();
+        try {
+            if (entries.remove(key) != null) {
+                size -= cachedSize;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the least recently used entries from the index until the cache fits; to be called with the lock held.
+     *
+     * @return the files of the removed entries, to delete once the lock is released.
+     */
+    private List<Path> evict() {
+        List<Path> evicted = new ArrayList<>();
+        Iterator<Map.Entry<String, Long>> eldest = entries.entrySet().iterator();
+        while (size > maxSize && eldest.hasNext()) {
+            Map.Entry<String, Long> entry = eldest.next();
+            evicted.add(directory.resolve(entry.getKey()));
+            size -= entry.getValue();
+            eldest.remove();
+        }
+        return evicted;
+    }
+
+    private void deleteAll(List<Path> files) {
+        for (Path file : files) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                LOG.warn("Could not delete the evicted conversion output '{}'", file, e);
+            }
+        }
+        if (!files.isEmpty()) {
+            LOG.debug("Evicted {} conversion outputs", files.size());
+        }
+    }
+
+    /**
+     * Hard links a file, or copies it when the file system cannot link it there.
+     */
+    private static void linkOrCopy(Path existing, Path link) throws IOException {
+        try {
+            Files.createLink(link, existing);
+        } catch (NoSuchFileException | FileAlreadyExistsException e) {
+            throw e;
+        } catch (UnsupportedOperationException | IOException e) {
+            Files.copy(existing, link);
+        }
+    }
+
+    private double hitRatio() {
+        double hits = hitCounter.count();
+        double requests = hits + missCounter.count();
+        return requests == 0 ? 0 : hits / requests;
+    }
+
+    private double size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private double entryCount() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
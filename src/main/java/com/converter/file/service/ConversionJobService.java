@@ -0,0 +1,203 @@
+package com.converter.file.service;
+
+import com.converter.file.config.ApplicationProperties;
+import com.converter.file.domain.ConversionJob;
+import com.converter.file.domain.File;
+import com.converter.file.domain.enumeration.ConversionJobStatus;
+import com.converter.file.repository.ConversionJobRepository;
+import com.converter.file.repository.FileRepository;
+import com.converter.file.service.converter.ConverterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service managing the queue of {@link ConversionJob}s.
+ * <p>
+ * The queue lives in the database, so that any node can claim any job: a claim leases the job to its node until
+ * {@code application.conversion.queue.lease-duration} elapses, and is identified by a lease token that
+ * {@link #complete} and {@link #fail} check, so that a node whose lease was taken over cannot overwrite the outcome
+ * of the new owner.
+ */
+@Service
+@Transactional
+public class ConversionJobService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ConversionJobService.class);
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final ConversionJobRepository conversionJobRepository;
+
+    private final FileRepository fileRepository;
+
+    private final ConverterRegistry converterRegistry;
+
+    private final ApplicationProperties.Conversion.Queue queueProperties;
+
+    public ConversionJobService(
+        ConversionJobRepository conversionJobRepository,
+        FileRepository fileRepository,
+        ConverterRegistry converterRegistry,
+        ApplicationProperties applicationProperties
+    ) {
+        this.conversionJobRepository = conversionJobRepository;
+        this.fileRepository = fileRepository;
+        this.converterRegistry = converterRegistry;
+        this.queueProperties = applicationProperties.getConversion().getQueue();
+    }
+
+    /**
+     * Queues the conversion of a file.
+     *
+     * @param fileId the id of the file to convert.
+     * @param targetType the file type to convert to.
+     * @return the queued job, or empty if there is no file with this id.
+     * @throws UnsupportedConversionException if no converter supports the conversion.
+     */
+    public Optional<ConversionJob> enqueue(Long fileId, String targetType) {
+        Optional<File> file = fileRepository.findById(fileId);
+        file.ifPresent(existingFile -> {
+            if (!isSupported(existingFile.getFileType(), targetType)) {
+                throw new UnsupportedConversionException(
+                    "No converter from '" + existingFile.getFileType() + "' to '" + targetType + "'"
+                );
+            }
+        });
+        return file.map(existingFile -> {
+            ConversionJob job = conversionJobRepository.save(new ConversionJob().file(existingFile).targetType(targetType));
+            LOG.debug("Queued ConversionJob: {}", job);
+            return job;
+        });
+    }
+
+    private boolean isSupported(String sourceType, String targetType) {
+        if (ImageVariantService.TARGET_TYPE.equalsIgnoreCase(targetType)) {
+            return ImageVariantService.supports(sourceType);
+        }
+        return converterRegistry.find(sourceType, targetType).isPresent();
+    }
+
+    /**
+     * Claims up to {@code max} due jobs for the given node.
+     *
+     * @param owner identifies the claiming node.
+     * @param max the maximum number of jobs to claim.
+     * @return the claimed jobs, with their file, all sharing the same lease token.
+     */
+    public List<ConversionJob> claim(String owner, int max) {
+        Instant now = Instant.now();
+        List<Long> ids = conversionJobRepository.findClaimableIds(now, PageRequest.ofSize(max));
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        String token = UUID.randomUUID().toString();
+        int claimed = conversionJobRepository.claim(ids, owner, token, now, now.plus(queueProperties.getLeaseDuration()));
+        LOG.debug("Claimed {} ConversionJobs for {} under lease {}", claimed, owner, token);
+        return claimed == 0 ? List.of() : conversionJobRepository.findAllByLeaseToken(token);
+    }
+
+    /**
+     * Extends the leases of the jobs still running under the given tokens.
+     *
+     * @param tokens the lease tokens of the jobs in progress.
+     * @return the number of leases renewed.
+     */
+    public int renewLeases(Collection<String> tokens) {
+        if (tokens.isEmpty()) {
+            return 0;
+        }
+        return conversionJobRepository.renewLeases(tokens, Instant.now().plus(queueProperties.getLeaseDuration()));
+    }
+
+    /**
+     * Marks a claimed job as succeeded.
+     *
+     * @param job the claimed job.
+     * @return false if the lease of the job was lost, in which case nothing is updated.
+     */
+    public boolean complete(ConversionJob job) {
+        return conversionJobRepository
+            .findOneByIdAndLeaseToken(job.getId(), job.getLeaseToken())
+            .filter(claimedJob -> claimedJob.getStatus() == ConversionJobStatus.RUNNING)
+            .map(claimedJob -> {
+                claimedJob.status(ConversionJobStatus.SUCCEEDED).lastError(null).completedDate(Instant.now());
+                release(claimedJob);
+                return true;
+            })
+            .orElseGet(() -> lostLease(job));
+    }
+
+    /**
+     * Records the failure of a claimed job. A retryable failure is retried with an exponential backoff until
+     * {@code application.conversion.queue.max-attempts} is reached; any other failure dead-letters the job.
+     *
+     * @param job the claimed job.
+     * @param error describes the failure.
+     * @param retryable whether the failure may be transient.
+     * @return false if the lease of the job was lost, in which case nothing is updated.
+     */
+    public boolean fail(ConversionJob job, String error, boolean retryable) {
+        return conversionJobRepository
+            .findOneByIdAndLeaseToken(job.getId(), job.getLeaseToken())
+            .filter(claimedJob -> claimedJob.getStatus() == ConversionJobStatus.RUNNING)
+            .map(claimedJob -> {
+                claimedJob.lastError(StringUtils.abbreviate(error, MAX_ERROR_LENGTH));
+                if (retryable && claimedJob.getAttempts() < queueProperties.getMaxAttempts()) {
+                    Duration backoff = backoff(
+                        claimedJob.getAttempts(),
+                        queueProperties.getInitialBackoff(),
+                        queueProperties.getMaxBackoff()
+                    );
+                    claimedJob.status(ConversionJobStatus.PENDING).nextAttemptAt(Instant.now().plus(backoff));
+                    LOG.debug("ConversionJob {} failed, retrying in {}: {}", claimedJob.getId(), backoff, error);
+                } else {
+                    claimedJob.status(ConversionJobStatus.DEAD).completedDate(Instant.now());
+                    LOG.warn("ConversionJob {} dead-lettered after {} attempts: {}", claimedJob.getId(), claimedJob.getAttempts(), error);
+                }
+                release(claimedJob);
+                return true;
+            })
+            .orElseGet(() -> lostLease(job));
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<ConversionJob> findOne(Long id) {
+        return conversionJobRepository.findById(id);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<ConversionJob> findAll(Pageable pageable) {
+        return conversionJobRepository.findAll(pageable);
+    }
+
+    /**
+     * Delay before the next attempt of a job that failed {@code attempts} times: {@code initial * 2^(attempts - 1)},
+     * capped at {@code max}.
+     */
+    static Duration backoff(int attempts, Duration initial, Duration max) {
+        int doublings = Math.min(Math.max(attempts - 1, 0), 30);
+        Duration backoff = initial.multipliedBy(1L << doublings);
+        return backoff.compareTo(max) > 0 ? max : backoff;
+    }
+
+    private void release(ConversionJob job) {
+        job.leaseOwner(null).leaseToken(null).leaseExpiresAt(null);
+    }
+
+    private boolean lostLease(ConversionJob job) {
+        LOG.warn("Lease of ConversionJob {} was lost, ignoring its outcome", job.getId());
+        return false;
+    }
+}
@@ -0,0 +1,137 @@
+package com.converter.file.service;
+
+import com.converter.file.config.ApplicationProperties;
+import com.converter.file.domain.ConversionJob;
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Claims due {@link ConversionJob}s from the queue and runs them on the task executor.
+ * <p>
+ * At most {@code application.conversion.queue.concurrency} jobs run at the same time on a node, and the leases
+ * of the running jobs are renewed while they run, so that only the jobs of a node that stopped are taken over.
+ */
+@Service
+public class ConversionJobWorker {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ConversionJobWorker.class);
+
+    private final ConversionJobService conversionJobService;
+
+    private final FileConversionService fileConversionService;
+
+    private final ImageVariantService imageVariantService;
+
+    private final Executor taskExecutor;
+
+    private final ApplicationProperties.Conversion.Queue queueProperties;
+
+    private final String owner;
+
+    private final Semaphore permits;
+
+    /**
+     * Lease tokens of the jobs in progress, by job id.
+     */
+    private final Map<Long, String> inFlight = new ConcurrentHashMap<>();
+
+    private volatile Instant nextRenewal = Instant.now();
+
+    public ConversionJobWorker(
+        ConversionJobService conversionJobService,
+        FileConversionService fileConversionService,
+        ImageVariantService imageVariantService,
+        @Qualifier("taskExecutor") Executor taskExecutor,
+        ApplicationProperties applicationProperties
+    ) {
+        this.conversionJobService = conversionJobService;
+        this.fileConversionService = fileConversionService;
+        this.imageVariantService = imageVariantService;
+        this.taskExecutor = taskExecutor;
+        this.queueProperties = applicationProperties.getConversion().getQueue();
+        this.owner = ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID();
+        this.permits = new Semaphore(queueProperties.getConcurrency());
+    }
+
+    /**
+     * Renews the leases that are due, then claims as many jobs as there are free slots.
+     */
+    @Scheduled(fixedDelayString = "${application.conversion.queue.poll-interval:PT1S}")
+    public void poll() {
+        if (!queueProperties.isEnabled()) {
+            return;
+        }
+        renewLeasesIfDue();
+        int capacity = Math.min(permits.availablePermits(), queueProperties.getBatchSize());
+        if (capacity <= 0) {
+            return;
+        }
+        List<ConversionJob> jobs = conversionJobService.claim(owner, capacity);
+        for (ConversionJob job : jobs) {
+            permits.acquireUninterruptibly();
+            inFlight.put(job.getId(), job.getLeaseToken());
+            try {
+                taskExecutor.execute(() -> run(job));
+            } catch (RejectedExecutionException e) {
+                finished(job);
+                conversionJobService.fail(job, "Rejected by the task executor", true);
+            }
+        }
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    private void run(ConversionJob job) {
+        try {
+            Long fileId = job.getFile().getId();
+            boolean found = ImageVariantService.TARGET_TYPE.equalsIgnoreCase(job.getTargetType())
+                ? imageVariantService.createVariants(fileId).isPresent()
+                : fileConversionService.convert(fileId, job.getTargetType()).isPresent();
+            if (found) {
+                conversionJobService.complete(job);
+            } else {
+                conversionJobService.fail(job, "File " + fileId + " not found", false);
+            }
+        } catch (UnsupportedConversionException e) {
+            conversionJobService.fail(job, e.getMessage(), false);
+        } catch (RuntimeException e) {
+            LOG.warn("ConversionJob {} failed", job.getId(), e);
+            conversionJobService.fail(job, e.toString(), true);
+        } finally {
+            finished(job);
+        }
+    }
+
+    private void finished(ConversionJob job) {
+        inFlight.remove(job.getId());
+        permits.release();
+    }
+
+    /**
+     * Renews the leases three times per lease duration, so that a renewal can be missed without losing them.
+     */
+    private void renewLeasesIfDue() {
+        Instant now = Instant.now();
+        if (inFlight.isEmpty() || now.isBefore(nextRenewal)) {
+            return;
+        }
+        nextRenewal = now.plus(queueProperties.getLeaseDuration().dividedBy(3));
+        int renewed = conversionJobService.renewLeases(Set.copyOf(inFlight.values()));
+        LOG.debug("Renewed the leases of {} ConversionJobs", renewed);
+    }
+}
@@ -0,0 +1,183 @@
+package com.converter.file.service;
+
+import com.converter.file.config.ApplicationProperties;
+import com.converter.file.domain.File;
+import com.converter.file.repository.FileRepository;
+import com.converter.file.service.dto.FileBulkResultDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service for creating {@link File}s in bulk.
+ * <p>
+ * Files are read one at a time from the request body and inserted in chunks of {@code application.bulk.chunk-size},
+ * each chunk in its own transaction. Ids come from a pooled table generator, so Hibernate batches the inserts of a chunk.
+ * Content hashes are managed by the server, and ignored in the input. A file whose name is taken in its category, by an
+ * existing file or an earlier file of the input, is invalid on its own rather than failing its chunk. The names of a
+ * chunk are checked against the existing files in one query, just before it is inserted.
+ */
+@Service
+public class FileBulkService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FileBulkService.class);
+
+    private static final String NAME_TAKEN_MESSAGE = "A file with this name already exists in this category";
+
+    private static final String NAME_TAKEN_KEY = "fileexists";
+
+    private final FileRepository fileRepository;
+
+    private final Validator validator;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ObjectReader fileReader;
+
+    private final int chunkSize;
+
+    public FileBulkService(
+        FileRepository fileRepository,
+        Validator validator,
+        PlatformTransactionManager transactionManager,
+        ObjectMapper objectMapper,
+        ApplicationProperties applicationProperties
+    ) {
+        this.fileRepository = fileRepository;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.fileReader = objectMapper.readerFor(File.class);
+        this.chunkSize = applicationProperties.getBulk().getChunkSize();
+    }
+
+    /**
+     * Creates the files of a JSON array, or of a stream of newline-delimited JSON documents.
+     * <p>
+     * A chunk that cannot be inserted is rolled back on its own: the chunks before it stay created and the
+     * following ones are still inserted. Reading stops at the first malformed document.
+     *
+     * @param in the files to create.
+     * @return the result of each file, in input order.
+     * @throws IOException if the input could not be read.
+     */
+    public List<FileBulkResultDTO> createAll(InputStream in) throws IOException {
+        List<FileBulkResultDTO> results = new ArrayList<>();
+        List<File> chunk = new ArrayList<>(chunkSize);
+        List<FileBulkResultDTO> chunkResults = new ArrayList<>(chunkSize);
+        Set<List<String>> chunkNames = new HashSet<>();
+        try (MappingIterator<File> files = fileReader.readValues(in)) {
+            while (files.hasNextValue()) {
+                FileBulkResultDTO result = new FileBulkResultDTO(results.size());
+                results.add(result);
+                File file;
+                try {
+                    file = files.nextValue();
+                } catch (JsonProcessingException e) {
+                    result.invalid("Malformed file: " + e.getOriginalMessage());
+                    break;
+                }
+                if (!validate(file, chunkNames, result)) {
+                    continue;
+                }
+                // Set once the content is uploaded
+                file.setContentHash(null);
+                chunk.add(file);
+                chunkResults.add(result);
+                if (chunk.size() == chunkSize) {
+                    insert(chunk, chunkResults);
+                    chunkNames.clear();
+                }
+            }
+        } catch (JsonProcessingException e) {
+            // The input is malformed outside of a file, there is no way to resynchronize
+            results.add(new FileBulkResultDTO(results.size()).invalid("Malformed input: " + e.getOriginalMessage()));
+        } finally {
+            insert(chunk, chunkResults);
+        }
+        LOG.debug("Bulk created {} of {} Files", results.stream().filter(result -> result.getId() != null).count(), results.size());
+        return results;
+    }
+
+    /**
+     * Checks a file as the REST endpoints do, recording why it is invalid in its result.
+     *
+     * @param chunkNames the categories and names of the files of the chunk not inserted yet, to which the file's is added.
+     * @return whether the file is valid.
+     */
+    private boolean validate(File file, Set<List<String>> chunkNames, FileBulkResultDTO result) {
+        if (file.getId() != null) {
+            result.invalid("A new file cannot already have an ID", "idexists");
+            return false;
+        }
+        Set<ConstraintViolation<File>> violations = validator.validate(file);
+        if (!violations.isEmpty()) {
+            result.invalid(
+                violations
+                    .stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", "))
+            );
+            return false;
+        }
+        if (!chunkNames.add(List.of(file.getCategory(), file.getFileName()))) {
+            result.invalid(NAME_TAKEN_MESSAGE, NAME_TAKEN_KEY);
+            return false;
+        }
+        return true;
+    }
+
+    private void insert(List<File> chunk, List<FileBulkResultDTO> chunkResults) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            removeTakenNames(chunk, chunkResults);
+            transactionTemplate.executeWithoutResult(status -> fileRepository.saveAll(chunk));
+            for (int i = 0; i < chunk.size(); i++) {
+                chunkResults.get(i).created(chunk.get(i).getId());
+            }
+        } catch (DataAccessException | TransactionException e) {
+            LOG.warn("Could not insert a chunk of {} Files", chunk.size(), e);
+            chunkResults.forEach(result -> result.failed("The chunk of this file could not be inserted"));
+        }
+        chunk.clear();
+        chunkResults.clear();
+    }
+
+    /**
+     * Records the files of a chunk whose name is taken in their category as invalid, and removes them from the chunk.
+     */
+    private void removeTakenNames(List<File> chunk, List<FileBulkResultDTO> chunkResults) {
+        Set<String> categories = chunk.stream().map(File::getCategory).collect(Collectors.toSet());
+        Set<String> fileNames = chunk.stream().map(File::getFileName).collect(Collectors.toSet());
+        Set<List<String>> taken = fileRepository
+            .findByCategoryInAndFileNameIn(categories, fileNames)
+            .stream()
+            .map(name -> List.of(name.getCategory(), name.getFileName()))
+            .collect(Collectors.toSet());
+        for (int i = chunk.size() - 1; i >= 0; i--) {
+            if (taken.contains(List.of(chunk.get(i).getCategory(), chunk.get(i).getFileName()))) {
+                chunkResults.remove(i).invalid(NAME_TAKEN_MESSAGE, NAME_TAKEN_KEY);
+                chunk.remove(i);
+            }
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.converter.file.service;
+
+import com.converter.file.domain.File;
+import com.converter.file.repository.FileRepository;
+import com.converter.file.service.dto.FileContentDTO;
+import com.converter.file.storage.Blob;
+import com.converter.file.storage.BlobStore;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service storing the content of {@link File}s in the {@link BlobStore}.
+ */
+@Service
+public class FileContentService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FileContentService.class);
+
+    private final FileRepository fileRepository;
+
+    private final BlobStore blobStore;
+
+    private final ImageVariantService imageVariantService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public FileContentService(
+        FileRepository fileRepository,
+        BlobStore blobStore,
+        ImageVariantService imageVariantService,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.fileRepository = fileRepository;
+        this.blobStore = blobStore;
+        this.imageVariantService = imageVariantService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Stores the content of a file.
+     * <p>
+     * A content identical to the current one leaves the file untouched, conversion included. Any other content
+     * resets the conversion of the file, and replaces its variants. Only recording the content is transactional: the
+     * upload can take minutes and must not hold a database connection.
+     *
+     * @param id the id of the file.
+     * @param content the content of the file.
+     * @return the file, or empty if there is no file with this id.
+     * @throws IOException if the content could not be read or stored.
+     */
+    public Optional<File> store(Long id, InputStream content) throws IOException {
+        if (!fileRepository.existsById(id)) {
+            return Optional.empty();
+        }
+        Blob blob = blobStore.put(content);
+        return transactionTemplate.execute(status -> fileRepository.findById(id).map(file -> replaceContent(file, blob)));
+    }
+
+    private File replaceContent(File file, Blob blob) {
+        if (blob.digest().equals(file.getContentHash())) {
+            LOG.debug("Content of File {} unchanged", file.getId());
+            return file;
+        }
+        LOG.debug("Content of File {} is now blob {} of {} bytes", file.getId(), blob.digest(), blob.size());
+        file.setContentHash(blob.digest());
+        file.setConverted(false);
+        file.sets3Url(null);
+        File saved = fileRepository.save(file);
+        imageVariantService.contentChanged(saved);
+        return saved;
+    }
+
+    /**
+     * @param id the id of the file.
+     * @return the stored content of the file, or empty if there is no file with this id or it has no stored content.
+     * @throws IOException if the blob store could not be queried.
+     */
+    public Optional<FileContentDTO> findContent(Long id) throws IOException {
+        Optional<File> file = fileRepository.findById(id).filter(existingFile -> Blob.isDigest(existingFile.getContentHash()));
+        if (file.isEmpty()) {
+            return Optional.empty();
+        }
+        File existingFile = file.orElseThrow();
+        return blobStore
+            .find(existingFile.getContentHash())
+            .map(blob ->
+                new FileContentDTO(existingFile.getId(), existingFile.getFileName(), existingFile.getFileType(), blob.digest(), blob.size())
+            );
+    }
+
+    /**
+     * Opens a stored content from a given position. When the content is on the local disk, the channel is a
+     * {@link java.nio.channels.FileChannel}, which can be transferred to a socket without being copied.
+     *
+     * @param content the stored content.
+     * @param position the position of the first byte to read.
+     * @return a channel of the content, to be closed by the caller.
+     * @throws IOException if the content could not be opened.
+     */
+    public ReadableByteChannel openContent(FileContentDTO content, long position) throws IOException {
+        return blobStore.openChannel(content.getContentHash(), position);
+    }
+}
@@ -0,0 +1,10 @@
+package com.converter.file.service;
+
+public class FileConversionException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public FileConversionException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
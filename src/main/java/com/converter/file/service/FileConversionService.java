@@ -0,0 +1,202 @@
+package com.converter.file.service;
+
+import com.converter.file.config.ApplicationProperties;
+import com.converter.file.domain.File;
+import com.converter.file.repository.FileRepository;
+import com.converter.file.service.converter.ConverterRegistry;
+import com.converter.file.service.converter.FileConverter;
+import com.converter.file.storage.Blob;
+import com.converter.file.storage.BlobStore;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service converting the content of {@link File}s with the {@link FileConverter}s of the {@link ConverterRegistry}.
+ * <p>
+ * Sources are read from the {@link BlobStore} when the file has a content hash, from the directory configured by
+ * {@code application.conversion.directory} otherwise. Outputs are written to that directory.
+ * The content is streamed through the converter, so it is never held on the heap.
+ * <p>
+ * Outputs of files with a content hash are kept in the {@link ConversionCache}: converting the same content to the same
+ * type again, with the same version of the converter, links the cached output instead.
+ */
+@Service
+public class FileConversionService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FileConversionService.class);
+
+    private static final String OUTPUT_DIRECTORY = "converted";
+
+    private final FileRepository fileRepository;
+
+    private final ConverterRegistry converterRegistry;
+
+    private final BlobStore blobStore;
+
+    private final ConversionCache conversionCache;
+
+    private final Path directory;
+
+    public FileConversionService(
+        FileRepository fileRepository,
+        ConverterRegistry converterRegistry,
+        BlobStore blobStore,
+        ConversionCache conversionCache,
+        ApplicationProperties applicationProperties
+    ) {
+        this.fileRepository = fileRepository;
+        this.converterRegistry = converterRegistry;
+        this.blobStore = blobStore;
+        this.conversionCache = conversionCache;
+        this.directory = Path.of(applicationProperties.getConversion().getDirectory()).toAbsolutePath().normalize();
+    }
+
+    /**
+     * Converts the content of a file, then marks the file as converted and points its {@code s3Url} to the output.
+     * <p>
+     * This is not transactional on purpose: converting a large file can take minutes and must not hold a database connection.
+     *
+     * @param id the id of the file to convert.
+     * @param targetType the file type to convert to.
+     * @return the converted file, or empty if there is no file with this id.
+     * @throws UnsupportedConversionException if the file has no convertible content or no converter supports the conversion.
+     * @throws FileConversionException if the content could not be converted.
+     */
+    public Optional<File> convert(Long id, String targetType) {
+        Optional<File> file = fileRepository.findById(id);
+        if (file.isEmpty()) {
+            return Optional.empty();
+        }
+        String sourceType = file.orElseThrow().getFileType();
+        FileConverter converter = converterRegistry
+            .find(sourceType, targetType)
+            .orElseThrow(() -> new UnsupportedConversionException("No converter from '" + sourceType + "' to '" + targetType + "'"));
+        Source source = resolveSource(file.orElseThrow());
+        Path output = directory.resolve(OUTPUT_DIRECTORY).resolve(id + "." + toFileSuffix(targetType));
+
+        // Only content addressed by its hash is known not to change under the same key
+        String contentHash = file.orElseThrow().getContentHash();
+        String cacheKey = contentHash != null ? ConversionCache.key(contentHash, targetType, converter) : null;
+        if (cacheKey != null && fromCache(cacheKey, output)) {
+            LOG.debug("Found the conversion of File {} to '{}' in the cache", id, targetType);
+        } else {
+            LOG.debug("Converting File {} from '{}' to '{}' with {}", id, sourceType, targetType, converter.getClass().getSimpleName());
+            convert(converter, source, output);
+            if (cacheKey != null) {
+                conversionCache.put(cacheKey, output);
+            }
+        }
+
+        return fileRepository
+            .findById(id)
+            .map(existingFile -> {
+                existingFile.setConverted(true);
+                existingFile.sets3Url(output.toUri().toString());
+                return fileRepository.save(existingFile);
+            });
+    }
+
+    /**
+     * Opens the content of a file, from where {@link #convert(Long, String)} reads it.
+     *
+     * @param file the file whose content to open.
+     * @return a channel of the content, to be closed by the caller.
+     * @throws UnsupportedConversionException if the file has no content.
+     * @throws NoSuchFileException if the content is not found.
+     * @throws IOException if the content could not be opened.
+     */
+    ReadableByteChannel openContent(File file) throws IOException {
+        return resolveSource(file).opener().open();
+    }
+
+    private Source resolveSource(File file) {
+        String contentHash = file.getContentHash();
+        if (contentHash != null) {
+            if (!Blob.isDigest(contentHash)) {
+                throw new UnsupportedConversionException("Invalid content hash '" + contentHash + "'");
+            }
+            return new Source("blob " + contentHash, () -> blobStore.openChannel(contentHash));
+        }
+        String location = file.gets3Url();
+        if (location == null || location.isBlank()) {
+            throw new UnsupportedConversionException("File " + file.getId() + " has no content to convert");
+        }
+        Path source;
+        try {
+            source = location.startsWith("file:") ? Path.of(URI.create(location)) : directory.resolve(location);
+        } catch (IllegalArgumentException e) {
+            throw new UnsupportedConversionException("Invalid content location '" + location + "'");
+        }
+        Path path = source.toAbsolutePath().normalize();
+        if (!path.startsWith(directory) || !Files.isRegularFile(path)) {
+            throw new UnsupportedConversionException("No content found at '" + location + "'");
+        }
+        return new Source("'" + path + "'", () -> FileChannel.open(path, StandardOpenOption.READ));
+    }
+
+    private boolean fromCache(String cacheKey, Path output) {
+        try {
+            return conversionCache.get(cacheKey, output);
+        } catch (IOException e) {
+            throw new FileConversionException("Could not write the cached output to '" + output + "'", e);
+        }
+    }
+
+    private void convert(FileConverter converter, Source source, Path output) {
+        Path partial = null;
+        try {
+            Files.createDirectories(output.getParent());
+            partial = Files.createTempFile(output.getParent(), output.getFileName().toString(), ".part");
+            try (
+                ReadableByteChannel in = source.opener().open();
+                FileChannel out = FileChannel.open(partial, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)
+            ) {
+                converter.convert(in, out);
+                out.force(false);
+            }
+            // Readers only ever see a complete output
+            Files.move(partial, output, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            partial = null;
+        } catch (NoSuchFileException e) {
+            throw new UnsupportedConversionException("No content found for " + source.description());
+        } catch (IOException e) {
+            throw new FileConversionException("Could not convert " + source.description(), e);
+        } finally {
+            deleteQuietly(partial);
+        }
+    }
+
+    private record Source(String description, ChannelOpener opener) {}
+
+    @FunctionalInterface
+    private interface ChannelOpener {
+        ReadableByteChannel open() throws IOException;
+    }
+
+    private static String toFileSuffix(String fileType) {
+        return fileType.trim().toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9.]+", "_");
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            LOG.warn("Could not delete partial conversion output '{}'", path, e);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.converter.file.service;
+
+import com.converter.file.domain.File;
+import com.converter.file.repository.FileRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service exporting {@link File}s as newline-delimited JSON.
+ * <p>
+ * Files are streamed from the database and written one at a time, so exporting the whole table
+ * runs in constant memory.
+ */
+@Service
+public class FileExportService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FileExportService.class);
+
+    private final FileRepository fileRepository;
+
+    private final EntityManager entityManager;
+
+    private final ObjectWriter fileWriter;
+
+    public FileExportService(FileRepository fileRepository, EntityManager entityManager, ObjectMapper objectMapper) {
+        this.fileRepository = fileRepository;
+        this.entityManager = entityManager;
+        // One file per line: no indentation, and let the output buffer decide when to flush
+        this.fileWriter = objectMapper
+            .writerFor(File.class)
+            .without(SerializationFeature.INDENT_OUTPUT)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * Writes all the files to the output, one JSON document per line.
+     *
+     * @param sort the order to export the files in.
+     * @param out the output to write to, which is not closed.
+     * @return the number of exported files.
+     * @throws IOException if the output could not be written.
+     */
+    @Transactional(readOnly = true)
+    public long exportAll(Sort sort, OutputStream out) throws IOException {
+        LOG.debug("Request to export all Files");
+        long count = 0;
+        try (
+            Stream<File> files = fileRepository.streamAllBy(sort);
+            JsonGenerator generator = fileWriter.createGenerator(out).disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+        ) {
+            generator.setRootValueSeparator(null);
+            Iterator<File> iterator = files.iterator();
+            while (iterator.hasNext()) {
+                File file = iterator.next();
+                fileWriter.writeValue(generator, file);
+                generator.writeRaw('\n');
+                // Keep the persistence context from growing with the table
+                entityManager.detach(file);
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,549 @@
+package com.converter.file.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Inverted index of the names and categories of files, for substring search.
+ * <p>
+ * Names are lower-cased, UTF-8 encoded and stored back to back in a single byte array. Every trigram of bytes maps to
+ * the ascending list of the documents whose name contains it, in a plain {@code int[]}: a query is the intersection of
+ * the lists of its trigrams, smallest first, then checked against the names. Categories have few distinct values, so
+ * each has the list of its documents instead.
+ * <p>
+ * Documents are dense ordinals. A changed file gets a new document, and its previous document is only marked removed
+ * until the index is {@link #compact() compacted}.
+ * <p>
+ * Not thread-safe: a writer must not run concurrently with anything else.
+ */
+final class FileNameIndex {
+
+    /**
+     * The shortest query, as a shorter one has no trigram.
+     */
+    static final int MIN_QUERY_LENGTH = 3;
+
+    static final int EXACT_NAME = 4;
+
+    static final int NAME_PREFIX = 3;
+
+    static final int NAME_WORD = 2;
+
+    static final int NAME_SUBSTRING = 1;
+
+    private static final int INITIAL_DOCUMENTS = 1024;
+
+    private static final int[] NO_DOCUMENTS = new int[0];
+
+    private final IntPostingsMap trigrams = new IntPostingsMap();
+
+    private final Map<String, Integer> categoryOrdinals = new HashMap<>();
+
+    private final List<String> categories = new ArrayList<>();
+
+    private final List<Postings> categoryPostings = new ArrayList<>();
+
+    private final LongIntMap docsById = new LongIntMap();
+
+    private final BitSet removed = new BitSet();
+
+    private long[] ids = new long[INITIAL_DOCUMENTS];
+
+    private int[] categoryOf = new int[INITIAL_DOCUMENTS];
+
+    /**
+     * The name of document {@code d} is {@code names[nameOffsets[d]]} to {@code names[nameOffsets[d + 1]]}, excluded.
+     */
+    private int[] nameOffsets = new int[INITIAL_DOCUMENTS + 1];
+
+    private byte[] names = new byte[INITIAL_DOCUMENTS * 32];
+
+    private int docCount;
+
+    private int removedCount;
+
+    /**
+     * Indexes a file, replacing its previous name and category.
+     */
+    void put(long id, String fileName, String category) {
+        byte[] name = normalize(fileName);
+        String normalizedCategory = new String(normalize(category), StandardCharsets.UTF_8);
+        int previous = docsById.get(id);
+        if (previous >= 0) {
+            boolean unchanged =
+                categories.get(categoryOf[previous]).equals(normalizedCategory) &&
+                Arrays.equals(name, 0, name.length, names, nameOffsets[previous], nameOffsets[previous + 1]);
+            if (unchanged) {
+                return;
+            }
+            removeDoc(previous);
+        }
+        add(id, name, normalizedCategory);
+    }
+
+    /**
+     * Removes a file from the index.
+     *
+     * @return false if the file was not indexed.
+     */
+    boolean remove(long id) {
+        int doc = docsById.get(id);
+        if (doc < 0) {
+            return false;
+        }
+        removeDoc(doc);
+        docsById.put(id, -1);
+        return true;
+    }
+
+    /**
+     * @return the number of indexed files.
+     */
+    int size() {
+        return docCount - removedCount;
+    }
+
+    /**
+     * @return true when removed documents make up most of the index.
+     */
+    boolean needsCompaction() {
+        return removedCount > INITIAL_DOCUMENTS && removedCount > docCount / 2;
+    }
+
+    /**
+     * @return a copy of this index without the removed documents.
+     */
+    FileNameIndex compact() {
+        FileNameIndex compacted = new FileNameIndex();
+        for (int doc = removed.nextClearBit(0); doc < docCount; doc = removed.nextClearBit(doc + 1)) {
+            byte[] name = Arrays.copyOfRange(names, nameOffsets[doc], nameOffsets[doc + 1]);
+            compacted.add(ids[doc], name, categories.get(categoryOf[doc]));
+        }
+        return compacted;
+    }
+
+    /**
+     * Searches the files whose name or category contains a query, ignoring case.
+     * <p>
+     * Files are ranked by how their name matches: exactly, as a prefix, at the start of a word, or anywhere. Ties go to the
+     * shortest name. Files whose category only matches come last.
+     *
+     * @param query the text to search, of at least {@link #MIN_QUERY_LENGTH} bytes once trimmed.
+     * @param limit the maximum number of ids to return.
+     * @return the ids of the best matching files, best first.
+     * @throws IllegalArgumentException if the query is too short.
+     */
+    List<Long> search(String query, int limit) {
+        byte[] q = normalize(query);
+        if (q.length < MIN_QUERY_LENGTH) {
+            throw new IllegalArgumentException("Search queries must be at least " + MIN_QUERY_LENGTH + " characters long");
+        }
+
+        int[] candidates = nameCandidates(q);
+        TopHits hits = new TopHits(Math.min(limit, candidates.length));
+        for (int doc : candidates) {
+            if (!removed.get(doc)) {
+                int score = nameScore(doc, q);
+                if (score > 0) {
+                    hits.offer(TopHits.rank(score, nameOffsets[doc + 1] - nameOffsets[doc], doc));
+                }
+            }
+        }
+        long[] ranks = hits.sorted();
+        List<Long> result = new ArrayList<>(ranks.length);
+        for (long rank : ranks) {
+            result.add(ids[TopHits.doc(rank)]);
+        }
+
+        String categoryQuery = new String(q, StandardCharsets.UTF_8);
+        for (int category = 0; category < categories.size() && result.size() < limit; category++) {
+            if (categories.get(category).contains(categoryQuery)) {
+                Postings postings = categoryPostings.get(category);
+                for (int i = 0; i < postings.size && result.size() < limit; i++) {
+                    int doc = postings.docs[i];
+                    // Files whose name matches are already in the result
+                    if (!removed.get(doc) && nameScore(doc, q) == 0) {
+                        result.add(ids[doc]);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return the documents whose name contains all the trigrams of the query, in ascending order.
+     */
+    private int[] nameCandidates(byte[] q) {
+        Postings[] lists = new Postings[q.length - 2];
+        for (int i = 0; i < lists.length; i++) {
+            lists[i] = trigrams.get(trigram(q, i));
+            if (lists[i] == null) {
+                return NO_DOCUMENTS;
+            }
+        }
+        Arrays.sort(lists, Comparator.comparingInt(postings -> postings.size));
+        int[] candidates = Arrays.copyOf(lists[0].docs, lists[0].size);
+        int size = candidates.length;
+        for (int i = 1; i < lists.length && size > 0; i++) {
+            size = retainAll(candidates, size, lists[i]);
+        }
+        return Arrays.copyOf(candidates, size);
+    }
+
+    /**
+     * Keeps the candidates also in the postings, at the start of the array. The candidates are far fewer than the
+     * postings once the smallest lists are intersected, so each is binary searched from the last one found.
+     *
+     * @return the number of candidates kept.
+     */
+    private static int retainAll(int[] candidates, int size, Postings postings) {
+        int kept = 0;
+        int from = 0;
+        for (int i = 0; i < size && from < postings.size; i++) {
+            int found = Arrays.binarySearch(postings.docs, from, postings.size, candidates[i]);
+            if (found >= 0) {
+                candidates[kept++] = candidates[i];
+                from = found + 1;
+            } else {
+                from = -found - 1;
+            }
+        }
+        return kept;
+    }
+
+    /**
+     * @return the score of the name of the document for the query, or 0 if it does not contain it.
+     */
+    private int nameScore(int doc, byte[] q) {
+        int start = nameOffsets[doc];
+        int end = nameOffsets[doc + 1];
+        int at = indexOf(start, end, q);
+        if (at < 0) {
+            return 0;
+        }
+        if (at == start) {
+            return end - start == q.length ? EXACT_NAME : NAME_PREFIX;
+        }
+        for (; at >= 0; at = indexOf(at + 1, end, q)) {
+            if (!isWordByte(names[at - 1])) {
+                return NAME_WORD;
+            }
+        }
+        return NAME_SUBSTRING;
+    }
+
+    private int indexOf(int from, int end, byte[] q) {
+        int last = end - q.length;
+        outer:
+        for (int at = from; at <= last; at++) {
+            for (int i = 0; i < q.length; i++) {
+                if (names[at + i] != q[i]) {
+                    continue outer;
+                }
+            }
+            return at;
+        }
+        return -1;
+    }
+
+    private void add(long id, byte[] name, String category) {
+        int doc = docCount++;
+        if (doc == ids.length) {
+            int capacity = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            categoryOf = Arrays.copyOf(categoryOf, capacity);
+            nameOffsets = Arrays.copyOf(nameOffsets, capacity + 1);
+        }
+        int offset = nameOffsets[doc];
+        if (offset + name.length > names.length) {
+            names = Arrays.copyOf(names, Math.max(names.length * 2, offset + name.length));
+        }
+        System.arraycopy(name, 0, names, offset, name.length);
+        nameOffsets[doc + 1] = offset + name.length;
+        ids[doc] = id;
+
+        for (int i = 0; i + 2 < name.length; i++) {
+            trigrams.getOrAdd(trigram(name, i)).add(doc);
+        }
+        Integer ordinal = categoryOrdinals.get(category);
+        if (ordinal == null) {
+            ordinal = categories.size();
+            categoryOrdinals.put(category, ordinal);
+            categories.add(category);
+            categoryPostings.add(new Postings());
+        }
+        categoryOf[doc] = ordinal;
+        categoryPostings.get(ordinal).add(doc);
+        docsById.put(id, doc);
+    }
+
+    private void removeDoc(int doc) {
+        removed.set(doc);
+        removedCount++;
+    }
+
+    private static byte[] normalize(String text) {
+        return text == null ? new byte[0] : text.strip().toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int trigram(byte[] text, int at) {
+        return ((text[at] & 0xff) << 16) | ((text[at + 1] & 0xff) << 8) | (text[at + 2] & 0xff);
+    }
+
+    /**
+     * Letters and digits, counting all the bytes of multibyte characters as letters.
+     */
+    private static boolean isWordByte(byte b) {
+        return b < 0 || Character.isLetterOrDigit(b);
+    }
+
+    /**
+     * The best hits of a search, in a bounded heap whose root is the worst hit kept. A hit is a rank packing its score,
+     * the length of its name and its document in a {@code long}, so that hits compare as numbers, the best being the
+     * smallest: no hit beyond the limit is kept nor sorted.
+     */
+    private static final class TopHits {
+
+        private static final int DOC_BITS = 31;
+
+        private static final int LENGTH_BITS = 29;
+
+        private final long[] heap;
+
+        private int size;
+
+        TopHits(int limit) {
+            heap = new long[limit];
+        }
+
+        /**
+         * Best score first, then the shortest name, then the oldest document.
+         */
+        static long rank(int score, int length, int doc) {
+            long lengthBits = Math.min(length, (1 << LENGTH_BITS) - 1);
+            return ((long) (EXACT_NAME - score) << (LENGTH_BITS + DOC_BITS)) | (lengthBits << DOC_BITS) | doc;
+        }
+
+        static int doc(long rank) {
+            return (int) (rank & ((1L << DOC_BITS) - 1));
+        }
+
+        void offer(long rank) {
+            if (size < heap.length) {
+                heap[size] = rank;
+                siftUp(size++);
+            } else if (size > 0 && rank < heap[0]) {
+                heap[0] = rank;
+                siftDown(0);
+            }
+        }
+
+        /**
+         * @return the hits kept, best first.
+         */
+        long[] sorted() {
+            long[] sorted = Arrays.copyOf(heap, size);
+            Arrays.sort(sorted);
+            return sorted;
+        }
+
+        private void siftUp(int at) {
+            long rank = heap[at];
+            while (at > 0) {
+                int parent = (at - 1) >>> 1;
+                if (heap[parent] >= rank) {
+                    break;
+                }
+                heap[at] = heap[parent];
+                at = parent;
+            }
+            heap[at] = rank;
+        }
+
+        private void siftDown(int at) {
+            long rank = heap[at];
+            int half = size >>> 1;
+            while (at < half) {
+                int child = 2 * at + 1;
+                if (child + 1 < size && heap[child + 1] > heap[child]) {
+                    child++;
+                }
+                if (rank >= heap[child]) {
+                    break;
+                }
+                heap[at] = heap[child];
+                at = child;
+            }
+            heap[at] = rank;
+        }
+    }
+
+    /**
+     * The documents containing a trigram or of a category, in ascending order.
+     */
+    private static final class Postings {
+
+        private int[] docs = new int[4];
+
+        private int size;
+
+        void add(int doc) {
+            // A name containing the same trigram twice
+            if (size > 0 && docs[size - 1] == doc) {
+                return;
+            }
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+            }
+            docs[size++] = doc;
+        }
+    }
+
+    /**
+     * Map from trigrams to their postings, by open addressing, without boxing. Trigrams are 24 bits long, so no trigram
+     * is -1.
+     */
+    private static final class IntPostingsMap {
+
+        private static final int FREE = -1;
+
+        private int[] keys = newKeys(INITIAL_DOCUMENTS * 2);
+
+        private Postings[] values = new Postings[INITIAL_DOCUMENTS * 2];
+
+        private int size;
+
+        Postings get(int key) {
+            int mask = keys.length - 1;
+            for (int slot = slot(key, mask); keys[slot] != FREE; slot = (slot + 1) & mask) {
+                if (keys[slot] == key) {
+                    return values[slot];
+                }
+            }
+            return null;
+        }
+
+        Postings getOrAdd(int key) {
+            int mask = keys.length - 1;
+            int slot = slot(key, mask);
+            while (keys[slot] != FREE) {
+                if (keys[slot] == key) {
+                    return values[slot];
+                }
+                slot = (slot + 1) & mask;
+            }
+            Postings postings = new Postings();
+            keys[slot] = key;
+            values[slot] = postings;
+            // At most half full
+            if (++size * 2 > keys.length) {
+                grow();
+            }
+            return postings;
+        }
+
+        private void grow() {
+            int[] oldKeys = keys;
+            Postings[] oldValues = values;
+            keys = newKeys(oldKeys.length * 2);
+            values = new Postings[oldKeys.length * 2];
+            int mask = keys.length - 1;
+            for (int old = 0; old < oldKeys.length; old++) {
+                if (oldKeys[old] != FREE) {
+                    int slot = slot(oldKeys[old], mask);
+                    while (keys[slot] != FREE) {
+                        slot = (slot + 1) & mask;
+                    }
+                    keys[slot] = oldKeys[old];
+                    values[slot] = oldValues[old];
+                }
+            }
+        }
+
+        private static int slot(int key, int mask) {
+            int hash = key * 0x9E3779B9;
+            return (hash ^ (hash >>> 16)) & mask;
+        }
+
+        private static int[] newKeys(int capacity) {
+            int[] keys = new int[capacity];
+            Arrays.fill(keys, FREE);
+            return keys;
+        }
+    }
+
+    /**
+     * Map from file ids to documents, by open addressing, without boxing. Entries are never removed: a removed file maps
+     * to -1, until the index is compacted.
+     */
+    private static final class LongIntMap {
+
+        private static final long FREE = Long.MIN_VALUE;
+
+        private long[] keys = newKeys(INITIAL_DOCUMENTS * 2);
+
+        private int[] values = new int[INITIAL_DOCUMENTS * 2];
+
+        private int size;
+
+        int get(long key) {
+            int mask = keys.length - 1;
+            for (int slot = slot(key, mask); keys[slot] != FREE; slot = (slot + 1) & mask) {
+                if (keys[slot] == key) {
+                    return values[slot];
+                }
+            }
+            return -1;
+        }
+
+        void put(long key, int value) {
+            int mask = keys.length - 1;
+            int slot = slot(key, mask);
+            while (keys[slot] != FREE && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            if (keys[slot] == FREE) {
+                keys[slot] = key;
+                // At most half full
+                if (++size * 2 > keys.length) {
+                    values[slot] = value;
+                    grow();
+                    return;
+                }
+            }
+            values[slot] = value;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = newKeys(oldKeys.length * 2);
+            values = new int[oldKeys.length * 2];
+            size = 0;
+            for (int slot = 0; slot < oldKeys.length; slot++) {
+                if (oldKeys[slot] != FREE) {
+                    put(oldKeys[slot], oldValues[slot]);
+                }
+            }
+        }
+
+        private static int slot(long key, int mask) {
+            long hash = key * 0x9E3779B97F4A7C15L;
+            return (int) (hash ^ (hash >>> 32)) & mask;
+        }
+
+        private static long[] newKeys(int capacity) {
+            long[] keys = new long[capacity];
+            Arrays.fill(keys, FREE);
+            return keys;
+        }
+    }
+}
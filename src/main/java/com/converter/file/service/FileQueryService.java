@@ -0,0 +1,146 @@
+package com.converter.file.service;
+
+import com.converter.file.domain.*; // for static metamodels
+import com.converter.file.domain.File;
+import com.converter.file.repository.FileRepository;
+import com.converter.file.service.criteria.FileCriteria;
+import com.converter.file.service.dto.FileFacetsDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tech.jhipster.service.QueryService;
+
+/**
+ * Service for executing complex queries for {@link File} entities in the database.
+ * The main input is a {@link FileCriteria} which gets converted to {@link Specification},
+ * in a way that all the filters must apply.
+ * It returns a {@link Window} of {@link File} which fulfills the criteria.
+ */
+@Service
+@Transactional(readOnly = true)
+public class FileQueryService extends QueryService<File> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FileQueryService.class);
+
+    private final FileRepository fileRepository;
+
+    private final EntityManager entityManager;
+
+    public FileQueryService(FileRepository fileRepository, EntityManager entityManager) {
+        this.fileRepository = fileRepository;
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Return a window of {@link File} which matches the criteria from the database, paginated by keyset.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param position The keyset position of the window.
+     * @param sort The sort order, which must end with a unique property.
+     * @param limit The maximum number of entities in the window.
+     * @return the matching entities.
+     */
+    public Window<File> findByCriteria(FileCriteria criteria, ScrollPosition position, Sort sort, Limit limit) {
+        LOG.debug("find by criteria : {}, position: {}, sort: {}", criteria, position, sort);
+        final Specification<File> specification = createSpecification(criteria);
+        return fileRepository.findBy(specification, query -> query.sortBy(sort).limit(limit.max()).scroll(position));
+    }
+
+    /**
+     * Return the number of matching entities in the database.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the number of matching entities.
+     */
+    public long countByCriteria(FileCriteria criteria) {
+        LOG.debug("count by criteria : {}", criteria);
+        final Specification<File> specification = createSpecification(criteria);
+        return fileRepository.count(specification);
+    }
+
+    /**
+     * Return the number of matching entities by category and by file type.
+     * <p>
+     * Both facets come from a single query grouped by category and file type, which the composite indexes of the file
+     * table answer without reading the rows.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the facets of the matching entities.
+     */
+    public FileFacetsDTO facetsByCriteria(FileCriteria criteria) {
+        LOG.debug("facets by criteria : {}", criteria);
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        Root<File> root = query.from(File.class);
+        Path<String> category = root.get(File_.category);
+        Path<String> fileType = root.get(File_.fileType);
+        Expression<Long> count = builder.count(root);
+        query.multiselect(category, fileType, count).groupBy(category, fileType);
+        Predicate predicate = createSpecification(criteria).toPredicate(root, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        List<Tuple> groups = entityManager.createQuery(query).getResultList();
+
+        long total = 0;
+        Map<String, Long> categories = new HashMap<>();
+        Map<String, Long> fileTypes = new HashMap<>();
+        for (Tuple group : groups) {
+            long groupCount = group.get(count);
+            total += groupCount;
+            categories.merge(group.get(category), groupCount, Long::sum);
+            fileTypes.merge(group.get(fileType), groupCount, Long::sum);
+        }
+        return new FileFacetsDTO(total, byDescendingCount(categories), byDescendingCount(fileTypes));
+    }
+
+    private static Map<String, Long> byDescendingCount(Map<String, Long> counts) {
+        Map<String, Long> sorted = new LinkedHashMap<>();
+        counts
+            .entrySet()
+            .stream()
+            .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()).thenComparing(Map.Entry.comparingByKey()))
+            .forEach(entry -> sorted.put(entry.getKey(), entry.getValue()));
+        return sorted;
+    }
+
+    /**
+     * Function to convert {@link FileCriteria} to a {@link Specification}
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the matching {@link Specification} of the entity.
+     */
+    protected Specification<File> createSpecification(FileCriteria criteria) {
+        Specification<File> specification = Specification.where(null);
+        if (criteria != null) {
+            // This has to be called first, because the distinct method returns null
+            specification = Specification.allOf(
+                Boolean.TRUE.equals(criteria.getDistinct()) ? distinct(criteria.getDistinct()) : null,
+                criteria.getId() != null ? buildRangeSpecification(criteria.getId(), File_.id) : null,
+                criteria.getFileName() != null ? buildStringSpecification(criteria.getFileName(), File_.fileName) : null,
+                criteria.getFileType() != null ? buildStringSpecification(criteria.getFileType(), File_.fileType) : null,
+                criteria.getLastModified() != null ? buildRangeSpecification(criteria.getLastModified(), File_.lastModified) : null,
+                criteria.getConverted() != null ? buildSpecification(criteria.getConverted(), File_.converted) : null,
+                criteria.getS3Url() != null ? buildStringSpecification(criteria.getS3Url(), File_.s3Url) : null,
+                criteria.getCategory() != null ? buildStringSpecification(criteria.getCategory(), File_.category) : null,
+                criteria.getContentHash() != null ? buildStringSpecification(criteria.getContentHash(), File_.contentHash) : null
+            );
+        }
+        return specification;
+    }
+}
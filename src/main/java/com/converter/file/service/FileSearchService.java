@@ -0,0 +1,149 @@
+package com.converter.file.service;
+
+import com.converter.file.domain.File;
+import com.converter.file.domain.FileChangedEvent;
+import com.converter.file.repository.FileRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service searching {@link File}s by name and category, in an in-memory {@link FileNameIndex}.
+ * <p>
+ * The index is built from the database once the application is ready, then kept up to date with the
+ * {@link FileChangedEvent}s of committed transactions. Each node holds its own index, and sees the changes made
+ * through JPA on that node only: other nodes catch up on their next rebuild.
+ */
+@Service
+public class FileSearchService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FileSearchService.class);
+
+    /**
+     * The shortest query {@link #search} accepts.
+     */
+    public static final int MIN_QUERY_LENGTH = FileNameIndex.MIN_QUERY_LENGTH;
+
+    private final FileRepository fileRepository;
+
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    // Guarded by lock
+    private FileNameIndex index = new FileNameIndex();
+
+    /**
+     * The changes made while the index is rebuilt, to replay on the new index. Guarded by lock.
+     */
+    private List<FileChangedEvent> pendingChanges;
+
+    public FileSearchService(FileRepository fileRepository, PlatformTransactionManager transactionManager) {
+        this.fileRepository = fileRepository;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Searches the files whose name or category contains a query, ignoring case: exact names first, then names starting
+     * with the query, containing it at the start of a word, containing it anywhere, and files of a matching category last.
+     *
+     * @param query the text to search, of at least {@link #MIN_QUERY_LENGTH} characters once trimmed.
+     * @param limit the maximum number of ids to return.
+     * @return the ids of the best matching files, best first.
+     * @throws IllegalArgumentException if the query is too short.
+     */
+    public List<Long> search(String query, int limit) {
+        lock.readLock().lock();
+        try {
+            return index.search(query, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFileChanged(FileChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            apply(index, event);
+            if (pendingChanges != null) {
+                pendingChanges.add(event);
+            }
+            if (index.needsCompaction()) {
+                index = index.compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Rebuilds the index from the database, in the background once the application is ready. Searches meanwhile use the
+     * previous index, which is still kept up to date.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            LOG.debug("The search index is already being rebuilt");
+            return;
+        }
+        try {
+            long start = System.nanoTime();
+            lock.writeLock().lock();
+            try {
+                pendingChanges = new ArrayList<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            FileNameIndex rebuilt = new FileNameIndex();
+            readOnlyTransactionTemplate.executeWithoutResult(status -> {
+                try (Stream<FileRepository.FileName> files = fileRepository.streamNamesBy()) {
+                    files.forEach(file -> rebuilt.put(file.getId(), file.getFileName(), file.getCategory()));
+                }
+            });
+
+            lock.writeLock().lock();
+            try {
+                // Replayed in order: changes already streamed are replayed to the same result
+                pendingChanges.forEach(event -> apply(rebuilt, event));
+                index = rebuilt;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            LOG.info("Indexed {} Files for search in {} ms", rebuilt.size(), (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            lock.writeLock().lock();
+            try {
+                pendingChanges = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            rebuilding.set(false);
+        }
+    }
+
+    private static void apply(FileNameIndex index, FileChangedEvent event) {
+        if (event.isDeleted()) {
+            index.remove(event.id());
+        } else {
+            index.put(event.id(), event.fileName(), event.category());
+        }
+    }
+}
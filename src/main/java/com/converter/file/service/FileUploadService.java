@@ -0,0 +1,318 @@
+package com.converter.file.service;
+
+import com.converter.file.config.ApplicationProperties;
+import com.converter.file.domain.File;
+import com.converter.file.domain.UploadSession;
+import com.converter.file.repository.FileRepository;
+import com.converter.file.repository.UploadSessionRepository;
+import com.converter.file.service.dto.FileUploadDTO;
+import com.converter.file.storage.Blob;
+import com.converter.file.storage.BlobStore;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service for resumable uploads: the content of a new {@link File} is sent in fixed-size chunks, in any order and in
+ * parallel, through an {@link UploadSession}.
+ * <p>
+ * Chunks are written straight from the request to their position in a file of the upload directory, and recorded in the
+ * database once on disk. Both outlive the node, so an upload interrupted by a restart resumes with its missing chunks.
+ * The upload directory is {@code uploads} in {@code application.storage.directory}.
+ * <p>
+ * Completing an upload first renames its file, which fences the chunks sent afterwards, then copies it into the blob
+ * store. The file is copied rather than moved: a chunk whose file was opened before the rename may still be written to
+ * it, and must not change a blob once stored under its digest.
+ * <p>
+ * Not transactional on purpose: chunks can take minutes to arrive and must not hold a database connection.
+ */
+@Service
+public class FileUploadService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FileUploadService.class);
+
+    private static final String PART_SUFFIX = ".part";
+
+    private static final String COMPLETING_SUFFIX = ".completing";
+
+    private final UploadSessionRepository uploadSessionRepository;
+
+    private final FileRepository fileRepository;
+
+    private final BlobStore blobStore;
+
+    private final ImageVariantService imageVariantService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ScheduledTaskLockService scheduledTaskLockService;
+
+    private final ApplicationProperties.Upload uploadProperties;
+
+    private final Path directory;
+
+    public FileUploadService(
+        UploadSessionRepository uploadSessionRepository,
+        FileRepository fileRepository,
+        BlobStore blobStore,
+        ImageVariantService imageVariantService,
+        PlatformTransactionManager transactionManager,
+        ScheduledTaskLockService scheduledTaskLockService,
+        ApplicationProperties applicationProperties
+    ) {
+        this.uploadSessionRepository = uploadSessionRepository;
+        this.fileRepository = fileRepository;
+        this.blobStore = blobStore;
+        this.imageVariantService = imageVariantService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.scheduledTaskLockService = scheduledTaskLockService;
+        this.uploadProperties = applicationProperties.getUpload();
+        this.directory = Path.of(applicationProperties.getStorage().getDirectory(), "uploads").toAbsolutePath().normalize();
+    }
+
+    /**
+     * Starts an upload.
+     *
+     * @param session the file to create and the length of its content.
+     * @return the new upload.
+     * @throws InvalidUploadException if the content is longer than {@code application.upload.max-length}, or the category
+     * has a file of the same name.
+     * @throws IOException if the upload file could not be created.
+     */
+    public FileUploadDTO create(UploadSession session) throws IOException {
+        if (session.getLength() > uploadProperties.getMaxLength()) {
+            throw new InvalidUploadException("Uploads are limited to " + uploadProperties.getMaxLength() + " bytes");
+        }
+        checkFileNameIsFree(session.getCategory(), session.getFileName());
+        session.setId(null);
+        session.setChunkSize(uploadProperties.getChunkSize());
+        session.setCreatedDate(Instant.now());
+        UploadSession created = uploadSessionRepository.save(session);
+        Files.createDirectories(directory);
+        // Sparse on most file systems: chunks can then be transferred to any position, in any order
+        try (RandomAccessFile file = new RandomAccessFile(Files.createFile(partFile(created.getId())).toFile(), "rw")) {
+            file.setLength(created.getLength());
+        }
+        LOG.debug("Started upload {} of {} bytes", created.getId(), created.getLength());
+        return new FileUploadDTO(created);
+    }
+
+    /**
+     * @param id the id of the upload.
+     * @return the progress of the upload, or empty if there is no upload with this id.
+     */
+    public Optional<FileUploadDTO> findOne(String id) {
+        return uploadSessionRepository.findWithReceivedChunksById(id).map(FileUploadDTO::new);
+    }
+
+    /**
+     * Writes a chunk of an upload. Writing a chunk again overwrites it, so a chunk whose response was lost can be resent.
+     *
+     * @param id the id of the upload.
+     * @param offset the position of the chunk in the content, a multiple of the chunk size.
+     * @param contentLength the length of the chunk announced by the client, or -1 if unknown.
+     * @param body the chunk; read up to the expected length of the chunk, and checked to end there.
+     * @return the progress of the upload, or empty if there is no upload with this id.
+     * @throws InvalidUploadException if the offset is not the start of a chunk, or the body is not the whole chunk.
+     * @throws IOException if the chunk could not be read or written.
+     */
+    public Optional<FileUploadDTO> writeChunk(String id, long offset, long contentLength, InputStream body) throws IOException {
+        Optional<UploadSession> found = uploadSessionRepository.findById(id);
+        if (found.isEmpty()) {
+            return Optional.empty();
+        }
+        UploadSession session = found.orElseThrow();
+        if (offset < 0 || offset >= session.getLength() || offset % session.getChunkSize() != 0) {
+            throw new InvalidUploadException(
+                "Offset " + offset + " is not the start of a chunk of " + session.getChunkSize() + " bytes within " + session.getLength()
+            );
+        }
+        int index = (int) (offset / session.getChunkSize());
+        long length = session.chunkLength(index);
+        if (contentLength >= 0 && contentLength != length) {
+            throw new InvalidUploadException("Chunk " + index + " is " + length + " bytes long, not " + contentLength);
+        }
+
+        try (FileChannel channel = FileChannel.open(partFile(session.getId()), StandardOpenOption.WRITE)) {
+            // Not closed: closing it would close the request body
+            ReadableByteChannel source = Channels.newChannel(body);
+            long written = 0;
+            long transferred;
+            while (written < length && (transferred = channel.transferFrom(source, offset + written, length - written)) > 0) {
+                written += transferred;
+            }
+            if (written < length || body.read() != -1) {
+                throw new InvalidUploadException("Chunk " + index + " must be exactly " + length + " bytes long");
+            }
+            channel.force(false);
+        } catch (NoSuchFileException e) {
+            // Completing, completed or deleted meanwhile
+            return Optional.empty();
+        }
+
+        try {
+            uploadSessionRepository.recordChunk(session.getId(), index);
+        } catch (DataIntegrityViolationException e) {
+            LOG.debug("Chunk {} of upload {} recorded concurrently", index, id);
+        }
+        return findOne(id);
+    }
+
+    /**
+     * Completes an upload: stores its content in the blob store and creates its file, queuing the creation of its
+     * variants if it is an image.
+     *
+     * @param id the id of the upload.
+     * @return the created file, or empty if there is no upload with this id, or it is being completed concurrently.
+     * @throws InvalidUploadException if chunks are missing, or a file of the same name was created in the category meanwhile:
+     * the upload is then left as it was, to be completed again or deleted.
+     * @throws IOException if the content could not be stored.
+     */
+    public Optional<File> complete(String id) throws IOException {
+        Optional<FileUploadDTO> found = findOne(id);
+        if (found.isEmpty()) {
+            return Optional.empty();
+        }
+        FileUploadDTO upload = found.orElseThrow();
+        if (!upload.isComplete()) {
+            throw new InvalidUploadException("Upload " + id + " is missing " + upload.getMissingChunks().size() + " chunks");
+        }
+        checkFileNameIsFree(upload.getCategory(), upload.getFileName());
+
+        // Atomic: the chunks sent from now on no longer find the file, and a concurrent completion fails here
+        Path completingFile;
+        try {
+            completingFile = Files.move(partFile(upload.getId()), completingFile(upload.getId()), StandardCopyOption.ATOMIC_MOVE);
+        } catch (NoSuchFileException e) {
+            // Completing, completed or deleted meanwhile
+            return Optional.empty();
+        }
+        Blob blob;
+        try (InputStream content = Files.newInputStream(completingFile)) {
+            // Digests the content as it is stored, so that the blob matches its digest
+            blob = blobStore.put(content);
+        } catch (IOException | RuntimeException e) {
+            restorePartFile(id, e);
+            throw e;
+        }
+        File file;
+        try {
+            file = transactionTemplate.execute(status -> {
+                if (uploadSessionRepository.deleteSession(id) == 0) {
+                    return null;
+                }
+                File created = fileRepository.saveAndFlush(
+                    new File()
+                        .fileName(upload.getFileName())
+                        .fileType(upload.getFileType())
+                        .lastModified(upload.getLastModified())
+                        .category(upload.getCategory())
+                        .converted(false)
+                        .contentHash(blob.digest())
+                );
+                imageVariantService.contentChanged(created);
+                return created;
+            });
+        } catch (RuntimeException e) {
+            // The session was rolled back, the upload can be completed again once its file is back
+            restorePartFile(id, e);
+            if (e instanceof DataIntegrityViolationException) {
+                throw new InvalidUploadException("Category " + upload.getCategory() + " already has a file named " + upload.getFileName());
+            }
+            throw e;
+        }
+        Files.deleteIfExists(completingFile);
+        if (file != null) {
+            LOG.debug("Completed upload {} into File {}, blob {}", id, file.getId(), blob.digest());
+        }
+        return Optional.ofNullable(file);
+    }
+
+    /**
+     * Gives an upload whose completion failed its file back, for chunks to be written to it again. The blob, if stored,
+     * stays: other files may share it.
+     */
+    private void restorePartFile(String id, Exception failure) {
+        try {
+            Files.move(completingFile(id), partFile(id), StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOG.warn("Could not restore the content of upload {}", id, e);
+            failure.addSuppressed(e);
+        }
+    }
+
+    private void checkFileNameIsFree(String category, String fileName) {
+        if (fileRepository.findByCategoryAndFileName(category, fileName).isPresent()) {
+            throw new InvalidUploadException("Category " + category + " already has a file named " + fileName);
+        }
+    }
+
+    /**
+     * Abandons an upload, deleting what was received.
+     *
+     * @param id the id of the upload.
+     * @return false if there was no upload with this id.
+     * @throws IOException if the upload file could not be deleted.
+     */
+    public boolean delete(String id) throws IOException {
+        Optional<UploadSession> session = uploadSessionRepository.findById(id);
+        if (session.isEmpty() || uploadSessionRepository.deleteSession(session.orElseThrow().getId()) == 0) {
+            return false;
+        }
+        Files.deleteIfExists(partFile(session.orElseThrow().getId()));
+        // Left by a node that died while completing the upload
+        Files.deleteIfExists(completingFile(session.orElseThrow().getId()));
+        return true;
+    }
+
+    /**
+     * Removes the uploads older than {@code application.upload.expiration}.
+     * <p>
+     * This is scheduled to get fired every hour, and runs on the node holding its lock.
+     */
+    @Scheduled(cron = "0 30 * * * ?")
+    public void removeExpiredUploads() {
+        scheduledTaskLockService.runExclusively("removeExpiredUploads", lease -> {
+            for (String id : uploadSessionRepository.findIdsByCreatedDateBefore(Instant.now().minus(uploadProperties.getExpiration()))) {
+                try {
+                    LOG.debug("Removing expired upload {}", id);
+                    delete(id);
+                } catch (IOException e) {
+                    LOG.warn("Could not remove expired upload {}", id, e);
+                }
+            }
+        });
+    }
+
+    /**
+     * @param id the id of an existing session, as stored: a UUID, which cannot escape the upload directory.
+     */
+    private Path partFile(String id) {
+        return directory.resolve(id + PART_SUFFIX);
+    }
+
+    /**
+     * @param id the id of an existing session.
+     * @return the file of the upload while it is being completed.
+     */
+    private Path completingFile(String id) {
+        return directory.resolve(id + COMPLETING_SUFFIX);
+    }
+}
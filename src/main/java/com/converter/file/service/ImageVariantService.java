@@ -0,0 +1,289 @@
+package com.converter.file.service;
+
+import com.converter.file.config.ApplicationProperties;
+import com.converter.file.domain.File;
+import com.converter.file.domain.FileVariant;
+import com.converter.file.repository.FileRepository;
+import com.converter.file.repository.FileVariantRepository;
+import com.converter.file.storage.Blob;
+import com.converter.file.storage.BlobStore;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.file.NoSuchFileException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Semaphore;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service resizing PNG and JPEG {@link File}s into the variants of {@code application.conversion.image.variants}, such
+ * as thumbnails, recorded as {@link FileVariant}s with their content in the {@link BlobStore}.
+ * <p>
+ * An image is decoded once, subsampled by the reader down to the smallest resolution that still covers the largest
+ * variant, then resized to all variants in parallel. Decoding reserves the memory of the decoded image and of the
+ * variants from a budget of {@code application.conversion.image.decode-budget-mb} for the node: an image that would
+ * not fit in it alone is decoded at a lower resolution, and the others wait for the memory held by those in progress.
+ * <p>
+ * Not transactional on purpose, like {@link FileConversionService}.
+ */
+@Service
+public class ImageVariantService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ImageVariantService.class);
+
+    /**
+     * Target type of the {@link com.converter.file.domain.ConversionJob}s creating the variants of a file.
+     */
+    public static final String TARGET_TYPE = "image/x-variants";
+
+    private static final Map<String, String> FORMATS = Map.of("image/png", "png", "image/jpeg", "jpeg");
+
+    /**
+     * Bytes of a decoded pixel, as 4 8-bit samples.
+     */
+    private static final int PIXEL_SIZE = 4;
+
+    private final FileRepository fileRepository;
+
+    private final FileVariantRepository fileVariantRepository;
+
+    private final FileConversionService fileConversionService;
+
+    private final ConversionJobService conversionJobService;
+
+    private final BlobStore blobStore;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<String, Integer> variants;
+
+    private final int decodeBudgetKb;
+
+    /**
+     * The budget in kilobytes, for budgets of several gigabytes not to overflow the permits.
+     */
+    private final Semaphore decodeBudget;
+
+    public ImageVariantService(
+        FileRepository fileRepository,
+        FileVariantRepository fileVariantRepository,
+        FileConversionService fileConversionService,
+        ConversionJobService conversionJobService,
+        BlobStore blobStore,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties
+    ) {
+        this.fileRepository = fileRepository;
+        this.fileVariantRepository = fileVariantRepository;
+        this.fileConversionService = fileConversionService;
+        this.conversionJobService = conversionJobService;
+        this.blobStore = blobStore;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        ApplicationProperties.Conversion.Image imageProperties = applicationProperties.getConversion().getImage();
+        this.variants = Map.copyOf(imageProperties.getVariants());
+        this.decodeBudgetKb = imageProperties.getDecodeBudgetMb() * 1024;
+        // Fair, for large images not to wait behind a stream of small ones
+        this.decodeBudget = new Semaphore(decodeBudgetKb, true);
+    }
+
+    /**
+     * @param fileType a file type.
+     * @return whether files of this type have variants.
+     */
+    public static boolean supports(String fileType) {
+        return fileType != null && FORMATS.containsKey(fileType.trim().toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Replaces the variants of a file whose content is new: deletes those of its previous content, and queues the
+     * creation of new ones if it is an image. To be called in the transaction recording the content.
+     *
+     * @param file the file, with its new content.
+     */
+    public void contentChanged(File file) {
+        fileVariantRepository.deleteAllByFileId(file.getId());
+        if (supports(file.getFileType())) {
+            conversionJobService.enqueue(file.getId(), TARGET_TYPE);
+        }
+    }
+
+    /**
+     * Creates the variants of a file, replacing those it had.
+     *
+     * @param id the id of the file.
+     * @return the variants, smallest first, or empty if there is no file with this id.
+     * @throws UnsupportedConversionException if the file is not an image, has no readable content, or the variants alone
+     * do not fit in the decode budget.
+     * @throws FileConversionException if the content could not be read or the variants stored.
+     */
+    public Optional<List<FileVariant>> createVariants(Long id) {
+        Optional<File> found = fileRepository.findById(id);
+        if (found.isEmpty()) {
+            return Optional.empty();
+        }
+        File file = found.orElseThrow();
+        if (!supports(file.getFileType())) {
+            throw new UnsupportedConversionException("File type '" + file.getFileType() + "' has no image variants");
+        }
+        String format = FORMATS.get(file.getFileType().trim().toLowerCase(Locale.ROOT));
+
+        List<FileVariant> created = new ArrayList<>();
+        try {
+            for (Rendition rendition : render(file, format)) {
+                Blob blob = blobStore.put(new ByteArrayInputStream(rendition.content()));
+                created.add(
+                    new FileVariant()
+                        .name(rendition.name())
+                        .fileType(file.getFileType())
+                        .width(rendition.width())
+                        .height(rendition.height())
+                        .contentHash(blob.digest())
+                );
+            }
+        } catch (NoSuchFileException e) {
+            throw new UnsupportedConversionException("No content found for File " + id);
+        } catch (IOException | UncheckedIOException e) {
+            throw new FileConversionException("Could not create the variants of File " + id, e);
+        }
+        LOG.debug("Created {} variants of File {}", created.size(), id);
+
+        return transactionTemplate.execute(status -> {
+            Optional<File> existing = fileRepository.findById(id);
+            existing.ifPresent(existingFile -> {
+                fileVariantRepository.deleteAllByFileId(id);
+                created.forEach(variant -> variant.setFile(existingFile));
+                fileVariantRepository.saveAll(created);
+            });
+            return existing.map(existingFile -> fileVariantRepository.findAllByFileIdOrderByWidthAsc(id));
+        });
+    }
+
+    private List<Rendition> render(File file, String format) throws IOException {
+        try (
+            InputStream content = Channels.newInputStream(fileConversionService.openContent(file));
+            ImageInputStream input = ImageIO.createImageInputStream(content)
+        ) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                throw new UnsupportedConversionException("File " + file.getId() + " is not a readable image");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                return render(reader, format);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private List<Rendition> render(ImageReader reader, String format) throws IOException {
+        int width = reader.getWidth(0);
+        int height = reader.getHeight(0);
+        int largest = variants.values().stream().mapToInt(Integer::intValue).max().orElse(0);
+        // Resizing takes the size of the variant for its result, and the size of its halving steps for the rest
+        long variantsSize = variants.values().stream().mapToLong(edge -> 2L * edge * edge * PIXEL_SIZE).sum();
+        int subsampling = Math.max(1, Math.max(width, height) / Math.max(1, largest));
+        while (subsampling < Math.max(width, height) && decodedSize(width, height, subsampling) + variantsSize > budgetBytes()) {
+            subsampling++;
+        }
+        if (decodedSize(width, height, subsampling) + variantsSize > budgetBytes()) {
+            // Subsampling down to a single pixel would only produce variants of that pixel
+            throw new UnsupportedConversionException(
+                "The variants take " + variantsSize / 1024 + " KB, more than the decode budget of " + decodeBudgetKb + " KB"
+            );
+        }
+        int reserved = (int) Math.min(decodeBudgetKb, (decodedSize(width, height, subsampling) + variantsSize + 1023) / 1024);
+
+        try {
+            decodeBudget.acquire(reserved);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for decode memory", e);
+        }
+        try {
+            ImageReadParam param = reader.getDefaultReadParam();
+            param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+            BufferedImage decoded = reader.read(0, param);
+            LOG.debug("Decoded a {}x{} image into {}x{}", width, height, decoded.getWidth(), decoded.getHeight());
+            return variants
+                .entrySet()
+                .parallelStream()
+                .map(variant -> render(decoded, variant.getKey(), variant.getValue(), format))
+                .sorted((a, b) -> Integer.compare(a.width() * a.height(), b.width() * b.height()))
+                .toList();
+        } finally {
+            decodeBudget.release(reserved);
+        }
+    }
+
+    private long budgetBytes() {
+        return decodeBudgetKb * 1024L;
+    }
+
+    private static long decodedSize(int width, int height, int subsampling) {
+        return (long) ceilDiv(width, subsampling) * ceilDiv(height, subsampling) * PIXEL_SIZE;
+    }
+
+    private static int ceilDiv(int dividend, int divisor) {
+        return (dividend + divisor - 1) / divisor;
+    }
+
+    /**
+     * Resizes an image to fit in a square, without enlarging it, halving it first for bilinear interpolation to keep
+     * the detail of every source pixel.
+     */
+    private static Rendition render(BufferedImage image, String name, int edge, String format) {
+        double scale = Math.min(1, (double) edge / Math.max(image.getWidth(), image.getHeight()));
+        int targetWidth = Math.max(1, (int) Math.round(image.getWidth() * scale));
+        int targetHeight = Math.max(1, (int) Math.round(image.getHeight() * scale));
+        // JPEG has no alpha channel
+        int type = image.getColorModel().hasAlpha() && !format.equals("jpeg") ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+
+        BufferedImage resized = image;
+        do {
+            int width = Math.max(targetWidth, resized.getWidth() / 2);
+            int height = Math.max(targetHeight, resized.getHeight() / 2);
+            BufferedImage step = new BufferedImage(width, height, type);
+            Graphics2D graphics = step.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.drawImage(resized, 0, 0, width, height, null);
+            } finally {
+                graphics.dispose();
+            }
+            resized = step;
+        } while (resized.getWidth() != targetWidth || resized.getHeight() != targetHeight);
+
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        try {
+            if (!ImageIO.write(resized, format, content)) {
+                throw new IOException("No " + format + " writer");
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new Rendition(name, targetWidth, targetHeight, content.toByteArray());
+    }
+
+    private record Rendition(String name, int width, int height, byte[] content) {}
+}
@@ -0,0 +1,10 @@
+package com.converter.file.service;
+
+public class InvalidUploadException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public InvalidUploadException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,13 @@
+package com.converter.file.service;
+
+/**
+ * Thrown when the lease of a scheduled task lock was taken over by another node.
+ */
+public class LeaseLostException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public LeaseLostException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,319 @@
+package com.converter.file.service;
+
+import com.converter.file.config.ApplicationProperties;
+import com.converter.file.domain.MailMessage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.internet.MimeMessage;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Claims due {@link MailMessage}s from the queue and sends them on the mail task executor.
+ * <p>
+ * The claimed mails are grouped by recipient domain, and each group is sent through a single SMTP connection. At most
+ * {@code application.mail.queue.domain-rate} mails a minute are sent to a domain by this node: the mails over that
+ * rate go back to the queue until the domain has room again. A poll claims nothing while the previous batch is still
+ * being sent, so the leases never need renewing as long as a batch takes less than their duration.
+ */
+@Service
+public class MailQueueSender {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MailQueueSender.class);
+
+    public static final String QUEUE_DEPTH_METER_NAME = "mail.queue.depth";
+    public static final String LATENCY_METER_NAME = "mail.send.latency";
+    public static final String MESSAGES_METER_NAME = "mail.messages";
+    public static final String MESSAGES_METER_RESULT_DIMENSION = "result";
+
+    private final MailQueueService mailQueueService;
+
+    private final JavaMailSender javaMailSender;
+
+    private final JHipsterProperties jHipsterProperties;
+
+    private final Executor mailTaskExecutor;
+
+    private final ApplicationProperties.Mail.Queue queueProperties;
+
+    private final DomainRateLimiter rateLimiter;
+
+    /**
+     * Number of domain groups of the last batch still being sent.
+     */
+    private final AtomicInteger sending = new AtomicInteger();
+
+    private final AtomicLong queueDepth = new AtomicLong();
+
+    private final Timer latencyTimer;
+
+    private final Counter sentCounter;
+
+    private final Counter failedCounter;
+
+    public MailQueueSender(
+        MailQueueService mailQueueService,
+        JavaMailSender javaMailSender,
+        JHipsterProperties jHipsterProperties,
+        @Qualifier("mailTaskExecutor") Executor mailTaskExecutor,
+        MeterRegistry registry,
+        ApplicationProperties applicationProperties
+    ) {
+        this.mailQueueService = mailQueueService;
+        this.javaMailSender = javaMailSender;
+        this.jHipsterProperties = jHipsterProperties;
+        this.mailTaskExecutor = mailTaskExecutor;
+        this.queueProperties = applicationProperties.getMail().getQueue();
+        this.rateLimiter = new DomainRateLimiter(queueProperties.getDomainRate());
+        Gauge.builder(QUEUE_DEPTH_METER_NAME, queueDepth, AtomicLong::get)
+            .baseUnit("mails")
+            .description("Number of mails waiting to be sent, as of the last poll of the mail queue.")
+            .register(registry);
+        this.latencyTimer = Timer.builder(LATENCY_METER_NAME)
+            .description("Time from queueing a mail to sending it.")
+            .publishPercentileHistogram()
+            .register(registry);
+        this.sentCounter = messagesCounterForResultBuilder("sent").register(registry);
+        this.failedCounter = messagesCounterForResultBuilder("failed").register(registry);
+    }
+
+    private Counter.Builder messagesCounterForResultBuilder(String result) {
+        return Counter.builder(MESSAGES_METER_NAME)
+            .baseUnit("mails")
+            .description("Indicates how many mails were sent, or failed to be.")
+            .tag(MESSAGES_METER_RESULT_DIMENSION, result);
+    }
+
+    /**
+     * Claims a batch of due mails, once the previous batch is sent, and sends it by recipient domain.
+     */
+    @Scheduled(fixedDelayString = "${application.mail.queue.poll-interval:PT5S}")
+    public void poll() {
+        if (!queueProperties.isEnabled()) {
+            return;
+        }
+        queueDepth.set(mailQueueService.countQueued());
+        if (sending.get() > 0) {
+            return;
+        }
+        Map<String, List<MailMessage>> byDomain = new LinkedHashMap<>();
+        for (MailMessage message : mailQueueService.claim(queueProperties.getBatchSize())) {
+            byDomain.computeIfAbsent(domain(message.getRecipient()), domain -> new ArrayList<>()).add(message);
+        }
+        Instant now = Instant.now();
+        for (Map.Entry<String, List<MailMessage>> domain : byDomain.entrySet()) {
+            List<MailMessage> messages = domain.getValue();
+            int permitted = rateLimiter.acquire(domain.getKey(), messages.size(), now);
+            if (permitted < messages.size()) {
+                Instant until = rateLimiter.nextPermit(domain.getKey(), now);
+                LOG.debug("Deferring {} mails to '{}' until {}", messages.size() - permitted, domain.getKey(), until);
+                mailQueueService.defer(messages.subList(permitted, messages.size()), until);
+            }
+            if (permitted > 0) {
+                dispatch(List.copyOf(messages.subList(0, permitted)));
+            }
+        }
+    }
+
+    private void dispatch(List<MailMessage> messages) {
+        sending.incrementAndGet();
+        try {
+            mailTaskExecutor.execute(() -> {
+                try {
+                    send(messages);
+                } finally {
+                    sending.decrementAndGet();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            sending.decrementAndGet();
+            messages.forEach(message -> fail(message, "Rejected by the mail task executor", true));
+        }
+    }
+
+    /**
+     * Sends mails through a single SMTP connection, then records the outcome of each.
+     */
+    private void send(List<MailMessage> messages) {
+        Map<MimeMessage, MailMessage> prepared = new IdentityHashMap<>();
+        List<MimeMessage> mimeMessages = new ArrayList<>();
+        for (MailMessage message : messages) {
+            try {
+                MimeMessage mimeMessage = prepare(message);
+                prepared.put(mimeMessage, message);
+                mimeMessages.add(mimeMessage);
+            } catch (MessagingException e) {
+                fail(message, e.toString(), false);
+            }
+        }
+        if (mimeMessages.isEmpty()) {
+            return;
+        }
+
+        Map<Object, Exception> failures = new HashMap<>();
+        try {
+            javaMailSender.send(mimeMessages.toArray(MimeMessage[]::new));
+        } catch (MailSendException e) {
+            failures.putAll(e.getFailedMessages());
+            if (failures.isEmpty()) {
+                mimeMessages.forEach(mimeMessage -> failures.put(mimeMessage, e));
+            }
+        } catch (MailException e) {
+            // Such as an authentication failure, before any mail was sent
+            mimeMessages.forEach(mimeMessage -> failures.put(mimeMessage, e));
+        }
+
+        List<MailMessage> sent = new ArrayList<>();
+        Instant now = Instant.now();
+        for (MimeMessage mimeMessage : mimeMessages) {
+            MailMessage message = prepared.get(mimeMessage);
+            Exception failure = failures.get(mimeMessage);
+            if (failure == null) {
+                sent.add(message);
+                latencyTimer.record(Duration.between(message.getCreatedDate(), now));
+            } else {
+                LOG.debug("Email could not be sent to '{}'", message.getRecipient(), failure);
+                fail(message, failure.toString(), isRetryable(failure));
+            }
+        }
+        if (!sent.isEmpty()) {
+            mailQueueService.sent(sent);
+            sentCounter.increment(sent.size());
+            LOG.debug("Sent {} emails to '{}'", sent.size(), domain(sent.get(0).getRecipient()));
+        }
+    }
+
+    private MimeMessage prepare(MailMessage message) throws MessagingException {
+        MimeMessage mimeMessage = javaMailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, message.getMultipart(), StandardCharsets.UTF_8.name());
+        helper.setTo(message.getRecipient());
+        helper.setFrom(jHipsterProperties.getMail().getFrom());
+        helper.setSubject(message.getSubject());
+        helper.setText(message.getContent(), message.getHtml());
+        return mimeMessage;
+    }
+
+    private void fail(MailMessage message, String error, boolean retryable) {
+        failedCounter.increment();
+        mailQueueService.fail(message, error, retryable);
+    }
+
+    /**
+     * Whether a mail may be sent on a later attempt: only addresses rejected by the server fail permanently.
+     */
+    private static boolean isRetryable(Exception failure) {
+        for (Throwable cause : ExceptionUtils.getThrowableList(failure)) {
+            if (cause instanceof SendFailedException sendFailed) {
+                return sendFailed.getInvalidAddresses() == null || sendFailed.getInvalidAddresses().length == 0;
+            }
+        }
+        return true;
+    }
+
+    private static String domain(String recipient) {
+        return recipient.substring(recipient.lastIndexOf('@') + 1).trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Token buckets by domain, refilled continuously at the rate, holding at most a minute of mails.
+     */
+    static final class DomainRateLimiter {
+
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private final Map<String, Bucket> buckets = new HashMap<>();
+
+        private final int perMinute;
+
+        DomainRateLimiter(int perMinute) {
+            this.perMinute = perMinute;
+        }
+
+        /**
+         * @return how many of the {@code requested} mails may be sent now, taken from the bucket of the domain.
+         */
+        int acquire(String domain, int requested, Instant now) {
+            if (perMinute <= 0) {
+                return requested;
+            }
+            lock.lock();
+            try {
+                // Full buckets hold nothing worth keeping
+                buckets.values().removeIf(bucket -> bucket.refill(now, perMinute) >= perMinute);
+                Bucket bucket = buckets.computeIfAbsent(domain, key -> new Bucket(perMinute, now));
+                bucket.refill(now, perMinute);
+                int permitted = (int) Math.min(requested, Math.floor(bucket.tokens));
+                bucket.tokens -= permitted;
+                return permitted;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * @return when the bucket of the domain holds a whole token again.
+         */
+        Instant nextPermit(String domain, Instant now) {
+            lock.lock();
+            try {
+                Bucket bucket = buckets.get(domain);
+                if (bucket == null || perMinute <= 0) {
+                    return now;
+                }
+                double missing = Math.max(0, 1 - bucket.tokens);
+                return now.plusNanos((long) Math.ceil(missing * Duration.ofMinutes(1).toNanos() / perMinute));
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private static final class Bucket {
+
+            private double tokens;
+
+            private Instant refilled;
+
+            private Bucket(double tokens, Instant refilled) {
+                this.tokens = tokens;
+                this.refilled = refilled;
+            }
+
+            private double refill(Instant now, int perMinute) {
+                if (now.isAfter(refilled)) {
+                    double elapsedMinutes = Duration.between(refilled, now).toNanos() / (double) Duration.ofMinutes(1).toNanos();
+                    tokens = Math.min(perMinute, tokens + elapsedMinutes * perMinute);
+                    refilled = now;
+                }
+                return tokens;
+            }
+        }
+    }
+}
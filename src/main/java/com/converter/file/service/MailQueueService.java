@@ -0,0 +1,179 @@
+package com.converter.file.service;
+
+import com.converter.file.config.ApplicationProperties;
+import com.converter.file.domain.MailMessage;
+import com.converter.file.domain.enumeration.MailMessageStatus;
+import com.converter.file.repository.MailMessageRepository;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service managing the outbound mail queue, the {@link MailMessage}s sent by the {@link MailQueueSender}.
+ * <p>
+ * Mails are claimed under a lease token and their outcome is only recorded under that token, as for the
+ * {@link ConversionJobService}, so that a node whose lease was taken over cannot overwrite the outcome of the new owner.
+ */
+@Service
+@Transactional
+public class MailQueueService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MailQueueService.class);
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private static final int MAX_SUBJECT_LENGTH = 1000;
+
+    private final MailMessageRepository mailMessageRepository;
+
+    private final ApplicationProperties.Mail.Queue queueProperties;
+
+    public MailQueueService(MailMessageRepository mailMessageRepository, ApplicationProperties applicationProperties) {
+        this.mailMessageRepository = mailMessageRepository;
+        this.queueProperties = applicationProperties.getMail().getQueue();
+    }
+
+    /**
+     * Queues a mail.
+     *
+     * @param to the recipient.
+     * @param subject the subject.
+     * @param content the body.
+     * @param isMultipart whether to send the body as a multipart message.
+     * @param isHtml whether the body is HTML.
+     * @return the queued mail.
+     */
+    public MailMessage enqueue(String to, String subject, String content, boolean isMultipart, boolean isHtml) {
+        MailMessage message = mailMessageRepository.save(
+            new MailMessage()
+                .recipient(to)
+                .subject(StringUtils.abbreviate(subject, MAX_SUBJECT_LENGTH))
+                .content(content)
+                .multipart(isMultipart)
+                .html(isHtml)
+        );
+        LOG.debug("Queued MailMessage: {}", message);
+        return message;
+    }
+
+    /**
+     * Claims up to {@code max} due mails.
+     *
+     * @param max the maximum number of mails to claim.
+     * @return the claimed mails, all sharing the same lease token.
+     */
+    public List<MailMessage> claim(int max) {
+        Instant now = Instant.now();
+        List<Long> ids = mailMessageRepository.findClaimableIds(now, PageRequest.ofSize(max));
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        String token = UUID.randomUUID().toString();
+        int claimed = mailMessageRepository.claim(ids, token, now, now.plus(queueProperties.getLeaseDuration()));
+        LOG.debug("Claimed {} MailMessages under lease {}", claimed, token);
+        return claimed == 0 ? List.of() : mailMessageRepository.findAllByLeaseTokenOrderById(token);
+    }
+
+    /**
+     * Removes sent mails from the queue.
+     *
+     * @param messages the claimed mails that were sent.
+     * @return the number of mails removed, less than sent if leases were lost.
+     */
+    public int sent(Collection<MailMessage> messages) {
+        int removed = 0;
+        for (Map.Entry<String, List<Long>> claim : byLeaseToken(messages).entrySet()) {
+            removed += mailMessageRepository.deleteSent(claim.getValue(), claim.getKey());
+        }
+        return removed;
+    }
+
+    /**
+     * Returns claimed mails to the queue until the given time, without counting the claim as an attempt.
+     *
+     * @param messages the claimed mails.
+     * @param until when the mails are due again.
+     */
+    public void defer(Collection<MailMessage> messages, Instant until) {
+        for (Map.Entry<String, List<Long>> claim : byLeaseToken(messages).entrySet()) {
+            mailMessageRepository
+                .findAllByIdInAndLeaseToken(claim.getValue(), claim.getKey())
+                .stream()
+                .filter(claimedMessage -> claimedMessage.getStatus() == MailMessageStatus.SENDING)
+                .forEach(claimedMessage -> {
+                    claimedMessage.status(MailMessageStatus.PENDING).attempts(claimedMessage.getAttempts() - 1).nextAttemptAt(until);
+                    release(claimedMessage);
+                });
+        }
+    }
+
+    /**
+     * Records the failure of a claimed mail. A retryable failure is retried with an exponential backoff until
+     * {@code application.mail.queue.max-attempts} is reached; any other failure dead-letters the mail.
+     *
+     * @param message the claimed mail.
+     * @param error describes the failure.
+     * @param retryable whether the failure may be transient.
+     * @return false if the lease of the mail was lost, in which case nothing is updated.
+     */
+    public boolean fail(MailMessage message, String error, boolean retryable) {
+        return mailMessageRepository
+            .findOneByIdAndLeaseToken(message.getId(), message.getLeaseToken())
+            .filter(claimedMessage -> claimedMessage.getStatus() == MailMessageStatus.SENDING)
+            .map(claimedMessage -> {
+                claimedMessage.lastError(StringUtils.abbreviate(error, MAX_ERROR_LENGTH));
+                if (retryable && claimedMessage.getAttempts() < queueProperties.getMaxAttempts()) {
+                    Duration backoff = ConversionJobService.backoff(
+                        claimedMessage.getAttempts(),
+                        queueProperties.getInitialBackoff(),
+                        queueProperties.getMaxBackoff()
+                    );
+                    claimedMessage.status(MailMessageStatus.PENDING).nextAttemptAt(Instant.now().plus(backoff));
+                    LOG.debug("MailMessage {} failed, retrying in {}: {}", claimedMessage.getId(), backoff, error);
+                } else {
+                    claimedMessage.status(MailMessageStatus.DEAD);
+                    LOG.warn(
+                        "MailMessage {} dead-lettered after {} attempts: {}",
+                        claimedMessage.getId(),
+                        claimedMessage.getAttempts(),
+                        error
+                    );
+                }
+                release(claimedMessage);
+                return true;
+            })
+            .orElseGet(() -> {
+                LOG.warn("Lease of MailMessage {} was lost, ignoring its outcome", message.getId());
+                return false;
+            });
+    }
+
+    /**
+     * @return the number of mails waiting to be sent, or being sent.
+     */
+    @Transactional(readOnly = true)
+    public long countQueued() {
+        return mailMessageRepository.countByStatusNot(MailMessageStatus.DEAD);
+    }
+
+    private static Map<String, List<Long>> byLeaseToken(Collection<MailMessage> messages) {
+        return messages
+            .stream()
+            .filter(message -> message.getLeaseToken() != null)
+            .collect(Collectors.groupingBy(MailMessage::getLeaseToken, Collectors.mapping(MailMessage::getId, Collectors.toList())));
+    }
+
+    private void release(MailMessage message) {
+        message.leaseToken(null).leaseExpiresAt(null);
+    }
+}
@@ -0,0 +1,211 @@
+package com.converter.file.service;
+
+import com.converter.file.config.Constants;
+import com.converter.file.domain.User;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.thymeleaf.ThymeleafProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Renders the mail templates for a {@link User}, rendering each of the {@link #COMPILED_TEMPLATES} only once per locale.
+ * <p>
+ * A template is compiled by rendering it for a placeholder user whose properties are unique markers: the output is
+ * split at the markers into the static text of the template and the properties of the user in between, so rendering
+ * it again is a concatenation. This only holds for templates that output the properties of the user as they are, in
+ * {@code th:text} and {@code th:href}, and never test or transform them: since a placeholder cannot cover every
+ * comparison a template could make, such as {@code ${user.langKey == 'fr'}}, only the templates listed are compiled,
+ * the others always being rendered by the template engine. The template is also rendered for a second placeholder
+ * user, with other markers and other values for the rest of the properties, and is not compiled when the output
+ * differs. Users with a property that Thymeleaf could escape are rendered by the template engine as well. Nothing is
+ * cached when {@code spring.thymeleaf.cache} is false, so that template changes show up in development.
+ */
+@Service
+public class MailTemplateRenderer {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MailTemplateRenderer.class);
+
+    private static final String USER = "user";
+
+    private static final String BASE_URL = "baseUrl";
+
+    /**
+     * The templates that only output the properties of the user as they are: check the template before adding it here.
+     */
+    private static final Set<String> COMPILED_TEMPLATES = Set.of("mail/activationEmail", "mail/creationEmail", "mail/passwordResetEmail");
+
+    /**
+     * Values that Thymeleaf outputs as they are, in text, attributes and URLs alike.
+     */
+    private static final Pattern VERBATIM = Pattern.compile("[A-Za-z0-9._@-]+");
+
+    /**
+     * Values that Thymeleaf evaluates as false in conditions, while the markers evaluate as true.
+     */
+    private static final Set<String> FALSE_VALUES = Set.of("false", "off", "no");
+
+    private static final List<Function<User, String>> PROPERTIES = List.of(
+        User::getLogin,
+        User::getFirstName,
+        User::getLastName,
+        User::getEmail,
+        User::getActivationKey,
+        User::getResetKey,
+        User::getImageUrl,
+        User::getLangKey,
+        User::getCreatedBy,
+        User::getLastModifiedBy
+    );
+
+    private final SpringTemplateEngine templateEngine;
+
+    private final String baseUrl;
+
+    private final boolean cache;
+
+    /**
+     * Lowercase, since {@link User#setLogin} lowercases logins.
+     */
+    private final String markerPrefix = "x" + UUID.randomUUID().toString().replace("-", "").substring(0, 16);
+
+    private final Pattern marker = Pattern.compile(Pattern.quote(markerPrefix) + "(\\d+)a");
+
+    private final Map<TemplateKey, Compiled> compiled = new ConcurrentHashMap<>();
+
+    public MailTemplateRenderer(
+        SpringTemplateEngine templateEngine,
+        JHipsterProperties jHipsterProperties,
+        ThymeleafProperties thymeleafProperties
+    ) {
+        this.templateEngine = templateEngine;
+        this.baseUrl = jHipsterProperties.getMail().getBaseUrl();
+        this.cache = thymeleafProperties.isCache();
+    }
+
+    /**
+     * @param templateName the name of the template, such as {@code mail/activationEmail}.
+     * @param locale the locale of the mail.
+     * @param user the recipient, available to the template as {@code user}.
+     * @return the rendered template.
+     */
+    public String render(String templateName, Locale locale, User user) {
+        if (!cache || !COMPILED_TEMPLATES.contains(templateName)) {
+            return process(templateName, locale, user);
+        }
+        Compiled template = compiled.computeIfAbsent(new TemplateKey(templateName, locale), this::compile);
+        String rendered = template.render(user);
+        return rendered != null ? rendered : process(templateName, locale, user);
+    }
+
+    /**
+     * Compiles the mail templates for the default language once the application is ready, before the first mails.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void precompile() {
+        if (!cache) {
+            return;
+        }
+        Locale locale = Locale.forLanguageTag(Constants.DEFAULT_LANGUAGE);
+        for (String templateName : COMPILED_TEMPLATES) {
+            compiled.computeIfAbsent(new TemplateKey(templateName, locale), this::compile);
+        }
+        LOG.debug("Precompiled {} mail templates", compiled.size());
+    }
+
+    private String process(String templateName, Locale locale, User user) {
+        Context context = new Context(locale);
+        context.setVariable(USER, user);
+        context.setVariable(BASE_URL, baseUrl);
+        return templateEngine.process(templateName, context);
+    }
+
+    private Compiled compile(TemplateKey key) {
+        String first = process(key.templateName(), key.locale(), placeholder('a'));
+        List<String> segments = new ArrayList<>();
+        List<Function<User, String>> properties = new ArrayList<>();
+        Matcher matcher = marker.matcher(first);
+        int end = 0;
+        while (matcher.find()) {
+            segments.add(first.substring(end, matcher.start()));
+            properties.add(PROPERTIES.get(Integer.parseInt(matcher.group(1))));
+            end = matcher.end();
+        }
+        segments.add(first.substring(end));
+        Compiled template = new Compiled(segments, properties);
+
+        String second = process(key.templateName(), key.locale(), placeholder('b'));
+        if (!second.equals(template.render(placeholder('b')))) {
+            LOG.debug("Mail template '{}' depends on more than the user properties, it will not be cached", key.templateName());
+            return new Compiled(null, null);
+        }
+        LOG.debug("Compiled mail template '{}' for {} into {} segments", key.templateName(), key.locale(), segments.size());
+        return template;
+    }
+
+    /**
+     * A user whose string properties are the markers of the variant, and whose other properties differ by variant.
+     */
+    private User placeholder(char variant) {
+        boolean second = variant != 'a';
+        User user = new User();
+        user.setId(second ? 2L : 1L);
+        user.setActivated(second);
+        user.setResetDate(second ? Instant.EPOCH : null);
+        user.setCreatedDate(second ? Instant.EPOCH : Instant.now());
+        user.setLastModifiedDate(second ? Instant.EPOCH : Instant.now());
+        user.setLogin(markerPrefix + 0 + variant);
+        user.setFirstName(markerPrefix + 1 + variant);
+        user.setLastName(markerPrefix + 2 + variant);
+        user.setEmail(markerPrefix + 3 + variant);
+        user.setActivationKey(markerPrefix + 4 + variant);
+        user.setResetKey(markerPrefix + 5 + variant);
+        user.setImageUrl(markerPrefix + 6 + variant);
+        user.setLangKey(markerPrefix + 7 + variant);
+        user.setCreatedBy(markerPrefix + 8 + variant);
+        user.setLastModifiedBy(markerPrefix + 9 + variant);
+        return user;
+    }
+
+    private record TemplateKey(String templateName, Locale locale) {}
+
+    /**
+     * The static text of a template, with the properties of the user between its segments; both null if the template
+     * cannot be rendered this way.
+     */
+    private record Compiled(List<String> segments, List<Function<User, String>> properties) {
+        /**
+         * @return the rendered template, or null if it must be rendered by the template engine.
+         */
+        String render(User user) {
+            if (segments == null) {
+                return null;
+            }
+            StringBuilder rendered = new StringBuilder(segments.stream().mapToInt(String::length).sum() + 64 * properties.size());
+            rendered.append(segments.get(0));
+            for (int i = 0; i < properties.size(); i++) {
+                String value = properties.get(i).apply(user);
+                if (value == null || !VERBATIM.matcher(value).matches() || FALSE_VALUES.contains(value.toLowerCase(Locale.ROOT))) {
+                    return null;
+                }
+                rendered.append(value).append(segments.get(i + 1));
+            }
+            return rendered.toString();
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package com.converter.file.service;
+
+import com.converter.file.config.ApplicationProperties;
+import com.converter.file.domain.ScheduledTaskLock;
+import com.converter.file.repository.ScheduledTaskLockRepository;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Runs scheduled tasks on a single node of the cluster, under a {@link ScheduledTaskLock} leased in the database.
+ * <p>
+ * A node takes the lock of a task for {@code application.scheduling.lease-duration}, and the lock of a node that died is
+ * taken over once that lease expired. A task done sooner keeps the lock for {@code application.scheduling.min-lease-duration}
+ * still, so that the other nodes skip the same run. Every acquisition hands out a greater fencing token: a task running
+ * for long renews its lease with {@link Lease#renew()} within each transaction writing its results, which then fails
+ * rather than commits once another node took the lock over. Long tasks can also be split into partitions, each under a
+ * lock of its own, for the nodes to share the work.
+ * <p>
+ * Leases are timed by the clock of each node, which must be synchronized well within a lease. Several nodes can be tried
+ * out locally against the TCP server of the development H2 database, or against a MySQL database.
+ */
+@Service
+public class ScheduledTaskLockService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ScheduledTaskLockService.class);
+
+    private final ScheduledTaskLockRepository scheduledTaskLockRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final TransactionTemplate newTransactionTemplate;
+
+    private final ApplicationProperties.Scheduling schedulingProperties;
+
+    /**
+     * Unique to this instance, while telling the process and host holding a lock.
+     */
+    private final String nodeId = StringUtils.abbreviate(ManagementFactory.getRuntimeMXBean().getName(), 63) + "/" + UUID.randomUUID();
+
+    public ScheduledTaskLockService(
+        ScheduledTaskLockRepository scheduledTaskLockRepository,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties
+    ) {
+        this.scheduledTaskLockRepository = scheduledTaskLockRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.newTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.newTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.schedulingProperties = applicationProperties.getScheduling();
+    }
+
+    /**
+     * Runs a task, unless another node holds its lock.
+     *
+     * @param name the name of the lock of the task.
+     * @param task the task, given its lease to renew.
+     * @return whether the task ran on this node.
+     */
+    public boolean runExclusively(String name, Consumer<Lease> task) {
+        Optional<Lease> lease = tryAcquire(name, schedulingProperties.getLeaseDuration());
+        if (lease.isEmpty()) {
+            LOG.debug("Skipping the task '{}', locked by another node", name);
+            return false;
+        }
+        try (Lease held = lease.orElseThrow()) {
+            task.accept(held);
+        }
+        return true;
+    }
+
+    /**
+     * Runs the partitions of a task whose lock no other node holds, from a random partition on, so that the nodes
+     * starting the task together share its partitions.
+     *
+     * @param name the name of the task, the partitions being locked under that name followed by their index.
+     * @param partitions the number of partitions.
+     * @param task the task, given the index of a partition and its lease to renew.
+     * @return the number of partitions run on this node.
+     */
+    public int runPartitioned(String name, int partitions, PartitionTask task) {
+        int first = ThreadLocalRandom.current().nextInt(partitions);
+        int run = 0;
+        for (int i = 0; i < partitions; i++) {
+            int partition = (first + i) % partitions;
+            if (runExclusively(name + "#" + partition, lease -> task.run(partition, lease))) {
+                run++;
+            }
+        }
+        return run;
+    }
+
+    /**
+     * Takes a lock, unless another node holds it, in a transaction of its own.
+     *
+     * @param name the name of the lock.
+     * @param leaseDuration how long to hold the lock, unless renewed.
+     * @return the lease, to close once done; empty if another node holds the lock.
+     */
+    public Optional<Lease> tryAcquire(String name, Duration leaseDuration) {
+        Optional<Lease> lease = acquire(name, leaseDuration);
+        if (lease.isEmpty() && create(name)) {
+            lease = acquire(name, leaseDuration);
+        }
+        return lease;
+    }
+
+    private Optional<Lease> acquire(String name, Duration leaseDuration) {
+        Instant now = Instant.now();
+        Optional<Long> token = newTransactionTemplate.execute(status -> {
+            // Locking the row first makes the other nodes wait, then read the lease this node took
+            Optional<ScheduledTaskLock> lock = scheduledTaskLockRepository.findOneForUpdateByName(name);
+            if (lock.isEmpty() || lock.orElseThrow().getLeaseExpiresAt().isAfter(now)) {
+                return Optional.empty();
+            }
+            long previous = lock.orElseThrow().getFencingToken();
+            if (scheduledTaskLockRepository.acquire(name, previous, nodeId, now, now.plus(leaseDuration)) == 0) {
+                return Optional.empty();
+            }
+            return Optional.of(previous + 1);
+        });
+        if (token == null || token.isEmpty()) {
+            return Optional.empty();
+        }
+        LOG.debug("Acquired the lock '{}' with fencing token {}", name, token.orElseThrow());
+        return Optional.of(new Lease(name, token.orElseThrow(), now, leaseDuration));
+    }
+
+    /**
+     * @return whether the lock was missing, and was created by this node or another one since.
+     */
+    private boolean create(String name) {
+        try {
+            return Boolean.TRUE.equals(
+                newTransactionTemplate.execute(status -> {
+                    if (scheduledTaskLockRepository.existsById(name)) {
+                        return false;
+                    }
+                    scheduledTaskLockRepository.saveAndFlush(new ScheduledTaskLock().name(name));
+                    return true;
+                })
+            );
+        } catch (DataIntegrityViolationException e) {
+            // Created by another node meanwhile
+            return true;
+        }
+    }
+
+    /**
+     * A partition of a task.
+     */
+    @FunctionalInterface
+    public interface PartitionTask {
+        void run(int partition, Lease lease);
+    }
+
+    /**
+     * The lease of a lock held by this node.
+     */
+    public final class Lease implements AutoCloseable {
+
+        private final String name;
+
+        private final long fencingToken;
+
+        private final Instant acquiredAt;
+
+        private final Duration duration;
+
+        private Lease(String name, long fencingToken, Instant acquiredAt, Duration duration) {
+            this.name = name;
+            this.fencingToken = fencingToken;
+            this.acquiredAt = acquiredAt;
+            this.duration = duration;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getFencingToken() {
+            return fencingToken;
+        }
+
+        /**
+         * Extends the lease by its duration, within the current transaction if any: the lock then stays with this node
+         * until that transaction completes, so that the transaction commits only while this node holds the lock.
+         *
+         * @throws LeaseLostException if another node took the lock over since.
+         */
+        public void renew() {
+            Instant leaseExpiresAt = Instant.now().plus(duration);
+            Integer renewed = transactionTemplate.execute(status ->
+                scheduledTaskLockRepository.renew(name, fencingToken, leaseExpiresAt)
+            );
+            if (renewed == null || renewed == 0) {
+                throw new LeaseLostException("The lock '" + name + "' was taken over by another node");
+            }
+        }
+
+        /**
+         * Releases the lock, once the current transaction, if any, completed.
+         */
+        @Override
+        public void close() {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void afterCompletion(int status) {
+                            release();
+                        }
+                    }
+                );
+            } else {
+                release();
+            }
+        }
+
+        private void release() {
+            Instant minLeaseExpiresAt = acquiredAt.plus(schedulingProperties.getMinLeaseDuration());
+            Instant releasedAt = minLeaseExpiresAt.isAfter(Instant.now()) ? minLeaseExpiresAt : Instant.now();
+            Integer released = newTransactionTemplate.execute(status ->
+                scheduledTaskLockRepository.release(name, fencingToken, releasedAt)
+            );
+            if (released == null || released == 0) {
+                LOG.debug("The lock '{}' expired before being released", name);
+            }
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.converter.file.service;
+
+public class UnsupportedConversionException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public UnsupportedConversionException(String message) {
+        super(message);
+    }
+}
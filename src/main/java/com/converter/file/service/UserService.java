@@ -1,5 +1,6 @@
 package com.converter.file.service;
 
+import com.converter.file.config.ApplicationProperties;
 import com.converter.file.config.Constants;
 import com.converter.file.domain.Authority;
 import com.converter.file.domain.User;
@@ -9,19 +10,27 @@ import com.converter.file.security.AuthoritiesConstants;
 import com.converter.file.security.SecurityUtils;
 import com.converter.file.service.dto.AdminUserDTO;
 import com.converter.file.service.dto.UserDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import tech.jhipster.security.RandomUtil;
 
 /**
@@ -33,6 +42,11 @@ public class UserService {
 
     private static final Logger LOG = LoggerFactory.getLogger(UserService.class);
 
+    public static final String PURGED_USERS_METER_NAME = "users.purge.deleted";
+    public static final String PURGE_CHUNK_METER_NAME = "users.purge.chunk";
+
+    private static final String PURGE_TASK_NAME = "removeNotActivatedUsers";
+
     private final UserRepository userRepository;
 
     private final PasswordEncoder passwordEncoder;
@@ -41,16 +55,40 @@ public class UserService {
 
     private final CacheManager cacheManager;
 
+    private final TransactionTemplate transactionTemplate;
+
+    private final ScheduledTaskLockService scheduledTaskLockService;
+
+    private final ApplicationProperties.Users.Purge purgeProperties;
+
+    private final Counter purgedUsersCounter;
+
+    private final Timer purgeChunkTimer;
+
     public UserService(
         UserRepository userRepository,
         PasswordEncoder passwordEncoder,
         AuthorityRepository authorityRepository,
-        CacheManager cacheManager
+        CacheManager cacheManager,
+        PlatformTransactionManager transactionManager,
+        ScheduledTaskLockService scheduledTaskLockService,
+        MeterRegistry registry,
+        ApplicationProperties applicationProperties
     ) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.authorityRepository = authorityRepository;
         this.cacheManager = cacheManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.scheduledTaskLockService = scheduledTaskLockService;
+        this.purgeProperties = applicationProperties.getUsers().getPurge();
+        this.purgedUsersCounter = Counter.builder(PURGED_USERS_METER_NAME)
+            .baseUnit("users")
+            .description("Number of not activated users deleted by the purge.")
+            .register(registry);
+        this.purgeChunkTimer = Timer.builder(PURGE_CHUNK_METER_NAME)
+            .description("Time taken to delete a chunk of not activated users.")
+            .register(registry);
     }
 
     public Optional<User> activateRegistration(String key) {
@@ -293,17 +331,72 @@ public class UserService {
     /**
      * Not activated users should be automatically deleted after 3 days.
      * <p>
-     * This is scheduled to get fired every day, at 01:00 (am).
+     * This is scheduled to get fired every day, at 01:00 (am), and runs on the nodes holding the locks of its
+     * {@code application.users.purge.partitions} partitions of the users by id. The users are deleted by chunks of
+     * {@code application.users.purge.chunk-size}, each in a transaction of its own unless called within a transaction,
+     * with their authorities and cached entries; each chunk renews the lease of its partition, so that it is only
+     * committed while this node holds the lock. The other nodes are not sent invalidations for the deleted users: their
+     * cached entries, of users who could not sign in anyway, stay until they expire.
      */
     @Scheduled(cron = "0 0 1 * * ?")
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void removeNotActivatedUsers() {
-        userRepository
-            .findAllByActivatedIsFalseAndActivationKeyIsNotNullAndCreatedDateBefore(Instant.now().minus(3, ChronoUnit.DAYS))
-            .forEach(user -> {
-                LOG.debug("Deleting not activated user {}", user.getLogin());
-                userRepository.delete(user);
-                this.clearUserCaches(user);
-            });
+        Instant createdBefore = Instant.now().minus(3, ChronoUnit.DAYS);
+        int partitions = purgeProperties.getPartitions();
+        scheduledTaskLockService.runPartitioned(PURGE_TASK_NAME, partitions, (partition, lease) ->
+            removeNotActivatedUsers(createdBefore, partition, partitions, lease)
+        );
+    }
+
+    private void removeNotActivatedUsers(Instant createdBefore, int partition, int partitions, ScheduledTaskLockService.Lease lease) {
+        int chunkSize = purgeProperties.getChunkSize();
+        long afterId = Long.MIN_VALUE;
+        long purged = 0;
+        while (true) {
+            long chunkAfterId = afterId;
+            List<UserRepository.UserKeys> chunk = purgeChunkTimer.record(() ->
+                transactionTemplate.execute(status -> {
+                    lease.renew();
+                    return deleteNotActivatedUsers(createdBefore, partition, partitions, chunkAfterId, chunkSize);
+                })
+            );
+            if (chunk == null || chunk.isEmpty()) {
+                break;
+            }
+            clearUserCaches(chunk);
+            purged += chunk.size();
+            purgedUsersCounter.increment(chunk.size());
+            LOG.debug("Deleted {} not activated users of partition {} so far", purged, partition);
+            if (chunk.size() < chunkSize) {
+                break;
+            }
+            afterId = chunk.get(chunk.size() - 1).getId();
+        }
+        if (purged > 0) {
+            LOG.info("Deleted {} users of partition {} not activated since {}", purged, partition, createdBefore);
+        }
+    }
+
+    private List<UserRepository.UserKeys> deleteNotActivatedUsers(
+        Instant createdBefore,
+        int partition,
+        int partitions,
+        long afterId,
+        int chunkSize
+    ) {
+        List<UserRepository.UserKeys> chunk = userRepository.findNotActivatedUserKeysCreatedBefore(
+            createdBefore,
+            partition,
+            partitions,
+            afterId,
+            PageRequest.of(0, chunkSize)
+        );
+        if (!chunk.isEmpty()) {
+            List<Long> ids = chunk.stream().map(UserRepository.UserKeys::getId).toList();
+            userRepository.deleteAuthoritiesByUserIdIn(ids);
+            userRepository.deleteAllByIdIn(ids);
+        }
+        return chunk;
     }
 
     /**
@@ -321,4 +414,15 @@ public class UserService {
             Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_EMAIL_CACHE)).evictIfPresent(user.getEmail());
         }
     }
+
+    private void clearUserCaches(List<UserRepository.UserKeys> users) {
+        Cache usersByLogin = Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE));
+        Cache usersByEmail = Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_EMAIL_CACHE));
+        for (UserRepository.UserKeys user : users) {
+            usersByLogin.evictIfPresent(user.getLogin());
+            if (user.getEmail() != null) {
+                usersByEmail.evictIfPresent(user.getEmail());
+            }
+        }
+    }
 }
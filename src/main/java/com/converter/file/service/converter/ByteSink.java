@@ -0,0 +1,85 @@
+package com.converter.file.service.converter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+
+/**
+ * A growable byte array, unsynchronized, that converters write their output to before it goes to the target channel.
+ */
+final class ByteSink {
+
+    private byte[] bytes;
+
+    private int size;
+
+    ByteSink(int capacity) {
+        this.bytes = new byte[capacity];
+    }
+
+    void write(int b) {
+        ensureCapacity(1);
+        bytes[size++] = (byte) b;
+    }
+
+    void write(byte[] source) {
+        write(source, 0, source.length);
+    }
+
+    void write(byte[] source, int offset, int length) {
+        ensureCapacity(length);
+        System.arraycopy(source, offset, bytes, size, length);
+        size += length;
+    }
+
+    /**
+     * Writes bytes of a buffer, without changing its position.
+     */
+    void write(ByteBuffer source, int index, int length) {
+        ensureCapacity(length);
+        source.get(index, bytes, size, length);
+        size += length;
+    }
+
+    void write(ByteSink source) {
+        write(source.bytes, 0, source.size);
+    }
+
+    /**
+     * Writes an unsigned LEB128 varint: 7 bits per byte, least significant first, the high bit set on all but the last.
+     */
+    void writeVarint(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        bytes[size++] = (byte) value;
+    }
+
+    int size() {
+        return size;
+    }
+
+    byte[] toByteArray() {
+        return Arrays.copyOf(bytes, size);
+    }
+
+    void reset() {
+        size = 0;
+    }
+
+    void writeTo(WritableByteChannel target) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, 0, size);
+        while (buffer.hasRemaining()) {
+            target.write(buffer);
+        }
+    }
+
+    private void ensureCapacity(int length) {
+        if (size + length > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + length));
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.converter.file.service.converter;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Registry of the available {@link FileConverter}s, keyed by (source file type, target file type).
+ * <p>
+ * File types are compared case-insensitively. A converter registered for {@link #ANY_TYPE} is used
+ * when no converter is registered for the exact source file type.
+ */
+@Service
+public class ConverterRegistry {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ConverterRegistry.class);
+
+    public static final String ANY_TYPE = "*";
+
+    private final Map<Key, FileConverter> converters = new HashMap<>();
+
+    public ConverterRegistry(List<FileConverter> converters) {
+        for (FileConverter converter : converters) {
+            Key key = Key.of(converter.getSourceType(), converter.getTargetType());
+            FileConverter existing = this.converters.putIfAbsent(key, converter);
+            if (existing != null) {
+                throw new IllegalStateException(
+                    "Converters " +
+                    existing.getClass().getName() +
+                    " and " +
+                    converter.getClass().getName() +
+                    " are both registered for " +
+                    key
+                );
+            }
+            LOG.debug("Registered converter {} for {}", converter.getClass().getSimpleName(), key);
+        }
+    }
+
+    /**
+     * Finds the converter for a conversion.
+     *
+     * @param sourceType the file type of the source.
+     * @param targetType the requested file type.
+     * @return the converter, or empty if this conversion is not supported.
+     */
+    public Optional<FileConverter> find(String sourceType, String targetType) {
+        if (sourceType == null || targetType == null) {
+            return Optional.empty();
+        }
+        FileConverter converter = converters.get(Key.of(sourceType, targetType));
+        if (converter == null) {
+            converter = converters.get(Key.of(ANY_TYPE, targetType));
+        }
+        return Optional.ofNullable(converter);
+    }
+
+    /**
+     * @param sourceType the file type of the source.
+     * @return the file types a source of the given type can be converted to.
+     */
+    public Set<String> getTargetTypes(String sourceType) {
+        Key source = Key.of(sourceType, ANY_TYPE);
+        Set<String> targetTypes = new TreeSet<>();
+        converters
+            .keySet()
+            .stream()
+            .filter(key -> key.sourceType().equals(source.sourceType()) || key.sourceType().equals(ANY_TYPE))
+            .forEach(key -> targetTypes.add(key.targetType()));
+        return targetTypes;
+    }
+
+    record Key(String sourceType, String targetType) {
+        static Key of(String sourceType, String targetType) {
+            return new Key(normalize(sourceType), normalize(targetType));
+        }
+
+        private static String normalize(String fileType) {
+            return fileType.trim().toLowerCase(Locale.ROOT);
+        }
+
+        @Override
+        public String toString() {
+            return sourceType + " -> " + targetType;
+        }
+    }
+}
@@ -0,0 +1,728 @@
+package com.converter.file.service.converter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Base of the converters of CSV files, which parse chunks of the source in parallel and write them in order.
+ * <p>
+ * The first row is the header, naming the columns. The delimiter is the one of {@code , ; TAB |} found most in it.
+ * Fields starting with a quote are quoted, with {@code ""} for a quote, and then hold delimiters and line breaks; a
+ * quote anywhere else is kept as it is. Rows end with LF or CRLF, and blank lines are skipped. Fields beyond the header
+ * are dropped, and missing ones are null.
+ * <p>
+ * A {@link FileChannel} source is memory-mapped and cut into chunks of about {@value #DEFAULT_CHUNK_SIZE} bytes. Whether
+ * a line break ends a row depends on whether it is within a quoted field, which the {@link #NEXT_STATE} of the bytes
+ * before it tells: each chunk is first scanned in parallel from each state, for the state it ends in and for its first
+ * row end, then a sequential pass over these moves each cut to the first row of its chunk. Other sources are read
+ * sequentially and cut after their last complete row. Chunks are then parsed in parallel on a {@link ForkJoinPool}, by
+ * a tokenizer that allocates nothing per row or field, and written in their original order, with at most two chunks
+ * per thread of the pool in memory.
+ * <p>
+ * Rows are at most {@value #DEFAULT_MAX_ROW_LENGTH} bytes long, which bounds the memory of a conversion when a quote
+ * opens a field that never ends: a mapped source falls back to the sequential reading of other sources from a range
+ * longer than that, and longer rows fail the conversion.
+ */
+public abstract class CsvFileConverter implements FileConverter {
+
+    public static final String SOURCE_TYPE = "text/csv";
+
+    static final int DEFAULT_CHUNK_SIZE = 8 * 1024 * 1024;
+
+    static final int DEFAULT_MAX_ROW_LENGTH = 64 * 1024 * 1024;
+
+    private static final byte QUOTE = '"';
+
+    private static final byte LF = '\n';
+
+    private static final byte CR = '\r';
+
+    private static final byte[] DELIMITERS = { ',', ';', '\t', '|' };
+
+    /**
+     * Stands for any of the {@link #DELIMITERS}, while the delimiter is unknown.
+     */
+    private static final byte ANY_DELIMITER = 0;
+
+    /**
+     * At the start of a field, or just after a quote within a quoted field, which both open a quoted field on a quote.
+     */
+    private static final int FIELD_START = 0;
+
+    /**
+     * Within a field that is not quoted, or after the closing quote of a quoted field, where quotes are kept as they are.
+     */
+    private static final int UNQUOTED = 1;
+
+    /**
+     * Within a quoted field, where line breaks do not end the row.
+     */
+    private static final int QUOTED = 2;
+
+    private static final int STATE_COUNT = 3;
+
+    private static final int OTHER_BYTE = 0;
+
+    private static final int QUOTE_BYTE = 1;
+
+    private static final int DELIMITER_BYTE = 2;
+
+    private static final int LF_BYTE = 3;
+
+    /**
+     * The state after a byte, by state and type of byte: the quoting of {@link #tokenize}, for the split to cut rows
+     * where the tokenizer ends them. A line break ends a row unless {@link #QUOTED}.
+     */
+    private static final int[][] NEXT_STATE = {
+        { UNQUOTED, QUOTED, FIELD_START, FIELD_START },
+        { UNQUOTED, UNQUOTED, FIELD_START, FIELD_START },
+        { QUOTED, FIELD_START, QUOTED, QUOTED },
+    };
+
+    /**
+     * The states from each start state, packed in 2 bits each, before any byte.
+     */
+    private static final int PACKED_START_STATES = FIELD_START | UNQUOTED << 2 | QUOTED << 4;
+
+    /**
+     * {@link #NEXT_STATE} of packed states, by index of the delimiter in {@link #DELIMITERS}: by packed states shifted
+     * left by 8 bits, plus the unsigned byte.
+     */
+    private static final byte[][] NEXT_PACKED_STATES = new byte[DELIMITERS.length][];
+
+    static {
+        for (int d = 0; d < DELIMITERS.length; d++) {
+            NEXT_PACKED_STATES[d] = packNextStates(DELIMITERS[d]);
+        }
+    }
+
+    private static final byte[] BYTE_ORDER_MARK = { (byte) 0xEF, (byte) 0xBB, (byte) 0xBF };
+
+    /**
+     * Capacity of the outputs of the start and end of a conversion.
+     */
+    private static final int EDGE_SINK_CAPACITY = 1024;
+
+    private final ForkJoinPool pool;
+
+    private final int chunkSize;
+
+    private final int maxRowLength;
+
+    /**
+     * The number of chunks of a conversion parsed or waiting to be written.
+     */
+    private final int maxInFlight;
+
+    /**
+     * Output buffers of the chunks already written, to reuse: as many as the chunks in flight of a conversion, those
+     * written beyond being left to the garbage collector.
+     */
+    private final Queue<ByteSink> freeSinks;
+
+    protected CsvFileConverter() {
+        this(ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+    }
+
+    CsvFileConverter(ForkJoinPool pool, int chunkSize) {
+        this(pool, chunkSize, DEFAULT_MAX_ROW_LENGTH);
+    }
+
+    /**
+     * @param maxRowLength the length of the longest row, at least the chunk size.
+     */
+    CsvFileConverter(ForkJoinPool pool, int chunkSize, int maxRowLength) {
+        this.pool = pool;
+        this.chunkSize = chunkSize;
+        this.maxRowLength = Math.max(chunkSize, maxRowLength);
+        this.maxInFlight = 2 * pool.getParallelism();
+        this.freeSinks = new ArrayBlockingQueue<>(maxInFlight);
+    }
+
+    @Override
+    public String getSourceType() {
+        return SOURCE_TYPE;
+    }
+
+    /**
+     * Writes what comes before the rows.
+     *
+     * @param columns the names of the columns, as found in the header.
+     * @param out the output.
+     */
+    abstract void writeStart(byte[][] columns, ByteSink out);
+
+    /**
+     * @param columns the names of the columns, as found in the header.
+     * @param out the output of the chunk.
+     * @return a writer of the rows of a chunk.
+     */
+    abstract ChunkWriter newChunkWriter(byte[][] columns, ByteSink out);
+
+    /**
+     * Writes what comes after the rows.
+     *
+     * @param out the output.
+     */
+    abstract void writeEnd(ByteSink out);
+
+    /**
+     * Receives the fields of the rows of a chunk, in order, from a single thread.
+     */
+    interface ChunkWriter {
+        /**
+         * @param column the index of the column, lower than the number of columns.
+         * @param buffer the buffer holding the field; its position is meaningless.
+         * @param start the index of the first byte of the field.
+         * @param end the index after the last byte of the field.
+         * @param quoted whether the field was quoted, and so has {@code ""} for each quote.
+         */
+        void field(int column, ByteBuffer buffer, int start, int end, boolean quoted);
+
+        /**
+         * @param fieldCount the number of fields of the row, at most the number of columns.
+         */
+        void endRow(int fieldCount);
+
+        /**
+         * Called once all the rows of the chunk were written.
+         */
+        void finish();
+    }
+
+    @Override
+    public void convert(ReadableByteChannel source, WritableByteChannel target) throws IOException {
+        OrderedOutput output = new OrderedOutput(target);
+        try {
+            if (source instanceof FileChannel file) {
+                convertMapped(file, output);
+            } else {
+                convertStreamed(source, null, output);
+            }
+            output.finish();
+        } catch (IOException | RuntimeException e) {
+            output.cancel();
+            throw e;
+        }
+    }
+
+    private void convertMapped(FileChannel file, OrderedOutput output) throws IOException {
+        long size = file.size();
+        int headerLength = (int) Math.min(size, chunkSize);
+        ByteBuffer buffer = file.map(FileChannel.MapMode.READ_ONLY, 0, headerLength);
+        int headerEnd;
+        while ((headerEnd = findRowEnd(buffer, headerLength, ANY_DELIMITER)) < 0 && headerLength < size) {
+            checkRowLength(headerLength);
+            headerLength = (int) Math.min(size, Math.min(maxRowLength, 2L * headerLength));
+            buffer = file.map(FileChannel.MapMode.READ_ONLY, 0, headerLength);
+        }
+        Header header = Header.parse(buffer, headerEnd < 0 ? headerLength : headerEnd);
+        output.write(start(header.columns()));
+
+        long dataStart = header.length();
+        List<ForkJoinTask<ChunkScan>> scans = new ArrayList<>();
+        for (long start = dataStart; start < size; start += chunkSize) {
+            long chunkStart = start;
+            int length = (int) Math.min(chunkSize, size - start);
+            scans.add(pool.submit(() -> ChunkScan.of(map(file, chunkStart, length), length, header.delimiter())));
+        }
+        long rangeStart = dataStart;
+        int state = FIELD_START;
+        for (int i = 0; i < scans.size(); i++) {
+            ChunkScan scan = join(scans.get(i));
+            long rowStart = scan.firstRowEnds()[state];
+            if (i > 0 && rowStart >= 0) {
+                long rangeEnd = dataStart + (long) i * chunkSize + rowStart;
+                if (rangeEnd - rangeStart > maxRowLength) {
+                    break;
+                }
+                submitMapped(file, header, rangeStart, rangeEnd, output);
+                rangeStart = rangeEnd;
+            }
+            state = scan.endStates()[state];
+        }
+        if (size - rangeStart > maxRowLength) {
+            // A row longer than the others by far, or a quote opening a field that never ends
+            scans.forEach(scan -> scan.cancel(false));
+            convertStreamed(file.position(rangeStart), header, output);
+            return;
+        }
+        if (rangeStart < size) {
+            submitMapped(file, header, rangeStart, size, output);
+        }
+        output.write(end());
+    }
+
+    private void submitMapped(FileChannel file, Header header, long start, long end, OrderedOutput output) throws IOException {
+        int length = Math.toIntExact(end - start);
+        output.submit(() -> parse(map(file, start, length), length, header));
+    }
+
+    private static ByteBuffer map(FileChannel file, long start, int length) {
+        try {
+            return file.map(FileChannel.MapMode.READ_ONLY, start, length);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @param source the source, read from its current position.
+     * @param header the header of the source if already read, or null to read it first.
+     */
+    private void convertStreamed(ReadableByteChannel source, Header header, OrderedOutput output) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(chunkSize);
+        for (boolean more = true; more;) {
+            more = fill(source, buffer);
+            if (header == null) {
+                int headerEnd = findRowEnd(buffer, buffer.position(), ANY_DELIMITER);
+                if (headerEnd < 0 && more) {
+                    buffer = grow(buffer);
+                    continue;
+                }
+                header = Header.parse(buffer, headerEnd < 0 ? buffer.position() : headerEnd);
+                output.write(start(header.columns()));
+                buffer.flip().position(header.length());
+                buffer.compact();
+            }
+            int limit = buffer.position();
+            int cut = more ? lastRowEnd(buffer, limit, header.delimiter()) : limit;
+            if (cut == 0) {
+                if (!buffer.hasRemaining()) {
+                    buffer = grow(buffer);
+                }
+                continue;
+            }
+            ByteBuffer chunk = buffer;
+            Header chunkHeader = header;
+            buffer = ByteBuffer.allocate(Math.max(chunkSize, Math.min(maxRowLength, 2 * (limit - cut))));
+            buffer.put(chunk.array(), cut, limit - cut);
+            output.submit(() -> parse(chunk, cut, chunkHeader));
+        }
+        if (header == null) {
+            output.write(start(new byte[0][]));
+        }
+        output.write(end());
+    }
+
+    /**
+     * Reads until the buffer is full or the source ends.
+     *
+     * @return whether the source may have more bytes.
+     */
+    private static boolean fill(ReadableByteChannel source, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (source.read(buffer) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @throws IOException if the buffer already holds a row of the longest length.
+     */
+    private ByteBuffer grow(ByteBuffer buffer) throws IOException {
+        checkRowLength(buffer.capacity());
+        ByteBuffer grown = ByteBuffer.allocate((int) Math.min(maxRowLength, 2L * buffer.capacity()));
+        return grown.put(buffer.flip());
+    }
+
+    /**
+     * @param length the length of a row without its end yet.
+     * @throws IOException if the row is already as long as the longest row.
+     */
+    private void checkRowLength(long length) throws IOException {
+        if (length >= maxRowLength) {
+            throw new IOException("Rows are limited to " + maxRowLength + " bytes");
+        }
+    }
+
+    private ByteSink start(byte[][] columns) {
+        ByteSink out = new ByteSink(EDGE_SINK_CAPACITY);
+        writeStart(columns, out);
+        return out;
+    }
+
+    private ByteSink end() {
+        ByteSink out = new ByteSink(EDGE_SINK_CAPACITY);
+        writeEnd(out);
+        return out;
+    }
+
+    private ByteSink parse(ByteBuffer buffer, int length, Header header) {
+        ByteSink out = takeSink(length);
+        ChunkWriter writer = newChunkWriter(header.columns(), out);
+        tokenize(buffer, 0, length, header.delimiter(), header.columns().length, writer);
+        writer.finish();
+        return out;
+    }
+
+    /**
+     * @param length the length of the chunk to write to the sink, which a new sink is sized from; the sink grows beyond
+     * a chunk and a half if needed.
+     */
+    private ByteSink takeSink(int length) {
+        ByteSink sink = freeSinks.poll();
+        int capacity = Math.min(length, chunkSize);
+        return sink != null ? sink : new ByteSink(capacity + capacity / 2);
+    }
+
+    /**
+     * Parses the rows of a range that starts at a row and ends at a row end or at the end of the source.
+     */
+    static void tokenize(ByteBuffer buffer, int from, int to, byte delimiter, int columnCount, ChunkWriter writer) {
+        int position = from;
+        while (position < to) {
+            byte first = buffer.get(position);
+            if (first == LF || (first == CR && (position + 1 == to || buffer.get(position + 1) == LF))) {
+                position += first == LF ? 1 : 2;
+                continue;
+            }
+            int column = 0;
+            while (true) {
+                int start;
+                int end;
+                boolean quoted = position < to && buffer.get(position) == QUOTE;
+                if (quoted) {
+                    start = ++position;
+                    while (position < to) {
+                        if (buffer.get(position) == QUOTE) {
+                            if (position + 1 < to && buffer.get(position + 1) == QUOTE) {
+                                position += 2;
+                                continue;
+                            }
+                            break;
+                        }
+                        position++;
+                    }
+                    end = position;
+                    // Skips the closing quote, and anything between it and the delimiter
+                    while (position < to && buffer.get(position) != delimiter && buffer.get(position) != LF) {
+                        position++;
+                    }
+                } else {
+                    start = position;
+                    while (position < to && buffer.get(position) != delimiter && buffer.get(position) != LF) {
+                        position++;
+                    }
+                    end = position > start && buffer.get(position - 1) == CR && (position == to || buffer.get(position) == LF)
+                        ? position - 1
+                        : position;
+                }
+                if (column < columnCount) {
+                    writer.field(column, buffer, start, end, quoted);
+                }
+                column++;
+                if (position == to || buffer.get(position++) == LF) {
+                    break;
+                }
+            }
+            writer.endRow(Math.min(column, columnCount));
+        }
+    }
+
+    /**
+     * @param delimiter the delimiter of the fields, or {@link #ANY_DELIMITER}.
+     * @return the index after the first row end from the start of the buffer, a row start, or -1 if there is none.
+     */
+    private static int findRowEnd(ByteBuffer buffer, int limit, byte delimiter) {
+        int state = FIELD_START;
+        for (int i = 0; i < limit; i++) {
+            int type = typeOf(buffer.get(i), delimiter);
+            if (type == LF_BYTE && state != QUOTED) {
+                return i + 1;
+            }
+            state = NEXT_STATE[state][type];
+        }
+        return -1;
+    }
+
+    /**
+     * @return the index after the last row end from the start of the buffer, a row start, or 0 if there is none.
+     */
+    private static int lastRowEnd(ByteBuffer buffer, int limit, byte delimiter) {
+        byte[] types = byteTypes(delimiter);
+        int state = FIELD_START;
+        int rowEnd = 0;
+        for (int i = 0; i < limit; i++) {
+            int type = types[buffer.get(i) & 0xFF];
+            if (type == LF_BYTE && state != QUOTED) {
+                rowEnd = i + 1;
+            }
+            state = NEXT_STATE[state][type];
+        }
+        return rowEnd;
+    }
+
+    /**
+     * @param delimiter the delimiter of the fields, or {@link #ANY_DELIMITER} for any of the {@link #DELIMITERS}.
+     * @return the type of the byte, for {@link #NEXT_STATE}.
+     */
+    private static int typeOf(byte b, byte delimiter) {
+        if (b == QUOTE) {
+            return QUOTE_BYTE;
+        }
+        if (b == LF) {
+            return LF_BYTE;
+        }
+        if (b == delimiter || (delimiter == ANY_DELIMITER && delimiterIndex(b) >= 0)) {
+            return DELIMITER_BYTE;
+        }
+        return OTHER_BYTE;
+    }
+
+    /**
+     * @return the type of each byte, by unsigned value.
+     */
+    private static byte[] byteTypes(byte delimiter) {
+        byte[] types = new byte[256];
+        for (int b = 0; b < types.length; b++) {
+            types[b] = (byte) typeOf((byte) b, delimiter);
+        }
+        return types;
+    }
+
+    private static byte[] packNextStates(byte delimiter) {
+        byte[] types = byteTypes(delimiter);
+        byte[] next = new byte[(1 << 2 * STATE_COUNT) << 8];
+        for (int packed = 0; packed < 1 << 2 * STATE_COUNT; packed++) {
+            for (int b = 0; b < 256; b++) {
+                int nextPacked = 0;
+                for (int start = 0; start < STATE_COUNT; start++) {
+                    // 3 is no state, and never packed
+                    int state = Math.min(QUOTED, (packed >> 2 * start) & 3);
+                    nextPacked |= NEXT_STATE[state][types[b]] << 2 * start;
+                }
+                next[packed << 8 | b] = (byte) nextPacked;
+            }
+        }
+        return next;
+    }
+
+    /**
+     * @return the packed states after the bytes of both packed states, the first ones then the second ones.
+     */
+    private static int composeStates(int first, int second) {
+        int composed = 0;
+        for (int start = 0; start < STATE_COUNT; start++) {
+            composed |= ((second >> 2 * ((first >> 2 * start) & 3)) & 3) << 2 * start;
+        }
+        return composed;
+    }
+
+    /**
+     * @return the index of the byte in {@link #DELIMITERS}, or -1 if it is not one of them.
+     */
+    private static int delimiterIndex(byte b) {
+        for (int d = 0; d < DELIMITERS.length; d++) {
+            if (b == DELIMITERS[d]) {
+                return d;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Writes a field without its quoting, with one quote for each {@code ""}.
+     */
+    static void writeUnquoted(ByteBuffer buffer, int start, int end, boolean quoted, ByteSink out) {
+        if (!quoted) {
+            out.write(buffer, start, end - start);
+            return;
+        }
+        int run = start;
+        for (int i = start; i < end; i++) {
+            if (buffer.get(i) == QUOTE) {
+                // Quotes come in pairs within a quoted field: keeps the first
+                out.write(buffer, run, i + 1 - run);
+                run = ++i + 1;
+            }
+        }
+        out.write(buffer, run, end - run);
+    }
+
+    /**
+     * What a chunk holds for the split, by the state of {@link #NEXT_STATE} it starts in: the state it ends in, and
+     * where its first row starts, relative to its start.
+     *
+     * @param endStates the state after the last byte of the chunk, by start state.
+     * @param firstRowEnds the index after the first row end of the chunk, or -1 if there is none, by start state.
+     */
+    record ChunkScan(int[] endStates, int[] firstRowEnds) {
+        /**
+         * @param delimiter the delimiter of the fields, one of the {@link #DELIMITERS}.
+         */
+        static ChunkScan of(ByteBuffer buffer, int length, byte delimiter) {
+            // The states from each start state, packed: one lookup per byte for all of them
+            byte[] next = NEXT_PACKED_STATES[delimiterIndex(delimiter)];
+            int states = PACKED_START_STATES;
+            int[] firstRowEnds = { -1, -1, -1 };
+            int missingRowEnds = STATE_COUNT;
+            int i = 0;
+            for (; i < length && missingRowEnds > 0; i++) {
+                int b = buffer.get(i) & 0xFF;
+                if (b == LF) {
+                    for (int start = 0; start < STATE_COUNT; start++) {
+                        if (firstRowEnds[start] < 0 && ((states >> 2 * start) & 3) != QUOTED) {
+                            firstRowEnds[start] = i + 1;
+                            missingRowEnds--;
+                        }
+                    }
+                }
+                states = next[states << 8 | b];
+            }
+
+            // Then only the end states matter: the rest is scanned as 4 parts at once, for each lookup not to wait on
+            // the previous one, and their states composed
+            int part = (length - i) / 4;
+            int second = PACKED_START_STATES;
+            int third = PACKED_START_STATES;
+            int fourth = PACKED_START_STATES;
+            for (int end = i + part; i < end; i++) {
+                states = next[states << 8 | buffer.get(i) & 0xFF];
+                second = next[second << 8 | buffer.get(i + part) & 0xFF];
+                third = next[third << 8 | buffer.get(i + 2 * part) & 0xFF];
+                fourth = next[fourth << 8 | buffer.get(i + 3 * part) & 0xFF];
+            }
+            states = composeStates(composeStates(composeStates(states, second), third), fourth);
+            for (i += 3 * part; i < length; i++) {
+                states = next[states << 8 | buffer.get(i) & 0xFF];
+            }
+            int[] endStates = new int[STATE_COUNT];
+            for (int start = 0; start < STATE_COUNT; start++) {
+                endStates[start] = (states >> 2 * start) & 3;
+            }
+            return new ChunkScan(endStates, firstRowEnds);
+        }
+    }
+
+    /**
+     * @param columns the names of the columns.
+     * @param delimiter the delimiter of the fields.
+     * @param length the length of the header, with its line break.
+     */
+    record Header(byte[][] columns, byte delimiter, int length) {
+        static Header parse(ByteBuffer buffer, int length) {
+            int start = 0;
+            if (length >= BYTE_ORDER_MARK.length && buffer.slice(0, BYTE_ORDER_MARK.length).equals(ByteBuffer.wrap(BYTE_ORDER_MARK))) {
+                start = BYTE_ORDER_MARK.length;
+            }
+            byte delimiter = detectDelimiter(buffer, start, length);
+            List<byte[]> columns = new ArrayList<>();
+            tokenize(
+                buffer,
+                start,
+                length,
+                delimiter,
+                Integer.MAX_VALUE,
+                new ChunkWriter() {
+                    @Override
+                    public void field(int column, ByteBuffer fieldBuffer, int fieldStart, int fieldEnd, boolean quoted) {
+                        ByteSink name = new ByteSink(fieldEnd - fieldStart);
+                        writeUnquoted(fieldBuffer, fieldStart, fieldEnd, quoted, name);
+                        columns.add(name.toByteArray());
+                    }
+
+                    @Override
+                    public void endRow(int fieldCount) {}
+
+                    @Override
+                    public void finish() {}
+                }
+            );
+            return new Header(columns.toArray(byte[][]::new), delimiter, length);
+        }
+
+        private static byte detectDelimiter(ByteBuffer buffer, int start, int end) {
+            int[] counts = new int[DELIMITERS.length];
+            int state = FIELD_START;
+            for (int i = start; i < end; i++) {
+                byte b = buffer.get(i);
+                int type = typeOf(b, ANY_DELIMITER);
+                if (type == DELIMITER_BYTE && state != QUOTED) {
+                    counts[delimiterIndex(b)]++;
+                }
+                state = NEXT_STATE[state][type];
+            }
+            int best = 0;
+            for (int d = 1; d < DELIMITERS.length; d++) {
+                if (counts[d] > counts[best]) {
+                    best = d;
+                }
+            }
+            return DELIMITERS[best];
+        }
+    }
+
+    /**
+     * Writes the outputs of the chunks to the target in their original order, as the pool completes them.
+     */
+    private final class OrderedOutput {
+
+        private final WritableByteChannel target;
+
+        private final Deque<ForkJoinTask<ByteSink>> inFlight = new ArrayDeque<>();
+
+        private OrderedOutput(WritableByteChannel target) {
+            this.target = target;
+        }
+
+        void submit(Callable<ByteSink> chunk) throws IOException {
+            if (inFlight.size() >= maxInFlight) {
+                writeNext();
+            }
+            inFlight.addLast(pool.submit(chunk));
+        }
+
+        /**
+         * Writes an output of its own, after the chunks in flight.
+         */
+        void write(ByteSink out) throws IOException {
+            finish();
+            out.writeTo(target);
+        }
+
+        void finish() throws IOException {
+            while (!inFlight.isEmpty()) {
+                writeNext();
+            }
+        }
+
+        void cancel() {
+            inFlight.forEach(task -> task.cancel(false));
+        }
+
+        private void writeNext() throws IOException {
+            ByteSink out = join(inFlight.removeFirst());
+            out.writeTo(target);
+            recycle(out);
+        }
+
+        private void recycle(ByteSink out) {
+            out.reset();
+            freeSinks.offer(out);
+        }
+    }
+
+    private static <T> T join(ForkJoinTask<T> task) throws IOException {
+        try {
+            return task.join();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.converter.file.service.converter;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ForkJoinPool;
+import org.springframework.stereotype.Component;
+
+/**
+ * Converts CSV to a compact columnar binary format, where the values of a column are stored together, so that a reader
+ * can skip the columns it does not need.
+ * <p>
+ * All integers are unsigned LEB128 varints. The output starts with {@code FCOL}, the version 1 as a byte, the number of
+ * columns, and the name of each column as its length followed by its UTF-8 bytes. Row groups follow, one per chunk of
+ * the source: the number of rows, then for each column the length of its block, made of the length plus one of each
+ * value, 0 for null, then of the values back to back. A row group of 0 rows ends the output.
+ */
+@Component
+public class CsvToColumnarFileConverter extends CsvFileConverter {
+
+    public static final String TARGET_TYPE = "application/vnd.file-converter.columnar";
+
+    static final byte[] MAGIC = "FCOL".getBytes(StandardCharsets.US_ASCII);
+
+    static final byte VERSION = 1;
+
+    public CsvToColumnarFileConverter() {}
+
+    CsvToColumnarFileConverter(ForkJoinPool pool, int chunkSize) {
+        super(pool, chunkSize);
+    }
+
+    @Override
+    public String getTargetType() {
+        return TARGET_TYPE;
+    }
+
+    @Override
+    void writeStart(byte[][] columns, ByteSink out) {
+        out.write(MAGIC);
+        out.write(VERSION);
+        out.writeVarint(columns.length);
+        for (byte[] column : columns) {
+            out.writeVarint(column.length);
+            out.write(column);
+        }
+    }
+
+    @Override
+    ChunkWriter newChunkWriter(byte[][] columns, ByteSink out) {
+        ByteSink[] lengths = new ByteSink[columns.length];
+        ByteSink[] values = new ByteSink[columns.length];
+        for (int column = 0; column < columns.length; column++) {
+            lengths[column] = new ByteSink(1024);
+            values[column] = new ByteSink(16 * 1024);
+        }
+        return new ChunkWriter() {
+            private long rows;
+
+            @Override
+            public void field(int column, ByteBuffer buffer, int start, int end, boolean quoted) {
+                int before = values[column].size();
+                writeUnquoted(buffer, start, end, quoted, values[column]);
+                lengths[column].writeVarint(values[column].size() - before + 1L);
+            }
+
+            @Override
+            public void endRow(int fieldCount) {
+                for (int column = fieldCount; column < lengths.length; column++) {
+                    lengths[column].writeVarint(0);
+                }
+                rows++;
+            }
+
+            @Override
+            public void finish() {
+                if (rows == 0) {
+                    return;
+                }
+                out.writeVarint(rows);
+                for (int column = 0; column < lengths.length; column++) {
+                    out.writeVarint((long) lengths[column].size() + values[column].size());
+                    out.write(lengths[column]);
+                    out.write(values[column]);
+                }
+            }
+        };
+    }
+
+    @Override
+    void writeEnd(ByteSink out) {
+        out.writeVarint(0);
+    }
+}
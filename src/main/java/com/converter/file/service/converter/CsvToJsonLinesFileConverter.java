@@ -0,0 +1,115 @@
+package com.converter.file.service.converter;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ForkJoinPool;
+import org.springframework.stereotype.Component;
+
+/**
+ * Converts CSV to JSON Lines: one JSON object per row, keyed by the names of the header, with string values.
+ * <p>
+ * The source is expected in UTF-8, which is copied as is.
+ */
+@Component
+public class CsvToJsonLinesFileConverter extends CsvFileConverter {
+
+    public static final String TARGET_TYPE = "application/x-ndjson";
+
+    private static final byte[] NULL = "null".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    public CsvToJsonLinesFileConverter() {}
+
+    CsvToJsonLinesFileConverter(ForkJoinPool pool, int chunkSize) {
+        super(pool, chunkSize);
+    }
+
+    CsvToJsonLinesFileConverter(ForkJoinPool pool, int chunkSize, int maxRowLength) {
+        super(pool, chunkSize, maxRowLength);
+    }
+
+    @Override
+    public String getTargetType() {
+        return TARGET_TYPE;
+    }
+
+    @Override
+    void writeStart(byte[][] columns, ByteSink out) {}
+
+    @Override
+    ChunkWriter newChunkWriter(byte[][] columns, ByteSink out) {
+        byte[][] keys = new byte[columns.length][];
+        for (int column = 0; column < columns.length; column++) {
+            ByteSink key = new ByteSink(columns[column].length + 4);
+            key.write(column == 0 ? '{' : ',');
+            writeString(ByteBuffer.wrap(columns[column]), 0, columns[column].length, false, key);
+            key.write(':');
+            keys[column] = key.toByteArray();
+        }
+        return new ChunkWriter() {
+            @Override
+            public void field(int column, ByteBuffer buffer, int start, int end, boolean quoted) {
+                out.write(keys[column]);
+                writeString(buffer, start, end, quoted, out);
+            }
+
+            @Override
+            public void endRow(int fieldCount) {
+                for (int column = fieldCount; column < keys.length; column++) {
+                    out.write(keys[column]);
+                    out.write(NULL);
+                }
+                if (keys.length == 0) {
+                    out.write('{');
+                }
+                out.write('}');
+                out.write('\n');
+            }
+
+            @Override
+            public void finish() {}
+        };
+    }
+
+    @Override
+    void writeEnd(ByteSink out) {}
+
+    /**
+     * Writes a field as a JSON string, escaping quotes, backslashes and control characters.
+     */
+    private static void writeString(ByteBuffer buffer, int start, int end, boolean quoted, ByteSink out) {
+        out.write('"');
+        int run = start;
+        for (int i = start; i < end; i++) {
+            byte b = buffer.get(i);
+            if (b == '"' || b == '\\' || (b >= 0 && b < 0x20)) {
+                out.write(buffer, run, i - run);
+                out.write('\\');
+                switch (b) {
+                    case '"' -> {
+                        out.write('"');
+                        // Quotes come in pairs within a quoted field: keeps the first
+                        if (quoted) {
+                            i++;
+                        }
+                    }
+                    case '\\' -> out.write('\\');
+                    case '\n' -> out.write('n');
+                    case '\r' -> out.write('r');
+                    case '\t' -> out.write('t');
+                    default -> {
+                        out.write('u');
+                        out.write('0');
+                        out.write('0');
+                        out.write(HEX[b >> 4]);
+                        out.write(HEX[b & 0xF]);
+                    }
+                }
+                run = i + 1;
+            }
+        }
+        out.write(buffer, run, end - run);
+        out.write('"');
+    }
+}
@@ -0,0 +1,49 @@
+package com.converter.file.service.converter;
+
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Converts the content of a {@link com.converter.file.domain.File} from one file type to another.
+ * <p>
+ * Implementations are discovered as Spring beans by the {@link ConverterRegistry} and keyed by
+ * ({@link #getSourceType()}, {@link #getTargetType()}). They must stream from the source to the target
+ * with a bounded amount of memory: the payload can be several gigabytes and must never be held on the heap.
+ */
+public interface FileConverter {
+    /**
+     * Size of the transfer buffers converters should use.
+     */
+    int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * @return the file type this converter reads, or {@link ConverterRegistry#ANY_TYPE} to accept any file type.
+     */
+    String getSourceType();
+
+    /**
+     * @return the file type this converter produces.
+     */
+    String getTargetType();
+
+    /**
+     * @return the version of the output of this converter, to change whenever the same source would convert to
+     * different bytes, by a new implementation or a new configuration, so that the outputs cached by the previous
+     * version are no longer used.
+     */
+    default String getVersion() {
+        return "1";
+    }
+
+    /**
+     * Converts the whole source into the target.
+     * <p>
+     * Both channels are owned by the caller: implementations must not close them.
+     *
+     * @param source the channel to read the source content from.
+     * @param target the channel to write the converted content to.
+     * @throws IOException if the content could not be read, converted or written.
+     */
+    void convert(ReadableByteChannel source, WritableByteChannel target) throws IOException;
+}
@@ -0,0 +1,60 @@
+package com.converter.file.service.converter;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.zip.GZIPOutputStream;
+import org.springframework.stereotype.Component;
+
+/**
+ * Compresses any file type to gzip.
+ */
+@Component
+public class GzipFileConverter implements FileConverter {
+
+    public static final String TARGET_TYPE = "application/gzip";
+
+    @Override
+    public String getSourceType() {
+        return ConverterRegistry.ANY_TYPE;
+    }
+
+    @Override
+    public String getTargetType() {
+        return TARGET_TYPE;
+    }
+
+    @Override
+    public void convert(ReadableByteChannel source, WritableByteChannel target) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(new UnclosableOutputStream(target), BUFFER_SIZE)) {
+            while (source.read(buffer) != -1) {
+                gzip.write(buffer.array(), 0, buffer.position());
+                buffer.clear();
+            }
+        }
+    }
+
+    /**
+     * Lets the gzip stream release its deflater on close without closing the caller's channel.
+     */
+    private static final class UnclosableOutputStream extends FilterOutputStream {
+
+        private UnclosableOutputStream(WritableByteChannel target) {
+            super(Channels.newOutputStream(target));
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.converter.file.service.converter;
+
+import com.converter.file.config.ApplicationProperties;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.StreamReadFeature;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import org.springframework.stereotype.Component;
+
+/**
+ * Converts XML to a JSON array of records, reading the source with StAX and writing each record as soon as its element
+ * ends, so that memory is bounded by the largest record and not by the source.
+ * <p>
+ * Records are the elements at {@code application.conversion.xml.record-path}, an absolute path of element names such
+ * as {@code /feed/entry} where {@code *} matches any name, and by default the children of the root element. Elements
+ * outside of records are skipped. Within a record:
+ * <ul>
+ *     <li>attributes become {@code "@name"} fields;</li>
+ *     <li>child elements become fields named after them, and an array when the element repeats a name;</li>
+ *     <li>an element with neither attributes nor children becomes its text, and otherwise keeps its non-blank text in
+ *     a {@code "#text"} field.</li>
+ * </ul>
+ * Names keep their namespace prefix, values are strings. DTDs are rejected, so are external entities.
+ */
+@Component
+public class XmlToJsonFileConverter implements FileConverter {
+
+    public static final String SOURCE_TYPE = "application/xml";
+
+    public static final String TARGET_TYPE = "application/json";
+
+    /**
+     * Version of the conversion, to which the record path is appended.
+     */
+    private static final String VERSION = "1";
+
+    private static final JsonFactory JSON_FACTORY = JsonFactory.builder()
+        .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+        .disable(StreamReadFeature.AUTO_CLOSE_SOURCE)
+        .build();
+
+    private final XMLInputFactory xmlInputFactory;
+
+    private final String[] recordPath;
+
+    private final String version;
+
+    public XmlToJsonFileConverter(ApplicationProperties applicationProperties) {
+        this.recordPath = parsePath(applicationProperties.getConversion().getXml().getRecordPath());
+        this.version = VERSION + " /" + String.join("/", recordPath);
+        this.xmlInputFactory = XMLInputFactory.newFactory();
+        xmlInputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        xmlInputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        xmlInputFactory.setProperty(XMLInputFactory.IS_COALESCING, true);
+    }
+
+    private static String[] parsePath(String path) {
+        if (path == null || path.isBlank()) {
+            return new String[] { "*", "*" };
+        }
+        String[] names = Arrays.stream(path.split("/")).map(String::trim).filter(name -> !name.isEmpty()).toArray(String[]::new);
+        if (names.length == 0) {
+            throw new IllegalArgumentException("The record path " + path + " has no element names");
+        }
+        return names;
+    }
+
+    @Override
+    public String getSourceType() {
+        return SOURCE_TYPE;
+    }
+
+    @Override
+    public String getTargetType() {
+        return TARGET_TYPE;
+    }
+
+    @Override
+    public String getVersion() {
+        return version;
+    }
+
+    @Override
+    public void convert(ReadableByteChannel source, WritableByteChannel target) throws IOException {
+        // Not closed, for the source channel to stay open
+        InputStream in = Channels.newInputStream(source);
+        XMLStreamReader reader = null;
+        try (JsonGenerator json = JSON_FACTORY.createGenerator(Channels.newOutputStream(target))) {
+            reader = xmlInputFactory.createXMLStreamReader(in);
+            json.writeStartArray();
+            String[] path = new String[recordPath.length];
+            int depth = 0;
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    if (depth < path.length) {
+                        path[depth] = name(reader);
+                    }
+                    depth++;
+                    if (depth == recordPath.length && matches(path)) {
+                        readElement(reader).write(json);
+                        depth--;
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    depth--;
+                }
+            }
+            json.writeEndArray();
+        } catch (XMLStreamException e) {
+            throw new IOException("Invalid XML: " + e.getMessage(), e);
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (XMLStreamException e) {
+                    // Nothing held beyond the source, which the caller closes
+                }
+            }
+        }
+    }
+
+    private boolean matches(String[] path) {
+        for (int i = 0; i < recordPath.length; i++) {
+            if (!recordPath[i].equals("*") && !recordPath[i].equals(path[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reads the element the reader is at the start of, up to its end.
+     */
+    private static Element readElement(XMLStreamReader reader) throws XMLStreamException {
+        Element element = new Element();
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            String prefix = reader.getAttributePrefix(i);
+            String localName = reader.getAttributeLocalName(i);
+            element.field("@" + (prefix == null || prefix.isEmpty() ? localName : prefix + ":" + localName), reader.getAttributeValue(i));
+        }
+        StringBuilder text = new StringBuilder();
+        while (true) {
+            switch (reader.next()) {
+                case XMLStreamConstants.START_ELEMENT -> element.field(name(reader), readElement(reader));
+                case XMLStreamConstants.CHARACTERS, XMLStreamConstants.CDATA, XMLStreamConstants.SPACE -> text.append(
+                    reader.getTextCharacters(),
+                    reader.getTextStart(),
+                    reader.getTextLength()
+                );
+                case XMLStreamConstants.END_ELEMENT -> {
+                    if (element.fields.isEmpty()) {
+                        element.text = text.toString();
+                    } else if (!text.toString().isBlank()) {
+                        element.field("#text", text.toString().strip());
+                    }
+                    return element;
+                }
+                default -> {}
+            }
+        }
+    }
+
+    private static String name(XMLStreamReader reader) {
+        String prefix = reader.getPrefix();
+        return prefix == null || prefix.isEmpty() ? reader.getLocalName() : prefix + ":" + reader.getLocalName();
+    }
+
+    /**
+     * An element of a record, whose fields are grouped by name so that repeated elements are written as arrays.
+     */
+    private static final class Element {
+
+        private final Map<String, Object> fields = new LinkedHashMap<>();
+
+        private String text;
+
+        void field(String name, Object value) {
+            fields.merge(name, value, (existing, added) -> {
+                Values values;
+                if (existing instanceof Values repeated) {
+                    values = repeated;
+                } else {
+                    values = new Values();
+                    values.add(existing);
+                }
+                values.add(added);
+                return values;
+            });
+        }
+
+        void write(JsonGenerator json) throws IOException {
+            if (fields.isEmpty()) {
+                json.writeString(text);
+                return;
+            }
+            json.writeStartObject();
+            for (Map.Entry<String, Object> field : fields.entrySet()) {
+                json.writeFieldName(field.getKey());
+                if (field.getValue() instanceof Values values) {
+                    json.writeStartArray();
+                    for (Object value : values) {
+                        writeValue(json, value);
+                    }
+                    json.writeEndArray();
+                } else {
+                    writeValue(json, field.getValue());
+                }
+            }
+            json.writeEndObject();
+        }
+
+        private static void writeValue(JsonGenerator json, Object value) throws IOException {
+            if (value instanceof Element element) {
+                element.write(json);
+            } else {
+                json.writeString((String) value);
+            }
+        }
+    }
+
+    /**
+     * The values of a repeated name, told apart from the other lists.
+     */
+    private static final class Values extends ArrayList<Object> {}
+}
@@ -0,0 +1,4 @@
+/**
+ * File format converters and the registry that dispatches to them.
+ */
+package com.converter.file.service.converter;
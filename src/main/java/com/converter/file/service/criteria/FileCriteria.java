@@ -0,0 +1,275 @@
+package com.converter.file.service.criteria;
+
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.Optional;
+import org.springdoc.core.annotations.ParameterObject;
+import tech.jhipster.service.Criteria;
+import tech.jhipster.service.filter.*;
+
+/**
+ * Criteria class for the {@link com.converter.file.domain.File} entity. This class is used
+ * in {@link com.converter.file.web.rest.FileResource} to receive all the possible filtering options from
+ * the Http GET request parameters.
+ * For example the following could be a valid request:
+ * {@code /files?category.equals=invoices&converted.equals=false&lastModified.greaterThanOrEqual=2025-01-01}
+ * As Spring is unable to properly convert the types, unless specific {@link Filter} class are used, we need to use
+ * fix type specific filters.
+ */
+@ParameterObject
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class FileCriteria implements Serializable, Criteria {
+
+    private static final long serialVersionUID = 1L;
+
+    private LongFilter id;
+
+    private StringFilter fileName;
+
+    private StringFilter fileType;
+
+    private LocalDateFilter lastModified;
+
+    private BooleanFilter converted;
+
+    private StringFilter s3Url;
+
+    private StringFilter category;
+
+    private StringFilter contentHash;
+
+    private Boolean distinct;
+
+    public FileCriteria() {}
+
+    public FileCriteria(FileCriteria other) {
+        this.id = other.optionalId().map(LongFilter::copy).orElse(null);
+        this.fileName = other.optionalFileName().map(StringFilter::copy).orElse(null);
+        this.fileType = other.optionalFileType().map(StringFilter::copy).orElse(null);
+        this.lastModified = other.optionalLastModified().map(LocalDateFilter::copy).orElse(null);
+        this.converted = other.optionalConverted().map(BooleanFilter::copy).orElse(null);
+        this.s3Url = other.optionalS3Url().map(StringFilter::copy).orElse(null);
+        this.category = other.optionalCategory().map(StringFilter::copy).orElse(null);
+        this.contentHash = other.optionalContentHash().map(StringFilter::copy).orElse(null);
+        this.distinct = other.distinct;
+    }
+
+    @Override
+    public FileCriteria copy() {
+        return new FileCriteria(this);
+    }
+
+    public LongFilter getId() {
+        return id;
+    }
+
+    public Optional<LongFilter> optionalId() {
+        return Optional.ofNullable(id);
+    }
+
+    public LongFilter id() {
+        if (id == null) {
+            setId(new LongFilter());
+        }
+        return id;
+    }
+
+    public void setId(LongFilter id) {
+        this.id = id;
+    }
+
+    public StringFilter getFileName() {
+        return fileName;
+    }
+
+    public Optional<StringFilter> optionalFileName() {
+        return Optional.ofNullable(fileName);
+    }
+
+    public StringFilter fileName() {
+        if (fileName == null) {
+            setFileName(new StringFilter());
+        }
+        return fileName;
+    }
+
+    public void setFileName(StringFilter fileName) {
+        this.fileName = fileName;
+    }
+
+    public StringFilter getFileType() {
+        return fileType;
+    }
+
+    public Optional<StringFilter> optionalFileType() {
+        return Optional.ofNullable(fileType);
+    }
+
+    public StringFilter fileType() {
+        if (fileType == null) {
+            setFileType(new StringFilter());
+        }
+        return fileType;
+    }
+
+    public void setFileType(StringFilter fileType) {
+        this.fileType = fileType;
+    }
+
+    public LocalDateFilter getLastModified() {
+        return lastModified;
+    }
+
+    public Optional<LocalDateFilter> optionalLastModified() {
+        return Optional.ofNullable(lastModified);
+    }
+
+    public LocalDateFilter lastModified() {
+        if (lastModified == null) {
+            setLastModified(new LocalDateFilter());
+        }
+        return lastModified;
+    }
+
+    public void setLastModified(LocalDateFilter lastModified) {
+        this.lastModified = lastModified;
+    }
+
+    public BooleanFilter getConverted() {
+        return converted;
+    }
+
+    public Optional<BooleanFilter> optionalConverted() {
+        return Optional.ofNullable(converted);
+    }
+
+    public BooleanFilter converted() {
+        if (converted == null) {
+            setConverted(new BooleanFilter());
+        }
+        return converted;
+    }
+
+    public void setConverted(BooleanFilter converted) {
+        this.converted = converted;
+    }
+
+    public StringFilter getS3Url() {
+        return s3Url;
+    }
+
+    public Optional<StringFilter> optionalS3Url() {
+        return Optional.ofNullable(s3Url);
+    }
+
+    public StringFilter s3Url() {
+        if (s3Url == null) {
+            setS3Url(new StringFilter());
+        }
+        return s3Url;
+    }
+
+    public void setS3Url(StringFilter s3Url) {
+        this.s3Url = s3Url;
+    }
+
+    public StringFilter getCategory() {
+        return category;
+    }
+
+    public Optional<StringFilter> optionalCategory() {
+        return Optional.ofNullable(category);
+    }
+
+    public StringFilter category() {
+        if (category == null) {
+            setCategory(new StringFilter());
+        }
+        return category;
+    }
+
+    public void setCategory(StringFilter category) {
+        this.category = category;
+    }
+
+    public StringFilter getContentHash() {
+        return contentHash;
+    }
+
+    public Optional<StringFilter> optionalContentHash() {
+        return Optional.ofNullable(contentHash);
+    }
+
+    public StringFilter contentHash() {
+        if (contentHash == null) {
+            setContentHash(new StringFilter());
+        }
+        return contentHash;
+    }
+
+    public void setContentHash(StringFilter contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public Boolean getDistinct() {
+        return distinct;
+    }
+
+    public Optional<Boolean> optionalDistinct() {
+        return Optional.ofNullable(distinct);
+    }
+
+    public Boolean distinct() {
+        if (distinct == null) {
+            setDistinct(true);
+        }
+        return distinct;
+    }
+
+    public void setDistinct(Boolean distinct) {
+        this.distinct = distinct;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final FileCriteria that = (FileCriteria) o;
+        return (
+            Objects.equals(id, that.id) &&
+            Objects.equals(fileName, that.fileName) &&
+            Objects.equals(fileType, that.fileType) &&
+            Objects.equals(lastModified, that.lastModified) &&
+            Objects.equals(converted, that.converted) &&
+            Objects.equals(s3Url, that.s3Url) &&
+            Objects.equals(category, that.category) &&
+            Objects.equals(contentHash, that.contentHash) &&
+            Objects.equals(distinct, that.distinct)
+        );
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, fileName, fileType, lastModified, converted, s3Url, category, contentHash, distinct);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "FileCriteria{" +
+            optionalId().map(f -> "id=" + f + ", ").orElse("") +
+            optionalFileName().map(f -> "fileName=" + f + ", ").orElse("") +
+            optionalFileType().map(f -> "fileType=" + f + ", ").orElse("") +
+            optionalLastModified().map(f -> "lastModified=" + f + ", ").orElse("") +
+            optionalConverted().map(f -> "converted=" + f + ", ").orElse("") +
+            optionalS3Url().map(f -> "s3Url=" + f + ", ").orElse("") +
+            optionalCategory().map(f -> "category=" + f + ", ").orElse("") +
+            optionalContentHash().map(f -> "contentHash=" + f + ", ").orElse("") +
+            optionalDistinct().map(f -> "distinct=" + f + ", ").orElse("") +
+        "}";
+    }
+}
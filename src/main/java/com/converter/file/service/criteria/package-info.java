@@ -0,0 +1,4 @@
+/**
+ * Criteria for filtering entities from the request parameters.
+ */
+package com.converter.file.service.criteria;
@@ -0,0 +1,113 @@
+package com.converter.file.service.dto;
+
+import java.io.Serializable;
+
+/**
+ * A DTO representing the outcome of one item of a bulk creation of {@link com.converter.file.domain.File}s.
+ */
+public class FileBulkResultDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public enum Status {
+        CREATED,
+        INVALID,
+        FAILED,
+    }
+
+    private int index;
+
+    private Long id;
+
+    private Status status;
+
+    private String message;
+
+    private String errorKey;
+
+    public FileBulkResultDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public FileBulkResultDTO(int index) {
+        this.index = index;
+    }
+
+    public FileBulkResultDTO created(Long id) {
+        this.id = id;
+        this.status = Status.CREATED;
+        return this;
+    }
+
+    public FileBulkResultDTO invalid(String message) {
+        this.status = Status.INVALID;
+        this.message = message;
+        return this;
+    }
+
+    /**
+     * @param errorKey the key of the error, as the REST endpoints report it for a single file.
+     */
+    public FileBulkResultDTO invalid(String message, String errorKey) {
+        this.errorKey = errorKey;
+        return invalid(message);
+    }
+
+    public FileBulkResultDTO failed(String message) {
+        this.status = Status.FAILED;
+        this.message = message;
+        return this;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public String getErrorKey() {
+        return errorKey;
+    }
+
+    public void setErrorKey(String errorKey) {
+        this.errorKey = errorKey;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "FileBulkResultDTO{" +
+            "index=" + index +
+            ", id=" + id +
+            ", status=" + status +
+            ", message='" + message + '\'' +
+            ", errorKey='" + errorKey + '\'' +
+            "}";
+    }
+}
@@ -0,0 +1,61 @@
+package com.converter.file.service.dto;
+
+import java.io.Serializable;
+
+/**
+ * A DTO describing the stored content of a {@link com.converter.file.domain.File}.
+ */
+public class FileContentDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Long fileId;
+
+    private final String fileName;
+
+    private final String fileType;
+
+    private final String contentHash;
+
+    private final long size;
+
+    public FileContentDTO(Long fileId, String fileName, String fileType, String contentHash, long size) {
+        this.fileId = fileId;
+        this.fileName = fileName;
+        this.fileType = fileType;
+        this.contentHash = contentHash;
+        this.size = size;
+    }
+
+    public Long getFileId() {
+        return fileId;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public String getFileType() {
+        return fileType;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "FileContentDTO{" +
+            "fileId=" + fileId +
+            ", fileName='" + fileName + "'" +
+            ", fileType='" + fileType + "'" +
+            ", contentHash='" + contentHash + "'" +
+            ", size=" + size +
+            "}";
+    }
+}
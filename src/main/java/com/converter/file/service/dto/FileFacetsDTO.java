@@ -0,0 +1,51 @@
+package com.converter.file.service.dto;
+
+import java.io.Serializable;
+import java.util.Map;
+
+/**
+ * A DTO counting the {@link com.converter.file.domain.File}s matching some criteria, in all and by facet.
+ */
+public class FileFacetsDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long total;
+
+    private final Map<String, Long> categories;
+
+    private final Map<String, Long> fileTypes;
+
+    /**
+     * @param total the number of files.
+     * @param categories the number of files by category, most frequent first.
+     * @param fileTypes the number of files by file type, most frequent first.
+     */
+    public FileFacetsDTO(long total, Map<String, Long> categories, Map<String, Long> fileTypes) {
+        this.total = total;
+        this.categories = categories;
+        this.fileTypes = fileTypes;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public Map<String, Long> getCategories() {
+        return categories;
+    }
+
+    public Map<String, Long> getFileTypes() {
+        return fileTypes;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "FileFacetsDTO{" +
+            "total=" + total +
+            ", categories=" + categories.size() +
+            ", fileTypes=" + fileTypes.size() +
+            "}";
+    }
+}
@@ -0,0 +1,109 @@
+package com.converter.file.service.dto;
+
+import com.converter.file.domain.UploadSession;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * A DTO describing the progress of an {@link UploadSession}.
+ */
+public class FileUploadDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String id;
+
+    private final String fileName;
+
+    private final String fileType;
+
+    private final LocalDate lastModified;
+
+    private final String category;
+
+    private final long length;
+
+    private final int chunkSize;
+
+    private final long offset;
+
+    private final List<Integer> missingChunks;
+
+    public FileUploadDTO(UploadSession session) {
+        this.id = session.getId();
+        this.fileName = session.getFileName();
+        this.fileType = session.getFileType();
+        this.lastModified = session.getLastModified();
+        this.category = session.getCategory();
+        this.length = session.getLength();
+        this.chunkSize = session.getChunkSize();
+        Set<Integer> receivedChunks = session.getReceivedChunks();
+        this.missingChunks = IntStream.range(0, session.chunkCount())
+            .filter(index -> !receivedChunks.contains(index))
+            .boxed()
+            .toList();
+        this.offset = missingChunks.isEmpty() ? length : (long) missingChunks.get(0) * chunkSize;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public String getFileType() {
+        return fileType;
+    }
+
+    public LocalDate getLastModified() {
+        return lastModified;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public long getLength() {
+        return length;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * @return the number of bytes received from the start of the content without a gap: where a sequential upload resumes.
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    /**
+     * @return the indexes of the chunks not received yet, which a parallel upload resumes with.
+     */
+    public List<Integer> getMissingChunks() {
+        return missingChunks;
+    }
+
+    public boolean isComplete() {
+        return missingChunks.isEmpty();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "FileUploadDTO{" +
+            "id='" + id + "'" +
+            ", fileName='" + fileName + "'" +
+            ", length=" + length +
+            ", chunkSize=" + chunkSize +
+            ", offset=" + offset +
+            ", missingChunks=" + missingChunks.size() +
+            "}";
+    }
+}
@@ -0,0 +1,122 @@
+package com.converter.file.storage;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Signs S3 requests with AWS Signature Version 4, in the {@code Authorization} header.
+ * <p>
+ * Only what {@link S3BlobStore} needs: requests without query string, whose payload digest is known.
+ */
+final class AwsSignatureV4 {
+
+    static final String EMPTY_PAYLOAD_DIGEST = "e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855";
+
+    private static final String ALGORITHM = "AWS4-HMAC-SHA256";
+
+    private static final String SERVICE = "s3";
+
+    private static final String HMAC = "HmacSHA256";
+
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'").withZone(ZoneOffset.UTC);
+
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("yyyyMMdd").withZone(ZoneOffset.UTC);
+
+    private final String region;
+
+    private final String accessKey;
+
+    private final String secretKey;
+
+    AwsSignatureV4(String region, String accessKey, String secretKey) {
+        this.region = region;
+        this.accessKey = accessKey;
+        this.secretKey = secretKey;
+    }
+
+    /**
+     * Computes the headers to add to a request.
+     *
+     * @param method the HTTP method.
+     * @param uri the request URI, without query string.
+     * @param headers the other headers to sign, such as {@code Range}.
+     * @param payloadDigest the hexadecimal SHA-256 digest of the body.
+     * @param now the time of the request.
+     * @return the {@code x-amz-date}, {@code x-amz-content-sha256} and {@code Authorization} headers.
+     */
+    Map<String, String> sign(String method, URI uri, Map<String, String> headers, String payloadDigest, Instant now) {
+        String dateTime = DATE_TIME.format(now);
+        String scope = DATE.format(now) + "/" + region + "/" + SERVICE + "/aws4_request";
+
+        SortedMap<String, String> signedHeaders = new TreeMap<>();
+        headers.forEach((name, value) -> signedHeaders.put(name.toLowerCase(Locale.ROOT), value.trim()));
+        signedHeaders.put("host", uri.getPort() == -1 ? uri.getHost() : uri.getHost() + ":" + uri.getPort());
+        signedHeaders.put("x-amz-content-sha256", payloadDigest);
+        signedHeaders.put("x-amz-date", dateTime);
+        String signedHeaderNames = String.join(";", signedHeaders.keySet());
+
+        String canonicalHeaders = signedHeaders
+            .entrySet()
+            .stream()
+            .map(header -> header.getKey() + ":" + header.getValue() + "\n")
+            .collect(Collectors.joining());
+        // prettier-ignore
+        String canonicalRequest = method + "\n" +
+            (uri.getRawPath().isEmpty() ? "/" : uri.getRawPath()) + "\n" +
+            "\n" +
+            canonicalHeaders + "\n" +
+            signedHeaderNames + "\n" +
+            payloadDigest;
+        String stringToSign = ALGORITHM + "\n" + dateTime + "\n" + scope + "\n" + hex(sha256(canonicalRequest));
+
+        byte[] signingKey = hmac(("AWS4" + secretKey).getBytes(StandardCharsets.UTF_8), DATE.format(now));
+        signingKey = hmac(signingKey, region);
+        signingKey = hmac(signingKey, SERVICE);
+        signingKey = hmac(signingKey, "aws4_request");
+        String signature = hex(hmac(signingKey, stringToSign));
+
+        return Map.of(
+            "x-amz-date",
+            dateTime,
+            "x-amz-content-sha256",
+            payloadDigest,
+            "Authorization",
+            ALGORITHM + " Credential=" + accessKey + "/" + scope + ",SignedHeaders=" + signedHeaderNames + ",Signature=" + signature
+        );
+    }
+
+    private static byte[] sha256(String value) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] hmac(byte[] key, String value) {
+        try {
+            Mac mac = Mac.getInstance(HMAC);
+            mac.init(new SecretKeySpec(key, HMAC));
+            return mac.doFinal(value.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String hex(byte[] bytes) {
+        return HexFormat.of().formatHex(bytes);
+    }
+}
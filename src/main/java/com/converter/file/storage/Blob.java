@@ -0,0 +1,33 @@
+package com.converter.file.storage;
+
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+
+/**
+ * Content stored in a {@link BlobStore}, identified by the SHA-256 digest of its bytes.
+ *
+ * @param digest the lowercase hexadecimal SHA-256 digest of the content.
+ * @param size the size of the content in bytes.
+ */
+public record Blob(String digest, long size) {
+    public static final String DIGEST_ALGORITHM = "SHA-256";
+
+    private static final Pattern DIGEST_PATTERN = Pattern.compile("[0-9a-f]{64}");
+
+    public Blob {
+        if (!isDigest(digest)) {
+            throw new IllegalArgumentException("Invalid " + DIGEST_ALGORITHM + " digest '" + digest + "'");
+        }
+    }
+
+    public static Blob of(byte[] digest, long size) {
+        return new Blob(HexFormat.of().formatHex(digest), size);
+    }
+
+    /**
+     * Whether the given string is a lowercase hexadecimal SHA-256 digest, so that it can safely be used as a key or path.
+     */
+    public static boolean isDigest(String digest) {
+        return digest != null && DIGEST_PATTERN.matcher(digest).matches();
+    }
+}
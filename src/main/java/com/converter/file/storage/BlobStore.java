@@ -0,0 +1,84 @@
+package com.converter.file.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.NoSuchFileException;
+import java.util.Optional;
+
+/**
+ * Store of immutable contents addressed by their SHA-256 digest.
+ * <p>
+ * Storing the same bytes twice stores them once: the second {@link #put} only returns the existing {@link Blob}.
+ */
+public interface BlobStore {
+    /**
+     * Stores a content, computing its digest while it is streamed.
+     *
+     * @param content the content to store; read to its end but not closed.
+     * @return the stored blob.
+     * @throws IOException if the content could not be read or stored.
+     */
+    Blob put(InputStream content) throws IOException;
+
+    /**
+     * @param digest the digest of the content.
+     * @return the stored blob, or empty if there is no content with this digest.
+     * @throws IOException if the store could not be queried.
+     */
+    Optional<Blob> find(String digest) throws IOException;
+
+    /**
+     * @param digest the digest of the content.
+     * @return a stream of the content, to be closed by the caller.
+     * @throws NoSuchFileException if there is no content with this digest.
+     * @throws IOException if the content could not be opened.
+     */
+    InputStream open(String digest) throws IOException;
+
+    /**
+     * @param digest the digest of the content.
+     * @return a channel of the content, to be closed by the caller.
+     * @throws NoSuchFileException if there is no content with this digest.
+     * @throws IOException if the content could not be opened.
+     */
+    default ReadableByteChannel openChannel(String digest) throws IOException {
+        return Channels.newChannel(open(digest));
+    }
+
+    /**
+     * Opens a content from a given position, to read a range of it.
+     *
+     * @param digest the digest of the content.
+     * @param position the position of the first byte to read.
+     * @return a channel of the content from this position, to be closed by the caller.
+     * @throws NoSuchFileException if there is no content with this digest.
+     * @throws IOException if the content could not be opened.
+     */
+    default ReadableByteChannel openChannel(String digest, long position) throws IOException {
+        ReadableByteChannel channel = openChannel(digest);
+        try {
+            if (channel instanceof SeekableByteChannel seekableChannel) {
+                seekableChannel.position(position);
+            } else if (position > 0) {
+                Channels.newInputStream(channel).skipNBytes(position);
+            }
+            return channel;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Deletes a content. Contents are shared by all the files with the same bytes, so this is for callers
+     * who know that no file references it anymore.
+     *
+     * @param digest the digest of the content.
+     * @return false if there was no content with this digest.
+     * @throws IOException if the content could not be deleted.
+     */
+    boolean delete(String digest) throws IOException;
+}
@@ -0,0 +1,91 @@
+package com.converter.file.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link BlobStore} on the local file system.
+ * <p>
+ * A content is stored at {@code <root>/<2 first hex digits>/<2 next hex digits>/<digest>}, so that no directory
+ * grows too large. It is first written to {@code <root>/tmp} and then renamed into place, which is atomic
+ * on the same file system: a blob is either complete or absent, even if the node dies while it is written.
+ */
+public class LocalBlobStore implements BlobStore {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LocalBlobStore.class);
+
+    private static final String TEMPORARY_DIRECTORY = "tmp";
+
+    private final Path root;
+
+    public LocalBlobStore(Path root) {
+        this.root = root.toAbsolutePath().normalize();
+    }
+
+    @Override
+    public Blob put(InputStream content) throws IOException {
+        try (SpooledContent spooled = SpooledContent.spool(content, root.resolve(TEMPORARY_DIRECTORY))) {
+            Blob blob = spooled.blob();
+            Path path = resolve(blob.digest());
+            if (Files.exists(path)) {
+                LOG.debug("Blob {} already stored, {} bytes deduplicated", blob.digest(), blob.size());
+                return blob;
+            }
+            Files.createDirectories(path.getParent());
+            try {
+                Files.move(spooled.file(), path, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException e) {
+                // Stored concurrently with the same content
+                LOG.debug("Blob {} stored concurrently", blob.digest());
+            }
+            return blob;
+        }
+    }
+
+    @Override
+    public Optional<Blob> find(String digest) throws IOException {
+        Path path = resolve(digest);
+        try {
+            return Optional.of(new Blob(digest, Files.size(path)));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public InputStream open(String digest) throws IOException {
+        return Files.newInputStream(resolve(digest));
+    }
+
+    @Override
+    public ReadableByteChannel openChannel(String digest) throws IOException {
+        return FileChannel.open(resolve(digest), StandardOpenOption.READ);
+    }
+
+    @Override
+    public boolean delete(String digest) throws IOException {
+        return Files.deleteIfExists(resolve(digest));
+    }
+
+    /**
+     * @param digest the digest of the content.
+     * @return the path where the content with this digest is, or would be, stored.
+     */
+    public Path resolve(String digest) {
+        if (!Blob.isDigest(digest)) {
+            throw new IllegalArgumentException("Invalid " + Blob.DIGEST_ALGORITHM + " digest '" + digest + "'");
+        }
+        return root.resolve(digest.substring(0, 2)).resolve(digest.substring(2, 4)).resolve(digest);
+    }
+}
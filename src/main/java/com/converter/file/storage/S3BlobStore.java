@@ -0,0 +1,161 @@
+package com.converter.file.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link BlobStore} on an S3-compatible object storage, such as AWS S3 or MinIO, using path-style URLs.
+ * <p>
+ * A content is stored under the {@code sha256/<digest>} key of the bucket. As the key is only known once the whole
+ * content has been digested, uploads are first spooled to a local temporary file; a content already in the bucket
+ * is then not uploaded again.
+ */
+public class S3BlobStore implements BlobStore {
+
+    private static final Logger LOG = LoggerFactory.getLogger(S3BlobStore.class);
+
+    private static final String KEY_PREFIX = "sha256/";
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient;
+
+    private final URI bucketUri;
+
+    private final AwsSignatureV4 signature;
+
+    private final Path temporaryDirectory;
+
+    public S3BlobStore(URI endpoint, String bucket, String region, String accessKey, String secretKey, Path temporaryDirectory) {
+        this.httpClient = HttpClient.newBuilder().connectTimeout(TIMEOUT).build();
+        String base = endpoint.toString();
+        this.bucketUri = URI.create((base.endsWith("/") ? base : base + "/") + bucket + "/");
+        this.signature = new AwsSignatureV4(region, accessKey, secretKey);
+        this.temporaryDirectory = temporaryDirectory;
+    }
+
+    @Override
+    public Blob put(InputStream content) throws IOException {
+        try (SpooledContent spooled = SpooledContent.spool(content, temporaryDirectory)) {
+            Blob blob = spooled.blob();
+            if (find(blob.digest()).isPresent()) {
+                LOG.debug("Blob {} already stored, {} bytes deduplicated", blob.digest(), blob.size());
+                return blob;
+            }
+            // The digest of the payload, which S3 checks, is the key of the content
+            HttpResponse<Void> response = send(
+                request("PUT", blob.digest(), blob.digest()).PUT(HttpRequest.BodyPublishers.ofFile(spooled.file())).build(),
+                HttpResponse.BodyHandlers.discarding()
+            );
+            checkSuccess(response, blob.digest());
+            return blob;
+        }
+    }
+
+    @Override
+    public Optional<Blob> find(String digest) throws IOException {
+        HttpResponse<Void> response = send(
+            request("HEAD", digest, AwsSignatureV4.EMPTY_PAYLOAD_DIGEST).method("HEAD", HttpRequest.BodyPublishers.noBody()).build(),
+            HttpResponse.BodyHandlers.discarding()
+        );
+        if (response.statusCode() == 404) {
+            return Optional.empty();
+        }
+        checkSuccess(response, digest);
+        return Optional.of(new Blob(digest, response.headers().firstValueAsLong("Content-Length").orElse(-1)));
+    }
+
+    @Override
+    public InputStream open(String digest) throws IOException {
+        return open(digest, 0);
+    }
+
+    /**
+     * Only downloads the requested range of the content, rather than skipping the bytes before it.
+     */
+    @Override
+    public ReadableByteChannel openChannel(String digest, long position) throws IOException {
+        return Channels.newChannel(open(digest, position));
+    }
+
+    private InputStream open(String digest, long position) throws IOException {
+        Map<String, String> headers = position > 0 ? Map.of("Range", "bytes=" + position + "-") : Map.of();
+        HttpResponse<InputStream> response = send(
+            request("GET", digest, headers, AwsSignatureV4.EMPTY_PAYLOAD_DIGEST).GET().build(),
+            HttpResponse.BodyHandlers.ofInputStream()
+        );
+        if (response.statusCode() != 200 && response.statusCode() != 206) {
+            response.body().close();
+        }
+        checkSuccess(response, digest);
+        if (position > 0 && response.statusCode() == 200) {
+            // The service ignored the range
+            response.body().skipNBytes(position);
+        }
+        return response.body();
+    }
+
+    @Override
+    public boolean delete(String digest) throws IOException {
+        if (find(digest).isEmpty()) {
+            return false;
+        }
+        HttpResponse<Void> response = send(
+            request("DELETE", digest, AwsSignatureV4.EMPTY_PAYLOAD_DIGEST).DELETE().build(),
+            HttpResponse.BodyHandlers.discarding()
+        );
+        checkSuccess(response, digest);
+        return true;
+    }
+
+    private HttpRequest.Builder request(String method, String digest, String payloadDigest) {
+        return request(method, digest, Map.of(), payloadDigest);
+    }
+
+    private HttpRequest.Builder request(String method, String digest, Map<String, String> headers, String payloadDigest) {
+        if (!Blob.isDigest(digest)) {
+            throw new IllegalArgumentException("Invalid " + Blob.DIGEST_ALGORITHM + " digest '" + digest + "'");
+        }
+        URI uri = bucketUri.resolve(KEY_PREFIX + digest);
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri).timeout(TIMEOUT);
+        headers.forEach(builder::header);
+        signature.sign(method, uri, headers, payloadDigest, Instant.now()).forEach(builder::header);
+        return builder;
+    }
+
+    private <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> bodyHandler) throws IOException {
+        try {
+            return httpClient.send(request, bodyHandler);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted during " + request.method() + " " + request.uri());
+        }
+    }
+
+    private static void checkSuccess(HttpResponse<?> response, String digest) throws IOException {
+        int status = response.statusCode();
+        if (status == 404) {
+            throw new NoSuchFileException(digest);
+        }
+        if (status < 200 || status >= 300) {
+            throw new IOException(
+                response.request().method() + " " + response.request().uri() + " failed with status " + status
+            );
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.converter.file.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * A content copied to a temporary file, digested on the way: the digest, which is the key of the content,
+ * is only known once the whole content has been read.
+ */
+final class SpooledContent implements AutoCloseable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path file;
+
+    private final Blob blob;
+
+    private SpooledContent(Path file, Blob blob) {
+        this.file = file;
+        this.blob = blob;
+    }
+
+    /**
+     * Copies a content to a new temporary file of the given directory.
+     */
+    static SpooledContent spool(InputStream content, Path directory) throws IOException {
+        MessageDigest digest = newDigest();
+        Files.createDirectories(directory);
+        Path file = Files.createTempFile(directory, "blob", ".part");
+        try (FileChannel out = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            long size = 0;
+            int read;
+            while ((read = content.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+                ByteBuffer chunk = ByteBuffer.wrap(buffer, 0, read);
+                while (chunk.hasRemaining()) {
+                    out.write(chunk);
+                }
+                size += read;
+            }
+            out.force(false);
+            return new SpooledContent(file, Blob.of(digest.digest(), size));
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+    }
+
+    Path file() {
+        return file;
+    }
+
+    Blob blob() {
+        return blob;
+    }
+
+    /**
+     * Deletes the temporary file, if it was not moved away.
+     */
+    @Override
+    public void close() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(Blob.DIGEST_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(Blob.DIGEST_ALGORITHM + " is not supported by this JVM", e);
+        }
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Content-addressed storage of file contents.
+ */
+package com.converter.file.storage;
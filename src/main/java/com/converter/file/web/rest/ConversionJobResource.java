@@ -0,0 +1,99 @@
+package com.converter.file.web.rest;
+
+import com.converter.file.domain.ConversionJob;
+import com.converter.file.service.ConversionJobService;
+import com.converter.file.service.UnsupportedConversionException;
+import com.converter.file.web.rest.errors.BadRequestAlertException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.List;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import tech.jhipster.web.util.HeaderUtil;
+import tech.jhipster.web.util.PaginationUtil;
+import tech.jhipster.web.util.ResponseUtil;
+
+/**
+ * REST controller for queuing conversions and following them with {@link ConversionJob}s.
+ */
+@RestController
+@RequestMapping("/api/conversion-jobs")
+public class ConversionJobResource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ConversionJobResource.class);
+
+    private static final String ENTITY_NAME = "conversionJob";
+
+    @Value("${jhipster.clientApp.name}")
+    private String applicationName;
+
+    private final ConversionJobService conversionJobService;
+
+    public ConversionJobResource(ConversionJobService conversionJobService) {
+        this.conversionJobService = conversionJobService;
+    }
+
+    /**
+     * {@code POST  /conversion-jobs} : Queue the conversion of a file.
+     *
+     * @param fileId the id of the file to convert.
+     * @param targetType the file type to convert to.
+     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the queued job,
+     * with status {@code 400 (Bad Request)} if no converter supports the conversion,
+     * or with status {@code 404 (Not Found)} if there is no file with this id.
+     * @throws URISyntaxException if the Location URI syntax is incorrect.
+     */
+    @PostMapping("")
+    public ResponseEntity<ConversionJob> createConversionJob(@RequestParam Long fileId, @RequestParam String targetType)
+        throws URISyntaxException {
+        LOG.debug("REST request to queue the conversion of File {} to {}", fileId, targetType);
+        Optional<ConversionJob> job;
+        try {
+            job = conversionJobService.enqueue(fileId, targetType);
+        } catch (UnsupportedConversionException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "conversionunsupported");
+        }
+        if (job.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        ConversionJob queued = job.orElseThrow();
+        return ResponseEntity.created(new URI("/api/conversion-jobs/" + queued.getId()))
+            .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, queued.getId().toString()))
+            .body(queued);
+    }
+
+    /**
+     * {@code GET  /conversion-jobs} : get all the conversion jobs.
+     *
+     * @param pageable the pagination information.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of conversion jobs in body.
+     */
+    @GetMapping("")
+    public ResponseEntity<List<ConversionJob>> getAllConversionJobs(@org.springdoc.core.annotations.ParameterObject Pageable pageable) {
+        LOG.debug("REST request to get a page of ConversionJobs");
+        Page<ConversionJob> page = conversionJobService.findAll(pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+
+    /**
+     * {@code GET  /conversion-jobs/:id} : get the "id" conversion job.
+     *
+     * @param id the id of the conversion job to retrieve.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the conversion job,
+     * or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<ConversionJob> getConversionJob(@PathVariable("id") Long id) {
+        LOG.debug("REST request to get ConversionJob : {}", id);
+        return ResponseUtil.wrapOrNotFound(conversionJobService.findOne(id));
+    }
+}
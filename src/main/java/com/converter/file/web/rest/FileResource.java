@@ -2,20 +2,62 @@ package com.converter.file.web.rest;
 
 import com.converter.file.domain.File;
 import com.converter.file.repository.FileRepository;
+import com.converter.file.service.FileBulkService;
+import com.converter.file.service.FileContentService;
+import com.converter.file.service.FileConversionService;
+import com.converter.file.service.FileExportService;
+import com.converter.file.service.FileQueryService;
+import com.converter.file.service.FileSearchService;
+import com.converter.file.service.UnsupportedConversionException;
+import com.converter.file.service.criteria.FileCriteria;
+import com.converter.file.service.dto.FileBulkResultDTO;
+import com.converter.file.service.dto.FileContentDTO;
+import com.converter.file.service.dto.FileFacetsDTO;
 import com.converter.file.web.rest.errors.BadRequestAlertException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.web.SortDefault;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.ResponseUtil;
 
@@ -31,20 +73,70 @@ public class FileResource {
 
     private static final String ENTITY_NAME = "file";
 
+    private static final int DEFAULT_WINDOW_SIZE = 20;
+
+    private static final int MAX_WINDOW_SIZE = 1000;
+
+    /**
+     * The properties files can be sorted by, with the parsers of their values in pagination cursors.
+     * Only non-null columns qualify, as keyset pagination cannot seek past null keys.
+     */
+    private static final Map<String, Function<String, Object>> ALLOWED_ORDERED_PROPERTIES = Map.of(
+        "id",
+        Long::valueOf,
+        "fileName",
+        value -> value,
+        "fileType",
+        value -> value,
+        "lastModified",
+        LocalDate::parse,
+        "category",
+        value -> value
+    );
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
     private final FileRepository fileRepository;
 
-    public FileResource(FileRepository fileRepository) {
+    private final FileConversionService fileConversionService;
+
+    private final FileExportService fileExportService;
+
+    private final FileBulkService fileBulkService;
+
+    private final FileContentService fileContentService;
+
+    private final FileQueryService fileQueryService;
+
+    private final FileSearchService fileSearchService;
+
+    public FileResource(
+        FileRepository fileRepository,
+        FileConversionService fileConversionService,
+        FileExportService fileExportService,
+        FileBulkService fileBulkService,
+        FileContentService fileContentService,
+        FileQueryService fileQueryService,
+        FileSearchService fileSearchService
+    ) {
         this.fileRepository = fileRepository;
+        this.fileConversionService = fileConversionService;
+        this.fileExportService = fileExportService;
+        this.fileBulkService = fileBulkService;
+        this.fileContentService = fileContentService;
+        this.fileQueryService = fileQueryService;
+        this.fileSearchService = fileSearchService;
     }
 
     /**
      * {@code POST  /files} : Create a new file.
+     * <p>
+     * The content hash is managed by the server, set once the content is uploaded: a hash in the request is ignored.
      *
      * @param file the file to create.
-     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new file, or with status {@code 400 (Bad Request)} if the file has already an ID.
+     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new file, or with status {@code 400 (Bad Request)} if the file has already an ID
+     * or if its category has a file of the same name.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PostMapping("")
@@ -53,19 +145,40 @@ public class FileResource {
         if (file.getId() != null) {
             throw new BadRequestAlertException("A new file cannot already have an ID", ENTITY_NAME, "idexists");
         }
+        checkFileNameIsFree(null, file.getCategory(), file.getFileName());
+        file.setContentHash(null);
         file = fileRepository.save(file);
         return ResponseEntity.created(new URI("/api/files/" + file.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, file.getId().toString()))
             .body(file);
     }
 
+    /**
+     * {@code POST  /files/_bulk} : Create many files.
+     * <p>
+     * The body is either a JSON array of files or newline-delimited JSON files. It is read as a stream and the files are
+     * inserted in chunks, each in its own transaction: a failing chunk does not roll back the others.
+     *
+     * @param body the files to create.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each file, in request order.
+     * @throws IOException if the body could not be read.
+     */
+    @PostMapping(value = "/_bulk", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResponseEntity<List<FileBulkResultDTO>> createFiles(InputStream body) throws IOException {
+        LOG.debug("REST request to bulk save Files");
+        return ResponseEntity.ok(fileBulkService.createAll(body));
+    }
+
     /**
      * {@code PUT  /files/:id} : Updates an existing file.
+     * <p>
+     * The content hash is managed by the server: the file keeps its own, whatever the request holds.
      *
      * @param id the id of the file to save.
      * @param file the file to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated file,
-     * or with status {@code 400 (Bad Request)} if the file is not valid,
+     * or with status {@code 400 (Bad Request)} if the file is not valid or its category has another file of the same name,
      * or with status {@code 500 (Internal Server Error)} if the file couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
@@ -80,10 +193,12 @@ public class FileResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!fileRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
+        File existingFile = fileRepository
+            .findById(id)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+        checkFileNameIsFree(id, file.getCategory(), file.getFileName());
 
+        file.setContentHash(existingFile.getContentHash());
         file = fileRepository.save(file);
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, file.getId().toString()))
@@ -92,11 +207,13 @@ public class FileResource {
 
     /**
      * {@code PATCH  /files/:id} : Partial updates given fields of an existing file, field will ignore if it is null
+     * <p>
+     * The content hash is managed by the server and cannot be updated.
      *
      * @param id the id of the file to save.
      * @param file the file to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated file,
-     * or with status {@code 400 (Bad Request)} if the file is not valid,
+     * or with status {@code 400 (Bad Request)} if the file is not valid or its category has another file of the same name,
      * or with status {@code 404 (Not Found)} if the file is not found,
      * or with status {@code 500 (Internal Server Error)} if the file couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
@@ -121,6 +238,11 @@ public class FileResource {
         Optional<File> result = fileRepository
             .findById(file.getId())
             .map(existingFile -> {
+                checkFileNameIsFree(
+                    id,
+                    Objects.requireNonNullElse(file.getCategory(), existingFile.getCategory()),
+                    Objects.requireNonNullElse(file.getFileName(), existingFile.getFileName())
+                );
                 if (file.getFileName() != null) {
                     existingFile.setFileName(file.getFileName());
                 }
@@ -151,14 +273,306 @@ public class FileResource {
     }
 
     /**
-     * {@code GET  /files} : get all the files.
+     * Rejects a name taken by another file of the category, which the unique constraint would reject as a server error.
+     */
+    private void checkFileNameIsFree(Long id, String category, String fileName) {
+        if (fileRepository.findByCategoryAndFileName(category, fileName).filter(other -> !other.getId().equals(id)).isPresent()) {
+            throw new BadRequestAlertException("A file with this name already exists in this category", ENTITY_NAME, "fileexists");
+        }
+    }
+
+    /**
+     * {@code PUT  /files/:id/content} : Uploads the content of the "id" file.
+     * <p>
+     * The body is streamed to the blob store, which stores identical contents once.
+     *
+     * @param id the id of the file.
+     * @param body the content of the file.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated file,
+     * or with status {@code 404 (Not Found)} if the file is not found.
+     * @throws IOException if the content could not be read or stored.
+     */
+    @PutMapping("/{id}/content")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResponseEntity<File> uploadFileContent(@PathVariable("id") Long id, InputStream body) throws IOException {
+        LOG.debug("REST request to upload the content of File : {}", id);
+        return ResponseUtil.wrapOrNotFound(
+            fileContentService.store(id, body),
+            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, id.toString())
+        );
+    }
+
+    /**
+     * {@code GET  /files/:id/content} : Downloads the content of the "id" file.
+     * <p>
+     * The content is sent straight from the blob store, without being copied when it is on the local disk.
+     * A single byte range can be requested with {@code Range}, conditionally with {@code If-Range}; the {@code ETag} is the
+     * SHA-256 digest of the content.
      *
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of files in body.
+     * @param id the id of the file.
+     * @param request the request.
+     * @param response the response, with status {@code 200 (OK)} and the content, {@code 206 (Partial Content)} and the
+     * requested range, {@code 304 (Not Modified)}, {@code 416 (Range Not Satisfiable)}, or {@code 404 (Not Found)} if the
+     * file is not found or has no content.
+     * @throws IOException if the content could not be read or sent.
+     */
+    @GetMapping("/{id}/content")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void downloadFileContent(@PathVariable("id") Long id, HttpServletRequest request, HttpServletResponse response)
+        throws IOException {
+        LOG.debug("REST request to download the content of File : {}", id);
+        FileContentDTO content = fileContentService.findContent(id).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+        String etag = "\"" + content.getContentHash() + "\"";
+        if (new ServletWebRequest(request, response).checkNotModified(etag)) {
+            return;
+        }
+
+        long size = content.getSize();
+        long start = 0;
+        long length = size;
+        HttpRange range = requestedRange(request, etag);
+        if (range != null) {
+            try {
+                start = range.getRangeStart(size);
+                length = range.getRangeEnd(size) - start + 1;
+            } catch (IllegalArgumentException e) {
+                length = 0;
+            }
+            if (length <= 0) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                return;
+            }
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + (start + length - 1) + "/" + size);
+        }
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setContentType(toMediaType(content.getFileType()).toString());
+        response.setHeader(
+            HttpHeaders.CONTENT_DISPOSITION,
+            ContentDisposition.attachment().filename(content.getFileName(), StandardCharsets.UTF_8).build().toString()
+        );
+        response.setContentLengthLong(length);
+        if (HttpMethod.HEAD.matches(request.getMethod()) || length == 0) {
+            return;
+        }
+        try (ReadableByteChannel channel = fileContentService.openContent(content, start)) {
+            ZeroCopyResponseWriter.write(channel, length, response);
+        }
+    }
+
+    /**
+     * The single range requested, unless {@code If-Range} does not match the content. Invalid and multiple ranges
+     * are ignored, and the whole content sent.
+     */
+    private static HttpRange requestedRange(HttpServletRequest request, String etag) {
+        String range = request.getHeader(HttpHeaders.RANGE);
+        if (range == null) {
+            return null;
+        }
+        // If-Range with a date never matches, as no Last-Modified is sent
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange != null && !ifRange.trim().equals(etag)) {
+            return null;
+        }
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(range);
+            return ranges.size() == 1 ? ranges.get(0) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static MediaType toMediaType(String fileType) {
+        try {
+            return MediaType.parseMediaType(fileType);
+        } catch (InvalidMediaTypeException e) {
+            return MediaType.APPLICATION_OCTET_STREAM;
+        }
+    }
+
+    /**
+     * {@code POST  /files/:id/convert} : Converts the content of the "id" file.
+     * <p>
+     * The conversion runs outside of a transaction, so that converting a large file does not hold a database connection.
+     *
+     * @param id the id of the file to convert.
+     * @param targetType the file type to convert the content to.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the converted file,
+     * or with status {@code 400 (Bad Request)} if the file cannot be converted to this type,
+     * or with status {@code 404 (Not Found)} if the file is not found,
+     * or with status {@code 500 (Internal Server Error)} if the conversion failed.
+     */
+    @PostMapping("/{id}/convert")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResponseEntity<File> convertFile(@PathVariable("id") Long id, @RequestParam("targetType") String targetType) {
+        LOG.debug("REST request to convert File : {} to {}", id, targetType);
+        Optional<File> result;
+        try {
+            result = fileConversionService.convert(id, targetType);
+        } catch (UnsupportedConversionException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "conversionunsupported");
+        }
+        return ResponseUtil.wrapOrNotFound(result, HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, id.toString()));
+    }
+
+    /**
+     * {@code GET  /files} : get a window of the files.
+     * <p>
+     * The files are paginated by keyset rather than by page number: the {@code Link} header holds the URL of the next
+     * window, whose {@code after} cursor carries the sort keys of the last file of this window. Fetching any window is then
+     * an index range scan, however deep into the table it is.
+     *
+     * @param criteria the criteria which the requested files should match.
+     * @param size the maximum number of files to return.
+     * @param after the cursor of the window to return, or none for the first window.
+     * @param sort the sort order. Ties are broken by id.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of files in body,
+     * or with status {@code 400 (Bad Request)} if the size or the sort order is not supported.
      */
     @GetMapping("")
-    public List<File> getAllFiles() {
-        LOG.debug("REST request to get all Files");
-        return fileRepository.findAll();
+    public ResponseEntity<List<File>> getAllFiles(
+        FileCriteria criteria,
+        @RequestParam(name = "size", defaultValue = "" + DEFAULT_WINDOW_SIZE) int size,
+        @RequestParam(name = "after", required = false) String after,
+        @SortDefault(sort = "id") Sort sort
+    ) {
+        LOG.debug("REST request to get a window of Files by criteria: {}", criteria);
+        if (size < 1 || size > MAX_WINDOW_SIZE || !onlyContainsAllowedProperties(sort)) {
+            return ResponseEntity.badRequest().build();
+        }
+        Sort keysetSort = withIdTieBreaker(sort);
+        ScrollPosition position = after == null ? ScrollPosition.keyset() : decodeCursor(after, keysetSort);
+        Window<File> window = fileQueryService.findByCriteria(criteria, position, keysetSort, Limit.of(size));
+
+        HttpHeaders headers = new HttpHeaders();
+        if (window.hasNext()) {
+            String cursor = encodeCursor((KeysetScrollPosition) window.positionAt(window.size() - 1), keysetSort);
+            String next = ServletUriComponentsBuilder.fromCurrentRequest().replaceQueryParam("after", cursor).toUriString();
+            headers.add(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return new ResponseEntity<>(window.getContent(), headers, HttpStatus.OK);
+    }
+
+    /**
+     * {@code GET  /files/count} : count all the files.
+     *
+     * @param criteria the criteria which the requested entities should match.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the count in body.
+     */
+    @GetMapping("/count")
+    public ResponseEntity<Long> countFiles(FileCriteria criteria) {
+        LOG.debug("REST request to count Files by criteria: {}", criteria);
+        return ResponseEntity.ok().body(fileQueryService.countByCriteria(criteria));
+    }
+
+    /**
+     * {@code GET  /files/_facets} : count the files by category and by file type.
+     *
+     * @param criteria the criteria which the counted files should match.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the counts in body, most frequent values first.
+     */
+    @GetMapping("/_facets")
+    public ResponseEntity<FileFacetsDTO> getFileFacets(FileCriteria criteria) {
+        LOG.debug("REST request to get the facets of Files by criteria: {}", criteria);
+        return ResponseEntity.ok().body(fileQueryService.facetsByCriteria(criteria));
+    }
+
+    /**
+     * {@code GET  /files/_search?q=:query} : search the files by name and category.
+     * <p>
+     * Served from an in-memory index of this node rather than from the database. Exact names come first, then names
+     * starting with the query, containing it at the start of a word, containing it anywhere, and files of a matching
+     * category last.
+     *
+     * @param query the text to search, case-insensitive.
+     * @param size the maximum number of ids to return.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the ids of the matching files in body, best first,
+     * or with status {@code 400 (Bad Request)} if the query is shorter than 3 characters or the size is not supported.
+     */
+    @GetMapping("/_search")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResponseEntity<List<Long>> searchFiles(
+        @RequestParam("q") String query,
+        @RequestParam(name = "size", defaultValue = "" + DEFAULT_WINDOW_SIZE) int size
+    ) {
+        LOG.debug("REST request to search Files : {}", query);
+        if (size < 1 || size > MAX_WINDOW_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok().body(fileSearchService.search(query, size));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "searchquerytooshort");
+        }
+    }
+
+    /**
+     * {@code GET  /files} with {@code Accept: application/x-ndjson} : export all the files.
+     * <p>
+     * The files are streamed from the database one JSON document per line, so exporting the whole table runs in constant memory.
+     *
+     * @param sort the sort order.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and all the files in body,
+     * or with status {@code 400 (Bad Request)} if the sort order is not supported.
+     */
+    @GetMapping(value = "", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResponseEntity<StreamingResponseBody> exportAllFiles(@SortDefault(sort = "id") Sort sort) {
+        LOG.debug("REST request to export all Files");
+        if (!onlyContainsAllowedProperties(sort)) {
+            return ResponseEntity.badRequest().build();
+        }
+        StreamingResponseBody body = out -> fileExportService.exportAll(withIdTieBreaker(sort), out);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    private boolean onlyContainsAllowedProperties(Sort sort) {
+        return sort.stream().map(Sort.Order::getProperty).allMatch(ALLOWED_ORDERED_PROPERTIES::containsKey);
+    }
+
+    private static Sort withIdTieBreaker(Sort sort) {
+        if (sort.getOrderFor("id") != null) {
+            return sort;
+        }
+        Sort.Direction direction = sort
+            .stream()
+            .reduce((first, second) -> second)
+            .map(Sort.Order::getDirection)
+            .orElse(Sort.Direction.ASC);
+        return sort.and(Sort.by(direction, "id"));
+    }
+
+    /**
+     * Encodes the sort keys of a position as a URL-safe cursor.
+     */
+    private static String encodeCursor(KeysetScrollPosition position, Sort sort) {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return sort
+            .stream()
+            .map(order -> String.valueOf(position.getKeys().get(order.getProperty())))
+            .map(value -> encoder.encodeToString(value.getBytes(StandardCharsets.UTF_8)))
+            .collect(Collectors.joining("."));
+    }
+
+    private ScrollPosition decodeCursor(String cursor, Sort sort) {
+        String[] values = cursor.split("\\.", -1);
+        List<Sort.Order> orders = sort.toList();
+        if (values.length != orders.size()) {
+            throw new BadRequestAlertException("Invalid cursor", ENTITY_NAME, "cursorinvalid");
+        }
+        Map<String, Object> keys = new LinkedHashMap<>();
+        try {
+            for (int i = 0; i < values.length; i++) {
+                String property = orders.get(i).getProperty();
+                String value = new String(Base64.getUrlDecoder().decode(values[i]), StandardCharsets.UTF_8);
+                keys.put(property, ALLOWED_ORDERED_PROPERTIES.get(property).apply(value));
+            }
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestAlertException("Invalid cursor", ENTITY_NAME, "cursorinvalid");
+        }
+        return ScrollPosition.forward(keys);
     }
 
     /**
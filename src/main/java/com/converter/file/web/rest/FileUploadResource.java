@@ -0,0 +1,173 @@
+package com.converter.file.web.rest;
+
+import com.converter.file.domain.File;
+import com.converter.file.domain.UploadSession;
+import com.converter.file.service.FileUploadService;
+import com.converter.file.service.InvalidUploadException;
+import com.converter.file.service.dto.FileUploadDTO;
+import com.converter.file.web.rest.errors.BadRequestAlertException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import tech.jhipster.web.util.HeaderUtil;
+
+/**
+ * REST controller for resumable uploads of new {@link File}s, in the spirit of the tus protocol.
+ * <p>
+ * An upload is started with the metadata of the file and the length of its content. The content is then sent in chunks
+ * of the announced {@code chunkSize}, each with {@code PATCH} and its position in {@code Upload-Offset}, sequentially or in
+ * parallel. After an interruption, the upload tells which chunks are missing. Once all are received, completing the
+ * upload creates the file.
+ */
+@RestController
+@RequestMapping("/api/files/_uploads")
+public class FileUploadResource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FileUploadResource.class);
+
+    private static final String ENTITY_NAME = "fileUpload";
+
+    static final String UPLOAD_OFFSET = "Upload-Offset";
+
+    static final String UPLOAD_LENGTH = "Upload-Length";
+
+    @Value("${jhipster.clientApp.name}")
+    private String applicationName;
+
+    private final FileUploadService fileUploadService;
+
+    public FileUploadResource(FileUploadService fileUploadService) {
+        this.fileUploadService = fileUploadService;
+    }
+
+    /**
+     * {@code POST  /files/_uploads} : Start the upload of a new file.
+     *
+     * @param session the metadata of the file and the length of its content.
+     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new upload,
+     * or with status {@code 400 (Bad Request)} if the content is too long or the category has a file of the same name.
+     * @throws URISyntaxException if the Location URI syntax is incorrect.
+     * @throws IOException if the upload could not be started.
+     */
+    @PostMapping("")
+    public ResponseEntity<FileUploadDTO> createUpload(@Valid @RequestBody UploadSession session) throws URISyntaxException, IOException {
+        LOG.debug("REST request to start the upload of File : {}", session);
+        FileUploadDTO upload;
+        try {
+            upload = fileUploadService.create(session);
+        } catch (InvalidUploadException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "uploadinvalid");
+        }
+        return ResponseEntity.created(new URI("/api/files/_uploads/" + upload.getId()))
+            .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, upload.getId()))
+            .header(UPLOAD_OFFSET, String.valueOf(upload.getOffset()))
+            .header(UPLOAD_LENGTH, String.valueOf(upload.getLength()))
+            .body(upload);
+    }
+
+    /**
+     * {@code GET  /files/_uploads/:id} : get the progress of the "id" upload, also in the {@code Upload-Offset} and
+     * {@code Upload-Length} headers, which is all a {@code HEAD} request returns.
+     *
+     * @param id the id of the upload.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the upload, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<FileUploadDTO> getUpload(@PathVariable("id") String id) {
+        LOG.debug("REST request to get the upload : {}", id);
+        return progress(fileUploadService.findOne(id));
+    }
+
+    /**
+     * {@code PATCH  /files/_uploads/:id} : Send a chunk of the "id" upload.
+     * <p>
+     * The body is written to disk as it arrives, never held in memory. A chunk can be sent again, for instance when its
+     * response was lost.
+     *
+     * @param id the id of the upload.
+     * @param offset the position of the chunk in the content, a multiple of the chunk size.
+     * @param request the request, with the chunk as body.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the upload,
+     * with status {@code 400 (Bad Request)} if the chunk does not fit the upload, or with status {@code 404 (Not Found)}.
+     * @throws IOException if the chunk could not be read or written.
+     */
+    @PatchMapping("/{id}")
+    public ResponseEntity<FileUploadDTO> uploadChunk(
+        @PathVariable("id") String id,
+        @RequestHeader(UPLOAD_OFFSET) long offset,
+        HttpServletRequest request
+    ) throws IOException {
+        LOG.debug("REST request to upload the chunk at {} of upload : {}", offset, id);
+        try (InputStream body = request.getInputStream()) {
+            return progress(fileUploadService.writeChunk(id, offset, request.getContentLengthLong(), body));
+        } catch (InvalidUploadException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "uploadinvalid");
+        }
+    }
+
+    /**
+     * {@code POST  /files/_uploads/:id/complete} : Complete the "id" upload, creating its file.
+     *
+     * @param id the id of the upload.
+     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new file,
+     * with status {@code 400 (Bad Request)} if chunks are missing or the category has a file of the same name,
+     * or with status {@code 404 (Not Found)}.
+     * @throws URISyntaxException if the Location URI syntax is incorrect.
+     * @throws IOException if the content could not be stored.
+     */
+    @PostMapping("/{id}/complete")
+    public ResponseEntity<File> completeUpload(@PathVariable("id") String id) throws URISyntaxException, IOException {
+        LOG.debug("REST request to complete the upload : {}", id);
+        Optional<File> file;
+        try {
+            file = fileUploadService.complete(id);
+        } catch (InvalidUploadException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "uploadinvalid");
+        }
+        if (file.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        File created = file.orElseThrow();
+        return ResponseEntity.created(new URI("/api/files/" + created.getId()))
+            .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, "file", created.getId().toString()))
+            .body(created);
+    }
+
+    /**
+     * {@code DELETE  /files/_uploads/:id} : abandon the "id" upload.
+     *
+     * @param id the id of the upload.
+     * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)}, or with status {@code 404 (Not Found)}.
+     * @throws IOException if the received chunks could not be deleted.
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteUpload(@PathVariable("id") String id) throws IOException {
+        LOG.debug("REST request to delete the upload : {}", id);
+        if (!fileUploadService.delete(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.noContent().headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id)).build();
+    }
+
+    private static ResponseEntity<FileUploadDTO> progress(Optional<FileUploadDTO> upload) {
+        return upload
+            .map(found ->
+                ResponseEntity.ok()
+                    .cacheControl(CacheControl.noStore())
+                    .header(UPLOAD_OFFSET, String.valueOf(found.getOffset()))
+                    .header(UPLOAD_LENGTH, String.valueOf(found.getLength()))
+                    .body(found)
+            )
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,89 @@
+package com.converter.file.web.rest;
+
+import io.undertow.servlet.handlers.ServletRequestContext;
+import io.undertow.servlet.spec.ServletOutputStreamImpl;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Writes a channel to the body of a response, with as few copies as the channel and the server allow.
+ * <p>
+ * A {@link FileChannel} served by Undertow is handed to the socket with {@code sendfile}: the bytes never leave the kernel.
+ * Other file channels are transferred to the response stream, and other channels copied through a buffer.
+ */
+final class ZeroCopyResponseWriter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private ZeroCopyResponseWriter() {}
+
+    /**
+     * @param channel the channel to write, from its current position.
+     * @param length the number of bytes to write, which must be the {@code Content-Length} of the response.
+     * @param response the response.
+     * @throws IOException if the channel could not be read or the response written.
+     */
+    static void write(ReadableByteChannel channel, long length, HttpServletResponse response) throws IOException {
+        if (channel instanceof FileChannel fileChannel) {
+            ServletOutputStreamImpl undertowStream = undertowOutputStream();
+            if (undertowStream != null) {
+                // Commits the headers through the response wrappers, such as the ones writing the security headers
+                response.flushBuffer();
+                // Sends up to the Content-Length of the response
+                undertowStream.transferFrom(fileChannel);
+                return;
+            }
+            transfer(fileChannel, length, Channels.newChannel(response.getOutputStream()));
+            return;
+        }
+        copy(channel, length, Channels.newChannel(response.getOutputStream()));
+    }
+
+    private static ServletOutputStreamImpl undertowOutputStream() throws IOException {
+        ServletRequestContext context = ServletRequestContext.current();
+        if (context == null) {
+            return null;
+        }
+        ServletOutputStream stream = context.getOriginalResponse().getOutputStream();
+        return stream instanceof ServletOutputStreamImpl undertowStream ? undertowStream : null;
+    }
+
+    private static void transfer(FileChannel channel, long length, WritableByteChannel out) throws IOException {
+        long position = channel.position();
+        long end = position + length;
+        while (position < end) {
+            long transferred = channel.transferTo(position, end - position, out);
+            if (transferred <= 0) {
+                throw new EOFException("Content ended " + (end - position) + " bytes early");
+            }
+            position += transferred;
+        }
+    }
+
+    private static void copy(ReadableByteChannel channel, long length, WritableByteChannel out) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(BUFFER_SIZE, Math.max(length, 1)));
+        long remaining = length;
+        while (remaining > 0) {
+            buffer.clear();
+            if (remaining < buffer.capacity()) {
+                buffer.limit((int) remaining);
+            }
+            int read = channel.read(buffer);
+            if (read < 0) {
+                throw new EOFException("Content ended " + remaining + " bytes early");
+            }
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                out.write(buffer);
+            }
+            remaining -= read;
+        }
+    }
+}
@@ -5,7 +5,16 @@ import sinon from 'sinon';
 
 import { EntityState } from 'app/shared/reducers/reducer.utils';
 import { IFile, defaultValue } from 'app/shared/model/file.model';
-import reducer, { createEntity, deleteEntity, getEntities, getEntity, partialUpdateEntity, reset, updateEntity } from './file.reducer';
+import reducer, {
+  createEntity,
+  deleteEntity,
+  getEntities,
+  getEntity,
+  parseNextCursor,
+  partialUpdateEntity,
+  reset,
+  updateEntity,
+} from './file.reducer';
 
 describe('Entities reducer tests', () => {
   function isEmpty(element): boolean {
@@ -116,10 +125,35 @@ describe('Entities reducer tests', () => {
       ).toEqual({
         ...initialState,
         loading: false,
+        links: { next: null },
         entities: payload.data,
       });
     });
 
+    it('should append the next window of entities', () => {
+      const payload = { data: [{ id: 3 }], headers: { link: '<http://localhost/api/files?size=1&after=Mw>; rel="next"' } };
+      expect(
+        reducer(
+          { ...initialState, entities: [{ id: 1 }, { id: 2 }] },
+          {
+            type: getEntities.fulfilled.type,
+            payload,
+            meta: { arg: { after: 'Mg' } },
+          },
+        ),
+      ).toEqual({
+        ...initialState,
+        loading: false,
+        links: { next: 'Mw' },
+        entities: [{ id: 1 }, { id: 2 }, { id: 3 }],
+      });
+    });
+
+    it('should parse the cursor of the next window', () => {
+      expect(parseNextCursor('<http://localhost/api/files?sort=id,asc&after=MjAyNS0wMS0wNg.NDI>; rel="next"')).toBe('MjAyNS0wMS0wNg.NDI');
+      expect(parseNextCursor(undefined)).toBeNull();
+    });
+
     it('should fetch a single entity', () => {
       const payload = { data: { 1: 'fake1' } };
       expect(
@@ -1,6 +1,5 @@
 import axios from 'axios';
 import { createAsyncThunk, isFulfilled, isPending } from '@reduxjs/toolkit';
-import { ASC } from 'app/shared/util/pagination.constants';
 import { cleanEntity } from 'app/shared/util/entity-utils';
 import { EntityState, IQueryParams, createEntitySlice, serializeAxiosError } from 'app/shared/reducers/reducer.utils';
 import { IFile, defaultValue } from 'app/shared/model/file.model';
@@ -16,12 +15,24 @@ const initialState: EntityState<IFile> = {
 
 const apiUrl = 'api/files';
 
+/**
+ * Files are paginated by keyset: each window links to the next one with an opaque `after` cursor.
+ */
+export type IFileQueryParams = IQueryParams & { after?: string };
+
+export const parseNextCursor = (link?: string): string | null => {
+  const next = link?.split(',').find(value => value.includes('rel="next"'));
+  const cursor = next ? /[?&]after=([^&>]*)/.exec(next) : null;
+  return cursor ? decodeURIComponent(cursor[1]) : null;
+};
+
 // Actions
 
 export const getEntities = createAsyncThunk(
   'file/fetch_entity_list',
-  async ({ sort }: IQueryParams) => {
-    const requestUrl = `${apiUrl}?${sort ? `sort=${sort}&` : ''}cacheBuster=${new Date().getTime()}`;
+  async ({ sort, size, after }: IFileQueryParams) => {
+    const params = `${sort ? `sort=${sort}&` : ''}${size ? `size=${size}&` : ''}${after ? `after=${encodeURIComponent(after)}&` : ''}`;
+    const requestUrl = `${apiUrl}?${params}cacheBuster=${new Date().getTime()}`;
     return axios.get<IFile[]>(requestUrl);
   },
   { serializeError: serializeAxiosError },
@@ -94,19 +105,14 @@ export const FileSlice = createEntitySlice({
         state.entity = {};
       })
       .addMatcher(isFulfilled(getEntities), (state, action) => {
-        const { data } = action.payload;
+        const { data, headers } = action.payload;
 
         return {
           ...state,
           loading: false,
-          entities: data.sort((a, b) => {
-            if (!action.meta?.arg?.sort) {
-              return 1;
-            }
-            const order = action.meta.arg.sort.split(',')[1];
-            const predicate = action.meta.arg.sort.split(',')[0];
-            return order === ASC ? (a[predicate] < b[predicate] ? -1 : 1) : b[predicate] < a[predicate] ? -1 : 1;
-          }),
+          links: { next: parseNextCursor(headers?.link) },
+          // the server sorts the files: a window with a cursor continues the current list
+          entities: action.meta?.arg?.after ? [...state.entities, ...data] : data,
         };
       })
       .addMatcher(isFulfilled(createEntity, updateEntity, partialUpdateEntity), (state, action) => {
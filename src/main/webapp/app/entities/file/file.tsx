@@ -1,11 +1,12 @@
 import React, { useEffect, useState } from 'react';
 import { Link, useLocation, useNavigate } from 'react-router-dom';
 import { Button, Table } from 'reactstrap';
+import InfiniteScroll from 'react-infinite-scroll-component';
 import { TextFormat, Translate, getSortState } from 'react-jhipster';
 import { FontAwesomeIcon } from '@fortawesome/react-fontawesome';
 import { faSort, faSortDown, faSortUp } from '@fortawesome/free-solid-svg-icons';
 import { APP_LOCAL_DATE_FORMAT } from 'app/config/constants';
-import { ASC, DESC } from 'app/shared/util/pagination.constants';
+import { ASC, DESC, ITEMS_PER_PAGE } from 'app/shared/util/pagination.constants';
 import { overrideSortStateWithQueryParams } from 'app/shared/util/entity-utils';
 import { useAppDispatch, useAppSelector } from 'app/config/store';
 
@@ -21,15 +22,24 @@ export const File = () => {
 
   const fileList = useAppSelector(state => state.file.entities);
   const loading = useAppSelector(state => state.file.loading);
+  const links = useAppSelector(state => state.file.links);
 
-  const getAllEntities = () => {
+  const getAllEntities = (after?: string) => {
     dispatch(
       getEntities({
         sort: `${sortState.sort},${sortState.order}`,
+        size: ITEMS_PER_PAGE,
+        after,
       }),
     );
   };
 
+  const handleLoadMore = () => {
+    if (links?.next) {
+      getAllEntities(links.next);
+    }
+  };
+
   const sortEntities = () => {
     getAllEntities();
     const endURL = `?sort=${sortState.sort},${sortState.order}`;
@@ -80,92 +90,99 @@ export const File = () => {
         </div>
       </h2>
       <div className="table-responsive">
-        {fileList && fileList.length > 0 ? (
-          <Table responsive>
-            <thead>
-              <tr>
-                <th className="hand" onClick={sort('id')}>
-                  <Translate contentKey="fileConverterApp.file.id">Id</Translate> <FontAwesomeIcon icon={getSortIconByFieldName('id')} />
-                </th>
-                <th className="hand" onClick={sort('fileName')}>
-                  <Translate contentKey="fileConverterApp.file.fileName">File Name</Translate>{' '}
-                  <FontAwesomeIcon icon={getSortIconByFieldName('fileName')} />
-                </th>
-                <th className="hand" onClick={sort('fileType')}>
-                  <Translate contentKey="fileConverterApp.file.fileType">File Type</Translate>{' '}
-                  <FontAwesomeIcon icon={getSortIconByFieldName('fileType')} />
-                </th>
-                <th className="hand" onClick={sort('lastModified')}>
-                  <Translate contentKey="fileConverterApp.file.lastModified">Last Modified</Translate>{' '}
-                  <FontAwesomeIcon icon={getSortIconByFieldName('lastModified')} />
-                </th>
-                <th className="hand" onClick={sort('converted')}>
-                  <Translate contentKey="fileConverterApp.file.converted">Converted</Translate>{' '}
-                  <FontAwesomeIcon icon={getSortIconByFieldName('converted')} />
-                </th>
-                <th className="hand" onClick={sort('s3Url')}>
-                  <Translate contentKey="fileConverterApp.file.s3Url">S 3 Url</Translate>{' '}
-                  <FontAwesomeIcon icon={getSortIconByFieldName('s3Url')} />
-                </th>
-                <th className="hand" onClick={sort('category')}>
-                  <Translate contentKey="fileConverterApp.file.category">Category</Translate>{' '}
-                  <FontAwesomeIcon icon={getSortIconByFieldName('category')} />
-                </th>
-                <th />
-              </tr>
-            </thead>
-            <tbody>
-              {fileList.map((file, i) => (
-                <tr key={`entity-${i}`} data-cy="entityTable">
-                  <td>
-                    <Button tag={Link} to={`/file/${file.id}`} color="link" size="sm">
-                      {file.id}
-                    </Button>
-                  </td>
-                  <td>{file.fileName}</td>
-                  <td>{file.fileType}</td>
-                  <td>{file.lastModified ? <TextFormat type="date" value={file.lastModified} format={APP_LOCAL_DATE_FORMAT} /> : null}</td>
-                  <td>{file.converted ? 'true' : 'false'}</td>
-                  <td>{file.s3Url}</td>
-                  <td>{file.category}</td>
-                  <td className="text-end">
-                    <div className="btn-group flex-btn-group-container">
-                      <Button tag={Link} to={`/file/${file.id}`} color="info" size="sm" data-cy="entityDetailsButton">
-                        <FontAwesomeIcon icon="eye" />{' '}
-                        <span className="d-none d-md-inline">
-                          <Translate contentKey="entity.action.view">View</Translate>
-                        </span>
-                      </Button>
-                      <Button tag={Link} to={`/file/${file.id}/edit`} color="primary" size="sm" data-cy="entityEditButton">
-                        <FontAwesomeIcon icon="pencil-alt" />{' '}
-                        <span className="d-none d-md-inline">
-                          <Translate contentKey="entity.action.edit">Edit</Translate>
-                        </span>
-                      </Button>
-                      <Button
-                        onClick={() => (window.location.href = `/file/${file.id}/delete`)}
-                        color="danger"
-                        size="sm"
-                        data-cy="entityDeleteButton"
-                      >
-                        <FontAwesomeIcon icon="trash" />{' '}
-                        <span className="d-none d-md-inline">
-                          <Translate contentKey="entity.action.delete">Delete</Translate>
-                        </span>
-                      </Button>
-                    </div>
-                  </td>
+        <InfiniteScroll
+          dataLength={fileList ? fileList.length : 0}
+          next={handleLoadMore}
+          hasMore={!!links?.next}
+          loader={<div className="loader">Loading ...</div>}
+        >
+          {fileList && fileList.length > 0 ? (
+            <Table responsive>
+              <thead>
+                <tr>
+                  <th className="hand" onClick={sort('id')}>
+                    <Translate contentKey="fileConverterApp.file.id">Id</Translate> <FontAwesomeIcon icon={getSortIconByFieldName('id')} />
+                  </th>
+                  <th className="hand" onClick={sort('fileName')}>
+                    <Translate contentKey="fileConverterApp.file.fileName">File Name</Translate>{' '}
+                    <FontAwesomeIcon icon={getSortIconByFieldName('fileName')} />
+                  </th>
+                  <th className="hand" onClick={sort('fileType')}>
+                    <Translate contentKey="fileConverterApp.file.fileType">File Type</Translate>{' '}
+                    <FontAwesomeIcon icon={getSortIconByFieldName('fileType')} />
+                  </th>
+                  <th className="hand" onClick={sort('lastModified')}>
+                    <Translate contentKey="fileConverterApp.file.lastModified">Last Modified</Translate>{' '}
+                    <FontAwesomeIcon icon={getSortIconByFieldName('lastModified')} />
+                  </th>
+                  <th>
+                    <Translate contentKey="fileConverterApp.file.converted">Converted</Translate>
+                  </th>
+                  <th>
+                    <Translate contentKey="fileConverterApp.file.s3Url">S 3 Url</Translate>
+                  </th>
+                  <th className="hand" onClick={sort('category')}>
+                    <Translate contentKey="fileConverterApp.file.category">Category</Translate>{' '}
+                    <FontAwesomeIcon icon={getSortIconByFieldName('category')} />
+                  </th>
+                  <th />
                 </tr>
-              ))}
-            </tbody>
-          </Table>
-        ) : (
-          !loading && (
-            <div className="alert alert-warning">
-              <Translate contentKey="fileConverterApp.file.home.notFound">No Files found</Translate>
-            </div>
-          )
-        )}
+              </thead>
+              <tbody>
+                {fileList.map((file, i) => (
+                  <tr key={`entity-${i}`} data-cy="entityTable">
+                    <td>
+                      <Button tag={Link} to={`/file/${file.id}`} color="link" size="sm">
+                        {file.id}
+                      </Button>
+                    </td>
+                    <td>{file.fileName}</td>
+                    <td>{file.fileType}</td>
+                    <td>
+                      {file.lastModified ? <TextFormat type="date" value={file.lastModified} format={APP_LOCAL_DATE_FORMAT} /> : null}
+                    </td>
+                    <td>{file.converted ? 'true' : 'false'}</td>
+                    <td>{file.s3Url}</td>
+                    <td>{file.category}</td>
+                    <td className="text-end">
+                      <div className="btn-group flex-btn-group-container">
+                        <Button tag={Link} to={`/file/${file.id}`} color="info" size="sm" data-cy="entityDetailsButton">
+                          <FontAwesomeIcon icon="eye" />{' '}
+                          <span className="d-none d-md-inline">
+                            <Translate contentKey="entity.action.view">View</Translate>
+                          </span>
+                        </Button>
+                        <Button tag={Link} to={`/file/${file.id}/edit`} color="primary" size="sm" data-cy="entityEditButton">
+                          <FontAwesomeIcon icon="pencil-alt" />{' '}
+                          <span className="d-none d-md-inline">
+                            <Translate contentKey="entity.action.edit">Edit</Translate>
+                          </span>
+                        </Button>
+                        <Button
+                          onClick={() => (window.location.href = `/file/${file.id}/delete`)}
+                          color="danger"
+                          size="sm"
+                          data-cy="entityDeleteButton"
+                        >
+                          <FontAwesomeIcon icon="trash" />{' '}
+                          <span className="d-none d-md-inline">
+                            <Translate contentKey="entity.action.delete">Delete</Translate>
+                          </span>
+                        </Button>
+                      </div>
+                    </td>
+                  </tr>
+                ))}
+              </tbody>
+            </Table>
+          ) : (
+            !loading && (
+              <div className="alert alert-warning">
+                <Translate contentKey="fileConverterApp.file.home.notFound">No Files found</Translate>
+              </div>
+            )
+          )}
+        </InfiniteScroll>
       </div>
     </div>
   );
@@ -8,6 +8,7 @@ export interface IFile {
   converted?: boolean | null;
   s3Url?: string | null;
   category?: string;
+  contentHash?: string | null;
 }
 
 export const defaultValue: Readonly<IFile> = {
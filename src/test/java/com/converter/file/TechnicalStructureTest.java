@@ -22,6 +22,8 @@ class TechnicalStructureTest {
         .layer("Security").definedBy("..security..")
         .optionalLayer("Persistence").definedBy("..repository..")
         .layer("Domain").definedBy("..domain..")
+        .optionalLayer("Storage").definedBy("..storage..")
+        .optionalLayer("Cluster").definedBy("..cluster..")
 
         .whereLayer("Config").mayNotBeAccessedByAnyLayer()
         .whereLayer("Web").mayOnlyBeAccessedByLayers("Config")
@@ -29,6 +31,8 @@ class TechnicalStructureTest {
         .whereLayer("Security").mayOnlyBeAccessedByLayers("Config", "Service", "Web")
         .whereLayer("Persistence").mayOnlyBeAccessedByLayers("Service", "Security", "Web", "Config")
         .whereLayer("Domain").mayOnlyBeAccessedByLayers("Persistence", "Service", "Security", "Web", "Config")
+        .whereLayer("Storage").mayOnlyBeAccessedByLayers("Service", "Config")
+        .whereLayer("Cluster").mayOnlyBeAccessedByLayers("Config")
 
         .ignoreDependency(belongToAnyOf(FileConverterApp.class), alwaysTrue())
         .ignoreDependency(alwaysTrue(), belongToAnyOf(
@@ -0,0 +1,86 @@
+package com.converter.file.aop.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.converter.file.config.ApplicationProperties;
+import com.converter.file.domain.File;
+import com.converter.file.repository.FileRepository;
+import com.converter.file.web.rest.FileResource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.core.env.StandardEnvironment;
+
+class LoggingAspectTest {
+
+    private ApplicationProperties applicationProperties;
+
+    private MeterRegistry meterRegistry;
+
+    private RuntimeException failure;
+
+    @BeforeEach
+    void init() {
+        applicationProperties = new ApplicationProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        failure = null;
+    }
+
+    @Test
+    void timesTheSampledCallsByMethodAndException() {
+        applicationProperties.getMethodTimings().setDefaultSamplingRate(1);
+        FileResource fileResource = fileResource();
+
+        fileResource.getFile(1L);
+        fileResource.getFile(2L);
+        failure = new IllegalStateException("Connection lost");
+        assertThatThrownBy(() -> fileResource.getFile(3L)).isSameAs(failure);
+
+        assertThat(timings("none").count()).isEqualTo(2);
+        assertThat(timings("IllegalStateException").count()).isEqualTo(1);
+    }
+
+    @Test
+    void theRateOfTheMostSpecificPackageApplies() {
+        applicationProperties.getMethodTimings().setDefaultSamplingRate(1);
+        applicationProperties.getMethodTimings().setSamplingRates(Map.of("com.converter.file", 1.0, "com.converter.file.web.rest", 0.0));
+        FileResource fileResource = fileResource();
+
+        fileResource.getFile(1L);
+
+        assertThat(meterRegistry.find(LoggingAspect.TIMINGS_METER_NAME).timer()).isNull();
+    }
+
+    private Timer timings(String exception) {
+        return meterRegistry
+            .get(LoggingAspect.TIMINGS_METER_NAME)
+            .tag("class", "FileResource")
+            .tag("method", "getFile")
+            .tag("exception", exception)
+            .timer();
+    }
+
+    private FileResource fileResource() {
+        FileRepository fileRepository = (FileRepository) Proxy.newProxyInstance(
+            FileRepository.class.getClassLoader(),
+            new Class<?>[] { FileRepository.class },
+            (proxy, method, args) -> {
+                if (failure != null) {
+                    throw failure;
+                }
+                return Optional.of(new File().id((Long) args[0]));
+            }
+        );
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(new FileResource(fileRepository, null, null, null, null, null, null));
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new LoggingAspect(new StandardEnvironment(), meterRegistry, applicationProperties));
+        return proxyFactory.getProxy();
+    }
+}
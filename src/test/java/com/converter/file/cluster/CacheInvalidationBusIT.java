@@ -0,0 +1,193 @@
+package com.converter.file.cluster;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import com.converter.file.IntegrationTest;
+import com.converter.file.domain.File;
+import com.converter.file.domain.User;
+import com.converter.file.repository.FileRepository;
+import com.converter.file.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for the {@link CacheInvalidationBus} over the {@link JdbcInvalidationTransport}, with a second
+ * transport standing for another node.
+ */
+@IntegrationTest
+@TestPropertySource(
+    properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "application.cache.invalidation.transport=jdbc",
+        "application.cache.invalidation.jdbc.poll-interval=PT0.05S",
+    }
+)
+class CacheInvalidationBusIT {
+
+    @Autowired
+    private FileRepository fileRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private javax.cache.CacheManager cacheManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final BlockingQueue<CacheInvalidation> received = new LinkedBlockingQueue<>();
+
+    private final List<File> files = new ArrayList<>();
+
+    private JdbcInvalidationTransport otherNode;
+
+    private File file;
+
+    @BeforeEach
+    void setup() {
+        otherNode = new JdbcInvalidationTransport(jdbcTemplate, transactionManager, Duration.ofMillis(50), Duration.ofHours(1));
+        otherNode.start(received::addAll);
+        file = createFile();
+    }
+
+    @AfterEach
+    void cleanup() {
+        otherNode.close();
+        fileRepository.deleteAll(files);
+    }
+
+    /**
+     * The other node can also receive the invalidations of the previous tests, sent once their files were deleted:
+     * the assertions are on the files of each test.
+     */
+    @Test
+    void committedChangesAreSent() {
+        File other = createFile();
+        CacheInvalidation otherEntity = CacheInvalidation.entity(File.class.getName(), other.getId());
+        transactionTemplate.executeWithoutResult(status -> {
+            fileRepository.findById(file.getId()).orElseThrow().fileName("rolled-back-" + file.getFileName());
+            status.setRollbackOnly();
+        });
+        transactionTemplate.executeWithoutResult(status ->
+            fileRepository.findById(other.getId()).orElseThrow().fileType("application/gzip")
+        );
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> received.contains(otherEntity));
+        // Invalidations are sent in commit order: those of the rolled back change would have come first
+        assertThat(received).doesNotContain(CacheInvalidation.entity(File.class.getName(), file.getId()));
+
+        received.clear();
+        transactionTemplate.executeWithoutResult(status ->
+            fileRepository.findById(other.getId()).orElseThrow().fileName("renamed-" + other.getFileName())
+        );
+
+        List<CacheInvalidation> renamed = List.of(otherEntity, CacheInvalidation.naturalIds(File.class.getName()));
+        await().atMost(5, TimeUnit.SECONDS).until(() -> received.containsAll(renamed));
+    }
+
+    @Test
+    void invalidationsOfOtherNodesAreEvicted() {
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        transactionTemplate.executeWithoutResult(status -> fileRepository.findById(file.getId()).orElseThrow());
+        assertThat(cache.containsEntity(File.class, file.getId())).isTrue();
+        javax.cache.Cache<Object, Object> usersByLogin = cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE);
+        usersByLogin.put("user", new User());
+
+        otherNode.send(
+            List.of(
+                CacheInvalidation.entity("com.example.Unknown", 1L),
+                CacheInvalidation.entity(File.class.getName(), file.getId()),
+                CacheInvalidation.entity(User.class.getName(), 1L)
+            )
+        );
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> !cache.containsEntity(File.class, file.getId()));
+        await().atMost(5, TimeUnit.SECONDS).until(() -> !usersByLogin.containsKey("user"));
+    }
+
+    @Test
+    void invalidationsReadByARolledBackPollAreReadAgain() {
+        AtomicBoolean failing = new AtomicBoolean(true);
+        AtomicInteger failedCommits = new AtomicInteger();
+        PlatformTransactionManager failingTransactionManager = new PlatformTransactionManager() {
+            @Override
+            public TransactionStatus getTransaction(TransactionDefinition definition) {
+                return transactionManager.getTransaction(definition);
+            }
+
+            @Override
+            public void commit(TransactionStatus status) {
+                if (failing.get()) {
+                    transactionManager.rollback(status);
+                    failedCommits.incrementAndGet();
+                    throw new TransactionSystemException("Could not commit");
+                }
+                transactionManager.commit(status);
+            }
+
+            @Override
+            public void rollback(TransactionStatus status) {
+                transactionManager.rollback(status);
+            }
+        };
+        BlockingQueue<CacheInvalidation> thirdNodeReceived = new LinkedBlockingQueue<>();
+        JdbcInvalidationTransport thirdNode = new JdbcInvalidationTransport(
+            jdbcTemplate,
+            failingTransactionManager,
+            Duration.ofMillis(50),
+            Duration.ofHours(1)
+        );
+        thirdNode.start(thirdNodeReceived::addAll);
+        try {
+            CacheInvalidation invalidation = CacheInvalidation.entity(File.class.getName(), file.getId());
+            otherNode.send(List.of(invalidation));
+            // Polls run one after the other: the second one to fail from now on started after the send, and read it
+            int failedBeforeSend = failedCommits.get();
+            await().atMost(5, TimeUnit.SECONDS).until(() -> failedCommits.get() >= failedBeforeSend + 2);
+            assertThat(thirdNodeReceived).doesNotContain(invalidation);
+
+            failing.set(false);
+
+            await().atMost(5, TimeUnit.SECONDS).until(() -> thirdNodeReceived.contains(invalidation));
+        } finally {
+            thirdNode.close();
+        }
+    }
+
+    private File createFile() {
+        File created = fileRepository.save(
+            new File().fileName("bus-" + System.nanoTime() + ".csv").fileType("text/csv").lastModified(LocalDate.now()).category("bus")
+        );
+        files.add(created);
+        return created;
+    }
+}
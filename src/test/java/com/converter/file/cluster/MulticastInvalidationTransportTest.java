@@ -0,0 +1,72 @@
+package com.converter.file.cluster;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.NetworkInterface;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Exchanges invalidations between two nodes of one JVM, over the loopback interface.
+ */
+class MulticastInvalidationTransportTest {
+
+    private final BlockingQueue<CacheInvalidation> receivedByFirst = new LinkedBlockingQueue<>();
+
+    private final BlockingQueue<CacheInvalidation> receivedBySecond = new LinkedBlockingQueue<>();
+
+    private MulticastInvalidationTransport first;
+
+    private MulticastInvalidationTransport second;
+
+    @BeforeEach
+    void setup() throws Exception {
+        InetSocketAddress group = new InetSocketAddress(InetAddress.getByName("239.255.27.2"), 45701);
+        NetworkInterface loopback = NetworkInterface.getByInetAddress(InetAddress.getLoopbackAddress());
+        first = new MulticastInvalidationTransport(group, loopback, 0);
+        second = new MulticastInvalidationTransport(group, loopback, 0);
+        first.start(receivedByFirst::addAll);
+        second.start(receivedBySecond::addAll);
+    }
+
+    @AfterEach
+    void tearDown() {
+        first.close();
+        second.close();
+    }
+
+    @Test
+    void testInvalidationsReachTheOtherNodesOnly() throws Exception {
+        List<CacheInvalidation> invalidations = List.of(
+            CacheInvalidation.entity("com.converter.file.domain.File", 1L),
+            CacheInvalidation.collection("com.converter.file.domain.User.authorities", 2L),
+            CacheInvalidation.naturalIds("com.converter.file.domain.File")
+        );
+        first.send(invalidations);
+
+        for (CacheInvalidation invalidation : invalidations) {
+            assertThat(receivedBySecond.poll(5, TimeUnit.SECONDS)).isEqualTo(invalidation);
+        }
+        assertThat(receivedByFirst.poll(100, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    void testLargeBatchesAreSplitIntoDatagrams() throws Exception {
+        List<CacheInvalidation> invalidations = IntStream.range(0, 200)
+            .mapToObj(id -> CacheInvalidation.entity("com.converter.file.domain.File", id))
+            .toList();
+        second.send(invalidations);
+
+        for (CacheInvalidation invalidation : invalidations) {
+            assertThat(receivedByFirst.poll(5, TimeUnit.SECONDS)).isEqualTo(invalidation);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.converter.file.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.converter.file.IntegrationTest;
+import com.converter.file.domain.File;
+import com.converter.file.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import javax.cache.CacheManager;
+import org.ehcache.config.ResourceType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Integration tests for the {@link CacheConfiguration}.
+ */
+@IntegrationTest
+class CacheConfigurationIT {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JHipsterProperties jHipsterProperties;
+
+    @Test
+    void testCachesAreSizedByDefault() {
+        org.ehcache.Cache<?, ?> cache = cacheManager.getCache(File.class.getName()).unwrap(org.ehcache.Cache.class);
+
+        assertThat(cache.getRuntimeConfiguration().getResourcePools().getResourceTypeSet()).containsExactly(ResourceType.Core.HEAP);
+        assertThat(cache.getRuntimeConfiguration().getResourcePools().getPoolForResource(ResourceType.Core.HEAP).getSize()).isEqualTo(
+            jHipsterProperties.getCache().getEhcache().getMaxEntries()
+        );
+    }
+
+    @Test
+    void testCachesHaveMetrics() {
+        for (String cacheName : new String[] { File.class.getName(), UserRepository.USERS_BY_LOGIN_CACHE }) {
+            assertThat(meterRegistry.get("cache.size").tag("cache", cacheName).gauge().value()).isNotNegative();
+            assertThat(meterRegistry.get("cache.tier.size").tags("cache", cacheName, "tier", "OnHeap").gauge()).isNotNull();
+        }
+    }
+}
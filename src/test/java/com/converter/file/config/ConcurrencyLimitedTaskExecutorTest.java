@@ -0,0 +1,127 @@
+package com.converter.file.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+
+class ConcurrencyLimitedTaskExecutorTest {
+
+    @Test
+    void limitsConcurrentTasks() throws Exception {
+        ConcurrencyLimitedTaskExecutor executor = new ConcurrencyLimitedTaskExecutor("test", new SimpleAsyncTaskExecutor(), 3);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(20);
+
+        for (int i = 0; i < 20; i++) {
+            executor.execute(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(10);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                running.decrementAndGet();
+                done.countDown();
+            });
+        }
+
+        assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(maxRunning.get()).isBetween(1, 3);
+    }
+
+    @Test
+    void waitingTasksHoldNoThreadOfTheSharedExecutor() throws Exception {
+        AtomicInteger submitted = new AtomicInteger();
+        SimpleAsyncTaskExecutor shared = new SimpleAsyncTaskExecutor() {
+            @Override
+            public void execute(Runnable task) {
+                submitted.incrementAndGet();
+                super.execute(task);
+            }
+        };
+        ConcurrencyLimitedTaskExecutor executor = new ConcurrencyLimitedTaskExecutor("test", shared, 3);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(20);
+
+        for (int i = 0; i < 20; i++) {
+            executor.execute(() -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                done.countDown();
+            });
+        }
+
+        assertThat(submitted.get()).isEqualTo(3);
+        release.countDown();
+        assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(submitted.get()).isEqualTo(20);
+    }
+
+    @Test
+    void tasksRejectedWhenATaskCompletesWaitAgain() throws Exception {
+        AtomicBoolean rejecting = new AtomicBoolean();
+        ConcurrencyLimitedTaskExecutor executor = new ConcurrencyLimitedTaskExecutor("test", rejectingOnce(rejecting), 1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> ran = new CopyOnWriteArrayList<>();
+
+        executor.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            ran.add("first");
+        });
+        executor.execute(() -> ran.add("second"));
+        // Handed to the shared executor by the first task as it completes
+        rejecting.set(true);
+        release.countDown();
+        await().atMost(10, TimeUnit.SECONDS).untilFalse(rejecting);
+        executor.execute(() -> ran.add("third"));
+
+        await().atMost(10, TimeUnit.SECONDS).until(() -> ran.size() == 3);
+        assertThat(ran).containsExactly("first", "second", "third");
+    }
+
+    @Test
+    void callersAreToldOfTheRejectionOfTheirTask() {
+        AtomicBoolean rejecting = new AtomicBoolean(true);
+        ConcurrencyLimitedTaskExecutor executor = new ConcurrencyLimitedTaskExecutor("test", rejectingOnce(rejecting), 1);
+        List<String> ran = new CopyOnWriteArrayList<>();
+
+        assertThatThrownBy(() -> executor.execute(() -> ran.add("rejected"))).isInstanceOf(TaskRejectedException.class);
+        executor.execute(() -> ran.add("accepted"));
+
+        await().atMost(10, TimeUnit.SECONDS).until(() -> !ran.isEmpty());
+        assertThat(ran).containsExactly("accepted");
+    }
+
+    /**
+     * @param rejecting whether to reject the next task, reset once rejected.
+     */
+    private static SimpleAsyncTaskExecutor rejectingOnce(AtomicBoolean rejecting) {
+        return new SimpleAsyncTaskExecutor() {
+            @Override
+            public void execute(Runnable task) {
+                if (rejecting.getAndSet(false)) {
+                    throw new TaskRejectedException("Rejected");
+                }
+                super.execute(task);
+            }
+        };
+    }
+}
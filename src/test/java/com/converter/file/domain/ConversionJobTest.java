@@ -0,0 +1,37 @@
+package com.converter.file.domain;
+
+import static com.converter.file.domain.ConversionJobTestSamples.*;
+import static com.converter.file.domain.FileTestSamples.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.converter.file.web.rest.TestUtil;
+import org.junit.jupiter.api.Test;
+
+class ConversionJobTest {
+
+    @Test
+    void equalsVerifier() throws Exception {
+        TestUtil.equalsVerifier(ConversionJob.class);
+        ConversionJob conversionJob1 = getConversionJobSample1();
+        ConversionJob conversionJob2 = new ConversionJob();
+        assertThat(conversionJob1).isNotEqualTo(conversionJob2);
+
+        conversionJob2.setId(conversionJob1.getId());
+        assertThat(conversionJob1).isEqualTo(conversionJob2);
+
+        conversionJob2 = getConversionJobSample2();
+        assertThat(conversionJob1).isNotEqualTo(conversionJob2);
+    }
+
+    @Test
+    void fileTest() {
+        ConversionJob conversionJob = getConversionJobRandomSampleGenerator();
+        File fileBack = getFileRandomSampleGenerator();
+
+        conversionJob.setFile(fileBack);
+        assertThat(conversionJob.getFile()).isEqualTo(fileBack);
+
+        conversionJob.file(null);
+        assertThat(conversionJob.getFile()).isNull();
+    }
+}
@@ -0,0 +1,30 @@
+package com.converter.file.domain;
+
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class ConversionJobTestSamples {
+
+    private static final Random random = new Random();
+    private static final AtomicLong longCount = new AtomicLong(random.nextInt() + (2 * Integer.MAX_VALUE));
+    private static final AtomicInteger intCount = new AtomicInteger(random.nextInt() + (2 * Short.MAX_VALUE));
+
+    public static ConversionJob getConversionJobSample1() {
+        return new ConversionJob().id(1L).targetType("targetType1").attempts(1).leaseOwner("leaseOwner1").lastError("lastError1");
+    }
+
+    public static ConversionJob getConversionJobSample2() {
+        return new ConversionJob().id(2L).targetType("targetType2").attempts(2).leaseOwner("leaseOwner2").lastError("lastError2");
+    }
+
+    public static ConversionJob getConversionJobRandomSampleGenerator() {
+        return new ConversionJob()
+            .id(longCount.incrementAndGet())
+            .targetType(UUID.randomUUID().toString())
+            .attempts(intCount.incrementAndGet())
+            .leaseOwner(UUID.randomUUID().toString())
+            .lastError(UUID.randomUUID().toString());
+    }
+}
@@ -52,7 +52,8 @@ public class FileAsserts {
             .satisfies(e -> assertThat(e.getLastModified()).as("check lastModified").isEqualTo(actual.getLastModified()))
             .satisfies(e -> assertThat(e.getConverted()).as("check converted").isEqualTo(actual.getConverted()))
             .satisfies(e -> assertThat(e.gets3Url()).as("check s3Url").isEqualTo(actual.gets3Url()))
-            .satisfies(e -> assertThat(e.getCategory()).as("check category").isEqualTo(actual.getCategory()));
+            .satisfies(e -> assertThat(e.getCategory()).as("check category").isEqualTo(actual.getCategory()))
+            .satisfies(e -> assertThat(e.getContentHash()).as("check contentHash").isEqualTo(actual.getContentHash()));
     }
 
     /**
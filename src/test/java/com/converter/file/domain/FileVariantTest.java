@@ -0,0 +1,37 @@
+package com.converter.file.domain;
+
+import static com.converter.file.domain.FileTestSamples.*;
+import static com.converter.file.domain.FileVariantTestSamples.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.converter.file.web.rest.TestUtil;
+import org.junit.jupiter.api.Test;
+
+class FileVariantTest {
+
+    @Test
+    void equalsVerifier() throws Exception {
+        TestUtil.equalsVerifier(FileVariant.class);
+        FileVariant fileVariant1 = getFileVariantSample1();
+        FileVariant fileVariant2 = new FileVariant();
+        assertThat(fileVariant1).isNotEqualTo(fileVariant2);
+
+        fileVariant2.setId(fileVariant1.getId());
+        assertThat(fileVariant1).isEqualTo(fileVariant2);
+
+        fileVariant2 = getFileVariantSample2();
+        assertThat(fileVariant1).isNotEqualTo(fileVariant2);
+    }
+
+    @Test
+    void fileTest() {
+        FileVariant fileVariant = getFileVariantRandomSampleGenerator();
+        File fileBack = getFileRandomSampleGenerator();
+
+        fileVariant.setFile(fileBack);
+        assertThat(fileVariant.getFile()).isEqualTo(fileBack);
+
+        fileVariant.file(null);
+        assertThat(fileVariant.getFile()).isNull();
+    }
+}
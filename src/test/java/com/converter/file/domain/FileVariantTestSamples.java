@@ -0,0 +1,31 @@
+package com.converter.file.domain;
+
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class FileVariantTestSamples {
+
+    private static final Random random = new Random();
+    private static final AtomicLong longCount = new AtomicLong(random.nextInt() + (2 * Integer.MAX_VALUE));
+    private static final AtomicInteger intCount = new AtomicInteger(random.nextInt() + (2 * Short.MAX_VALUE));
+
+    public static FileVariant getFileVariantSample1() {
+        return new FileVariant().id(1L).name("name1").fileType("fileType1").width(1).height(1).contentHash("contentHash1");
+    }
+
+    public static FileVariant getFileVariantSample2() {
+        return new FileVariant().id(2L).name("name2").fileType("fileType2").width(2).height(2).contentHash("contentHash2");
+    }
+
+    public static FileVariant getFileVariantRandomSampleGenerator() {
+        return new FileVariant()
+            .id(longCount.incrementAndGet())
+            .name(UUID.randomUUID().toString())
+            .fileType(UUID.randomUUID().toString())
+            .width(intCount.incrementAndGet())
+            .height(intCount.incrementAndGet())
+            .contentHash(UUID.randomUUID().toString());
+    }
+}
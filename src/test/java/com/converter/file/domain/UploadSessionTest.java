@@ -0,0 +1,36 @@
+package com.converter.file.domain;
+
+import static com.converter.file.domain.UploadSessionTestSamples.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.converter.file.web.rest.TestUtil;
+import org.junit.jupiter.api.Test;
+
+class UploadSessionTest {
+
+    @Test
+    void equalsVerifier() throws Exception {
+        TestUtil.equalsVerifier(UploadSession.class);
+        UploadSession uploadSession1 = getUploadSessionSample1();
+        UploadSession uploadSession2 = new UploadSession();
+        assertThat(uploadSession1).isNotEqualTo(uploadSession2);
+
+        uploadSession2.setId(uploadSession1.getId());
+        assertThat(uploadSession1).isEqualTo(uploadSession2);
+
+        uploadSession2 = getUploadSessionSample2();
+        assertThat(uploadSession1).isNotEqualTo(uploadSession2);
+    }
+
+    @Test
+    void chunksTest() {
+        UploadSession uploadSession = getUploadSessionRandomSampleGenerator().length(10L).chunkSize(4);
+        assertThat(uploadSession.chunkCount()).isEqualTo(3);
+        assertThat(uploadSession.chunkLength(0)).isEqualTo(4);
+        assertThat(uploadSession.chunkLength(2)).isEqualTo(2);
+
+        assertThat(uploadSession.length(8L).chunkCount()).isEqualTo(2);
+        assertThat(uploadSession.chunkLength(1)).isEqualTo(4);
+        assertThat(uploadSession.length(0L).chunkCount()).isZero();
+    }
+}
@@ -0,0 +1,43 @@
+package com.converter.file.domain;
+
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class UploadSessionTestSamples {
+
+    private static final Random random = new Random();
+    private static final AtomicLong longCount = new AtomicLong(random.nextInt() + (2 * Integer.MAX_VALUE));
+    private static final AtomicInteger intCount = new AtomicInteger(random.nextInt() + (2 * Short.MAX_VALUE));
+
+    public static UploadSession getUploadSessionSample1() {
+        return new UploadSession()
+            .id("id1")
+            .fileName("fileName1")
+            .fileType("fileType1")
+            .category("category1")
+            .length(1L)
+            .chunkSize(1);
+    }
+
+    public static UploadSession getUploadSessionSample2() {
+        return new UploadSession()
+            .id("id2")
+            .fileName("fileName2")
+            .fileType("fileType2")
+            .category("category2")
+            .length(2L)
+            .chunkSize(2);
+    }
+
+    public static UploadSession getUploadSessionRandomSampleGenerator() {
+        return new UploadSession()
+            .id(UUID.randomUUID().toString())
+            .fileName(UUID.randomUUID().toString())
+            .fileType(UUID.randomUUID().toString())
+            .category(UUID.randomUUID().toString())
+            .length(longCount.incrementAndGet())
+            .chunkSize(intCount.incrementAndGet());
+    }
+}
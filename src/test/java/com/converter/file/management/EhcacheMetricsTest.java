@@ -0,0 +1,88 @@
+package com.converter.file.management;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.net.URI;
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.core.config.DefaultConfiguration;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class EhcacheMetricsTest {
+
+    private CacheManager cacheManager;
+
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setup() {
+        EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        DefaultConfiguration configuration = new DefaultConfiguration(provider.getDefaultClassLoader());
+        cacheManager = provider.getCacheManager(URI.create("ehcache-metrics-test"), configuration);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        cacheManager.close();
+    }
+
+    @Test
+    void testHeapCache() {
+        Cache<Object, Object> cache = createCache("heap", ResourcePoolsBuilder.heap(10));
+        new EhcacheMetrics(cache, Tags.empty()).bindTo(meterRegistry);
+
+        for (long i = 0; i < 20; i++) {
+            cache.put(i, "value" + i);
+        }
+        cache.get(19L);
+        cache.get(100L);
+
+        assertThat(gauge("cache.size", "heap")).isEqualTo(10);
+        assertThat(meterRegistry.get("cache.gets").tags("cache", "heap", "result", "hit").functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tags("cache", "heap", "result", "miss").functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.puts").tags("cache", "heap").functionCounter().count()).isEqualTo(20);
+        assertThat(meterRegistry.get("cache.evictions").tags("cache", "heap").functionCounter().count()).isEqualTo(10);
+        assertThat(meterRegistry.get("cache.tier.size").tags("cache", "heap", "tier", "OnHeap").gauge().value()).isEqualTo(10);
+        assertThat(meterRegistry.find("cache.tier.occupied").tags("cache", "heap").gauge()).isNull();
+    }
+
+    @Test
+    void testOffHeapCache() {
+        Cache<Object, Object> cache = createCache("offheap", ResourcePoolsBuilder.heap(10).offheap(1, MemoryUnit.MB));
+        new EhcacheMetrics(cache, Tags.empty()).bindTo(meterRegistry);
+
+        for (long i = 0; i < 100; i++) {
+            cache.put(i, "value" + i);
+        }
+
+        assertThat(gauge("cache.size", "offheap")).isEqualTo(100);
+        assertThat(meterRegistry.get("cache.evictions").tags("cache", "offheap").functionCounter().count()).isZero();
+        assertThat(meterRegistry.get("cache.tier.size").tags("cache", "offheap", "tier", "OffHeap").gauge().value()).isEqualTo(100);
+        assertThat(meterRegistry.get("cache.tier.occupied").tags("cache", "offheap", "tier", "OffHeap").gauge().value()).isPositive();
+    }
+
+    private Cache<Object, Object> createCache(String name, ResourcePoolsBuilder resourcePools) {
+        return cacheManager.createCache(
+            name,
+            Eh107Configuration.fromEhcacheCacheConfiguration(
+                CacheConfigurationBuilder.newCacheConfigurationBuilder(Object.class, Object.class, resourcePools).build()
+            )
+        );
+    }
+
+    private double gauge(String name, String cacheName) {
+        return meterRegistry.get(name).tags("cache", cacheName).gauge().value();
+    }
+}
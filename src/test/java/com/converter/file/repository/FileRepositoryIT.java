@@ -0,0 +1,119 @@
+package com.converter.file.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.converter.file.IntegrationTest;
+import com.converter.file.domain.File;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for the lookups of {@link File}s by natural id, counting the SQL statements they run.
+ * With the second-level cache of production, which the test profiles disable, and not transactional: the cache is only
+ * filled once transactions commit.
+ */
+@IntegrationTest
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.cache.use_second_level_cache=true")
+class FileRepositoryIT {
+
+    private static final AtomicLong count = new AtomicLong(System.nanoTime());
+
+    @Autowired
+    private FileRepository fileRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+
+    private File file;
+
+    @BeforeEach
+    void setup() {
+        file = fileRepository.save(
+            new File()
+                .fileName("report-" + count.incrementAndGet() + ".csv")
+                .fileType("text/csv")
+                .lastModified(LocalDate.now())
+                .category("reports")
+        );
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @AfterEach
+    void cleanup() {
+        statistics.setStatisticsEnabled(false);
+        fileRepository.deleteById(file.getId());
+    }
+
+    @Test
+    void findByCategoryAndFileNameRunsNoSqlOnceCached() {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictEntityData(File.class);
+        sessionFactory.getCache().evictNaturalIdData(File.class);
+        statistics.clear();
+
+        assertThat(findInTransaction("reports", file.getFileName())).map(File::getId).hasValue(file.getId());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(findInTransaction("reports", file.getFileName())).isPresent();
+        }
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getNaturalIdCacheHitCount()).isEqualTo(3);
+    }
+
+    @Test
+    void findByCategoryAndFileNameFollowsRenames() {
+        String oldName = file.getFileName();
+        file = fileRepository.save(file.fileName("renamed-" + oldName));
+        statistics.clear();
+
+        assertThat(findInTransaction("reports", oldName)).isEmpty();
+        assertThat(findInTransaction("reports", file.getFileName())).isPresent();
+        assertThat(findInTransaction("other-reports", file.getFileName())).isEmpty();
+    }
+
+    @Test
+    void fileNamesAreUniqueInTheirCategory() {
+        File duplicate = new File().fileName(file.getFileName()).fileType("text/plain").lastModified(LocalDate.now()).category("reports");
+
+        assertThatThrownBy(() -> fileRepository.saveAndFlush(duplicate)).isInstanceOf(DataIntegrityViolationException.class);
+
+        File otherCategory = fileRepository.save(duplicate.id(null).category("other-reports"));
+        fileRepository.deleteById(otherCategory.getId());
+    }
+
+    @Test
+    void findByCategoryInAndFileNameInChecksManyNamesInOneQuery() {
+        List<String> fileNames = List.of(file.getFileName(), "missing.csv");
+        statistics.clear();
+
+        assertThat(fileRepository.findByCategoryInAndFileNameIn(List.of("reports", "other-reports"), fileNames))
+            .extracting(FileRepository.FileName::getId, FileRepository.FileName::getCategory, FileRepository.FileName::getFileName)
+            .containsExactly(tuple(file.getId(), "reports", file.getFileName()));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    private Optional<File> findInTransaction(String category, String fileName) {
+        return transactionTemplate.execute(status -> fileRepository.findByCategoryAndFileName(category, fileName));
+    }
+}
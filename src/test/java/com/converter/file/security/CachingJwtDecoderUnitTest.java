@@ -0,0 +1,128 @@
+package com.converter.file.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.converter.file.management.SecurityMetersService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+/**
+ * Test class for the {@link CachingJwtDecoder}, with a delegate decoding tokens named after their subject.
+ */
+class CachingJwtDecoderUnitTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-18T12:00:00Z");
+
+    private final List<String> decodedTokens = new ArrayList<>();
+
+    private final JwtDecoder delegate = token -> {
+        decodedTokens.add(token);
+        if (token.startsWith("invalid")) {
+            throw new BadJwtException("Invalid signature");
+        }
+        return Jwt.withTokenValue(token).header("alg", "HS512").subject(token).issuedAt(NOW).expiresAt(NOW.plusSeconds(60)).build();
+    };
+
+    private MeterRegistry meterRegistry;
+
+    private MutableClock clock;
+
+    private CachingJwtDecoder jwtDecoder;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        clock = new MutableClock(NOW);
+        jwtDecoder = new CachingJwtDecoder(delegate, 32, new SecurityMetersService(meterRegistry), clock);
+    }
+
+    @Test
+    void decodesEachTokenOnce() {
+        Jwt first = jwtDecoder.decode("alice");
+
+        assertThat(jwtDecoder.decode("alice")).isSameAs(first);
+        assertThat(jwtDecoder.decode("bob").getSubject()).isEqualTo("bob");
+        assertThat(decodedTokens).containsExactly("alice", "bob");
+        assertThat(cacheCount("hit")).isEqualTo(1);
+        assertThat(cacheCount("miss")).isEqualTo(2);
+    }
+
+    @Test
+    void decodesTokensAgainOnceExpired() {
+        jwtDecoder.decode("alice");
+
+        clock.advance(Duration.ofSeconds(59));
+        jwtDecoder.decode("alice");
+        clock.advance(Duration.ofSeconds(1));
+        jwtDecoder.decode("alice");
+
+        assertThat(decodedTokens).containsExactly("alice", "alice");
+    }
+
+    @Test
+    void doesNotCacheRejectedTokens() {
+        assertThatThrownBy(() -> jwtDecoder.decode("invalid")).isInstanceOf(BadJwtException.class);
+        assertThatThrownBy(() -> jwtDecoder.decode("invalid")).isInstanceOf(BadJwtException.class);
+
+        assertThat(decodedTokens).containsExactly("invalid", "invalid");
+        assertThat(cacheCount("miss")).isEqualTo(2);
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedTokens() {
+        for (int i = 0; i < 1000; i++) {
+            jwtDecoder.decode("user" + i);
+        }
+        decodedTokens.clear();
+
+        jwtDecoder.decode("user0");
+        jwtDecoder.decode("user999");
+
+        assertThat(decodedTokens).containsExactly("user0");
+    }
+
+    private double cacheCount(String result) {
+        return meterRegistry.get(SecurityMetersService.TOKEN_CACHE_METER_NAME).tag("result", result).counter().count();
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
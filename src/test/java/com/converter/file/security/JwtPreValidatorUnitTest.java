@@ -0,0 +1,90 @@
+package com.converter.file.security;
+
+import static com.converter.file.security.SecurityUtils.JWT_ALGORITHM;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.converter.file.security.JwtPreValidator.Result;
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+
+/**
+ * Test class for the {@link JwtPreValidator}.
+ */
+class JwtPreValidatorUnitTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-18T12:00:00Z");
+
+    private static final SecretKey KEY = key("a".repeat(64));
+
+    private final JwtPreValidator preValidator = new JwtPreValidator(KEY, JWT_ALGORITHM.getName(), Clock.fixed(NOW, ZoneOffset.UTC));
+
+    @Test
+    void leavesValidTokensToTheDecoder() {
+        assertThat(preValidator.validate(token(KEY, JWT_ALGORITHM, NOW.plusSeconds(60)))).isEqualTo(Result.UNDECIDED);
+        // Within the clock skew
+        assertThat(preValidator.validate(token(KEY, JWT_ALGORITHM, NOW.minusSeconds(30)))).isEqualTo(Result.UNDECIDED);
+    }
+
+    @Test
+    void rejectsMalformedTokens() {
+        String token = token(KEY, JWT_ALGORITHM, NOW.plusSeconds(60));
+        String[] parts = token.split("\\.");
+
+        assertThat(preValidator.validate("")).isEqualTo(Result.MALFORMED);
+        assertThat(preValidator.validate("foo")).isEqualTo(Result.MALFORMED);
+        assertThat(preValidator.validate(parts[0] + "." + parts[1])).isEqualTo(Result.MALFORMED);
+        assertThat(preValidator.validate(token + ".")).isEqualTo(Result.MALFORMED);
+        assertThat(preValidator.validate(token.substring(1))).isEqualTo(Result.MALFORMED);
+        assertThat(preValidator.validate(parts[0] + ".." + parts[2])).isEqualTo(Result.MALFORMED);
+        assertThat(preValidator.validate(parts[0] + "." + parts[1] + "." + parts[2] + "=")).isEqualTo(Result.MALFORMED);
+        assertThat(preValidator.validate(base64("{\"typ\":\"JWT\"}") + "." + parts[1] + "." + parts[2])).isEqualTo(Result.MALFORMED);
+    }
+
+    @Test
+    void rejectsOtherAlgorithms() {
+        assertThat(preValidator.validate(token(KEY, MacAlgorithm.HS256, NOW.plusSeconds(60)))).isEqualTo(Result.UNSUPPORTED);
+    }
+
+    @Test
+    void rejectsInvalidSignatures() {
+        String token = token(key("b".repeat(64)), JWT_ALGORITHM, NOW.plusSeconds(60));
+        assertThat(preValidator.validate(token)).isEqualTo(Result.INVALID_SIGNATURE);
+
+        // The claims of another token, as expired as they are
+        String[] parts = token(KEY, JWT_ALGORITHM, NOW.plusSeconds(60)).split("\\.");
+        String[] expired = token(KEY, JWT_ALGORITHM, NOW.minusSeconds(600)).split("\\.");
+        assertThat(preValidator.validate(parts[0] + "." + expired[1] + "." + parts[2])).isEqualTo(Result.INVALID_SIGNATURE);
+    }
+
+    @Test
+    void rejectsExpiredTokens() {
+        assertThat(preValidator.validate(token(KEY, JWT_ALGORITHM, NOW.minusSeconds(600)))).isEqualTo(Result.EXPIRED);
+    }
+
+    private static String token(SecretKey key, MacAlgorithm algorithm, Instant expiresAt) {
+        JwtClaimsSet claims = JwtClaimsSet.builder().issuedAt(expiresAt.minusSeconds(3600)).expiresAt(expiresAt).subject("user").build();
+        return new NimbusJwtEncoder(new ImmutableSecret<>(key))
+            .encode(JwtEncoderParameters.from(JwsHeader.with(algorithm).build(), claims))
+            .getTokenValue();
+    }
+
+    private static SecretKey key(String secret) {
+        return new SecretKeySpec(secret.getBytes(StandardCharsets.US_ASCII), JWT_ALGORITHM.getName());
+    }
+
+    private static String base64(String json) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
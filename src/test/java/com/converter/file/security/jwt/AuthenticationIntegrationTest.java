@@ -1,5 +1,6 @@
 package com.converter.file.security.jwt;
 
+import com.converter.file.config.ApplicationProperties;
 import com.converter.file.config.SecurityConfiguration;
 import com.converter.file.config.SecurityJwtConfiguration;
 import com.converter.file.config.WebConfigurer;
@@ -21,6 +22,7 @@ import tech.jhipster.config.JHipsterProperties;
     },
     classes = {
         JHipsterProperties.class,
+        ApplicationProperties.class,
         WebConfigurer.class,
         SecurityConfiguration.class,
         SecurityJwtConfiguration.class,
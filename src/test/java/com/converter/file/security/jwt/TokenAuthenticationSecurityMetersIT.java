@@ -20,6 +20,8 @@ class TokenAuthenticationSecurityMetersIT {
 
     private static final String INVALID_TOKENS_METER_EXPECTED_NAME = "security.authentication.invalid-tokens";
 
+    private static final String TOKEN_CACHE_METER_EXPECTED_NAME = "security.authentication.token-cache";
+
     @Autowired
     private MockMvc mvc;
 
@@ -40,6 +42,19 @@ class TokenAuthenticationSecurityMetersIT {
         assertThat(aggregate(counters)).isEqualTo(count);
     }
 
+    @Test
+    void testReusedTokenCountsCacheHit() throws Exception {
+        var hits = meterRegistry.get(TOKEN_CACHE_METER_EXPECTED_NAME).tag("result", "hit").counter().count();
+        var misses = meterRegistry.get(TOKEN_CACHE_METER_EXPECTED_NAME).tag("result", "miss").counter().count();
+        String token = createValidTokenForUser(jwtKey, "cached");
+
+        tryToAuthenticate(token);
+        tryToAuthenticate(token);
+
+        assertThat(meterRegistry.get(TOKEN_CACHE_METER_EXPECTED_NAME).tag("result", "hit").counter().count()).isEqualTo(hits + 1);
+        assertThat(meterRegistry.get(TOKEN_CACHE_METER_EXPECTED_NAME).tag("result", "miss").counter().count()).isEqualTo(misses + 1);
+    }
+
     @Test
     void testTokenExpiredCount() throws Exception {
         var count = meterRegistry.get(INVALID_TOKENS_METER_EXPECTED_NAME).tag("cause", "expired").counter().count();
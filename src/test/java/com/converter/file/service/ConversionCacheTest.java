@@ -0,0 +1,147 @@
+package com.converter.file.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.converter.file.config.ApplicationProperties;
+import com.converter.file.service.converter.FileConverter;
+import com.converter.file.service.converter.GzipFileConverter;
+import com.converter.file.service.converter.XmlToJsonFileConverter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ConversionCacheTest {
+
+    private static final String HASH = "a".repeat(64);
+
+    @TempDir
+    private Path directory;
+
+    private ApplicationProperties applicationProperties;
+
+    private MeterRegistry meterRegistry;
+
+    private ConversionCache cache;
+
+    @BeforeEach
+    void init() throws IOException {
+        applicationProperties = new ApplicationProperties();
+        applicationProperties.getConversion().setDirectory(directory.toString());
+        applicationProperties.getConversion().getCache().setMaxSizeMb(1);
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new ConversionCache(applicationProperties, meterRegistry);
+    }
+
+    @Test
+    void keyDependsOnTheContentTheTargetTypeAndTheConverter() {
+        FileConverter converter = new VersionedConverter("1");
+        String key = ConversionCache.key(HASH, GzipFileConverter.TARGET_TYPE, converter);
+
+        assertThat(key).hasSize(64).isEqualTo(ConversionCache.key(HASH, " APPLICATION/GZIP ", new VersionedConverter("1")));
+        assertThat(ConversionCache.key("b".repeat(64), GzipFileConverter.TARGET_TYPE, converter)).isNotEqualTo(key);
+        assertThat(ConversionCache.key(HASH, "application/x-other", converter)).isNotEqualTo(key);
+        assertThat(ConversionCache.key(HASH, GzipFileConverter.TARGET_TYPE, new GzipFileConverter())).isNotEqualTo(key);
+        assertThat(ConversionCache.key(HASH, GzipFileConverter.TARGET_TYPE, new VersionedConverter("2"))).isNotEqualTo(key);
+    }
+
+    @Test
+    void keyDependsOnTheConfigurationOfTheConverter() {
+        String key = ConversionCache.key(HASH, XmlToJsonFileConverter.TARGET_TYPE, new XmlToJsonFileConverter(applicationProperties));
+        applicationProperties.getConversion().getXml().setRecordPath("/feed/entry");
+
+        assertThat(
+            ConversionCache.key(HASH, XmlToJsonFileConverter.TARGET_TYPE, new XmlToJsonFileConverter(applicationProperties))
+        ).isNotEqualTo(key);
+    }
+
+    @Test
+    void getReturnsTheOutputPut() throws IOException {
+        Path output = write("1.gz", 1000);
+        Path copy = directory.resolve("converted").resolve("2.gz");
+
+        assertThat(cache.get("1".repeat(64), copy)).isFalse();
+        cache.put("1".repeat(64), output);
+        Files.delete(output);
+
+        assertThat(cache.get("1".repeat(64), copy)).isTrue();
+        assertThat(Files.readAllBytes(copy)).hasSize(1000);
+        assertThat(meterRegistry.get(ConversionCache.REQUESTS_METER_NAME).tag("result", "hit").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(ConversionCache.REQUESTS_METER_NAME).tag("result", "miss").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(ConversionCache.BYTES_SAVED_METER_NAME).counter().count()).isEqualTo(1000);
+        assertThat(meterRegistry.get(ConversionCache.HIT_RATIO_METER_NAME).gauge().value()).isEqualTo(0.5);
+    }
+
+    @Test
+    void putEvictsTheLeastRecentlyUsedOutputs() throws IOException {
+        cache.put("1".repeat(64), write("1", 400 * 1024));
+        cache.put("2".repeat(64), write("2", 400 * 1024));
+        // Using the first makes the second the least recently used
+        assertThat(cache.get("1".repeat(64), directory.resolve("copy"))).isTrue();
+
+        cache.put("3".repeat(64), write("3", 400 * 1024));
+
+        assertThat(cache.get("2".repeat(64), directory.resolve("copy"))).isFalse();
+        assertThat(cache.get("1".repeat(64), directory.resolve("copy"))).isTrue();
+        assertThat(cache.get("3".repeat(64), directory.resolve("copy"))).isTrue();
+        assertThat(Files.exists(directory.resolve("cache").resolve("2".repeat(64)))).isFalse();
+        assertThat(meterRegistry.get(ConversionCache.ENTRIES_METER_NAME).gauge().value()).isEqualTo(2);
+        assertThat(meterRegistry.get(ConversionCache.SIZE_METER_NAME).gauge().value()).isEqualTo(800 * 1024);
+        // Evicting never removes an output
+        assertThat(Files.size(directory.resolve("2"))).isEqualTo(400 * 1024);
+    }
+
+    @Test
+    void theCacheIsReloadedLeastRecentlyUsedFirst() throws IOException {
+        cache.put("1".repeat(64), write("1", 400 * 1024));
+        cache.put("2".repeat(64), write("2", 400 * 1024));
+        Path cached = directory.resolve("cache");
+        Files.setLastModifiedTime(cached.resolve("2".repeat(64)), FileTime.from(Instant.now().minusSeconds(60)));
+        Files.writeString(cached.resolve("3".repeat(64) + ".0.part"), "partial");
+
+        ConversionCache reloaded = new ConversionCache(applicationProperties, new SimpleMeterRegistry());
+        reloaded.put("3".repeat(64), write("3", 400 * 1024));
+
+        assertThat(reloaded.get("2".repeat(64), directory.resolve("copy"))).isFalse();
+        assertThat(reloaded.get("1".repeat(64), directory.resolve("copy"))).isTrue();
+        assertThat(Files.exists(cached.resolve("3".repeat(64) + ".0.part"))).isFalse();
+    }
+
+    @Test
+    void aDisabledCacheKeepsNothing() throws IOException {
+        applicationProperties.getConversion().getCache().setEnabled(false);
+        ConversionCache disabled = new ConversionCache(applicationProperties, new SimpleMeterRegistry());
+
+        disabled.put("1".repeat(64), write("1", 1000));
+
+        assertThat(disabled.get("1".repeat(64), directory.resolve("copy"))).isFalse();
+        assertThat(directory.resolve("cache").resolve("1".repeat(64))).doesNotExist();
+    }
+
+    private Path write(String name, int size) throws IOException {
+        return Files.write(directory.resolve(name), new byte[size]);
+    }
+
+    private record VersionedConverter(String getVersion) implements FileConverter {
+        @Override
+        public String getSourceType() {
+            return "text/plain";
+        }
+
+        @Override
+        public String getTargetType() {
+            return GzipFileConverter.TARGET_TYPE;
+        }
+
+        @Override
+        public void convert(ReadableByteChannel source, WritableByteChannel target) {}
+    }
+}
@@ -0,0 +1,239 @@
+package com.converter.file.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.converter.file.IntegrationTest;
+import com.converter.file.config.ApplicationProperties;
+import com.converter.file.domain.ConversionJob;
+import com.converter.file.domain.File;
+import com.converter.file.domain.enumeration.ConversionJobStatus;
+import com.converter.file.repository.ConversionJobRepository;
+import com.converter.file.repository.FileRepository;
+import com.converter.file.service.converter.GzipFileConverter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.SyncTaskExecutor;
+
+/**
+ * Integration tests for {@link ConversionJobService} and {@link ConversionJobWorker}.
+ * <p>
+ * Not transactional: claims must be committed to be seen by the other claimers.
+ */
+@IntegrationTest
+class ConversionJobServiceIT {
+
+    private static final String TARGET_TYPE = GzipFileConverter.TARGET_TYPE;
+
+    @Autowired
+    private ConversionJobService conversionJobService;
+
+    @Autowired
+    private FileConversionService fileConversionService;
+
+    @Autowired
+    private ImageVariantService imageVariantService;
+
+    @Autowired
+    private ConversionJobRepository conversionJobRepository;
+
+    @Autowired
+    private FileRepository fileRepository;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    private final List<File> files = new ArrayList<>();
+
+    private File file;
+
+    @BeforeEach
+    void init() {
+        file = createFile(null);
+    }
+
+    @AfterEach
+    void cleanup() {
+        conversionJobRepository.deleteAll();
+        fileRepository.deleteAll(files);
+    }
+
+    private File createFile(String s3Url) {
+        File created = fileRepository.saveAndFlush(
+            new File()
+                .fileName("job-" + files.size() + ".csv")
+                .fileType("text/csv")
+                .lastModified(LocalDate.now())
+                .s3Url(s3Url)
+                .category("jobs")
+        );
+        files.add(created);
+        return created;
+    }
+
+    @Test
+    void enqueueUnsupportedConversion() {
+        assertThatThrownBy(() -> conversionJobService.enqueue(file.getId(), "application/x-unsupported")).isInstanceOf(
+            UnsupportedConversionException.class
+        );
+        assertThat(conversionJobService.enqueue(Long.MAX_VALUE, TARGET_TYPE)).isEmpty();
+        assertThat(conversionJobRepository.count()).isZero();
+    }
+
+    @Test
+    void claimLeasesJobsOnce() {
+        ConversionJob job = conversionJobService.enqueue(file.getId(), TARGET_TYPE).orElseThrow();
+
+        List<ConversionJob> claimed = conversionJobService.claim("node-1", 10);
+        assertThat(claimed).extracting(ConversionJob::getId).containsExactly(job.getId());
+        ConversionJob claimedJob = claimed.get(0);
+        assertThat(claimedJob.getStatus()).isEqualTo(ConversionJobStatus.RUNNING);
+        assertThat(claimedJob.getLeaseOwner()).isEqualTo("node-1");
+        assertThat(claimedJob.getLeaseToken()).isNotNull();
+        assertThat(claimedJob.getLeaseExpiresAt()).isAfter(Instant.now());
+        assertThat(claimedJob.getAttempts()).isEqualTo(1);
+
+        assertThat(conversionJobService.claim("node-2", 10)).isEmpty();
+    }
+
+    @Test
+    void concurrentClaimsNeverShareJobs() throws Exception {
+        int jobCount = 40;
+        IntStream.range(0, jobCount).forEach(i -> conversionJobService.enqueue(file.getId(), TARGET_TYPE));
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Callable<List<ConversionJob>>> claimers = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                String owner = "node-" + i;
+                claimers.add(() -> {
+                    List<ConversionJob> claimed = new ArrayList<>();
+                    List<ConversionJob> batch;
+                    while (!(batch = conversionJobService.claim(owner, 3)).isEmpty()) {
+                        claimed.addAll(batch);
+                    }
+                    return claimed;
+                });
+            }
+            List<Long> claimedIds = new ArrayList<>();
+            for (Future<List<ConversionJob>> claimed : executor.invokeAll(claimers)) {
+                claimed.get().forEach(job -> claimedIds.add(job.getId()));
+            }
+            assertThat(claimedIds).hasSize(jobCount).doesNotHaveDuplicates();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void expiredLeaseIsTakenOver() {
+        conversionJobService.enqueue(file.getId(), TARGET_TYPE);
+        ConversionJob staleJob = conversionJobService.claim("node-1", 1).get(0);
+        conversionJobRepository.saveAndFlush(
+            conversionJobRepository.findById(staleJob.getId()).orElseThrow().leaseExpiresAt(Instant.now().minusSeconds(1))
+        );
+
+        ConversionJob takenOverJob = conversionJobService.claim("node-2", 1).get(0);
+        assertThat(takenOverJob.getId()).isEqualTo(staleJob.getId());
+        assertThat(takenOverJob.getLeaseToken()).isNotEqualTo(staleJob.getLeaseToken());
+        assertThat(takenOverJob.getAttempts()).isEqualTo(2);
+
+        // The previous owner is fenced off by its stale token
+        assertThat(conversionJobService.renewLeases(List.of(staleJob.getLeaseToken()))).isZero();
+        assertThat(conversionJobService.complete(staleJob)).isFalse();
+        assertThat(conversionJobService.complete(takenOverJob)).isTrue();
+
+        ConversionJob completedJob = conversionJobRepository.findById(staleJob.getId()).orElseThrow();
+        assertThat(completedJob.getStatus()).isEqualTo(ConversionJobStatus.SUCCEEDED);
+        assertThat(completedJob.getLeaseToken()).isNull();
+        assertThat(completedJob.getCompletedDate()).isNotNull();
+    }
+
+    @Test
+    void failedJobIsRetriedWithBackoffThenDeadLettered() {
+        ConversionJob job = conversionJobService.enqueue(file.getId(), TARGET_TYPE).orElseThrow();
+        int maxAttempts = applicationProperties.getConversion().getQueue().getMaxAttempts();
+
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            ConversionJob claimedJob = conversionJobService.claim("node-1", 1).get(0);
+            assertThat(claimedJob.getAttempts()).isEqualTo(attempt);
+            assertThat(conversionJobService.fail(claimedJob, "boom", true)).isTrue();
+
+            ConversionJob failedJob = conversionJobRepository.findById(job.getId()).orElseThrow();
+            assertThat(failedJob.getLastError()).isEqualTo("boom");
+            if (attempt < maxAttempts) {
+                assertThat(failedJob.getStatus()).isEqualTo(ConversionJobStatus.PENDING);
+                assertThat(failedJob.getNextAttemptAt()).isAfter(Instant.now());
+                assertThat(conversionJobService.claim("node-1", 1)).isEmpty();
+                conversionJobRepository.saveAndFlush(failedJob.nextAttemptAt(Instant.now().minusSeconds(1)));
+            } else {
+                assertThat(failedJob.getStatus()).isEqualTo(ConversionJobStatus.DEAD);
+            }
+        }
+        assertThat(conversionJobService.claim("node-1", 1)).isEmpty();
+    }
+
+    @Test
+    void permanentFailureIsDeadLettered() {
+        ConversionJob job = conversionJobService.enqueue(file.getId(), TARGET_TYPE).orElseThrow();
+
+        ConversionJob claimedJob = conversionJobService.claim("node-1", 1).get(0);
+        conversionJobService.fail(claimedJob, "unsupported", false);
+
+        assertThat(conversionJobRepository.findById(job.getId()).orElseThrow().getStatus()).isEqualTo(ConversionJobStatus.DEAD);
+    }
+
+    @Test
+    void backoffDoublesUpToItsMaximum() {
+        Duration initial = Duration.ofSeconds(10);
+        Duration max = Duration.ofMinutes(1);
+
+        assertThat(ConversionJobService.backoff(1, initial, max)).isEqualTo(Duration.ofSeconds(10));
+        assertThat(ConversionJobService.backoff(2, initial, max)).isEqualTo(Duration.ofSeconds(20));
+        assertThat(ConversionJobService.backoff(3, initial, max)).isEqualTo(Duration.ofSeconds(40));
+        assertThat(ConversionJobService.backoff(4, initial, max)).isEqualTo(max);
+        assertThat(ConversionJobService.backoff(100, initial, max)).isEqualTo(max);
+    }
+
+    @Test
+    void workerRunsClaimedJobs() throws Exception {
+        Path directory = Path.of(applicationProperties.getConversion().getDirectory());
+        Files.createDirectories(directory);
+        Path source = Files.createTempFile(directory, "job", ".csv");
+        Files.write(source, "a;b;c\n".getBytes(StandardCharsets.UTF_8));
+        File fileWithContent = createFile(source.getFileName().toString());
+        ConversionJob job = conversionJobService.enqueue(fileWithContent.getId(), TARGET_TYPE).orElseThrow();
+        ConversionJob jobWithoutContent = conversionJobService.enqueue(file.getId(), TARGET_TYPE).orElseThrow();
+
+        // The scheduled worker is disabled in tests, this one runs the jobs synchronously
+        ConversionJobWorker worker = new ConversionJobWorker(
+            conversionJobService,
+            fileConversionService,
+            imageVariantService,
+            new SyncTaskExecutor(),
+            new ApplicationProperties()
+        );
+        worker.poll();
+
+        assertThat(conversionJobRepository.findById(job.getId()).orElseThrow().getStatus()).isEqualTo(ConversionJobStatus.SUCCEEDED);
+        assertThat(fileRepository.findById(fileWithContent.getId()).orElseThrow().getConverted()).isTrue();
+        ConversionJob deadJob = conversionJobRepository.findById(jobWithoutContent.getId()).orElseThrow();
+        assertThat(deadJob.getStatus()).isEqualTo(ConversionJobStatus.DEAD);
+        assertThat(deadJob.getLastError()).isNotBlank();
+    }
+}
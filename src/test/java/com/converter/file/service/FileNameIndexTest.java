@@ -0,0 +1,87 @@
+package com.converter.file.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class FileNameIndexTest {
+
+    private FileNameIndex index;
+
+    @BeforeEach
+    void init() {
+        index = new FileNameIndex();
+        index.put(1L, "Annual report 2025.pdf", "finance");
+        index.put(2L, "report.csv", "finance");
+        index.put(3L, "Report", "sales");
+        index.put(4L, "misreported.txt", "archive");
+        index.put(5L, "invoice.xml", "reports");
+    }
+
+    @Test
+    void searchRanksNameMatchesThenCategoryMatches() {
+        // Exact name, prefix, word, substring, category
+        assertThat(index.search("REPORT", 10)).containsExactly(3L, 2L, 1L, 4L, 5L);
+        assertThat(index.search(" report ", 2)).containsExactly(3L, 2L);
+        assertThat(index.search("finance", 10)).containsExactly(1L, 2L);
+        assertThat(index.search("unknown", 10)).isEmpty();
+    }
+
+    @Test
+    void searchKeepsTheBestOfManyHits() {
+        for (long id = 100; id < 1100; id++) {
+            index.put(id, "profile-" + "x".repeat((int) (id % 50)), "tmp");
+            index.put(id + 1000, "file-" + "x".repeat((int) (id % 50)), "tmp");
+        }
+
+        // Prefixes before substrings, then the shortest names, then the oldest files
+        assertThat(index.search("file", 3)).containsExactly(1100L, 1150L, 1200L);
+        assertThat(index.search("file", 2000)).hasSize(2000).endsWith(1049L, 1099L);
+    }
+
+    @Test
+    void searchChecksTheWholeQuery() {
+        // All the trigrams of "repx" but "epx" are in "report"
+        assertThat(index.search("repx", 10)).isEmpty();
+        assertThat(index.search("rt 2025", 10)).containsExactly(1L);
+    }
+
+    @Test
+    void searchRejectsShortQueries() {
+        assertThatThrownBy(() -> index.search(" re ", 10)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void putReplacesAndRemoveDeletes() {
+        index.put(3L, "Summary", "sales");
+        index.put(2L, "report.csv", "finance");
+        assertThat(index.remove(1L)).isTrue();
+        assertThat(index.remove(1L)).isFalse();
+
+        assertThat(index.search("report", 10)).containsExactly(2L, 4L, 5L);
+        assertThat(index.search("summary", 10)).containsExactly(3L);
+        assertThat(index.size()).isEqualTo(4);
+    }
+
+    @Test
+    void compactKeepsTheIndexedFiles() {
+        for (long id = 10; id < 3000; id++) {
+            index.put(id, "renamed " + id, "tmp");
+            index.put(id, "file " + id, "tmp");
+        }
+        for (long id = 10; id < 2000; id++) {
+            index.remove(id);
+        }
+        assertThat(index.needsCompaction()).isTrue();
+
+        FileNameIndex compacted = index.compact();
+
+        assertThat(compacted.needsCompaction()).isFalse();
+        assertThat(compacted.size()).isEqualTo(index.size()).isEqualTo(1005);
+        assertThat(compacted.search("REPORT", 10)).containsExactly(3L, 2L, 1L, 4L, 5L);
+        assertThat(compacted.search("file 2999", 10)).containsExactly(2999L);
+        assertThat(compacted.search("renamed", 10)).isEmpty();
+    }
+}
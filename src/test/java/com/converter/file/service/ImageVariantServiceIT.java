@@ -0,0 +1,207 @@
+package com.converter.file.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.converter.file.IntegrationTest;
+import com.converter.file.config.ApplicationProperties;
+import com.converter.file.domain.ConversionJob;
+import com.converter.file.domain.File;
+import com.converter.file.domain.FileVariant;
+import com.converter.file.repository.ConversionJobRepository;
+import com.converter.file.repository.FileRepository;
+import com.converter.file.repository.FileVariantRepository;
+import com.converter.file.storage.BlobStore;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Integration tests for the {@link ImageVariantService}, with the default variants: thumbnail, preview and web, of at
+ * most 160, 640 and 1600 pixels.
+ */
+@IntegrationTest
+class ImageVariantServiceIT {
+
+    @Autowired
+    private ImageVariantService imageVariantService;
+
+    @Autowired
+    private ConversionJobService conversionJobService;
+
+    @Autowired
+    private FileContentService fileContentService;
+
+    @Autowired
+    private FileConversionService fileConversionService;
+
+    @Autowired
+    private FileRepository fileRepository;
+
+    @Autowired
+    private FileVariantRepository fileVariantRepository;
+
+    @Autowired
+    private ConversionJobRepository conversionJobRepository;
+
+    @Autowired
+    private BlobStore blobStore;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<File> files = new ArrayList<>();
+
+    @AfterEach
+    void cleanup() {
+        // The variants are deleted with their file
+        conversionJobRepository.deleteAll();
+        fileRepository.deleteAll(files);
+    }
+
+    @Test
+    void createsTheVariantsOfAJpeg() throws IOException {
+        File file = createFile("image/jpeg", image(3200, 1800, BufferedImage.TYPE_INT_RGB), "jpeg");
+
+        List<FileVariant> variants = imageVariantService.createVariants(file.getId()).orElseThrow();
+
+        assertThat(variants)
+            .extracting(FileVariant::getName, FileVariant::getWidth, FileVariant::getHeight, FileVariant::getFileType)
+            .containsExactly(
+                tuple("thumbnail", 160, 90, "image/jpeg"),
+                tuple("preview", 640, 360, "image/jpeg"),
+                tuple("web", 1600, 900, "image/jpeg")
+            );
+        for (FileVariant variant : variants) {
+            BufferedImage content = read(variant);
+            assertThat(content.getWidth()).isEqualTo(variant.getWidth());
+            assertThat(content.getHeight()).isEqualTo(variant.getHeight());
+            // The left half is red, the right half blue
+            assertThat(new Color(content.getRGB(variant.getWidth() / 4, variant.getHeight() / 2)).getRed()).isGreaterThan(200);
+            assertThat(new Color(content.getRGB(3 * variant.getWidth() / 4, variant.getHeight() / 2)).getBlue()).isGreaterThan(200);
+        }
+    }
+
+    @Test
+    void keepsTheTransparencyOfPngsWithoutEnlargingThem() throws IOException {
+        File file = createFile("image/png", image(300, 400, BufferedImage.TYPE_INT_ARGB), "png");
+        imageVariantService.createVariants(file.getId()).orElseThrow();
+
+        List<FileVariant> variants = imageVariantService.createVariants(file.getId()).orElseThrow();
+
+        assertThat(variants).extracting(FileVariant::getWidth).containsExactly(120, 300, 300);
+        assertThat(fileVariantRepository.findAllByFileIdOrderByWidthAsc(file.getId())).hasSize(3);
+        BufferedImage thumbnail = read(variants.get(0));
+        assertThat(thumbnail.getColorModel().hasAlpha()).isTrue();
+        assertThat(new Color(thumbnail.getRGB(0, 0), true).getAlpha()).isZero();
+    }
+
+    @Test
+    void onlyImagesHaveVariants() throws IOException {
+        File text = createFile("text/plain", "not an image".getBytes(StandardCharsets.UTF_8));
+        File corrupt = createFile("image/png", "not a png".getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> imageVariantService.createVariants(text.getId())).isInstanceOf(UnsupportedConversionException.class);
+        assertThatThrownBy(() -> conversionJobService.enqueue(text.getId(), ImageVariantService.TARGET_TYPE)).isInstanceOf(
+            UnsupportedConversionException.class
+        );
+        assertThatThrownBy(() -> imageVariantService.createVariants(corrupt.getId())).isInstanceOf(UnsupportedConversionException.class);
+        assertThat(conversionJobService.enqueue(corrupt.getId(), ImageVariantService.TARGET_TYPE)).isPresent();
+        assertThat(imageVariantService.createVariants(Long.MAX_VALUE)).isEmpty();
+    }
+
+    @Test
+    void newContentReplacesTheVariants() throws IOException {
+        File file = createFile("image/png", image(300, 400, BufferedImage.TYPE_INT_ARGB), "png");
+        imageVariantService.createVariants(file.getId()).orElseThrow();
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        ImageIO.write(image(800, 200, BufferedImage.TYPE_INT_ARGB), "png", content);
+
+        fileContentService.store(file.getId(), new ByteArrayInputStream(content.toByteArray())).orElseThrow();
+
+        assertThat(fileVariantRepository.findAllByFileIdOrderByWidthAsc(file.getId())).isEmpty();
+        assertThat(conversionJobRepository.findAll())
+            .filteredOn(job -> job.getFile().getId().equals(file.getId()))
+            .extracting(ConversionJob::getTargetType)
+            .containsExactly(ImageVariantService.TARGET_TYPE);
+        assertThat(imageVariantService.createVariants(file.getId()).orElseThrow())
+            .extracting(FileVariant::getWidth)
+            .containsExactly(160, 640, 800);
+    }
+
+    @Test
+    void variantsLargerThanTheDecodeBudgetAreRejected() throws IOException {
+        File file = createFile("image/png", image(300, 400, BufferedImage.TYPE_INT_ARGB), "png");
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        // The default variants take about 24 MB to resize
+        applicationProperties.getConversion().getImage().setDecodeBudgetMb(16);
+        ImageVariantService smallBudget = new ImageVariantService(
+            fileRepository,
+            fileVariantRepository,
+            fileConversionService,
+            conversionJobService,
+            blobStore,
+            transactionManager,
+            applicationProperties
+        );
+
+        assertThatThrownBy(() -> smallBudget.createVariants(file.getId()))
+            .isInstanceOf(UnsupportedConversionException.class)
+            .hasMessageContaining("decode budget");
+        assertThat(fileVariantRepository.findAllByFileIdOrderByWidthAsc(file.getId())).isEmpty();
+    }
+
+    /**
+     * @return an image whose left half is red and right half blue, with a transparent border if it has alpha.
+     */
+    private static BufferedImage image(int width, int height, int type) {
+        BufferedImage image = new BufferedImage(width, height, type);
+        Graphics2D graphics = image.createGraphics();
+        int border = image.getColorModel().hasAlpha() ? width / 10 : 0;
+        graphics.setColor(Color.RED);
+        graphics.fillRect(border, border, width / 2 - border, height - 2 * border);
+        graphics.setColor(Color.BLUE);
+        graphics.fillRect(width / 2, border, width / 2 - border, height - 2 * border);
+        graphics.dispose();
+        return image;
+    }
+
+    private File createFile(String fileType, BufferedImage image, String format) throws IOException {
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        ImageIO.write(image, format, content);
+        return createFile(fileType, content.toByteArray());
+    }
+
+    private File createFile(String fileType, byte[] content) throws IOException {
+        File file = fileRepository.saveAndFlush(
+            new File()
+                .fileName("image-" + System.nanoTime())
+                .fileType(fileType)
+                .lastModified(LocalDate.now())
+                .category("images")
+                .contentHash(blobStore.put(new ByteArrayInputStream(content)).digest())
+        );
+        files.add(file);
+        return file;
+    }
+
+    private BufferedImage read(FileVariant variant) throws IOException {
+        try (InputStream content = blobStore.open(variant.getContentHash())) {
+            return ImageIO.read(content);
+        }
+    }
+}
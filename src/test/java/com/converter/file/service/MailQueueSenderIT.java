@@ -0,0 +1,145 @@
+package com.converter.file.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.converter.file.IntegrationTest;
+import com.converter.file.config.ApplicationProperties;
+import com.converter.file.domain.MailMessage;
+import com.converter.file.domain.enumeration.MailMessageStatus;
+import com.converter.file.repository.MailMessageRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Integration tests for the {@link MailQueueSender}, sending to a {@link SmtpServerStub}.
+ */
+@IntegrationTest
+class MailQueueSenderIT {
+
+    @Autowired
+    private MailQueueService mailQueueService;
+
+    @Autowired
+    private MailMessageRepository mailMessageRepository;
+
+    @Autowired
+    private JHipsterProperties jHipsterProperties;
+
+    private SmtpServerStub smtpServer;
+
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void init() throws IOException {
+        mailMessageRepository.deleteAll();
+        smtpServer = new SmtpServerStub();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void cleanup() throws IOException {
+        smtpServer.close();
+        mailMessageRepository.deleteAll();
+    }
+
+    @Test
+    void sendsABatchThroughOneConnectionPerDomain() {
+        enqueue("alice@example.com", "bob@example.com", "carol@example.org");
+
+        sender(60).poll();
+
+        assertThat(smtpServer.getReceived())
+            .extracting(SmtpServerStub.Received::recipients)
+            .containsExactlyInAnyOrder(List.of("alice@example.com"), List.of("bob@example.com"), List.of("carol@example.org"));
+        assertThat(smtpServer.getReceived().get(0).data()).contains("Subject: Hello").contains("Content for");
+        assertThat(smtpServer.getConnections()).isEqualTo(2);
+        assertThat(mailMessageRepository.count()).isZero();
+        assertThat(meterRegistry.get(MailQueueSender.MESSAGES_METER_NAME).tag("result", "sent").counter().count()).isEqualTo(3);
+        assertThat(meterRegistry.get(MailQueueSender.LATENCY_METER_NAME).timer().count()).isEqualTo(3);
+    }
+
+    @Test
+    void retriesTransientFailuresAndDeadLettersRejectedRecipients() {
+        smtpServer.reply("busy@example.com", "451 4.3.0 Try again later");
+        smtpServer.reply("unknown@example.com", "550 5.1.1 No such user");
+        enqueue("busy@example.com", "unknown@example.com", "alice@example.com");
+
+        sender(60).poll();
+
+        assertThat(smtpServer.getReceived())
+            .extracting(SmtpServerStub.Received::recipients)
+            .containsExactly(List.of("alice@example.com"));
+        assertThat(smtpServer.getConnections()).isEqualTo(1);
+        assertThat(mailMessageRepository.findAll())
+            .extracting(MailMessage::getRecipient, MailMessage::getStatus, MailMessage::getAttempts)
+            .containsExactlyInAnyOrder(
+                tuple("busy@example.com", MailMessageStatus.PENDING, 1),
+                tuple("unknown@example.com", MailMessageStatus.DEAD, 1)
+            );
+        assertThat(mailMessageRepository.findAll()).allSatisfy(message -> assertThat(message.getLastError()).isNotBlank());
+        assertThat(mailQueueService.countQueued()).isEqualTo(1);
+    }
+
+    @Test
+    void retriesWhenTheServerCannotBeReached() throws IOException {
+        enqueue("alice@example.com");
+        smtpServer.close();
+
+        sender(60).poll();
+
+        MailMessage message = mailMessageRepository.findAll().get(0);
+        assertThat(message.getStatus()).isEqualTo(MailMessageStatus.PENDING);
+        assertThat(message.getAttempts()).isEqualTo(1);
+        assertThat(message.getNextAttemptAt()).isAfter(Instant.now());
+    }
+
+    @Test
+    void defersTheMailsOverTheRateOfTheirDomain() {
+        enqueue("alice@example.com", "bob@example.com", "carol@example.com", "dave@example.org");
+        MailQueueSender sender = sender(2);
+
+        sender.poll();
+        sender.poll();
+
+        assertThat(smtpServer.getReceived()).hasSize(3);
+        MailMessage deferred = mailMessageRepository.findAll().get(0);
+        assertThat(deferred.getRecipient()).isEqualTo("carol@example.com");
+        assertThat(deferred.getStatus()).isEqualTo(MailMessageStatus.PENDING);
+        assertThat(deferred.getAttempts()).isZero();
+        // 2 mails a minute, one every 30 seconds
+        assertThat(deferred.getNextAttemptAt()).isBetween(Instant.now().plusSeconds(20), Instant.now().plusSeconds(31));
+    }
+
+    private void enqueue(String... recipients) {
+        for (String recipient : recipients) {
+            mailQueueService.enqueue(recipient, "Hello", "Content for " + recipient, false, false);
+        }
+    }
+
+    private MailQueueSender sender(int domainRate) {
+        JavaMailSenderImpl javaMailSender = new JavaMailSenderImpl();
+        javaMailSender.setHost(smtpServer.getHost());
+        javaMailSender.setPort(smtpServer.getPort());
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getMail().getQueue().setDomainRate(domainRate);
+        return new MailQueueSender(
+            mailQueueService,
+            javaMailSender,
+            jHipsterProperties,
+            new SyncTaskExecutor(),
+            meterRegistry,
+            applicationProperties
+        );
+    }
+}
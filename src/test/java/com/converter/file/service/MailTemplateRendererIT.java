@@ -0,0 +1,83 @@
+package com.converter.file.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.converter.file.IntegrationTest;
+import com.converter.file.config.Constants;
+import com.converter.file.domain.User;
+import java.util.Locale;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Integration tests for the {@link MailTemplateRenderer}, which must render exactly what the template engine renders.
+ */
+@IntegrationTest
+class MailTemplateRendererIT {
+
+    private static final Locale LOCALE = Locale.forLanguageTag(Constants.DEFAULT_LANGUAGE);
+
+    @Autowired
+    private MailTemplateRenderer mailTemplateRenderer;
+
+    @Autowired
+    private SpringTemplateEngine templateEngine;
+
+    @Autowired
+    private JHipsterProperties jHipsterProperties;
+
+    @ParameterizedTest
+    @ValueSource(strings = { "mail/activationEmail", "mail/creationEmail", "mail/passwordResetEmail", "mail/testEmail" })
+    void rendersWhatTheTemplateEngineRenders(String templateName) {
+        for (String login : new String[] { "john", "john.doe@example.com", "o'brien", "<b>john</b>", "no" }) {
+            User user = user(login, true);
+
+            assertThat(mailTemplateRenderer.render(templateName, LOCALE, user)).isEqualTo(process(templateName, user));
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = { true, false })
+    void rendersTemplatesTestingOrTransformingTheUserWithTheTemplateEngine(boolean activated) {
+        User user = user("john", activated);
+
+        String rendered = mailTemplateRenderer.render("mail/conditionalEmail", LOCALE, user);
+
+        assertThat(rendered).isEqualTo(process("mail/conditionalEmail", user)).contains("JOHN");
+        assertThat(rendered.contains("Welcome back, john")).isEqualTo(activated);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "fr", "en" })
+    void rendersTemplatesComparingTheUserWithTheTemplateEngine(String langKey) {
+        User user = user("john", true);
+        user.setLangKey(langKey);
+
+        String rendered = mailTemplateRenderer.render("mail/languageEmail", LOCALE, user);
+
+        assertThat(rendered).isEqualTo(process("mail/languageEmail", user));
+        assertThat(rendered.contains("Bonjour john")).isEqualTo(langKey.equals("fr"));
+    }
+
+    private String process(String templateName, User user) {
+        Context context = new Context(LOCALE);
+        context.setVariable("user", user);
+        context.setVariable("baseUrl", jHipsterProperties.getMail().getBaseUrl());
+        return templateEngine.process(templateName, context);
+    }
+
+    private static User user(String login, boolean activated) {
+        User user = new User();
+        user.setLogin(login);
+        user.setEmail(login + "@example.com");
+        user.setActivated(activated);
+        user.setLangKey(Constants.DEFAULT_LANGUAGE);
+        user.setActivationKey("12345678901234567890");
+        user.setResetKey("09876543210987654321");
+        return user;
+    }
+}
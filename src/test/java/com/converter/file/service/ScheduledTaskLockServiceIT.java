@@ -0,0 +1,138 @@
+package com.converter.file.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.converter.file.IntegrationTest;
+import com.converter.file.config.ApplicationProperties;
+import com.converter.file.repository.ScheduledTaskLockRepository;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Integration tests for the {@link ScheduledTaskLockService}, each instance standing for a node of the cluster.
+ */
+@IntegrationTest
+class ScheduledTaskLockServiceIT {
+
+    private static final Duration LEASE = Duration.ofMinutes(1);
+
+    @Autowired
+    private ScheduledTaskLockRepository scheduledTaskLockRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    @AfterEach
+    void cleanup() {
+        scheduledTaskLockRepository.deleteAll();
+    }
+
+    @Test
+    void aLockIsHeldByASingleNodeUntilReleased() {
+        ScheduledTaskLockService nodeA = node(Duration.ZERO);
+        ScheduledTaskLockService nodeB = node(Duration.ZERO);
+
+        Optional<ScheduledTaskLockService.Lease> leaseA = nodeA.tryAcquire("task", LEASE);
+        assertThat(leaseA).isPresent();
+        assertThat(nodeB.tryAcquire("task", LEASE)).isEmpty();
+        assertThat(nodeA.tryAcquire("task", LEASE)).isEmpty();
+        leaseA.orElseThrow().close();
+
+        Optional<ScheduledTaskLockService.Lease> leaseB = nodeB.tryAcquire("task", LEASE);
+        assertThat(leaseB).isPresent();
+        assertThat(leaseB.orElseThrow().getFencingToken()).isGreaterThan(leaseA.orElseThrow().getFencingToken());
+    }
+
+    @Test
+    void aNodeWhoseLeaseWasTakenOverIsFencedOff() {
+        ScheduledTaskLockService nodeA = node(Duration.ZERO);
+        ScheduledTaskLockService nodeB = node(Duration.ZERO);
+        ScheduledTaskLockService.Lease leaseA = nodeA.tryAcquire("task", Duration.ZERO).orElseThrow();
+
+        ScheduledTaskLockService.Lease leaseB = nodeB.tryAcquire("task", LEASE).orElseThrow();
+
+        assertThat(leaseB.getFencingToken()).isGreaterThan(leaseA.getFencingToken());
+        assertThatThrownBy(leaseA::renew).isInstanceOf(LeaseLostException.class);
+        // Releasing a lost lease leaves the lock to its new holder
+        leaseA.close();
+        assertThat(nodeA.tryAcquire("task", LEASE)).isEmpty();
+        leaseB.renew();
+    }
+
+    @Test
+    void concurrentNodesAcquireAMissingLockOnce() throws Exception {
+        int nodes = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(nodes);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Optional<ScheduledTaskLockService.Lease>>> leases = new ArrayList<>();
+            for (int i = 0; i < nodes; i++) {
+                ScheduledTaskLockService node = node(Duration.ZERO);
+                leases.add(
+                    executor.submit(() -> {
+                        start.await();
+                        return node.tryAcquire("task", LEASE);
+                    })
+                );
+            }
+            start.countDown();
+
+            int acquired = 0;
+            for (Future<Optional<ScheduledTaskLockService.Lease>> lease : leases) {
+                acquired += lease.get().isPresent() ? 1 : 0;
+            }
+            assertThat(acquired).isOne();
+            assertThat(scheduledTaskLockRepository.count()).isOne();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void aTaskDoneSoonerKeepsItsLockForTheMinimumLease() {
+        ScheduledTaskLockService nodeA = node(LEASE);
+        ScheduledTaskLockService nodeB = node(LEASE);
+
+        assertThat(nodeA.runExclusively("task", lease -> {})).isTrue();
+
+        assertThat(nodeB.runExclusively("task", lease -> {})).isFalse();
+    }
+
+    @Test
+    void partitionsAreSharedBetweenNodes() {
+        ScheduledTaskLockService nodeA = node(Duration.ZERO);
+        ScheduledTaskLockService nodeB = node(Duration.ZERO);
+        List<Integer> runByB = new CopyOnWriteArrayList<>();
+
+        int runByA = nodeA.runPartitioned("task", 3, (partition, leaseA) -> {
+            if (partition == 1) {
+                nodeB.runPartitioned("task", 3, (partitionB, leaseB) -> runByB.add(partitionB));
+            }
+        });
+
+        assertThat(runByA).isEqualTo(3);
+        // Partition 1 was locked by node A meanwhile
+        assertThat(runByB).containsExactlyInAnyOrder(0, 2);
+    }
+
+    private ScheduledTaskLockService node(Duration minLeaseDuration) {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getScheduling().setLeaseDuration(LEASE);
+        applicationProperties.getScheduling().setMinLeaseDuration(minLeaseDuration);
+        return new ScheduledTaskLockService(scheduledTaskLockRepository, transactionManager, applicationProperties);
+    }
+}
@@ -0,0 +1,137 @@
+package com.converter.file.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A local SMTP server accepting the mails it receives, or rejecting recipients with the replies given to
+ * {@link #reply(String, String)}; just enough of SMTP for Jakarta Mail.
+ */
+class SmtpServerStub implements AutoCloseable {
+
+    private final ServerSocket serverSocket;
+
+    private final AtomicInteger connections = new AtomicInteger();
+
+    private final List<Received> received = new CopyOnWriteArrayList<>();
+
+    private final Map<String, String> recipientReplies = new ConcurrentHashMap<>();
+
+    SmtpServerStub() throws IOException {
+        serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        Thread acceptor = new Thread(this::accept, "smtp-stub");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    String getHost() {
+        return serverSocket.getInetAddress().getHostAddress();
+    }
+
+    int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Replies to {@code RCPT TO} the given recipient with the given reply, such as {@code 550 5.1.1 Unknown user}.
+     */
+    void reply(String recipient, String reply) {
+        recipientReplies.put(recipient.toLowerCase(Locale.ROOT), reply);
+    }
+
+    int getConnections() {
+        return connections.get();
+    }
+
+    List<Received> getReceived() {
+        return List.copyOf(received);
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+    }
+
+    private void accept() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                connections.incrementAndGet();
+                Thread session = new Thread(() -> session(socket), "smtp-stub-session");
+                session.setDaemon(true);
+                session.start();
+            } catch (SocketException e) {
+                // Closed
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private void session(Socket socket) {
+        try (
+            socket;
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+            Writer out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII)
+        ) {
+            write(out, "220 localhost SMTP stub");
+            List<String> recipients = new ArrayList<>();
+            String line;
+            while ((line = in.readLine()) != null) {
+                String command = line.toUpperCase(Locale.ROOT);
+                if (command.startsWith("EHLO") || command.startsWith("HELO")) {
+                    write(out, "250 localhost");
+                } else if (command.startsWith("MAIL FROM:") || command.startsWith("RSET")) {
+                    recipients.clear();
+                    write(out, "250 OK");
+                } else if (command.startsWith("RCPT TO:")) {
+                    String recipient = line.substring("RCPT TO:".length()).replaceAll("[<>\\s]", "").toLowerCase(Locale.ROOT);
+                    String reply = recipientReplies.getOrDefault(recipient, "250 OK");
+                    if (reply.startsWith("2")) {
+                        recipients.add(recipient);
+                    }
+                    write(out, reply);
+                } else if (command.startsWith("DATA")) {
+                    write(out, "354 End data with <CR><LF>.<CR><LF>");
+                    StringBuilder data = new StringBuilder();
+                    while ((line = in.readLine()) != null && !line.equals(".")) {
+                        data.append(line.startsWith(".") ? line.substring(1) : line).append("\r\n");
+                    }
+                    received.add(new Received(List.copyOf(recipients), data.toString()));
+                    recipients.clear();
+                    write(out, "250 OK");
+                } else if (command.startsWith("QUIT")) {
+                    write(out, "221 Bye");
+                    return;
+                } else {
+                    write(out, "250 OK");
+                }
+            }
+        } catch (IOException e) {
+            // Closed by the client
+        }
+    }
+
+    private static void write(Writer out, String reply) throws IOException {
+        out.write(reply + "\r\n");
+        out.flush();
+    }
+
+    record Received(List<String> recipients, String data) {}
+}
@@ -4,14 +4,19 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.when;
 
 import com.converter.file.IntegrationTest;
+import com.converter.file.config.ApplicationProperties;
+import com.converter.file.domain.Authority;
 import com.converter.file.domain.User;
 import com.converter.file.repository.UserRepository;
+import com.converter.file.security.AuthoritiesConstants;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -56,6 +61,12 @@ class UserServiceIT {
     @Autowired
     private AuditingHandler auditingHandler;
 
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @MockitoBean
     private DateTimeProvider dateTimeProvider;
 
@@ -205,4 +216,40 @@ class UserServiceIT {
         Optional<User> maybeDbUser = userRepository.findById(dbUser.getId());
         assertThat(maybeDbUser).contains(dbUser);
     }
+
+    @Test
+    @Transactional
+    void assertThatNotActivatedUsersAreDeletedByChunksWithTheirAuthoritiesAndCacheEntries() {
+        Instant now = Instant.now();
+        when(dateTimeProvider.getNow()).thenReturn(Optional.of(now.minus(4, ChronoUnit.DAYS)));
+        Authority authority = new Authority();
+        authority.setName(AuthoritiesConstants.USER);
+        for (int i = 0; i < 5; i++) {
+            User stale = new User();
+            stale.setLogin("stale_user_" + i);
+            stale.setPassword(RandomStringUtils.insecure().nextAlphanumeric(60));
+            stale.setEmail("stale_user_" + i + "@localhost");
+            stale.setActivationKey(RandomUtil.generateActivationKey());
+            stale.setAuthorities(Set.of(authority));
+            userRepository.saveAndFlush(stale);
+        }
+        assertThat(userRepository.findOneWithAuthoritiesByLogin("stale_user_0")).isPresent();
+        Cache usersByLogin = Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE));
+        assertThat(usersByLogin.get("stale_user_0")).isNotNull();
+        double purged = meterRegistry.get(UserService.PURGED_USERS_METER_NAME).counter().count();
+        long chunks = meterRegistry.get(UserService.PURGE_CHUNK_METER_NAME).timer().count();
+        int chunkSize = applicationProperties.getUsers().getPurge().getChunkSize();
+        applicationProperties.getUsers().getPurge().setChunkSize(2);
+        try {
+            userService.removeNotActivatedUsers();
+        } finally {
+            applicationProperties.getUsers().getPurge().setChunkSize(chunkSize);
+        }
+
+        assertThat(userRepository.findAllByActivatedIsFalseAndActivationKeyIsNotNullAndCreatedDateBefore(now)).isEmpty();
+        assertThat(usersByLogin.get("stale_user_0")).isNull();
+        assertThat(meterRegistry.get(UserService.PURGED_USERS_METER_NAME).counter().count()).isEqualTo(purged + 5);
+        // 2 full chunks, then the last user
+        assertThat(meterRegistry.get(UserService.PURGE_CHUNK_METER_NAME).timer().count()).isEqualTo(chunks + 3);
+    }
 }
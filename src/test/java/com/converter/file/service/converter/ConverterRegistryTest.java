@@ -0,0 +1,84 @@
+package com.converter.file.service.converter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link ConverterRegistry}.
+ */
+class ConverterRegistryTest {
+
+    private static final String CSV = "text/csv";
+
+    private ConverterRegistry converterRegistry;
+
+    private FileConverter csvToJson;
+
+    @BeforeEach
+    public void init() {
+        csvToJson = new StubConverter(CSV, "application/json");
+        converterRegistry = new ConverterRegistry(List.of(csvToJson, new GzipFileConverter()));
+    }
+
+    @Test
+    void findsExactConverterIgnoringCase() {
+        assertThat(converterRegistry.find("Text/CSV", " application/JSON ")).containsSame(csvToJson);
+    }
+
+    @Test
+    void fallsBackToAnySourceTypeConverter() {
+        assertThat(converterRegistry.find(CSV, GzipFileConverter.TARGET_TYPE)).containsInstanceOf(GzipFileConverter.class);
+        assertThat(converterRegistry.find("image/png", GzipFileConverter.TARGET_TYPE)).containsInstanceOf(GzipFileConverter.class);
+    }
+
+    @Test
+    void findsNothingForUnsupportedConversion() {
+        assertThat(converterRegistry.find("image/png", "application/json")).isEmpty();
+        assertThat(converterRegistry.find(null, "application/json")).isEmpty();
+    }
+
+    @Test
+    void listsTargetTypes() {
+        assertThat(converterRegistry.getTargetTypes(CSV)).containsExactly("application/gzip", "application/json");
+        assertThat(converterRegistry.getTargetTypes("image/png")).containsExactly("application/gzip");
+    }
+
+    @Test
+    void rejectsDuplicateConverters() {
+        List<FileConverter> converters = List.of(csvToJson, new StubConverter("TEXT/CSV", "application/json"));
+        assertThatThrownBy(() -> new ConverterRegistry(converters)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void gzipConverterStreamsWithoutClosingTarget() throws IOException {
+        byte[] content = "a;b;c\n".repeat(50_000).getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        WritableByteChannel target = Channels.newChannel(compressed);
+
+        new GzipFileConverter().convert(Channels.newChannel(new ByteArrayInputStream(content)), target);
+
+        assertThat(target.isOpen()).isTrue();
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed.toByteArray()))) {
+            assertThat(in.readAllBytes()).isEqualTo(content);
+        }
+    }
+
+    private record StubConverter(String getSourceType, String getTargetType) implements FileConverter {
+        @Override
+        public void convert(ReadableByteChannel source, WritableByteChannel target) {
+            // Only used for lookups
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.converter.file.service.converter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for the {@link CsvFileConverter}s, cutting sources into chunks of every size.
+ */
+class CsvFileConverterTest {
+
+    private static final String CSV =
+        "\uFEFFid;name;\"note; quoted\"\r\n" +
+        "1;plain;\"with \"\"quotes\"\"\"\r\n" +
+        "\r\n" +
+        "2;\"multi\nline\";back\\slash\n" +
+        "3;missing\n" +
+        "4;extra;fields;dropped\n" +
+        "5;\"unterminated";
+
+    private static final String JSON_LINES =
+        "{\"id\":\"1\",\"name\":\"plain\",\"note; quoted\":\"with \\\"quotes\\\"\"}\n" +
+        "{\"id\":\"2\",\"name\":\"multi\\nline\",\"note; quoted\":\"back\\\\slash\"}\n" +
+        "{\"id\":\"3\",\"name\":\"missing\",\"note; quoted\":null}\n" +
+        "{\"id\":\"4\",\"name\":\"extra\",\"note; quoted\":\"fields\"}\n" +
+        "{\"id\":\"5\",\"name\":\"unterminated\",\"note; quoted\":null}\n";
+
+    @TempDir
+    private Path directory;
+
+    private ForkJoinPool pool;
+
+    @BeforeEach
+    void setup() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void convertsToJsonLines() throws IOException {
+        assertThat(convertStreamed(new CsvToJsonLinesFileConverter(pool, 1024), CSV)).isEqualTo(JSON_LINES);
+        assertThat(convertMapped(new CsvToJsonLinesFileConverter(pool, 1024), CSV)).isEqualTo(JSON_LINES);
+    }
+
+    @Test
+    void convertsToColumns() throws IOException {
+        Columnar columnar = Columnar.read(convertStreamed(new CsvToColumnarFileConverter(pool, 1024), CSV));
+
+        assertThat(columnar.columns()).containsExactly("id", "name", "note; quoted");
+        assertThat(columnar.rows()).containsExactly(
+            Arrays.asList("1", "plain", "with \"quotes\""),
+            Arrays.asList("2", "multi\nline", "back\\slash"),
+            Arrays.asList("3", "missing", null),
+            Arrays.asList("4", "extra", "fields"),
+            Arrays.asList("5", "unterminated", null)
+        );
+    }
+
+    @Test
+    void convertsEmptySources() throws IOException {
+        assertThat(convertMapped(new CsvToJsonLinesFileConverter(pool, 1024), "")).isEmpty();
+        assertThat(convertStreamed(new CsvToJsonLinesFileConverter(pool, 1024), "a,b\n")).isEmpty();
+        assertThat(Columnar.read(convertMapped(new CsvToColumnarFileConverter(pool, 1024), "")).rows()).isEmpty();
+    }
+
+    @Test
+    void cutsRowsAtAnyChunkSize() throws IOException {
+        for (int chunkSize = 1; chunkSize <= CSV.length() + 1; chunkSize++) {
+            CsvFileConverter converter = new CsvToJsonLinesFileConverter(pool, chunkSize);
+            assertThat(convertMapped(converter, CSV)).as("chunk size %d", chunkSize).isEqualTo(JSON_LINES);
+            assertThat(convertStreamed(converter, CSV)).as("chunk size %d", chunkSize).isEqualTo(JSON_LINES);
+        }
+    }
+
+    @Test
+    void keepsQuotesWithinFieldsAsTheyAre() throws IOException {
+        // Only a quote at the start of a field quotes it, the rows do not end within "two\nlines"
+        String csv = "id,size,note\n1,5\" disk,\"two\nlines\"\n2,3\",\"a, b\"\n3,plain,x\n";
+        String expected =
+            "{\"id\":\"1\",\"size\":\"5\\\" disk\",\"note\":\"two\\nlines\"}\n" +
+            "{\"id\":\"2\",\"size\":\"3\\\"\",\"note\":\"a, b\"}\n" +
+            "{\"id\":\"3\",\"size\":\"plain\",\"note\":\"x\"}\n";
+
+        for (int chunkSize = 1; chunkSize <= csv.length() + 1; chunkSize++) {
+            CsvFileConverter converter = new CsvToJsonLinesFileConverter(pool, chunkSize);
+            assertThat(convertMapped(converter, csv)).as("chunk size %d", chunkSize).isEqualTo(expected);
+            assertThat(convertStreamed(converter, csv)).as("chunk size %d", chunkSize).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void limitsTheLengthOfRows() throws IOException {
+        String csv = "a,b\n" + "1,x\n".repeat(20) + "2,\"" + "y".repeat(56) + "\"\n" + "3,z\n".repeat(20);
+        String expected = convertStreamed(new CsvToJsonLinesFileConverter(pool, 1024), csv);
+        // A quote opening a field that never ends, which would make the rest of the source a single row
+        String unterminated = "a,b\n" + "1,x\n".repeat(20) + "2,\"" + "y\n".repeat(100);
+
+        for (int chunkSize : new int[] { 1, 7, 16, 64 }) {
+            CsvFileConverter converter = new CsvToJsonLinesFileConverter(pool, chunkSize, 64);
+            assertThat(convertMapped(converter, csv)).as("chunk size %d", chunkSize).isEqualTo(expected);
+            assertThat(convertStreamed(converter, csv)).as("chunk size %d", chunkSize).isEqualTo(expected);
+            assertThatThrownBy(() -> convertMapped(converter, unterminated)).isInstanceOf(IOException.class);
+            assertThatThrownBy(() -> convertStreamed(converter, unterminated)).isInstanceOf(IOException.class);
+        }
+    }
+
+    @Test
+    void keepsTheOrderOfLargeSources() throws IOException {
+        String csv = randomCsv(new Random(42), 5_000);
+        String expected = convertStreamed(new CsvToJsonLinesFileConverter(pool, 2 * csv.length()), csv);
+        Columnar expectedColumns = Columnar.read(convertStreamed(new CsvToColumnarFileConverter(pool, 2 * csv.length()), csv));
+        assertThat(expected.lines()).hasSize(5_000);
+
+        for (int chunkSize : new int[] { 7, 256, 4096, 65536 }) {
+            assertThat(convertMapped(new CsvToJsonLinesFileConverter(pool, chunkSize), csv)).isEqualTo(expected);
+            assertThat(convertStreamed(new CsvToJsonLinesFileConverter(pool, chunkSize), csv)).isEqualTo(expected);
+            assertThat(Columnar.read(convertMapped(new CsvToColumnarFileConverter(pool, chunkSize), csv))).isEqualTo(expectedColumns);
+        }
+    }
+
+    private static String randomCsv(Random random, int rows) {
+        String[] values = { "plain", "with space", "\"quoted, with comma\"", "\"two\nlines\"", "\"\"\"quoted\"\" quotes\"", "", "é" };
+        StringBuilder csv = new StringBuilder("a,b,c\n");
+        for (int row = 0; row < rows; row++) {
+            csv.append(row);
+            for (int column = 0; column < 2; column++) {
+                csv.append(',').append(values[random.nextInt(values.length)]);
+            }
+            csv.append(random.nextBoolean() ? "\n" : "\r\n");
+        }
+        return csv.toString();
+    }
+
+    private String convertMapped(CsvFileConverter converter, String csv) throws IOException {
+        Path source = Files.createTempFile(directory, "source", ".csv");
+        Files.writeString(source, csv);
+        try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            return convert(converter, channel);
+        }
+    }
+
+    private static String convertStreamed(CsvFileConverter converter, String csv) throws IOException {
+        return convert(converter, Channels.newChannel(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8))));
+    }
+
+    /**
+     * @return the output, decoded as UTF-8 for JSON Lines and as ISO-8859-1, byte per byte, for the columnar format.
+     */
+    private static String convert(CsvFileConverter converter, ReadableByteChannel source) throws IOException {
+        ByteArrayOutputStream target = new ByteArrayOutputStream();
+        converter.convert(source, Channels.newChannel(target));
+        return target.toString(converter instanceof CsvToColumnarFileConverter ? StandardCharsets.ISO_8859_1 : StandardCharsets.UTF_8);
+    }
+
+    private record Columnar(List<String> columns, List<List<String>> rows) {
+        static Columnar read(String output) {
+            ByteBuffer in = ByteBuffer.wrap(output.getBytes(StandardCharsets.ISO_8859_1));
+            byte[] magic = new byte[CsvToColumnarFileConverter.MAGIC.length];
+            in.get(magic);
+            assertThat(magic).isEqualTo(CsvToColumnarFileConverter.MAGIC);
+            assertThat(in.get()).isEqualTo(CsvToColumnarFileConverter.VERSION);
+            List<String> columns = new ArrayList<>();
+            for (long column = readVarint(in); column > 0; column--) {
+                columns.add(readString(in, (int) readVarint(in)));
+            }
+            List<List<String>> rows = new ArrayList<>();
+            for (long rowCount = readVarint(in); rowCount > 0; rowCount = readVarint(in)) {
+                List<List<String>> group = new ArrayList<>();
+                for (int row = 0; row < rowCount; row++) {
+                    group.add(new ArrayList<>());
+                }
+                for (int column = 0; column < columns.size(); column++) {
+                    int blockEnd = (int) readVarint(in) + in.position();
+                    long[] lengths = new long[(int) rowCount];
+                    for (int row = 0; row < rowCount; row++) {
+                        lengths[row] = readVarint(in);
+                    }
+                    for (int row = 0; row < rowCount; row++) {
+                        group.get(row).add(lengths[row] == 0 ? null : readString(in, (int) lengths[row] - 1));
+                    }
+                    assertThat(in.position()).isEqualTo(blockEnd);
+                }
+                rows.addAll(group);
+            }
+            assertThat(in.hasRemaining()).isFalse();
+            return new Columnar(columns, rows);
+        }
+
+        private static long readVarint(ByteBuffer in) {
+            long value = 0;
+            for (int shift = 0;; shift += 7) {
+                byte b = in.get();
+                value |= (long) (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+        }
+
+        private static String readString(ByteBuffer in, int length) {
+            byte[] bytes = new byte[length];
+            in.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.converter.file.service.converter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.converter.file.config.ApplicationProperties;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the {@link XmlToJsonFileConverter}.
+ */
+class XmlToJsonFileConverterTest {
+
+    @Test
+    void convertsTheChildrenOfTheRootElement() throws IOException {
+        String xml =
+            """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <files xmlns:x="urn:example">
+              <file id="1" x:owner="admin">
+                <name>report.csv</name>
+                <tag>monthly</tag>
+                <tag>finance</tag>
+                <comment><![CDATA[<draft> & "final"]]></comment>
+                <empty/>
+              </file>
+              <file id="2">
+                <name lang="en">notes.txt</name>
+                <size>12<unit>kB</unit></size>
+              </file>
+              <x:summary>2 files</x:summary>
+            </files>
+            """;
+
+        assertThat(convert(converter(""), xml)).isEqualTo(
+            "[" +
+            "{\"@id\":\"1\",\"@x:owner\":\"admin\",\"name\":\"report.csv\",\"tag\":[\"monthly\",\"finance\"]," +
+            "\"comment\":\"<draft> & \\\"final\\\"\",\"empty\":\"\"}," +
+            "{\"@id\":\"2\",\"name\":{\"@lang\":\"en\",\"#text\":\"notes.txt\"},\"size\":{\"unit\":\"kB\",\"#text\":\"12\"}}," +
+            "\"2 files\"" +
+            "]"
+        );
+    }
+
+    @Test
+    void convertsTheElementsOfTheRecordPath() throws IOException {
+        String xml =
+            """
+            <feed>
+              <title>Feed</title>
+              <entries><entry><id>1</id></entry><skipped><id>2</id></skipped></entries>
+              <archive><entry><id>3</id><entry><id>nested</id></entry></entry></archive>
+            </feed>
+            """;
+
+        assertThat(convert(converter("/feed/*/entry"), xml)).isEqualTo(
+            "[{\"id\":\"1\"},{\"id\":\"3\",\"entry\":{\"id\":\"nested\"}}]"
+        );
+        assertThat(convert(converter("/feed/missing"), xml)).isEqualTo("[]");
+    }
+
+    @Test
+    void versionDependsOnTheRecordPath() {
+        assertThat(converter("").getVersion()).isEqualTo(converter(" /*/* ").getVersion());
+        assertThat(converter("/feed/entry").getVersion()).isEqualTo(converter("feed/entry/").getVersion());
+        assertThat(converter("/feed/entry").getVersion()).isNotEqualTo(converter("").getVersion());
+    }
+
+    @Test
+    void rejectsInvalidXml() {
+        XmlToJsonFileConverter converter = converter("");
+
+        assertThatThrownBy(() -> convert(converter, "<files><file></files>")).isInstanceOf(IOException.class);
+        assertThatThrownBy(() ->
+            convert(converter, "<!DOCTYPE files [<!ENTITY secret SYSTEM \"file:///etc/passwd\">]><files><file>&secret;</file></files>")
+        ).isInstanceOf(IOException.class);
+    }
+
+    private static XmlToJsonFileConverter converter(String recordPath) {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getConversion().getXml().setRecordPath(recordPath);
+        return new XmlToJsonFileConverter(applicationProperties);
+    }
+
+    private static String convert(XmlToJsonFileConverter converter, String xml) throws IOException {
+        ByteArrayOutputStream target = new ByteArrayOutputStream();
+        converter.convert(
+            Channels.newChannel(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8))),
+            Channels.newChannel(target)
+        );
+        return target.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,83 @@
+package com.converter.file.storage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class LocalBlobStoreTest {
+
+    private static final byte[] CONTENT = "hello".getBytes(StandardCharsets.UTF_8);
+
+    // sha256("hello")
+    private static final String DIGEST = "2cf24dba5fb0a30e26e83b2ac5b9e29e1b161e5c1fa7425e73043362938b9824";
+
+    @TempDir
+    private Path root;
+
+    private LocalBlobStore blobStore;
+
+    @BeforeEach
+    void init() {
+        blobStore = new LocalBlobStore(root);
+    }
+
+    @Test
+    void putStoresContentUnderItsDigest() throws Exception {
+        Blob blob = blobStore.put(new ByteArrayInputStream(CONTENT));
+
+        assertThat(blob).isEqualTo(new Blob(DIGEST, CONTENT.length));
+        assertThat(blobStore.resolve(DIGEST)).isEqualTo(root.resolve("2c").resolve("f2").resolve(DIGEST));
+        assertThat(blobStore.resolve(DIGEST)).hasBinaryContent(CONTENT);
+        assertThat(blobStore.find(DIGEST)).contains(blob);
+        try (InputStream in = blobStore.open(DIGEST)) {
+            assertThat(in.readAllBytes()).isEqualTo(CONTENT);
+        }
+    }
+
+    @Test
+    void putStoresIdenticalContentOnce() throws Exception {
+        Blob first = blobStore.put(new ByteArrayInputStream(CONTENT));
+        Blob second = blobStore.put(new ByteArrayInputStream(CONTENT));
+
+        assertThat(second).isEqualTo(first);
+        try (Stream<Path> files = Files.walk(root)) {
+            assertThat(files.filter(Files::isRegularFile)).containsExactly(blobStore.resolve(DIGEST));
+        }
+    }
+
+    @Test
+    void openContentFromPosition() throws Exception {
+        blobStore.put(new ByteArrayInputStream(CONTENT));
+
+        try (InputStream in = Channels.newInputStream(blobStore.openChannel(DIGEST, 2))) {
+            assertThat(in.readAllBytes()).isEqualTo("llo".getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void deleteRemovesContent() throws Exception {
+        blobStore.put(new ByteArrayInputStream(CONTENT));
+
+        assertThat(blobStore.delete(DIGEST)).isTrue();
+        assertThat(blobStore.delete(DIGEST)).isFalse();
+        assertThat(blobStore.find(DIGEST)).isEmpty();
+        assertThatThrownBy(() -> blobStore.open(DIGEST)).isInstanceOf(NoSuchFileException.class);
+    }
+
+    @Test
+    void rejectsInvalidDigests() {
+        assertThatThrownBy(() -> blobStore.open("../../etc/passwd")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> blobStore.find(DIGEST.toUpperCase())).isInstanceOf(IllegalArgumentException.class);
+    }
+}
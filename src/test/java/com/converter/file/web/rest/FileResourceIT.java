@@ -3,27 +3,45 @@ package com.converter.file.web.rest;
 import static com.converter.file.domain.FileAsserts.*;
 import static com.converter.file.web.rest.TestUtil.createUpdateProxyForBean;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.converter.file.IntegrationTest;
+import com.converter.file.config.ApplicationProperties;
 import com.converter.file.domain.File;
 import com.converter.file.repository.FileRepository;
+import com.converter.file.service.converter.GzipFileConverter;
+import com.converter.file.service.dto.FileBulkResultDTO;
+import com.converter.file.storage.Blob;
+import com.converter.file.storage.BlobStore;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.EntityManager;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
 import java.time.LocalDate;
 import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -70,6 +88,12 @@ class FileResourceIT {
     @Autowired
     private MockMvc restFileMockMvc;
 
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @Autowired
+    private BlobStore blobStore;
+
     private File file;
 
     private File insertedFile;
@@ -141,6 +165,85 @@ class FileResourceIT {
         insertedFile = returnedFile;
     }
 
+    @Test
+    void createFilesInBulk() throws Exception {
+        long databaseSizeBeforeCreate = getRepositoryCount();
+        File withId = createEntity().id(1L);
+        File withoutName = createEntity().fileName(null);
+        File withContentHash = createUpdatedEntity().contentHash("0".repeat(64));
+        List<File> files = List.of(createEntity(), withId, withoutName, withContentHash);
+
+        // Create the Files
+        String response = restFileMockMvc
+            .perform(post(ENTITY_API_URL + "/_bulk").contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(files)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(4))
+            .andExpect(jsonPath("$.[0].status").value("CREATED"))
+            .andExpect(jsonPath("$.[1].status").value("INVALID"))
+            .andExpect(jsonPath("$.[2].status").value("INVALID"))
+            .andExpect(jsonPath("$.[2].message").value(containsString("fileName")))
+            .andExpect(jsonPath("$.[3].status").value("CREATED"))
+            .andExpect(jsonPath("$.[3].index").value(3))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+        // Validate the Files in the database
+        FileBulkResultDTO[] results = om.readValue(response, FileBulkResultDTO[].class);
+        assertThat(getRepositoryCount()).isEqualTo(databaseSizeBeforeCreate + 2);
+        assertThat(getPersistedFile(new File().id(results[3].getId())).getFileName()).isEqualTo(UPDATED_FILE_NAME);
+        assertThat(getPersistedFile(new File().id(results[3].getId())).getContentHash()).isNull();
+        fileRepository.deleteAllById(List.of(results[0].getId(), results[3].getId()));
+    }
+
+    @Test
+    void createFilesInBulkFromNdjson() throws Exception {
+        long databaseSizeBeforeCreate = getRepositoryCount();
+        String body = om.writeValueAsString(createEntity()) + "\n" + om.writeValueAsString(createUpdatedEntity()) + "\n{ not json";
+
+        // Create the Files
+        String response = restFileMockMvc
+            .perform(post(ENTITY_API_URL + "/_bulk").contentType(MediaType.APPLICATION_NDJSON).content(body))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(3))
+            .andExpect(jsonPath("$.[0].status").value("CREATED"))
+            .andExpect(jsonPath("$.[1].status").value("CREATED"))
+            .andExpect(jsonPath("$.[2].status").value("INVALID"))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+        // Validate the Files in the database, with consecutive ids from the same allocated block
+        FileBulkResultDTO[] results = om.readValue(response, FileBulkResultDTO[].class);
+        assertThat(getRepositoryCount()).isEqualTo(databaseSizeBeforeCreate + 2);
+        assertThat(results[1].getId()).isEqualTo(results[0].getId() + 1);
+        fileRepository.deleteAllById(List.of(results[0].getId(), results[1].getId()));
+    }
+
+    @Test
+    void createFilesInBulkWithExistingNames() throws Exception {
+        insertedFile = fileRepository.saveAndFlush(file);
+        long databaseSizeBeforeCreate = getRepositoryCount();
+        List<File> files = List.of(createEntity(), createUpdatedEntity(), createUpdatedEntity());
+
+        // Only the files whose name is taken are rejected, not their chunk
+        String response = restFileMockMvc
+            .perform(post(ENTITY_API_URL + "/_bulk").contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(files)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].status").value("INVALID"))
+            .andExpect(jsonPath("$.[0].errorKey").value("fileexists"))
+            .andExpect(jsonPath("$.[1].status").value("CREATED"))
+            .andExpect(jsonPath("$.[2].status").value("INVALID"))
+            .andExpect(jsonPath("$.[2].errorKey").value("fileexists"))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+        FileBulkResultDTO[] results = om.readValue(response, FileBulkResultDTO[].class);
+        assertThat(getRepositoryCount()).isEqualTo(databaseSizeBeforeCreate + 1);
+        fileRepository.deleteById(results[1].getId());
+    }
+
     @Test
     @Transactional
     void createFileWithExistingId() throws Exception {
@@ -158,6 +261,56 @@ class FileResourceIT {
         assertSameRepositoryCount(databaseSizeBeforeCreate);
     }
 
+    @Test
+    @Transactional
+    void createFileWithExistingName() throws Exception {
+        // Initialize the database
+        insertedFile = fileRepository.saveAndFlush(file);
+        long databaseSizeBeforeCreate = getRepositoryCount();
+
+        // A category cannot have two files of the same name
+        restFileMockMvc
+            .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(createEntity())))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.fileexists"));
+
+        // But another category can
+        restFileMockMvc
+            .perform(
+                post(ENTITY_API_URL)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(createEntity().category(UPDATED_CATEGORY)))
+            )
+            .andExpect(status().isCreated());
+
+        assertIncrementedRepositoryCount(databaseSizeBeforeCreate);
+    }
+
+    @Test
+    @Transactional
+    void renameFileToExistingName() throws Exception {
+        // Initialize the database
+        insertedFile = fileRepository.saveAndFlush(file);
+        File other = fileRepository.saveAndFlush(createEntity().fileName(UPDATED_FILE_NAME));
+
+        File partialUpdatedFile = new File().id(other.getId()).fileName(DEFAULT_FILE_NAME);
+        restFileMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, other.getId())
+                    .contentType("application/merge-patch+json")
+                    .content(om.writeValueAsBytes(partialUpdatedFile))
+            )
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.fileexists"));
+
+        // Renaming a file to its own name is no conflict
+        restFileMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, file.getId()).contentType("application/merge-patch+json").content(om.writeValueAsBytes(file))
+            )
+            .andExpect(status().isOk());
+    }
+
     @Test
     @Transactional
     void checkFileNameIsRequired() throws Exception {
@@ -242,6 +395,263 @@ class FileResourceIT {
             .andExpect(jsonPath("$.[*].category").value(hasItem(DEFAULT_CATEGORY)));
     }
 
+    @Test
+    @Transactional
+    void getAllFilesByKeyset() throws Exception {
+        // Initialize the database
+        File first = fileRepository.saveAndFlush(createEntity().fileName(DEFAULT_FILE_NAME + longCount.incrementAndGet()));
+        File second = fileRepository.saveAndFlush(createEntity().fileName(DEFAULT_FILE_NAME + longCount.incrementAndGet()));
+        File third = fileRepository.saveAndFlush(createEntity().fileName(DEFAULT_FILE_NAME + longCount.incrementAndGet()));
+
+        // Get the first window
+        String link = restFileMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&size=2").header(HttpHeaders.ACCEPT, "application/json, text/plain, */*"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$.[0].id").value(third.getId().intValue()))
+            .andExpect(jsonPath("$.[1].id").value(second.getId().intValue()))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("rel=\"next\"")))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.LINK);
+
+        // Follow the link to the next window
+        String next = link.substring(link.indexOf('<') + 1, link.indexOf('>'));
+        restFileMockMvc
+            .perform(get(URI.create(next)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].id").value(first.getId().intValue()));
+    }
+
+    @Test
+    @Transactional
+    void getAllFilesByLastModifiedKeyset() throws Exception {
+        // Initialize the database
+        File older = fileRepository.saveAndFlush(createEntity().fileName("older").lastModified(UPDATED_LAST_MODIFIED.minusDays(1)));
+        File newer = fileRepository.saveAndFlush(createEntity().fileName("newer").lastModified(UPDATED_LAST_MODIFIED.plusDays(1)));
+
+        String link = restFileMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=lastModified,desc&size=1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].id").value(newer.getId().intValue()))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.LINK);
+
+        String next = link.substring(link.indexOf('<') + 1, link.indexOf('>'));
+        restFileMockMvc
+            .perform(get(URI.create(next)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].id").value(older.getId().intValue()));
+    }
+
+    @Test
+    @Transactional
+    void getAllFilesWithUnsupportedSortOrWindow() throws Exception {
+        restFileMockMvc.perform(get(ENTITY_API_URL + "?sort=s3Url,asc")).andExpect(status().isBadRequest());
+        restFileMockMvc.perform(get(ENTITY_API_URL + "?size=0")).andExpect(status().isBadRequest());
+        restFileMockMvc.perform(get(ENTITY_API_URL + "?sort=id,asc&after=not-a-cursor")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void getAllFilesByCategoryIsEqualToSomething() throws Exception {
+        // Initialize the database
+        insertedFile = fileRepository.saveAndFlush(file);
+
+        // Get all the fileList where category equals to
+        defaultFileFiltering("category.equals=" + DEFAULT_CATEGORY, "category.equals=" + UPDATED_CATEGORY);
+    }
+
+    @Test
+    @Transactional
+    void getAllFilesByCategoryIsInShouldWork() throws Exception {
+        // Initialize the database
+        insertedFile = fileRepository.saveAndFlush(file);
+
+        // Get all the fileList where category in
+        defaultFileFiltering("category.in=" + DEFAULT_CATEGORY + "," + UPDATED_CATEGORY, "category.in=" + UPDATED_CATEGORY);
+    }
+
+    @Test
+    @Transactional
+    void getAllFilesByFileTypeIsEqualToSomething() throws Exception {
+        // Initialize the database
+        insertedFile = fileRepository.saveAndFlush(file);
+
+        // Get all the fileList where fileType equals to
+        defaultFileFiltering("fileType.equals=" + DEFAULT_FILE_TYPE, "fileType.equals=" + UPDATED_FILE_TYPE);
+    }
+
+    @Test
+    @Transactional
+    void getAllFilesByConvertedIsEqualToSomething() throws Exception {
+        // Initialize the database
+        insertedFile = fileRepository.saveAndFlush(file);
+
+        // Get all the fileList where converted equals to
+        defaultFileFiltering("converted.equals=" + DEFAULT_CONVERTED, "converted.equals=" + UPDATED_CONVERTED);
+    }
+
+    @Test
+    @Transactional
+    void getAllFilesByLastModifiedIsInRange() throws Exception {
+        // Initialize the database
+        insertedFile = fileRepository.saveAndFlush(file);
+
+        // Get all the fileList where lastModified is in a range
+        defaultFileFiltering(
+            "lastModified.greaterThanOrEqual=" + DEFAULT_LAST_MODIFIED + "&lastModified.lessThan=" + DEFAULT_LAST_MODIFIED.plusDays(1),
+            "lastModified.greaterThan=" + DEFAULT_LAST_MODIFIED + "&lastModified.lessThan=" + UPDATED_LAST_MODIFIED
+        );
+    }
+
+    @Test
+    @Transactional
+    void getAllFilesByCategoryAndLastModified() throws Exception {
+        // Initialize the database
+        insertedFile = fileRepository.saveAndFlush(file);
+
+        // Get all the fileList where category equals to and lastModified is before
+        defaultFileFiltering(
+            "category.equals=" + DEFAULT_CATEGORY + "&lastModified.lessThanOrEqual=" + DEFAULT_LAST_MODIFIED,
+            "category.equals=" + DEFAULT_CATEGORY + "&lastModified.greaterThan=" + DEFAULT_LAST_MODIFIED
+        );
+    }
+
+    @Test
+    @Transactional
+    void getFileFacets() throws Exception {
+        // Initialize the database
+        String categoryA = "facets-a-" + longCount.incrementAndGet();
+        String categoryB = "facets-b-" + longCount.incrementAndGet();
+        fileRepository.saveAndFlush(createEntity().category(categoryA).fileName("a.csv").fileType("text/csv"));
+        fileRepository.saveAndFlush(createEntity().category(categoryA).fileName("a.xml").fileType("text/xml"));
+        fileRepository.saveAndFlush(createEntity().category(categoryB).fileType("text/csv").converted(true));
+
+        restFileMockMvc
+            .perform(get(ENTITY_API_URL + "/_facets?category.in=" + categoryA + "," + categoryB))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.total").value(3))
+            .andExpect(jsonPath("$.categories." + categoryA).value(2))
+            .andExpect(jsonPath("$.categories." + categoryB).value(1))
+            .andExpect(jsonPath("$.fileTypes['text/csv']").value(2))
+            .andExpect(jsonPath("$.fileTypes['text/xml']").value(1));
+
+        // Facets of the files matching other criteria
+        restFileMockMvc
+            .perform(get(ENTITY_API_URL + "/_facets?category.in=" + categoryA + "," + categoryB + "&converted.equals=true"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.total").value(1))
+            .andExpect(jsonPath("$.categories." + categoryB).value(1))
+            .andExpect(jsonPath("$.categories." + categoryA).doesNotExist());
+    }
+
+    @Test
+    void searchFiles() throws Exception {
+        // Initialize the database, committed so that the search index sees the files
+        String token = "search" + longCount.incrementAndGet();
+        File exactName = fileRepository.saveAndFlush(createEntity().fileName(token));
+        File wordInName = fileRepository.saveAndFlush(createEntity().fileName("Monthly " + token.toUpperCase() + ".csv"));
+        File category = fileRepository.saveAndFlush(createEntity().category(token + "-category"));
+        try {
+            restFileMockMvc
+                .perform(get(ENTITY_API_URL + "/_search?q=" + token))
+                .andExpect(status().isOk())
+                .andExpect(
+                    jsonPath("$").value(contains(exactName.getId().intValue(), wordInName.getId().intValue(), category.getId().intValue()))
+                );
+            restFileMockMvc
+                .perform(get(ENTITY_API_URL + "/_search?size=1&q=" + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").value(contains(exactName.getId().intValue())));
+
+            // Changes are indexed once committed
+            fileRepository.saveAndFlush(wordInName.fileName(DEFAULT_FILE_NAME));
+            fileRepository.delete(exactName);
+            restFileMockMvc
+                .perform(get(ENTITY_API_URL + "/_search?q=" + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").value(contains(category.getId().intValue())));
+        } finally {
+            fileRepository.deleteAllById(List.of(exactName.getId(), wordInName.getId(), category.getId()));
+        }
+
+        restFileMockMvc.perform(get(ENTITY_API_URL + "/_search?q=" + token)).andExpect(status().isOk()).andExpect(jsonPath("$").isEmpty());
+        restFileMockMvc.perform(get(ENTITY_API_URL + "/_search?q= ab ")).andExpect(status().isBadRequest());
+    }
+
+    private void defaultFileFiltering(String shouldBeFound, String shouldNotBeFound) throws Exception {
+        defaultFileShouldBeFound(shouldBeFound);
+        defaultFileShouldNotBeFound(shouldNotBeFound);
+    }
+
+    /**
+     * Executes the search, and checks that the default entity is returned.
+     */
+    private void defaultFileShouldBeFound(String filter) throws Exception {
+        restFileMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(file.getId().intValue())))
+            .andExpect(jsonPath("$.[*].fileName").value(hasItem(DEFAULT_FILE_NAME)))
+            .andExpect(jsonPath("$.[*].fileType").value(hasItem(DEFAULT_FILE_TYPE)))
+            .andExpect(jsonPath("$.[*].lastModified").value(hasItem(DEFAULT_LAST_MODIFIED.toString())))
+            .andExpect(jsonPath("$.[*].converted").value(hasItem(DEFAULT_CONVERTED)))
+            .andExpect(jsonPath("$.[*].category").value(hasItem(DEFAULT_CATEGORY)));
+
+        // Check, that the count call also returns 1
+        restFileMockMvc
+            .perform(get(ENTITY_API_URL + "/count?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(content().string("1"));
+    }
+
+    /**
+     * Executes the search, and checks that the default entity is not returned.
+     */
+    private void defaultFileShouldNotBeFound(String filter) throws Exception {
+        restFileMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$").isArray())
+            .andExpect(jsonPath("$").isEmpty());
+
+        // Check, that the count call also returns 0
+        restFileMockMvc
+            .perform(get(ENTITY_API_URL + "/count?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(content().string("0"));
+    }
+
+    @Test
+    void exportAllFiles() throws Exception {
+        // Initialize the database
+        insertedFile = fileRepository.saveAndFlush(file);
+
+        // Export all the files
+        MvcResult result = restFileMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc").accept(MediaType.APPLICATION_NDJSON))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        String export = restFileMockMvc
+            .perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+        // One file per line, the newest first
+        String[] lines = export.split("\n");
+        assertThat(lines).hasSize((int) getRepositoryCount());
+        assertFileAllPropertiesEquals(file, om.readValue(lines[0], File.class));
+    }
+
     @Test
     @Transactional
     void getFile() throws Exception {
@@ -479,6 +889,218 @@ class FileResourceIT {
         assertDecrementedRepositoryCount(databaseSizeBeforeDelete);
     }
 
+    @Test
+    void convertFile() throws Exception {
+        // Put the content in the conversion directory
+        byte[] content = "a;b;c\n".repeat(1000).getBytes(StandardCharsets.UTF_8);
+        Path directory = Path.of(applicationProperties.getConversion().getDirectory());
+        Files.createDirectories(directory);
+        Path source = Files.createTempFile(directory, "source", ".csv");
+        Files.write(source, content);
+        insertedFile = fileRepository.saveAndFlush(file.s3Url(source.getFileName().toString()));
+
+        // Convert the file
+        restFileMockMvc
+            .perform(post(ENTITY_API_URL_ID + "/convert", file.getId()).param("targetType", GzipFileConverter.TARGET_TYPE))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.converted").value(true));
+
+        // Validate the converted content
+        File convertedFile = getPersistedFile(file);
+        assertThat(convertedFile.getConverted()).isTrue();
+        assertThat(convertedFile.gets3Url()).startsWith("file:");
+        try (GZIPInputStream in = new GZIPInputStream(Files.newInputStream(Path.of(URI.create(convertedFile.gets3Url()))))) {
+            assertThat(in.readAllBytes()).isEqualTo(content);
+        }
+    }
+
+    @Test
+    void convertFileToUnsupportedType() throws Exception {
+        insertedFile = fileRepository.saveAndFlush(file);
+
+        restFileMockMvc
+            .perform(post(ENTITY_API_URL_ID + "/convert", file.getId()).param("targetType", "application/x-unsupported"))
+            .andExpect(status().isBadRequest());
+
+        assertThat(getPersistedFile(file).getConverted()).isEqualTo(DEFAULT_CONVERTED);
+    }
+
+    @Test
+    void convertFileWithoutContent() throws Exception {
+        insertedFile = fileRepository.saveAndFlush(file.s3Url("../outside-of-the-conversion-directory"));
+
+        restFileMockMvc
+            .perform(post(ENTITY_API_URL_ID + "/convert", file.getId()).param("targetType", GzipFileConverter.TARGET_TYPE))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void convertNonExistingFile() throws Exception {
+        restFileMockMvc
+            .perform(post(ENTITY_API_URL_ID + "/convert", Long.MAX_VALUE).param("targetType", GzipFileConverter.TARGET_TYPE))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void uploadFileContent() throws Exception {
+        byte[] content = "a;b;c\n".repeat(1000).getBytes(StandardCharsets.UTF_8);
+        String contentHash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        insertedFile = fileRepository.saveAndFlush(file);
+
+        // Upload the content
+        restFileMockMvc
+            .perform(put(ENTITY_API_URL_ID + "/content", file.getId()).contentType(MediaType.APPLICATION_OCTET_STREAM).content(content))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.contentHash").value(contentHash))
+            .andExpect(jsonPath("$.converted").value(false));
+
+        // Convert the uploaded content
+        restFileMockMvc
+            .perform(post(ENTITY_API_URL_ID + "/convert", file.getId()).param("targetType", GzipFileConverter.TARGET_TYPE))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.converted").value(true));
+
+        // Uploading the same content again keeps the conversion
+        restFileMockMvc
+            .perform(put(ENTITY_API_URL_ID + "/content", file.getId()).contentType(MediaType.APPLICATION_OCTET_STREAM).content(content))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.contentHash").value(contentHash))
+            .andExpect(jsonPath("$.converted").value(true));
+
+        File convertedFile = getPersistedFile(file);
+        try (GZIPInputStream in = new GZIPInputStream(Files.newInputStream(Path.of(URI.create(convertedFile.gets3Url()))))) {
+            assertThat(in.readAllBytes()).isEqualTo(content);
+        }
+        assertThat(blobStore.find(contentHash)).contains(new Blob(contentHash, content.length));
+    }
+
+    @Test
+    void contentHashIsManagedByTheServer() throws Exception {
+        insertedFile = fileRepository.saveAndFlush(file);
+        String contentHash = uploadContent("a;b;c\n".getBytes(StandardCharsets.UTF_8));
+        String otherHash = "0".repeat(64);
+
+        // Neither a full nor a partial update changes the hash
+        restFileMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, file.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(getPersistedFile(file).fileType(UPDATED_FILE_TYPE).contentHash(otherHash)))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.fileType").value(UPDATED_FILE_TYPE))
+            .andExpect(jsonPath("$.contentHash").value(contentHash));
+        restFileMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, file.getId())
+                    .contentType("application/merge-patch+json")
+                    .content(om.writeValueAsBytes(new File().id(file.getId()).contentHash(otherHash)))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.contentHash").value(contentHash));
+        assertThat(getPersistedFile(file).getContentHash()).isEqualTo(contentHash);
+
+        // A new file has no hash until its content is uploaded
+        File created = om.readValue(
+            restFileMockMvc
+                .perform(
+                    post(ENTITY_API_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsBytes(createEntity().fileName(UPDATED_FILE_NAME).contentHash(otherHash)))
+                )
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(),
+            File.class
+        );
+        fileRepository.deleteById(created.getId());
+        assertThat(created.getContentHash()).isNull();
+    }
+
+    @Test
+    void uploadNonExistingFileContent() throws Exception {
+        restFileMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID + "/content", Long.MAX_VALUE)
+                    .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                    .content(new byte[] { 1 })
+            )
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void downloadFileContent() throws Exception {
+        byte[] content = "0123456789".repeat(100).getBytes(StandardCharsets.UTF_8);
+        insertedFile = fileRepository.saveAndFlush(file.fileType("text/csv"));
+        String etag = "\"" + uploadContent(content) + "\"";
+
+        // Whole content
+        restFileMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/content", file.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, etag))
+            .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+            .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, content.length))
+            .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, containsString(DEFAULT_FILE_NAME)))
+            .andExpect(content().contentType("text/csv"))
+            .andExpect(content().bytes(content));
+
+        // Range
+        restFileMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/content", file.getId()).header(HttpHeaders.RANGE, "bytes=10-19"))
+            .andExpect(status().isPartialContent())
+            .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 10-19/1000"))
+            .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 10))
+            .andExpect(content().bytes(Arrays.copyOfRange(content, 10, 20)));
+
+        // Suffix range, with a matching If-Range
+        restFileMockMvc
+            .perform(
+                get(ENTITY_API_URL_ID + "/content", file.getId()).header(HttpHeaders.RANGE, "bytes=-5").header(HttpHeaders.IF_RANGE, etag)
+            )
+            .andExpect(status().isPartialContent())
+            .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 995-999/1000"))
+            .andExpect(content().bytes(Arrays.copyOfRange(content, 995, 1000)));
+
+        // Range of another version of the content: the whole content is sent
+        restFileMockMvc
+            .perform(
+                get(ENTITY_API_URL_ID + "/content", file.getId())
+                    .header(HttpHeaders.RANGE, "bytes=10-19")
+                    .header(HttpHeaders.IF_RANGE, "\"other\"")
+            )
+            .andExpect(status().isOk())
+            .andExpect(content().bytes(content));
+
+        // Unsatisfiable range
+        restFileMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/content", file.getId()).header(HttpHeaders.RANGE, "bytes=1000-"))
+            .andExpect(status().isRequestedRangeNotSatisfiable())
+            .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */1000"));
+
+        // Cached content
+        restFileMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/content", file.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void downloadMissingFileContent() throws Exception {
+        insertedFile = fileRepository.saveAndFlush(file);
+
+        restFileMockMvc.perform(get(ENTITY_API_URL_ID + "/content", file.getId())).andExpect(status().isNotFound());
+        restFileMockMvc.perform(get(ENTITY_API_URL_ID + "/content", Long.MAX_VALUE)).andExpect(status().isNotFound());
+    }
+
+    private String uploadContent(byte[] content) throws Exception {
+        MvcResult result = restFileMockMvc
+            .perform(put(ENTITY_API_URL_ID + "/content", file.getId()).contentType(MediaType.APPLICATION_OCTET_STREAM).content(content))
+            .andExpect(status().isOk())
+            .andReturn();
+        return om.readValue(result.getResponse().getContentAsString(), File.class).getContentHash();
+    }
+
     protected long getRepositoryCount() {
         return fileRepository.count();
     }
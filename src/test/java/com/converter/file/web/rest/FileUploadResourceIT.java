@@ -0,0 +1,347 @@
+package com.converter.file.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.reset;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.converter.file.IntegrationTest;
+import com.converter.file.domain.File;
+import com.converter.file.domain.UploadSession;
+import com.converter.file.repository.FileRepository;
+import com.converter.file.service.FileUploadService;
+import com.converter.file.service.dto.FileUploadDTO;
+import com.converter.file.storage.Blob;
+import com.converter.file.storage.BlobStore;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+/**
+ * Integration tests for the {@link FileUploadResource} REST controller, with chunks of 4 bytes.
+ * <p>
+ * Not transactional: chunks are recorded in their own transactions, and are sent in parallel.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+class FileUploadResourceIT {
+
+    private static final String ENTITY_API_URL = "/api/files/_uploads";
+    private static final String ENTITY_API_URL_ID = ENTITY_API_URL + "/{id}";
+
+    private static final byte[] CONTENT = "0123456789".getBytes(StandardCharsets.UTF_8);
+
+    @Autowired
+    private ObjectMapper om;
+
+    @Autowired
+    private MockMvc restFileUploadMockMvc;
+
+    @Autowired
+    private FileUploadService fileUploadService;
+
+    @MockitoSpyBean
+    private FileRepository fileRepository;
+
+    @MockitoSpyBean
+    private BlobStore blobStore;
+
+    private final List<String> uploadIds = new ArrayList<>();
+
+    private final List<Long> fileIds = new ArrayList<>();
+
+    @AfterEach
+    void cleanup() throws Exception {
+        for (String uploadId : uploadIds) {
+            fileUploadService.delete(uploadId);
+        }
+        fileRepository.deleteAllById(fileIds);
+    }
+
+    private static UploadSession createEntity(long length) {
+        return new UploadSession()
+            .fileName("upload.csv")
+            .fileType("text/csv")
+            .lastModified(LocalDate.ofEpochDay(0L))
+            .category("uploads")
+            .length(length);
+    }
+
+    private String createUpload(long length) throws Exception {
+        String response = restFileUploadMockMvc
+            .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(createEntity(length))))
+            .andExpect(status().isCreated())
+            .andExpect(header().string(FileUploadResource.UPLOAD_OFFSET, "0"))
+            .andExpect(header().string(FileUploadResource.UPLOAD_LENGTH, String.valueOf(length)))
+            .andExpect(jsonPath("$.chunkSize").value(4))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+        String id = om.readTree(response).get("id").asText();
+        uploadIds.add(id);
+        return id;
+    }
+
+    private ResultActions uploadChunk(String id, int offset, byte[] chunk) throws Exception {
+        return restFileUploadMockMvc.perform(
+            patch(ENTITY_API_URL_ID, id)
+                .header(FileUploadResource.UPLOAD_OFFSET, offset)
+                .contentType("application/offset+octet-stream")
+                .content(chunk)
+                // Explicit, as the mock user of the test is not seen by the threads sending chunks in parallel
+                .with(user("user"))
+        );
+    }
+
+    private byte[] chunk(int offset) {
+        return Arrays.copyOfRange(CONTENT, offset, Math.min(offset + 4, CONTENT.length));
+    }
+
+    @Test
+    void uploadInParallelChunks() throws Exception {
+        String id = createUpload(CONTENT.length);
+
+        // The last chunk first: nothing is received from the start yet
+        uploadChunk(id, 8, chunk(8))
+            .andExpect(status().isOk())
+            .andExpect(header().string(FileUploadResource.UPLOAD_OFFSET, "0"))
+            .andExpect(jsonPath("$.missingChunks").value(contains(0, 1)));
+
+        // The other chunks in parallel
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<Callable<Integer>> uploads = List.of(
+                () -> uploadChunk(id, 0, chunk(0)).andReturn().getResponse().getStatus(),
+                () -> uploadChunk(id, 4, chunk(4)).andReturn().getResponse().getStatus()
+            );
+            for (Future<Integer> upload : executor.invokeAll(uploads)) {
+                assertThat(upload.get()).isEqualTo(200);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        restFileUploadMockMvc
+            .perform(head(ENTITY_API_URL_ID, id))
+            .andExpect(status().isOk())
+            .andExpect(header().string(FileUploadResource.UPLOAD_OFFSET, String.valueOf(CONTENT.length)))
+            .andExpect(header().string(FileUploadResource.UPLOAD_LENGTH, String.valueOf(CONTENT.length)));
+        restFileUploadMockMvc
+            .perform(get(ENTITY_API_URL_ID, id))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.offset").value(CONTENT.length))
+            .andExpect(jsonPath("$.missingChunks").value(empty()));
+
+        // Complete the upload
+        String contentHash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(CONTENT));
+        JsonNode file = om.readTree(
+            restFileUploadMockMvc
+                .perform(post(ENTITY_API_URL_ID + "/complete", id))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.fileName").value("upload.csv"))
+                .andExpect(jsonPath("$.category").value("uploads"))
+                .andExpect(jsonPath("$.contentHash").value(contentHash))
+                .andExpect(jsonPath("$.converted").value(false))
+                .andReturn()
+                .getResponse()
+                .getContentAsString()
+        );
+        long fileId = file.get("id").asLong();
+        fileIds.add(fileId);
+
+        restFileUploadMockMvc
+            .perform(get("/api/files/{id}/content", fileId))
+            .andExpect(status().isOk())
+            .andExpect(content().bytes(CONTENT));
+        restFileUploadMockMvc.perform(get(ENTITY_API_URL_ID, id)).andExpect(status().isNotFound());
+        restFileUploadMockMvc.perform(post(ENTITY_API_URL_ID + "/complete", id)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void resendChunk() throws Exception {
+        String id = createUpload(CONTENT.length);
+
+        uploadChunk(id, 4, chunk(4)).andExpect(status().isOk());
+        uploadChunk(id, 4, chunk(4)).andExpect(status().isOk()).andExpect(jsonPath("$.missingChunks").value(contains(0, 2)));
+    }
+
+    @Test
+    void uploadInvalidChunk() throws Exception {
+        String id = createUpload(CONTENT.length);
+
+        // Not the start of a chunk
+        uploadChunk(id, 2, chunk(2)).andExpect(status().isBadRequest());
+        // Past the end
+        uploadChunk(id, 12, chunk(8)).andExpect(status().isBadRequest());
+        // Too short, too long
+        uploadChunk(id, 0, chunk(8)).andExpect(status().isBadRequest());
+        uploadChunk(id, 8, chunk(4)).andExpect(status().isBadRequest());
+
+        restFileUploadMockMvc
+            .perform(get(ENTITY_API_URL_ID, id))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.missingChunks").value(contains(0, 1, 2)));
+        restFileUploadMockMvc.perform(post(ENTITY_API_URL_ID + "/complete", id)).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void uploadEmptyContent() throws Exception {
+        String id = createUpload(0);
+
+        JsonNode file = om.readTree(
+            restFileUploadMockMvc
+                .perform(post(ENTITY_API_URL_ID + "/complete", id))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString()
+        );
+        fileIds.add(file.get("id").asLong());
+        assertThat(fileRepository.findById(file.get("id").asLong())).map(File::getContentHash).isPresent();
+    }
+
+    @Test
+    void createInvalidUpload() throws Exception {
+        restFileUploadMockMvc
+            .perform(
+                post(ENTITY_API_URL)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(createEntity(CONTENT.length).fileName(null)))
+            )
+            .andExpect(status().isBadRequest());
+        restFileUploadMockMvc
+            .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(createEntity(-1))))
+            .andExpect(status().isBadRequest());
+        restFileUploadMockMvc
+            .perform(
+                post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(createEntity(Long.MAX_VALUE)))
+            )
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void uploadExistingFileName() throws Exception {
+        String id = createUpload(0);
+        UploadSession session = createEntity(0);
+        File existing = fileRepository.save(
+            new File().fileName(session.getFileName()).fileType("text/plain").lastModified(LocalDate.now()).category(session.getCategory())
+        );
+        fileIds.add(existing.getId());
+
+        // Created meanwhile
+        restFileUploadMockMvc.perform(post(ENTITY_API_URL_ID + "/complete", id)).andExpect(status().isBadRequest());
+        restFileUploadMockMvc
+            .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(session)))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void completeUploadWhoseFileCannotBeInserted() throws Exception {
+        String id = createUpload(CONTENT.length);
+        for (int offset = 0; offset < CONTENT.length; offset += 4) {
+            uploadChunk(id, offset, chunk(offset)).andExpect(status().isOk());
+        }
+        // A file of the same name inserted past the check
+        doThrow(new DataIntegrityViolationException("ux_file_category_file_name")).when(fileRepository).saveAndFlush(any(File.class));
+
+        restFileUploadMockMvc.perform(post(ENTITY_API_URL_ID + "/complete", id)).andExpect(status().isBadRequest());
+        reset(fileRepository);
+
+        // The upload is left as it was, and can be completed again
+        restFileUploadMockMvc
+            .perform(get(ENTITY_API_URL_ID, id))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.offset").value(CONTENT.length));
+        JsonNode file = om.readTree(
+            restFileUploadMockMvc
+                .perform(post(ENTITY_API_URL_ID + "/complete", id))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString()
+        );
+        fileIds.add(file.get("id").asLong());
+        restFileUploadMockMvc
+            .perform(get("/api/files/{id}/content", file.get("id").asLong()))
+            .andExpect(status().isOk())
+            .andExpect(content().bytes(CONTENT));
+    }
+
+    @Test
+    void chunkSentWhileCompletingIsRefused() throws Exception {
+        String id = createUpload(CONTENT.length);
+        for (int offset = 0; offset < CONTENT.length; offset += 4) {
+            uploadChunk(id, offset, chunk(offset)).andExpect(status().isOk());
+        }
+        AtomicReference<Optional<FileUploadDTO>> resent = new AtomicReference<>();
+        Answer<Blob> resendingChunk = invocation -> {
+            resent.set(fileUploadService.writeChunk(id, 0, 4, new ByteArrayInputStream("abcd".getBytes(StandardCharsets.UTF_8))));
+            return (Blob) invocation.callRealMethod();
+        };
+        doAnswer(resendingChunk).when(blobStore).put(any(InputStream.class));
+
+        JsonNode file = om.readTree(
+            restFileUploadMockMvc
+                .perform(post(ENTITY_API_URL_ID + "/complete", id))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString()
+        );
+        fileIds.add(file.get("id").asLong());
+
+        // Stored as it was when completed, under the digest of that content
+        assertThat(resent.get()).isEmpty();
+        assertThat(fileRepository.findById(file.get("id").asLong()).orElseThrow().getContentHash()).isEqualTo(
+            HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(CONTENT))
+        );
+        restFileUploadMockMvc
+            .perform(get("/api/files/{id}/content", file.get("id").asLong()))
+            .andExpect(status().isOk())
+            .andExpect(content().bytes(CONTENT));
+    }
+
+    @Test
+    void deleteUpload() throws Exception {
+        String id = createUpload(CONTENT.length);
+        uploadChunk(id, 0, chunk(0)).andExpect(status().isOk());
+
+        restFileUploadMockMvc.perform(delete(ENTITY_API_URL_ID, id)).andExpect(status().isNoContent());
+
+        restFileUploadMockMvc.perform(get(ENTITY_API_URL_ID, id)).andExpect(status().isNotFound());
+        uploadChunk(id, 4, chunk(4)).andExpect(status().isNotFound());
+        restFileUploadMockMvc.perform(delete(ENTITY_API_URL_ID, id)).andExpect(status().isNotFound());
+    }
+}